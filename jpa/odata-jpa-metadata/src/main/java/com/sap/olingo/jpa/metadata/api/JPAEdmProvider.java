@@ -4,6 +4,7 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManagerFactory;
@@ -54,11 +55,83 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
 
   public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
       final String[] packageName, final JPAEdmNameBuilder nameBuilder) throws ODataException {
+    this(jpaMetamodel, postProcessor, packageName, nameBuilder, false);
+  }
+
+  /**
+   *
+   * @param jpaMetamodel
+   * @param postProcessor
+   * @param packageName
+   * @param nameBuilder
+   * @param buildEagerly True if the complete intermediate model shall be created within the constructor. Otherwise
+   * parts of the model are created on first access.
+   * @throws ODataException
+   */
+  public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
+      final String[] packageName, final JPAEdmNameBuilder nameBuilder, final boolean buildEagerly)
+      throws ODataException {
+    this(jpaMetamodel, postProcessor, packageName, nameBuilder, buildEagerly, false);
+  }
+
+  /**
+   *
+   * @param jpaMetamodel
+   * @param postProcessor
+   * @param packageName
+   * @param nameBuilder
+   * @param buildEagerly True if the complete intermediate model shall be created within the constructor. Otherwise
+   * parts of the model are created on first access.
+   * @param useTypeScanSnapshot True if the enumerations and java operations of the packages shall be taken from a
+   * snapshot created during the build, see
+   * {@link com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPATypeScanSnapshot}. A snapshot, which does not fit to
+   * the classes, is ignored and the packages are scanned.
+   * @throws ODataException
+   */
+  public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
+      final String[] packageName, final JPAEdmNameBuilder nameBuilder, final boolean buildEagerly,
+      final boolean useTypeScanSnapshot) throws ODataException {
     super();
     this.nameBuilder = nameBuilder;
     // After this call either a schema exists or an exception has been thrown
-    this.serviceDocument = new JPAServiceDocumentFactory(nameBuilder, jpaMetamodel, postProcessor, packageName)
-        .getServiceDocument();
+    this.serviceDocument = new JPAServiceDocumentFactory(nameBuilder, jpaMetamodel, postProcessor, packageName,
+        useTypeScanSnapshot).getServiceDocument(buildEagerly);
+  }
+
+  /**
+   *
+   * @param jpaMetamodel
+   * @param postProcessor Has to be thread safe, as it gets called concurrently
+   * @param packageName
+   * @param nameBuilder
+   * @param buildExecutor Executor used to create the complete intermediate model in parallel within the constructor
+   * @throws ODataException
+   */
+  public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
+      final String[] packageName, final JPAEdmNameBuilder nameBuilder, @Nonnull final Executor buildExecutor)
+      throws ODataException {
+    this(jpaMetamodel, postProcessor, packageName, nameBuilder, buildExecutor, false);
+  }
+
+  /**
+   *
+   * @param jpaMetamodel
+   * @param postProcessor Has to be thread safe, as it gets called concurrently
+   * @param packageName
+   * @param nameBuilder
+   * @param buildExecutor Executor used to create the complete intermediate model in parallel within the constructor
+   * @param useTypeScanSnapshot True if the enumerations and java operations of the packages shall be taken from a
+   * snapshot created during the build, see
+   * {@link com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPATypeScanSnapshot}
+   * @throws ODataException
+   */
+  public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
+      final String[] packageName, final JPAEdmNameBuilder nameBuilder, @Nonnull final Executor buildExecutor,
+      final boolean useTypeScanSnapshot) throws ODataException {
+    super();
+    this.nameBuilder = nameBuilder;
+    this.serviceDocument = new JPAServiceDocumentFactory(nameBuilder, jpaMetamodel, postProcessor, packageName,
+        useTypeScanSnapshot).getServiceDocument(buildExecutor);
   }
 
   /**
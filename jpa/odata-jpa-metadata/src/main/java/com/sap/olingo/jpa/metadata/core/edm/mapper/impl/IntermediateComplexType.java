@@ -44,7 +44,7 @@ final class IntermediateComplexType<T> extends IntermediateStructuredType<T> {
   @Override
   protected synchronized void lazyBuildEdmItem() throws ODataJPAModelException {
     if (edmStructuralType == null) {
-      buildPropertyList();
+      lazyBuildPropertyList();
       buildNaviPropertyList();
       addTransientProperties();
       edmStructuralType = new CsdlComplexType();
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.edm.provider.CsdlAction;
 import org.apache.olingo.commons.api.edm.provider.CsdlActionImport;
 import org.apache.olingo.commons.api.edm.provider.CsdlAnnotation;
@@ -35,8 +36,13 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
   private final Map<String, IntermediateSchema> schemaList;
   private final Map<String, IntermediateEntitySet> entitySetListInternalKey;
   private final Map<String, IntermediateSingleton> singletonListInternalKey;
+  private final Map<String, IntermediateEntitySet> entitySetListExternalKey;
+  private final Map<String, IntermediateSingleton> singletonListExternalKey;
+  private final Map<FullQualifiedName, IntermediateEntitySet> entitySetListEntityTypeKey;
 
-  private CsdlEntityContainer edmContainer;
+  // Written last, after the lists and indexes are filled. This ensures that a thread that sees the container sees them
+  // completely
+  private volatile CsdlEntityContainer edmContainer;
 
   IntermediateEntityContainer(final JPAEdmNameBuilder nameBuilder, final Map<String, IntermediateSchema> schemaList) {
     super(nameBuilder, nameBuilder.buildContainerName());
@@ -44,6 +50,9 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
     this.setExternalName(nameBuilder.buildContainerName());
     this.entitySetListInternalKey = new HashMap<>();
     this.singletonListInternalKey = new HashMap<>();
+    this.entitySetListExternalKey = new HashMap<>();
+    this.singletonListExternalKey = new HashMap<>();
+    this.entitySetListEntityTypeKey = new HashMap<>();
   }
 
   @Override
@@ -55,13 +64,15 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
   protected synchronized void lazyBuildEdmItem() throws ODataJPAModelException {
     if (edmContainer == null) {
       postProcessor.processEntityContainer(this);
-      edmContainer = new CsdlEntityContainer();
-      edmContainer.setName(getExternalName());
-      edmContainer.setEntitySets(buildEntitySets());
-      edmContainer.setFunctionImports(buildFunctionImports());
-      edmContainer.setActionImports(buildActionImports());
-      edmContainer.setAnnotations(edmAnnotations);
-      edmContainer.setSingletons(buildSingletons());
+      final CsdlEntityContainer container = new CsdlEntityContainer();
+      container.setName(getExternalName());
+      container.setEntitySets(buildEntitySets());
+      container.setFunctionImports(buildFunctionImports());
+      container.setActionImports(buildActionImports());
+      container.setAnnotations(edmAnnotations);
+      container.setSingletons(buildSingletons());
+      buildIndexes();
+      edmContainer = container;
     }
   }
 
@@ -77,15 +88,14 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
     if (edmContainer == null) {
       lazyBuildEdmItem();
     }
-    return (IntermediateEntitySet) findModelElementByEdmItem(edmEntitySetName,
-        entitySetListInternalKey);
+    return entitySetListExternalKey.get(edmEntitySetName);
   }
 
   IntermediateSingleton getSingleton(final String edmSingletonName) throws ODataJPAModelException {
     if (edmContainer == null) {
       lazyBuildEdmItem();
     }
-    return (IntermediateSingleton) findModelElementByEdmItem(edmSingletonName, singletonListInternalKey);
+    return singletonListExternalKey.get(edmSingletonName);
   }
 
   /**
@@ -98,12 +108,19 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
     if (edmContainer == null) {
       lazyBuildEdmItem();
     }
-    for (final Entry<String, IntermediateEntitySet> entitySet : entitySetListInternalKey.entrySet()) {
-      if (entitySet.getValue().getEntityType().getExternalFQN().equals(entityType.getExternalFQN())) {
-        return entitySet.getValue();
-      }
+    return entitySetListEntityTypeKey.get(entityType.getExternalFQN());
+  }
+
+  private void buildIndexes() {
+    entitySetListExternalKey.clear();
+    entitySetListEntityTypeKey.clear();
+    singletonListExternalKey.clear();
+    for (final IntermediateEntitySet entitySet : entitySetListInternalKey.values()) {
+      entitySetListExternalKey.putIfAbsent(entitySet.getExternalName(), entitySet);
+      entitySetListEntityTypeKey.putIfAbsent(entitySet.getEntityType().getExternalFQN(), entitySet);
     }
-    return null;
+    for (final IntermediateSingleton singleton : singletonListInternalKey.values())
+      singletonListExternalKey.putIfAbsent(singleton.getExternalName(), singleton);
   }
 
   /**
@@ -306,7 +306,7 @@ final class IntermediateEntityType<T> extends IntermediateStructuredType<T> impl
   @Override
   protected synchronized void lazyBuildEdmItem() throws ODataJPAModelException {
     if (edmStructuralType == null) {
-      buildPropertyList();
+      lazyBuildPropertyList();
       buildNaviPropertyList();
       addTransientProperties();
       determineExtensionQueryProvide();
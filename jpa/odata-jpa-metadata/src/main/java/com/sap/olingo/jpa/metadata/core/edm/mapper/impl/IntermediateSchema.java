@@ -1,10 +1,14 @@
 package com.sap.olingo.jpa.metadata.core.edm.mapper.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.persistence.metamodel.Attribute;
@@ -46,6 +50,12 @@ final class IntermediateSchema extends IntermediateModelElement {
   private final Map<String, IntermediateFunction> functionListInternalKey;
   private final Map<String, IntermediateJavaAction> actionListInternalKey;
   private final Map<String, IntermediateEnumerationType> enumTypeListInternalKey;
+  // Indexes by external name. External names are set at construction time, so the indexes do not change afterwards
+  private final Map<String, IntermediateComplexType<?>> complexTypeListExternalKey;
+  private final Map<String, IntermediateEntityType<?>> entityTypeListExternalKey;
+  private final Map<String, List<IntermediateFunction>> functionListExternalKey;
+  private final Map<String, List<IntermediateJavaAction>> actionListExternalKey;
+  private final Map<String, IntermediateEnumerationType> enumTypeListExternalKey;
   private IntermediateEntityContainer container;
   private final Reflections reflections;
   private CsdlSchema edmSchema;
@@ -61,6 +71,11 @@ final class IntermediateSchema extends IntermediateModelElement {
     this.entityTypeListInternalKey = buildEntityTypeList();
     this.functionListInternalKey = buildFunctionList();
     this.actionListInternalKey = buildActionList();
+    this.enumTypeListExternalKey = buildExternalKeyIndex(enumTypeListInternalKey);
+    this.complexTypeListExternalKey = buildExternalKeyIndex(complexTypeListInternalKey);
+    this.entityTypeListExternalKey = buildExternalKeyIndex(entityTypeListInternalKey);
+    this.functionListExternalKey = buildExternalKeyMultiIndex(functionListInternalKey);
+    this.actionListExternalKey = buildExternalKeyMultiIndex(actionListInternalKey);
   }
 
   public IntermediateEnumerationType getEnumerationType(final Class<?> enumType) {
@@ -70,19 +85,14 @@ final class IntermediateSchema extends IntermediateModelElement {
   }
 
   public JPAEnumerationAttribute getEnumerationType(final EdmEnumType type) {
-    for (final Entry<String, IntermediateEnumerationType> enumeration : this.enumTypeListInternalKey.entrySet()) {
-      if (enumeration.getValue().getExternalFQN().equals(type.getFullQualifiedName()))
-        return enumeration.getValue();
-    }
+    final IntermediateEnumerationType enumeration = enumTypeListExternalKey.get(type.getName());
+    if (enumeration != null && enumeration.getExternalFQN().equals(type.getFullQualifiedName()))
+      return enumeration;
     return null;
   }
 
   public IntermediateEnumerationType getEnumerationType(final String externalName) {
-    for (final Entry<String, IntermediateEnumerationType> enumeration : this.enumTypeListInternalKey.entrySet()) {
-      if (enumeration.getValue().getExternalName().equals(externalName))
-        return enumeration.getValue();
-    }
-    return null;
+    return enumTypeListExternalKey.get(externalName);
   }
 
   @SuppressWarnings("unchecked")
@@ -105,10 +115,51 @@ final class IntermediateSchema extends IntermediateModelElement {
 
   }
 
+  /**
+   * Builds the complete schema with the help of an executor in three phases:
+   * <ol>
+   * <li>In parallel: the enumerations and the properties of the structured types. Here most of the work is done, like
+   * reading annotations and resolving converters.</li>
+   * <li>One after the other: the structured types with their navigation properties. A navigation property may need
+   * the build of its target type, so building bidirectional associations in parallel could lead to a dead lock.</li>
+   * <li>In parallel: the operations, which only read the already build types.</li>
+   * </ol>
+   * The phases are executed in the sequence of the internal lists, as a sequential build would do. So the resulting
+   * schema is the same. As a consequence a metadata post processor gets called concurrently and has to be thread
+   * safe.
+   * @param executor
+   * @throws ODataJPAModelException
+   */
+  void build(@Nonnull final Executor executor) throws ODataJPAModelException {
+    final List<BuildStep> firstPhase = new ArrayList<>();
+    for (final IntermediateEnumerationType enumeration : enumTypeListInternalKey.values())
+      firstPhase.add(enumeration::getEdmItem);
+    for (final IntermediateComplexType<?> ct : complexTypeListInternalKey.values())
+      firstPhase.add(ct::lazyBuildPropertyList);
+    for (final IntermediateEntityType<?> et : entityTypeListInternalKey.values())
+      firstPhase.add(et::lazyBuildPropertyList);
+    runInParallel(executor, firstPhase);
+
+    for (final IntermediateComplexType<?> ct : complexTypeListInternalKey.values())
+      ct.getEdmItem();
+    for (final IntermediateEntityType<?> et : entityTypeListInternalKey.values()) {
+      et.getEdmItem();
+      et.getKey();
+    }
+
+    final List<BuildStep> thirdPhase = new ArrayList<>();
+    for (final IntermediateFunction function : functionListInternalKey.values())
+      thirdPhase.add(function::getEdmItem);
+    for (final IntermediateJavaAction action : actionListInternalKey.values())
+      thirdPhase.add(action::getEdmItem);
+    runInParallel(executor, thirdPhase);
+  }
+
   JPAAction getAction(final String externalName) {
-    for (final Entry<String, IntermediateJavaAction> action : actionListInternalKey.entrySet()) {
-      if (action.getValue().getExternalName().equals(externalName) && !action.getValue().ignore())
-        return action.getValue();
+    for (final IntermediateJavaAction action : actionListExternalKey.getOrDefault(externalName, Collections
+        .emptyList())) {
+      if (!action.ignore())
+        return action;
     }
     return null;
   }
@@ -127,11 +178,7 @@ final class IntermediateSchema extends IntermediateModelElement {
   }
 
   JPAStructuredType getComplexType(final String externalName) {
-    for (final Map.Entry<String, IntermediateComplexType<?>> complexType : complexTypeListInternalKey.entrySet()) {
-      if (complexType.getValue().getExternalName().equals(externalName))
-        return complexType.getValue();
-    }
-    return null;
+    return complexTypeListExternalKey.get(externalName);
   }
 
   @Override
@@ -146,12 +193,7 @@ final class IntermediateSchema extends IntermediateModelElement {
   }
 
   JPAEntityType getEntityType(final String externalName) {
-
-    for (final Entry<String, IntermediateEntityType<?>> et : entityTypeListInternalKey.entrySet()) {
-      if (et.getValue().getExternalName().equals(externalName))
-        return et.getValue();
-    }
-    return null;
+    return entityTypeListExternalKey.get(externalName);
   }
 
   JPAEntityType getEntityType(final String dbCatalog, final String dbSchema, final String dbTableName) {
@@ -171,13 +213,12 @@ final class IntermediateSchema extends IntermediateModelElement {
   }
 
   JPAFunction getFunction(final String externalName) {
-    for (final Entry<String, IntermediateFunction> func : functionListInternalKey.entrySet()) {
-      if (func.getValue().getExternalName().equals(externalName)
-          && !func.getValue().ignore())
-        return func.getValue();
+    for (final IntermediateFunction func : functionListExternalKey.getOrDefault(externalName, Collections
+        .emptyList())) {
+      if (!func.ignore())
+        return func;
     }
     return null;
-
   }
 
   @Nonnull
@@ -218,6 +259,55 @@ final class IntermediateSchema extends IntermediateModelElement {
     this.container = container;
   }
 
+  /**
+   * Runs the steps and waits until all are finished. In case of errors the exception of the first failed step is
+   * thrown, independent of the sequence in which the steps were executed.
+   */
+  private void runInParallel(final Executor executor, final List<BuildStep> steps) throws ODataJPAModelException {
+    final List<CompletableFuture<Void>> futures = new ArrayList<>(steps.size());
+    for (final BuildStep step : steps) {
+      futures.add(CompletableFuture.runAsync(() -> {
+        try {
+          step.build();
+        } catch (final ODataJPAModelException e) {
+          throw new CompletionException(e);
+        }
+      }, executor));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((result, error) -> result).join();
+    for (final CompletableFuture<Void> future : futures) {
+      try {
+        future.join();
+      } catch (final CompletionException e) {
+        if (e.getCause() instanceof ODataJPAModelException)
+          throw (ODataJPAModelException) e.getCause();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Creates an index by external name. In case two elements have the same external name, the first one found wins.
+   */
+  private <M extends IntermediateModelElement> Map<String, M> buildExternalKeyIndex(
+      final Map<String, M> internalKeyMap) {
+    final Map<String, M> index = new HashMap<>(internalKeyMap.size());
+    for (final M element : internalKeyMap.values())
+      index.putIfAbsent(element.getExternalName(), element);
+    return Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * Creates an index by external name for operations, which may be overloaded or ignored.
+   */
+  private <M extends IntermediateModelElement> Map<String, List<M>> buildExternalKeyMultiIndex(
+      final Map<String, M> internalKeyMap) {
+    final Map<String, List<M>> index = new HashMap<>(internalKeyMap.size());
+    for (final M element : internalKeyMap.values())
+      index.computeIfAbsent(element.getExternalName(), k -> new ArrayList<>(1)).add(element);
+    return Collections.unmodifiableMap(index);
+  }
+
   private Map<String, IntermediateJavaAction> buildActionList() throws ODataJPAModelException {
     final HashMap<String, IntermediateJavaAction> actionList = new HashMap<>();
     final IntermediateActionFactory factory = new IntermediateActionFactory();
@@ -271,4 +361,9 @@ final class IntermediateSchema extends IntermediateModelElement {
     funcList.putAll(factory.create(nameBuilder, reflections, this));
     return funcList;
   }
+
+  @FunctionalInterface
+  private interface BuildStep {
+    void build() throws ODataJPAModelException;
+  }
 }
@@ -4,10 +4,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import javax.persistence.metamodel.Metamodel;
 
 import org.apache.commons.logging.Log;
@@ -24,10 +25,6 @@ import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
 import org.apache.olingo.commons.api.edm.provider.CsdlTerm;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
 import org.reflections8.Reflections;
-import org.reflections8.scanners.SubTypesScanner;
-import org.reflections8.scanners.TypeAnnotationsScanner;
-import org.reflections8.util.ConfigurationBuilder;
-import org.reflections8.util.FilterBuilder;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAction;
@@ -58,6 +55,7 @@ class IntermediateServiceDocument implements JPAServiceDocument {
   private final JPAEdmMetadataPostProcessor pP;
   private final Reflections reflections;
   private Map<String, JPAProtectionInfo> claims;
+  private volatile Map<Class<?>, IntermediateEntityType<?>> entityTypeListClassKey;
 
   IntermediateServiceDocument(final String namespace, final Metamodel jpaMetamodel,
       final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName) throws ODataJPAModelException {
@@ -75,10 +73,45 @@ class IntermediateServiceDocument implements JPAServiceDocument {
   IntermediateServiceDocument(final JPAEdmNameBuilder nameBuilder, final Metamodel jpaMetamodel,
       final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName) throws ODataJPAModelException {
 
+    this(nameBuilder, jpaMetamodel, postProcessor, packageName, false, null);
+  }
+
+  /**
+   * @param nameBuilder
+   * @param jpaMetamodel
+   * @param postProcessor
+   * @param packageName
+   * @param buildEagerly True if the complete model shall be build before the constructor returns. Afterwards the model
+   * is only read, so it can be shared between threads without first-touch races.
+   * @param buildExecutor Optional executor used to build the schemas in parallel. If given, the model is build eagerly.
+   * @throws ODataJPAModelException
+   */
+  IntermediateServiceDocument(final JPAEdmNameBuilder nameBuilder, final Metamodel jpaMetamodel,
+      final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName, final boolean buildEagerly,
+      @Nullable final Executor buildExecutor) throws ODataJPAModelException {
+
+    this(nameBuilder, jpaMetamodel, postProcessor, packageName, buildEagerly, buildExecutor, false);
+  }
+
+  /**
+   * @param nameBuilder
+   * @param jpaMetamodel
+   * @param postProcessor
+   * @param packageName
+   * @param buildEagerly
+   * @param buildExecutor
+   * @param useTypeScanSnapshot True if the types of the packages shall be taken from a {@link JPATypeScanSnapshot}, if
+   * a valid one exists.
+   * @throws ODataJPAModelException
+   */
+  IntermediateServiceDocument(final JPAEdmNameBuilder nameBuilder, final Metamodel jpaMetamodel,
+      final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName, final boolean buildEagerly,
+      @Nullable final Executor buildExecutor, final boolean useTypeScanSnapshot) throws ODataJPAModelException {
+
     this.pP = postProcessor != null ? postProcessor : new DefaultEdmPostProcessor();
     IntermediateModelElement.setPostProcessor(pP);
 
-    this.reflections = createReflections(packageName);
+    this.reflections = createReflections(useTypeScanSnapshot, packageName);
     this.references = new IntermediateReferences();
     pP.provideReferences(this.references);
     this.nameBuilder = nameBuilder;
@@ -87,6 +120,8 @@ class IntermediateServiceDocument implements JPAServiceDocument {
     buildIntermediateSchemas();
     this.container = new IntermediateEntityContainer(nameBuilder, schemaListInternalKey);
     setContainer();
+    if (buildEagerly || buildExecutor != null)
+      buildEagerly(buildExecutor);
   }
 
   /*
@@ -144,12 +179,7 @@ class IntermediateServiceDocument implements JPAServiceDocument {
    */
   @Override
   public JPAEntityType getEntity(final Class<?> entityClass) throws ODataJPAModelException {
-    for (final Entry<String, IntermediateSchema> schema : schemaListInternalKey.entrySet()) {
-      final JPAEntityType et = (JPAEntityType) schema.getValue().getEntityType(entityClass);
-      if (et != null)
-        return et;
-    }
-    return null;
+    return entityTypeListClassKey.get(entityClass);
   }
 
   /*
@@ -295,18 +325,37 @@ class IntermediateServiceDocument implements JPAServiceDocument {
   private void buildIntermediateSchemas() throws ODataJPAModelException {
     final IntermediateSchema schema = new IntermediateSchema(nameBuilder, jpaMetamodel, reflections);
     schemaListInternalKey.put(schema.internalName, schema);
+    final Map<Class<?>, IntermediateEntityType<?>> classIndex = new HashMap<>();
+    for (final IntermediateSchema s : schemaListInternalKey.values()) {
+      for (final IntermediateEntityType<?> et : s.getEntityTypes())
+        classIndex.putIfAbsent(et.getTypeClass(), et);
+    }
+    entityTypeListClassKey = classIndex;
   }
 
-  private Reflections createReflections(final String... packageName) {
-    if (packageName != null && packageName.length > 0) {
-      final ConfigurationBuilder configBuilder = new ConfigurationBuilder();
-      configBuilder.setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner());
-      configBuilder.forPackages(packageName);
-      configBuilder.filterInputsBy(new FilterBuilder().includePackage(packageName));
-      return new Reflections(configBuilder);
-    } else {
-      return null;
+  /**
+   * Triggers the build of all lazily created parts of the model: the CSDL items, the resolved path and association
+   * path lists of the entity types and the protection information.
+   */
+  private void buildEagerly(@Nullable final Executor buildExecutor) throws ODataJPAModelException {
+    if (buildExecutor != null) {
+      for (final IntermediateSchema schema : schemaListInternalKey.values())
+        schema.build(buildExecutor);
     }
+    getAllSchemas();
+    container.getEdmItem();
+    for (final IntermediateSchema schema : schemaListInternalKey.values()) {
+      for (final IntermediateEntityType<?> et : schema.getEntityTypes()) {
+        et.getPathList();
+        et.getAssociationPathList();
+        et.getProtections();
+      }
+    }
+    getClaims();
+  }
+
+  private Reflections createReflections(final boolean useTypeScanSnapshot, final String... packageName) {
+    return JPATypeScanSnapshot.determineTypes(useTypeScanSnapshot, packageName);
   }
 
   private List<CsdlSchema> extractEdmSchemas() throws ODataJPAModelException {
@@ -72,6 +72,7 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
   protected List<JPAProtectionInfo> protectedAttributes;
   protected CsdlStructuralType edmStructuralType;
   private Optional<List<IntermediateSimpleProperty>> streamProperty;
+  private boolean propertyListBuilt;
 
   IntermediateStructuredType(final JPAEdmNameBuilder nameBuilder, final ManagedType<T> jpaManagedType,
       final IntermediateSchema schema) {
@@ -326,6 +327,18 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
     }
   }
 
+  /**
+   * Builds the declared properties, without navigation properties, only once. The properties do not depend on the
+   * build state of other structured types, so this can be done for several types in parallel.
+   * @throws ODataJPAModelException
+   */
+  synchronized void lazyBuildPropertyList() throws ODataJPAModelException {
+    if (!propertyListBuilt) {
+      buildPropertyList();
+      propertyListBuilt = true;
+    }
+  }
+
   protected void buildPropertyList() throws ODataJPAModelException {
 
     final Set<Attribute<? super T, ?>> attributes = new HashSet<>();
@@ -547,7 +560,7 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
    * @throws ODataJPAModelException
    */
   IntermediateModelElement getPropertyByDBField(final String dbFieldName) throws ODataJPAModelException {
-    buildPropertyList();
+    lazyBuildPropertyList();
     for (final IntermediateProperty property : declaredPropertiesList.values()) {
       if (property.isComplex()) {
         final IntermediateProperty embeddedProperty =
@@ -1,5 +1,8 @@
 package com.sap.olingo.jpa.metadata.core.edm.mapper.impl;
 
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nonnull;
 import javax.persistence.metamodel.Metamodel;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
@@ -13,14 +16,29 @@ public final class JPAServiceDocumentFactory {
   private final Metamodel jpaMetamodel;
   private final JPAEdmMetadataPostProcessor postProcessor;
   private final String[] packageName;
+  private final boolean useTypeScanSnapshot;
 
   public JPAServiceDocumentFactory(final JPAEdmNameBuilder nameBuilder, final Metamodel jpaMetamodel,
       final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName) {
+    this(nameBuilder, jpaMetamodel, postProcessor, packageName, false);
+  }
+
+  /**
+   * @param nameBuilder
+   * @param jpaMetamodel
+   * @param postProcessor
+   * @param packageName
+   * @param useTypeScanSnapshot True if the types of the packages shall be taken from a {@link JPATypeScanSnapshot}
+   * instead of scanning the class path. If no valid snapshot exists, the class path is scanned anyhow.
+   */
+  public JPAServiceDocumentFactory(final JPAEdmNameBuilder nameBuilder, final Metamodel jpaMetamodel,
+      final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName, final boolean useTypeScanSnapshot) {
     super();
     this.nameBuilder = nameBuilder;
     this.jpaMetamodel = jpaMetamodel;
     this.postProcessor = postProcessor;
     this.packageName = packageName;
+    this.useTypeScanSnapshot = useTypeScanSnapshot;
   }
 
   /**
@@ -29,6 +47,32 @@ public final class JPAServiceDocumentFactory {
    * @throws ODataJPAModelException
    */
   public JPAServiceDocument getServiceDocument() throws ODataJPAModelException {
-    return new IntermediateServiceDocument(nameBuilder, jpaMetamodel, postProcessor, packageName);
+    return getServiceDocument(false);
+  }
+
+  /**
+   * Creation of the service document.
+   * @param buildEagerly True if the service document shall be build completely before it is returned. This prevents
+   * the lazy creation of model parts during the processing of requests.
+   * @return
+   * @throws ODataJPAModelException
+   */
+  public JPAServiceDocument getServiceDocument(final boolean buildEagerly) throws ODataJPAModelException {
+    return new IntermediateServiceDocument(nameBuilder, jpaMetamodel, postProcessor, packageName, buildEagerly, null,
+        useTypeScanSnapshot);
+  }
+
+  /**
+   * Creation of the service document, which is build completely before it is returned. The independent parts of the
+   * model, like the properties of the different types and the operations, are build in parallel using the given
+   * executor, e.g. a {@link java.util.concurrent.ForkJoinPool}.<br>
+   * A metadata post processor has to be thread safe in this case.
+   * @param buildExecutor
+   * @return
+   * @throws ODataJPAModelException
+   */
+  public JPAServiceDocument getServiceDocument(@Nonnull final Executor buildExecutor) throws ODataJPAModelException {
+    return new IntermediateServiceDocument(nameBuilder, jpaMetamodel, postProcessor, packageName, true,
+        buildExecutor, useTypeScanSnapshot);
   }
 }
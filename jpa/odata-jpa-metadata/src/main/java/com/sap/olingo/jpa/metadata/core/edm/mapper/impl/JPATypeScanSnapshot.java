@@ -0,0 +1,251 @@
+package com.sap.olingo.jpa.metadata.core.edm.mapper.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reflections8.Reflections;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.FilterBuilder;
+
+/**
+ * Snapshot of the type scan done to find enumerations and java operations within the packages given to the
+ * {@link com.sap.olingo.jpa.metadata.api.JPAEdmProvider}. Scanning the class path can take quite some time during start
+ * up. It can be shifted to the build by creating a snapshot, e.g. via the exec-maven-plugin:
+ *
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *   &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *   &lt;executions&gt;
+ *     &lt;execution&gt;
+ *       &lt;phase&gt;process-classes&lt;/phase&gt;
+ *       &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ *       &lt;configuration&gt;
+ *         &lt;mainClass&gt;com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPATypeScanSnapshot&lt;/mainClass&gt;
+ *         &lt;arguments&gt;
+ *           &lt;argument&gt;${project.build.outputDirectory}&lt;/argument&gt;
+ *           &lt;argument&gt;org.example.enums&lt;/argument&gt;
+ *           &lt;argument&gt;org.example.operations&lt;/argument&gt;
+ *         &lt;/arguments&gt;
+ *       &lt;/configuration&gt;
+ *     &lt;/execution&gt;
+ *   &lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * The snapshot is stored as a resource, which name is derived from the packages. It is only used if this is requested
+ * explicitly, see {@link com.sap.olingo.jpa.metadata.api.JPAEdmProvider}. Besides the found types, the snapshot
+ * contains its format version and a fingerprint of the found classes. At start up the fingerprint is calculated again
+ * from the classes on the class path. If the version or the fingerprint does not match, e.g. because a class has been
+ * changed after the snapshot was created, the snapshot is ignored and the packages are scanned. Classes added to the
+ * packages after the snapshot was created are not detected, so the snapshot has to be created by the same build that
+ * creates the classes.
+ */
+public final class JPATypeScanSnapshot {
+  static final String RESOURCE_FOLDER = "META-INF/odata-jpa/";
+  private static final Log LOGGER = LogFactory.getLog(JPATypeScanSnapshot.class);
+  private static final String SEPARATOR = "\t";
+  private static final String HEADER = "#odata-jpa-type-scan";
+  private static final String FORMAT_VERSION = "1";
+
+  private JPATypeScanSnapshot() {
+    super();
+  }
+
+  /**
+   * Creates a snapshot.
+   * @param args Output directory, typically the class folder, followed by the packages to be scanned
+   * @throws IOException
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2)
+      throw new IllegalArgumentException("Usage: JPATypeScanSnapshot <output directory> <package>...");
+    final Path snapshot = write(Paths.get(args[0]), Arrays.copyOfRange(args, 1, args.length));
+    LOGGER.info("Type scan snapshot written to " + snapshot);
+  }
+
+  /**
+   * Scans the packages and writes the result into the output directory.
+   * @param outputDirectory
+   * @param packageName
+   * @return Path of the snapshot file
+   * @throws IOException
+   */
+  public static Path write(@Nonnull final Path outputDirectory, @Nonnull final String... packageName)
+      throws IOException {
+
+    final Path snapshot = outputDirectory.resolve(determineResourceName(packageName));
+    Files.createDirectories(snapshot.getParent());
+    final Reflections reflections = scan(packageName);
+    // Sort the entries to get a reproducible build result
+    final Map<String, Map<String, Set<String>>> content = new TreeMap<>();
+    final List<String> lines = new ArrayList<>();
+    for (final String index : reflections.getStore().keySet()) {
+      final Map<String, Set<String>> entries = content.computeIfAbsent(index, k -> new TreeMap<>());
+      for (final Map.Entry<String, Set<String>> entry : reflections.getStore().get(index).entrySet())
+        entries.computeIfAbsent(entry.getKey(), k -> new TreeSet<>()).addAll(entry.getValue());
+    }
+    for (final Map.Entry<String, Map<String, Set<String>>> index : content.entrySet()) {
+      for (final Map.Entry<String, Set<String>> entry : index.getValue().entrySet()) {
+        for (final String value : entry.getValue())
+          lines.add(index.getKey() + SEPARATOR + entry.getKey() + SEPARATOR + value);
+      }
+    }
+    try (BufferedWriter writer = Files.newBufferedWriter(snapshot, UTF_8)) {
+      writer.write(HEADER + SEPARATOR + FORMAT_VERSION + SEPARATOR + fingerprint(getClassLoader(), lines));
+      writer.newLine();
+      for (final String line : lines) {
+        writer.write(line);
+        writer.newLine();
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Provides the types of the packages, either from a snapshot or by scanning the class path.
+   * @param useSnapshot True if the types shall be taken from a snapshot, if a valid one exists
+   * @param packageName
+   * @return Null if no package is given
+   */
+  @CheckForNull
+  static Reflections determineTypes(final boolean useSnapshot, final String... packageName) {
+    if (packageName != null && packageName.length > 0) {
+      final Optional<Reflections> snapshot = useSnapshot ? read(getClassLoader(), packageName) : Optional.empty();
+      return snapshot.orElseGet(() -> scan(packageName));
+    }
+    return null;
+  }
+
+  /**
+   * Reads the snapshot created for the packages.
+   * @param classLoader
+   * @param packageName
+   * @return Empty if no snapshot exists, it could not be read or it does not fit to the classes on the class path
+   */
+  static Optional<Reflections> read(@Nonnull final ClassLoader classLoader, @Nonnull final String... packageName) {
+    final String resourceName = determineResourceName(packageName);
+    try (InputStream stream = classLoader.getResourceAsStream(resourceName)) {
+      if (stream == null) {
+        LOGGER.warn("No type scan snapshot " + resourceName + " found. Class path gets scanned");
+        return Optional.empty();
+      }
+      final List<String> lines = new ArrayList<>();
+      final String[] header;
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, UTF_8))) {
+        final String firstLine = reader.readLine();
+        header = firstLine == null ? new String[0] : firstLine.split(SEPARATOR);
+        String line;
+        while ((line = reader.readLine()) != null)
+          lines.add(line);
+      }
+      if (header.length != 3 || !HEADER.equals(header[0]) || !FORMAT_VERSION.equals(header[1])) {
+        LOGGER.warn("Type scan snapshot " + resourceName + " has an unknown format. Class path gets scanned");
+        return Optional.empty();
+      }
+      if (!header[2].equals(fingerprint(classLoader, lines))) {
+        LOGGER.warn("Type scan snapshot " + resourceName + " does not match the classes. Class path gets scanned");
+        return Optional.empty();
+      }
+      final Reflections reflections = createEmpty();
+      for (final String line : lines) {
+        final String[] parts = line.split(SEPARATOR);
+        if (parts.length == 3)
+          reflections.getStore().getOrCreate(parts[0]).putSingle(parts[1], parts[2]);
+      }
+      LOGGER.debug("Types of packages taken from snapshot " + resourceName);
+      return Optional.of(reflections);
+    } catch (final IOException e) {
+      LOGGER.warn("Type scan snapshot " + resourceName + " could not be read. Class path gets scanned", e);
+      return Optional.empty();
+    }
+  }
+
+  static String determineResourceName(final String... packageName) {
+    return RESOURCE_FOLDER + String.join("+", new TreeSet<>(Arrays.asList(packageName))) + ".types";
+  }
+
+  /**
+   * Calculates a fingerprint from the entries and the byte code of the classes found by the scan.
+   */
+  private static String fingerprint(final ClassLoader classLoader, final List<String> lines) throws IOException {
+    final Set<String> types = new TreeSet<>();
+    for (final String line : lines) {
+      final String[] parts = line.split(SEPARATOR);
+      if (parts.length == 3)
+        types.add(parts[2]);
+    }
+    final MessageDigest digest = createDigest();
+    for (final String line : lines)
+      digest.update(line.getBytes(UTF_8));
+    final byte[] buffer = new byte[8192];
+    for (final String type : types) {
+      digest.update(type.getBytes(UTF_8));
+      try (InputStream classFile = classLoader.getResourceAsStream(type.replace('.', '/') + ".class")) {
+        if (classFile != null) {
+          int read;
+          while ((read = classFile.read(buffer)) != -1)
+            digest.update(buffer, 0, read);
+        }
+      }
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      // Every Java platform has to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static ClassLoader getClassLoader() {
+    return Thread.currentThread().getContextClassLoader() != null
+        ? Thread.currentThread().getContextClassLoader() : JPATypeScanSnapshot.class.getClassLoader();
+  }
+
+  private static Reflections scan(final String... packageName) {
+    final ConfigurationBuilder configBuilder = createConfiguration();
+    configBuilder.forPackages(packageName);
+    configBuilder.filterInputsBy(new FilterBuilder().includePackage(packageName));
+    return new Reflections(configBuilder);
+  }
+
+  private static Reflections createEmpty() {
+    return new Reflections(createConfiguration());
+  }
+
+  private static ConfigurationBuilder createConfiguration() {
+    final ConfigurationBuilder configBuilder = new ConfigurationBuilder();
+    configBuilder.setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner());
+    return configBuilder;
+  }
+}
@@ -10,7 +10,12 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
@@ -32,6 +37,9 @@ import org.apache.olingo.commons.api.edm.provider.CsdlSingleton;
 import org.apache.olingo.commons.api.edm.provider.CsdlTerm;
 import org.apache.olingo.commons.api.edm.provider.CsdlTypeDefinition;
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -326,6 +334,35 @@ class TestJPAEdmProvider {
     assertNotNull(act);
   }
 
+  @Test
+  void checkParallelBuildCreatesSameMetadataDocument() throws Exception {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final JPAEdmProvider parallel = new JPAEdmProvider(emf.getMetamodel(), null, enumPackages,
+          new JPADefaultEdmNameBuilder(PUNIT_NAME), pool);
+      assertNotNull(parallel.getServiceDocument().getEntity("Organizations"));
+      assertEquals(serializeMetadata(cut), serializeMetadata(parallel));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void checkEagerBuildCreatesSameMetadataDocument() throws Exception {
+    final JPAEdmProvider eager = new JPAEdmProvider(emf.getMetamodel(), null, enumPackages,
+        new JPADefaultEdmNameBuilder(PUNIT_NAME), true);
+    assertEquals(serializeMetadata(cut), serializeMetadata(eager));
+  }
+
+  private String serializeMetadata(final JPAEdmProvider provider) throws Exception {
+    final OData odata = OData.newInstance();
+    final ServiceMetadata metadata = odata.createServiceMetadata(provider, provider.getReferences());
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(odata.createSerializer(
+        ContentType.APPLICATION_XML).metadataDocument(metadata).getContent(), StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    }
+  }
+
   private FullQualifiedName buildContainerFQN() {
     final String name = cut.getServiceDocument().getNameBuilder().buildContainerName();
     final FullQualifiedName fqn = new FullQualifiedName(PUNIT_NAME, name);
@@ -32,6 +32,8 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAProtectionInfo;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.testmodel.BusinessPartner;
+import com.sap.olingo.jpa.processor.core.testmodel.Organization;
 
 class IntermediateServiceDocumentTest extends TestMappingRoot {
 
@@ -341,6 +343,31 @@ class IntermediateServiceDocumentTest extends TestMappingRoot {
     assertNotNull(act);
   }
 
+  @Test
+  void checkGetEntityTypeByClass() throws ODataJPAModelException {
+    assertEquals("BusinessPartner", cut.getEntity(BusinessPartner.class).getExternalName());
+    assertEquals("Organization", cut.getEntity(Organization.class).getExternalName());
+    assertNull(cut.getEntity(String.class));
+  }
+
+  @Test
+  void checkEagerBuildCreatesCompleteModel() throws ODataJPAModelException {
+    final JPAServiceDocument act = new IntermediateServiceDocument(new JPADefaultEdmNameBuilder(PUNIT_NAME), emf
+        .getMetamodel(), null, new String[] { "com.sap.olingo.jpa.processor.core.testmodel" }, true, null);
+
+    final JPAEntityType et = act.getEntity("Organizations");
+    assertNotNull(et);
+    assertEquals(et, act.getEntity(Organization.class));
+    assertFalse(et.getKeyPath().isEmpty());
+    assertNotNull(act.getEntitySet(et));
+    assertEquals("Organizations", act.getEntitySet(et).getExternalName());
+    assertTrue(act.getClaims().containsKey("BuildingNumber"));
+    assertEquals(cut.getEdmEntityContainer().getEntitySets().size(), act.getEdmEntityContainer().getEntitySets()
+        .size());
+    assertEquals(cut.getEdmSchemas().get(0).getEntityTypes().size(), act.getEdmSchemas().get(0).getEntityTypes()
+        .size());
+  }
+
   private IntermediateServiceDocument createCutWithCustomNameBuilder() throws ODataJPAModelException {
     return new IntermediateServiceDocument(new CustomJPANameBuilder(), emf.getMetamodel(), null,
         new String[] { "com.sap.olingo.jpa.processor.core.testmodel",
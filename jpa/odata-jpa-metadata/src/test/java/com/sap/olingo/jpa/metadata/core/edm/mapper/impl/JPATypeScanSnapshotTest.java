@@ -0,0 +1,157 @@
+package com.sap.olingo.jpa.metadata.core.edm.mapper.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflections8.Reflections;
+
+import com.sap.olingo.jpa.metadata.core.edm.annotation.EdmEnumeration;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.ODataAction;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.ODataFunction;
+
+class JPATypeScanSnapshotTest {
+  private static final String PACKAGE1 = "com.sap.olingo.jpa.metadata.core.edm.mapper.impl";
+  private static final String PACKAGE2 = "com.sap.olingo.jpa.processor.core.testmodel";
+
+  @TempDir
+  Path outputDirectory;
+
+  @Test
+  void checkResourceNameIndependentOfPackageSequence() {
+    assertEquals(JPATypeScanSnapshot.determineResourceName(PACKAGE1, PACKAGE2),
+        JPATypeScanSnapshot.determineResourceName(PACKAGE2, PACKAGE1));
+    assertTrue(JPATypeScanSnapshot.determineResourceName(PACKAGE1).startsWith(JPATypeScanSnapshot.RESOURCE_FOLDER));
+  }
+
+  @Test
+  void checkReadReturnsEmptyWithoutSnapshot() throws IOException {
+    try (URLClassLoader loader = createClassLoader()) {
+      assertFalse(JPATypeScanSnapshot.read(loader, PACKAGE1, PACKAGE2).isPresent());
+    }
+  }
+
+  @Test
+  void checkSnapshotProvidesSameTypesAsScan() throws IOException {
+    final Path snapshot = JPATypeScanSnapshot.write(outputDirectory, PACKAGE1, PACKAGE2);
+    assertTrue(Files.size(snapshot) > 0);
+
+    final Reflections scan = JPATypeScanSnapshot.determineTypes(false, PACKAGE1, PACKAGE2);
+    try (URLClassLoader loader = createClassLoader()) {
+      final Optional<Reflections> act = JPATypeScanSnapshot.read(loader, PACKAGE2, PACKAGE1);
+      assertTrue(act.isPresent());
+      assertNotNull(scan);
+      assertFalse(scan.getTypesAnnotatedWith(EdmEnumeration.class).isEmpty());
+      assertFalse(scan.getSubTypesOf(ODataFunction.class).isEmpty());
+      assertEquals(scan.getTypesAnnotatedWith(EdmEnumeration.class),
+          act.get().getTypesAnnotatedWith(EdmEnumeration.class));
+      assertEquals(scan.getSubTypesOf(ODataFunction.class), act.get().getSubTypesOf(ODataFunction.class));
+      assertEquals(scan.getSubTypesOf(ODataAction.class), act.get().getSubTypesOf(ODataAction.class));
+    }
+  }
+
+  @Test
+  void checkSnapshotIsReproducible() throws IOException {
+    final byte[] first = Files.readAllBytes(JPATypeScanSnapshot.write(outputDirectory, PACKAGE1));
+    final byte[] second = Files.readAllBytes(JPATypeScanSnapshot.write(outputDirectory, PACKAGE1));
+    assertEquals(new String(first), new String(second));
+  }
+
+  @Test
+  void checkMainWritesSnapshot() throws IOException {
+    JPATypeScanSnapshot.main(new String[] { outputDirectory.toString(), PACKAGE2 });
+    assertTrue(Files.exists(outputDirectory.resolve(JPATypeScanSnapshot.determineResourceName(PACKAGE2))));
+  }
+
+  @Test
+  void checkMainThrowsExceptionWithoutPackage() {
+    assertThrows(IllegalArgumentException.class, () -> JPATypeScanSnapshot.main(new String[] { outputDirectory
+        .toString() }));
+  }
+
+  @Test
+  void checkDetermineTypesReturnsNullWithoutPackage() {
+    assertNull(JPATypeScanSnapshot.determineTypes(true));
+  }
+
+  @Test
+  void checkSnapshotStartsWithVersionAndFingerprint() throws IOException {
+    final List<String> act = Files.readAllLines(JPATypeScanSnapshot.write(outputDirectory, PACKAGE1));
+    final String[] header = act.get(0).split("\t");
+
+    assertEquals(3, header.length);
+    assertEquals("1", header[1]);
+    assertFalse(header[2].isEmpty());
+  }
+
+  @Test
+  void checkReadIgnoresSnapshotWithChangedContent() throws IOException {
+    final Path snapshot = JPATypeScanSnapshot.write(outputDirectory, PACKAGE1, PACKAGE2);
+    final List<String> lines = Files.readAllLines(snapshot);
+    lines.remove(lines.size() - 1);
+    Files.write(snapshot, lines, StandardCharsets.UTF_8);
+
+    try (URLClassLoader loader = createClassLoader()) {
+      assertFalse(JPATypeScanSnapshot.read(loader, PACKAGE1, PACKAGE2).isPresent());
+    }
+  }
+
+  @Test
+  void checkReadIgnoresSnapshotWithUnknownVersion() throws IOException {
+    final Path snapshot = JPATypeScanSnapshot.write(outputDirectory, PACKAGE1, PACKAGE2);
+    final List<String> lines = Files.readAllLines(snapshot);
+    lines.set(0, lines.get(0).replaceFirst("\t1\t", "\t0\t"));
+    Files.write(snapshot, lines, StandardCharsets.UTF_8);
+
+    try (URLClassLoader loader = createClassLoader()) {
+      assertFalse(JPATypeScanSnapshot.read(loader, PACKAGE1, PACKAGE2).isPresent());
+    }
+  }
+
+  @Test
+  void checkReadIgnoresSnapshotIfClassesDiffer() throws IOException {
+    JPATypeScanSnapshot.write(outputDirectory, PACKAGE1, PACKAGE2);
+    // The class files of the found types are not visible for this class loader
+    try (URLClassLoader loader = new URLClassLoader(new URL[] { outputDirectory.toUri().toURL() }, null)) {
+      assertFalse(JPATypeScanSnapshot.read(loader, PACKAGE1, PACKAGE2).isPresent());
+    }
+  }
+
+  @Test
+  void checkDetermineTypesUsesSnapshotOnlyIfRequested() throws IOException {
+    final Path snapshot = JPATypeScanSnapshot.write(outputDirectory, PACKAGE1, PACKAGE2);
+    final Reflections scan = JPATypeScanSnapshot.determineTypes(false, PACKAGE1, PACKAGE2);
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    try (URLClassLoader loader = createClassLoader()) {
+      Thread.currentThread().setContextClassLoader(loader);
+      final Reflections act = JPATypeScanSnapshot.determineTypes(true, PACKAGE1, PACKAGE2);
+      assertNotNull(act);
+      assertEquals(scan.getSubTypesOf(ODataFunction.class), act.getSubTypesOf(ODataFunction.class));
+
+      Files.write(snapshot, "Hugo".getBytes(StandardCharsets.UTF_8));
+      final Reflections fallback = JPATypeScanSnapshot.determineTypes(true, PACKAGE1, PACKAGE2);
+      assertNotNull(fallback);
+      assertEquals(scan.getSubTypesOf(ODataFunction.class), fallback.getSubTypesOf(ODataFunction.class));
+    } finally {
+      Thread.currentThread().setContextClassLoader(contextClassLoader);
+    }
+  }
+
+  private URLClassLoader createClassLoader() throws IOException {
+    return new URLClassLoader(new URL[] { outputDirectory.toUri().toURL() }, getClass().getClassLoader());
+  }
+}
@@ -13,42 +13,55 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.metamodel.Metamodel;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.cb.impl.EntityManagerWrapper;
 
 public final class EntityManagerFactoryWrapper implements EntityManagerFactory {
   private final EntityManagerFactory emf;
   private final JPAServiceDocument sd;
+  private final ProcessorSqlPaging sqlPaging;
 
   public EntityManagerFactoryWrapper(final EntityManagerFactory emf, final JPAServiceDocument sd) {
+    this(emf, sd, ProcessorSqlPaging.NONE);
+  }
+
+  /**
+   * @param emf
+   * @param sd
+   * @param sqlPaging Syntax used to render first result and max results of a query into the statement
+   */
+  public EntityManagerFactoryWrapper(final EntityManagerFactory emf, final JPAServiceDocument sd,
+      final ProcessorSqlPaging sqlPaging) {
     super();
     this.emf = emf;
     this.sd = sd;
+    this.sqlPaging = sqlPaging;
   }
 
   @Override
   public EntityManager createEntityManager() {
-    return new EntityManagerWrapper(emf.createEntityManager(), sd);
+    return new EntityManagerWrapper(emf.createEntityManager(), sd, sqlPaging);
   }
 
   @Override
   public EntityManager createEntityManager(@SuppressWarnings("rawtypes") final Map map) {
-    return new EntityManagerWrapper(emf.createEntityManager(map), sd);
+    return new EntityManagerWrapper(emf.createEntityManager(map), sd, sqlPaging);
   }
 
   @Override
   public EntityManager createEntityManager(final SynchronizationType synchronizationType) {
-    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType), sd);
+    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType), sd, sqlPaging);
   }
 
   @Override
   public EntityManager createEntityManager(final SynchronizationType synchronizationType,
       @SuppressWarnings("rawtypes") final Map map) {
-    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType, map), sd);
+    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType, map), sd, sqlPaging);
   }
 
   @Override
   public CriteriaBuilder getCriteriaBuilder() {
-    return new EntityManagerWrapper(emf.createEntityManager(), sd).getCriteriaBuilder();
+    return new EntityManagerWrapper(emf.createEntityManager(), sd, sqlPaging).getCriteriaBuilder();
   }
 
   @Override
@@ -5,7 +5,7 @@ import static java.util.Collections.emptySet;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -39,7 +39,7 @@ import com.sap.olingo.jpa.processor.cb.joiner.StringBuilderCollector;
 
 class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible {
   private final Class<T> resultType;
-  private final Set<FromImpl<?, ?>> roots = new HashSet<>();
+  private final Set<FromImpl<?, ?>> roots = new LinkedHashSet<>();
   private final JPAServiceDocument sd;
   private SqlSelection<?> selection;
   private Optional<Expression<Boolean>> where;
@@ -144,6 +144,19 @@ class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible
     }
   }
 
+  @Override
+  public <X> Root<X> lateral(@Nonnull final ProcessorSubquery<X> inner) {
+    if (roots.isEmpty())
+      throw new IllegalStateException("A lateral sub query requires a preceding root");
+    try {
+      final Root<X> root = new SubqueryRootImpl<>(inner, aliasBuilder, sd, true);
+      roots.add((FromImpl<?, ?>) root);
+      return root;
+    } catch (final ODataJPAModelException e) {
+      throw new InternalServerError(e);
+    }
+  }
+
   /**
    * Return a list of the grouping expressions. Returns empty
    * list if no grouping expressions have been specified.
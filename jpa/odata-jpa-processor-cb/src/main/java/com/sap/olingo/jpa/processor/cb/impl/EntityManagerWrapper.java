@@ -1,7 +1,11 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.persistence.EntityExistsException;
@@ -20,27 +24,61 @@ import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.metamodel.Metamodel;
+import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.cb.exeptions.NotImplementedException;
 
 public class EntityManagerWrapper implements EntityManager { // NOSONAR
+  /**
+   * Property to execute the queries of the criteria builder directly via JDBC instead of as native query of the JPA
+   * provider. This saves an intermediate copy of the result and allows to stream large results. The property can be
+   * set for the persistence unit, the entity manager or as hint of a query. The connection of the entity manager is
+   * used if it takes part in a transaction, otherwise one of the non JTA data source. If neither is available, the
+   * JPA provider executes the query.
+   */
+  public static final String JDBC_EXECUTION = "com.sap.olingo.jpa.processor.cb.jdbc";
+  /**
+   * Property for the number of rows fetched per round trip in case a query is executed directly via JDBC.
+   */
+  public static final String JDBC_FETCH_SIZE = "com.sap.olingo.jpa.processor.cb.jdbc.fetchSize";
+  /**
+   * Property to render integral numbers as literal into the SQL text instead of binding them as parameter. This
+   * reduces the number of parameter, but statements differing only in such a number get a different SQL text.
+   */
+  public static final String INLINE_CONSTANTS = "com.sap.olingo.jpa.processor.cb.inlineConstants";
+  static final String NON_JTA_DATA_SOURCE = "javax.persistence.nonJtaDataSource";
   private static final Log LOG = LogFactory.getLog(EntityManagerWrapper.class);
   private Optional<ProcessorCriteriaBuilder> cb;
   private final EntityManager em;
   private final JPAServiceDocument sd;
   private final ParameterBuffer parameterBuffer;
+  private final ProcessorSqlPaging sqlPaging;
+  private Optional<Map<String, Object>> properties;
 
   public EntityManagerWrapper(final EntityManager em, final JPAServiceDocument sd) {
+    this(em, sd, ProcessorSqlPaging.NONE);
+  }
+
+  /**
+   * @param em
+   * @param sd
+   * @param sqlPaging Syntax used to render first result and max results of a query into the statement
+   */
+  public EntityManagerWrapper(final EntityManager em, final JPAServiceDocument sd,
+      final ProcessorSqlPaging sqlPaging) {
     super();
     this.em = em;
     this.sd = sd;
     this.cb = Optional.empty();
     this.parameterBuffer = new ParameterBuffer();
+    this.sqlPaging = Objects.requireNonNull(sqlPaging);
+    this.properties = Optional.empty();
   }
 
   /**
@@ -266,6 +304,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
   @Override
   public void setProperty(final String propertyName, final Object value) {
     em.setProperty(propertyName, value);
+    properties = Optional.empty();
   }
 
   /**
@@ -599,6 +638,47 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
     return em.unwrap(cls);
   }
 
+  /**
+   * Provides a connection to execute a query directly via JDBC. Pending changes get flushed before, if the flush mode
+   * requires it.
+   * @return The connection of the entity manager, if it takes part in a transaction. Otherwise a new connection of
+   * the non JTA data source. Empty if no connection is available.
+   */
+  Optional<JdbcQuery.ConnectionHandle> getJdbcConnection() {
+    final Connection connection = em.unwrap(Connection.class);
+    if (connection != null) {
+      if (em.getFlushMode() == FlushModeType.AUTO)
+        em.flush();
+      return Optional.of(new JdbcQuery.ConnectionHandle(connection, false));
+    }
+    final Object dataSource = getPropertiesInEffect().get(NON_JTA_DATA_SOURCE);
+    if (dataSource instanceof DataSource) {
+      try {
+        return Optional.of(new JdbcQuery.ConnectionHandle(((DataSource) dataSource).getConnection(), true));
+      } catch (final SQLException e) {
+        throw new PersistenceException(e.getMessage(), e);
+      }
+    }
+    LOG.debug("No JDBC connection available, query gets executed by JPA provider");
+    return Optional.empty();
+  }
+
+  /**
+   * The properties of the entity manager are buffered, as the JPA provider may create a copy on each call.
+   * @return
+   */
+  ProcessorSqlPaging getSqlPaging() {
+    return sqlPaging;
+  }
+
+  Map<String, Object> getPropertiesInEffect() {
+    return properties.orElseGet(() -> {
+      final Map<String, Object> inEffect = em.getProperties();
+      properties = Optional.of(inEffect == null ? Collections.emptyMap() : inEffect);
+      return properties.get();
+    });
+  }
+
   /**
    * Close an application-managed entity manager.
    * After the close method has been invoked, all methods
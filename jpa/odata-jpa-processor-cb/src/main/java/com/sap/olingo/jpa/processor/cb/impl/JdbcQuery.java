@@ -0,0 +1,288 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+import javax.persistence.PersistenceException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Executes a statement created by the criteria builder directly via JDBC. The rows of the result set are handed over
+ * to a mapper without creating an intermediate result list, which is done by the JPA provider for native queries.<p>
+ * The criteria builder creates numbered parameter markers like <code>?1</code>, which are converted into plain JDBC
+ * markers. A parameter number can be used more than once.
+ * @since 1.0.9
+ */
+final class JdbcQuery {
+  private static final Log LOGGER = LogFactory.getLog(JdbcQuery.class);
+  private final String sql;
+  private final List<Integer> positions;
+
+  JdbcQuery(@Nonnull final String statement) {
+    final StringBuilder jdbcStatement = new StringBuilder(statement.length());
+    final List<Integer> parameterPositions = new ArrayList<>();
+    char quote = 0;
+    int i = 0;
+    while (i < statement.length()) {
+      final char c = statement.charAt(i++);
+      jdbcStatement.append(c);
+      if (quote != 0) {
+        if (c == quote)
+          quote = 0;
+      } else if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '?') {
+        final int start = i;
+        while (i < statement.length() && Character.isDigit(statement.charAt(i)))
+          i++;
+        if (start == i)
+          throw new IllegalArgumentException("Parameter without position found in: " + statement);
+        parameterPositions.add(Integer.valueOf(statement.substring(start, i)));
+      }
+    }
+    this.sql = jdbcStatement.toString();
+    this.positions = Collections.unmodifiableList(parameterPositions);
+  }
+
+  String getSql() {
+    return sql;
+  }
+
+  /**
+   * @return Parameter numbers in the sequence of their occurrence within the statement
+   */
+  List<Integer> getPositions() {
+    return positions;
+  }
+
+  /**
+   * Executes the statement and maps all rows.
+   * @param connection
+   * @param parameter Provides the value of a parameter number
+   * @param firstResult Number of rows to be skipped
+   * @param maxResults Maximum number of rows to be returned
+   * @param fetchSize Number of rows to be fetched per round trip, 0 for the driver default
+   * @param mapper Converts the column values of a row
+   * @return
+   */
+  <R> List<R> getResultList(@Nonnull final Connection connection, @Nonnull final IntFunction<Object> parameter,
+      final int firstResult, final int maxResults, final int fetchSize, @Nonnull final Function<Object[], R> mapper) {
+
+    try (PreparedStatement statement = prepare(connection, parameter, firstResult, maxResults, fetchSize);
+        ResultSet resultSet = statement.executeQuery()) {
+      final RowReader reader = new RowReader(resultSet, firstResult);
+      final List<R> result = new ArrayList<>();
+      Object[] row;
+      while ((row = reader.next()) != null)
+        result.add(mapper.apply(row));
+      return result;
+    } catch (final SQLException e) {
+      throw new PersistenceException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Executes the statement and maps the rows while the stream is consumed. The statement is closed when the last row
+   * was read or the stream gets closed.
+   * @param connection
+   * @param parameter Provides the value of a parameter number
+   * @param firstResult Number of rows to be skipped
+   * @param maxResults Maximum number of rows to be returned
+   * @param fetchSize Number of rows to be fetched per round trip, 0 for the driver default
+   * @param mapper Converts the column values of a row
+   * @param onClose Called after the statement has been closed, e.g. to release the connection
+   * @return
+   */
+  <R> Stream<R> getResultStream(@Nonnull final Connection connection, @Nonnull final IntFunction<Object> parameter,
+      final int firstResult, final int maxResults, final int fetchSize, @Nonnull final Function<Object[], R> mapper,
+      @Nonnull final Runnable onClose) {
+
+    PreparedStatement statement = null;
+    try {
+      statement = prepare(connection, parameter, firstResult, maxResults, fetchSize);
+      final StreamingReader<R> reader = new StreamingReader<>(statement, firstResult, mapper, onClose);
+      return StreamSupport.stream(reader, false).onClose(reader::close);
+    } catch (final SQLException e) {
+      close(statement);
+      onClose.run();
+      throw new PersistenceException(e.getMessage(), e);
+    }
+  }
+
+  private PreparedStatement prepare(final Connection connection, final IntFunction<Object> parameter,
+      final int firstResult, final int maxResults, final int fetchSize) throws SQLException {
+
+    final PreparedStatement statement = connection.prepareStatement(sql);
+    try {
+      for (int i = 0; i < positions.size(); i++)
+        statement.setObject(i + 1, toJdbcValue(parameter.apply(positions.get(i))));
+      if (fetchSize > 0)
+        statement.setFetchSize(fetchSize);
+      if (maxResults < Integer.MAX_VALUE)
+        statement.setMaxRows((int) Math.min(Integer.MAX_VALUE, (long) firstResult + maxResults));
+      return statement;
+    } catch (final SQLException e) {
+      close(statement);
+      throw e;
+    }
+  }
+
+  private static Object toJdbcValue(final Object value) {
+    if (value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof Timestamp)
+      return value;
+    if (value instanceof Date)
+      return new Timestamp(((Date) value).getTime());
+    if (value instanceof Calendar)
+      return new Timestamp(((Calendar) value).getTimeInMillis());
+    if (value instanceof Character)
+      return value.toString();
+    if (value instanceof Enum<?>)
+      return ((Enum<?>) value).name();
+    return value;
+  }
+
+  private static void close(final AutoCloseable resource) {
+    if (resource != null) {
+      try {
+        resource.close();
+      } catch (final Exception e) {
+        LOGGER.debug("Could not close JDBC resource", e);
+      }
+    }
+  }
+
+  /**
+   * Reads the column values of the rows. LOBs are read completely, as they become invalid once the result set is
+   * closed.
+   */
+  private static class RowReader {
+    private final ResultSet resultSet;
+    private final int columnCount;
+    private int skip;
+
+    RowReader(final ResultSet resultSet, final int skip) throws SQLException {
+      this.resultSet = resultSet;
+      this.columnCount = resultSet.getMetaData().getColumnCount();
+      this.skip = skip;
+    }
+
+    Object[] next() throws SQLException {
+      while (skip > 0) {
+        skip--;
+        if (!resultSet.next())
+          return null;
+      }
+      if (!resultSet.next())
+        return null;
+      final Object[] row = new Object[columnCount];
+      for (int i = 0; i < columnCount; i++)
+        row[i] = getValue(i + 1);
+      return row;
+    }
+
+    private Object getValue(final int column) throws SQLException {
+      final Object value = resultSet.getObject(column);
+      if (value instanceof Clob)
+        return ((Clob) value).getSubString(1, (int) ((Clob) value).length());
+      if (value instanceof Blob)
+        return ((Blob) value).getBytes(1, (int) ((Blob) value).length());
+      return value;
+    }
+  }
+
+  /**
+   * A JDBC connection and whether it has to be closed after usage.
+   */
+  static final class ConnectionHandle implements AutoCloseable {
+    private final Connection connection;
+    private final boolean owned;
+
+    ConnectionHandle(@Nonnull final Connection connection, final boolean owned) {
+      this.connection = connection;
+      this.owned = owned;
+    }
+
+    Connection getConnection() {
+      return connection;
+    }
+
+    /**
+     * Closes the connection if it is not the one of the entity manager.
+     */
+    @Override
+    public void close() {
+      if (owned)
+        JdbcQuery.close(connection);
+    }
+  }
+
+  private static class StreamingReader<R> extends Spliterators.AbstractSpliterator<R> {
+    private final PreparedStatement statement;
+    private final int firstResult;
+    private final Function<Object[], R> mapper;
+    private final Runnable onClose;
+    private ResultSet resultSet;
+    private RowReader reader;
+    private boolean closed;
+
+    StreamingReader(final PreparedStatement statement, final int firstResult, final Function<Object[], R> mapper,
+        final Runnable onClose) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+      this.statement = statement;
+      this.firstResult = firstResult;
+      this.mapper = mapper;
+      this.onClose = onClose;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+      if (closed)
+        return false;
+      try {
+        if (reader == null) {
+          resultSet = statement.executeQuery();
+          reader = new RowReader(resultSet, firstResult);
+        }
+        final Object[] row = reader.next();
+        if (row == null) {
+          close();
+          return false;
+        }
+        action.accept(mapper.apply(row));
+        return true;
+      } catch (final SQLException e) {
+        close();
+        throw new PersistenceException(e.getMessage(), e);
+      }
+    }
+
+    void close() {
+      if (!closed) {
+        closed = true;
+        JdbcQuery.close(resultSet);
+        JdbcQuery.close(statement);
+        onClose.run();
+      }
+    }
+  }
+}
@@ -1,6 +1,11 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -9,6 +14,11 @@ import javax.persistence.criteria.Expression;
 
 import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
 
+/**
+ * Collects the parameter created while criteria queries are built. The buffer belongs to a criteria builder, so the
+ * parameter numbers are unique for all queries created with it. As the SQL text shall not depend on other queries,
+ * the numbers used within a statement are determined by {@link #scope(String, boolean)}.
+ */
 class ParameterBuffer {
   private int index = 1;
   private final Map<Integer, ParameterExpression<?, ?>> parameter;
@@ -33,4 +43,115 @@ class ParameterBuffer {
   Map<Integer, ParameterExpression<?, ?>> getParameter() {
     return parameter;
   }
+
+  /**
+   * Determines the parameter of a statement. Only parameter used by the statement become part of the scope. They get
+   * numbered in the sequence of their first occurrence starting with 1. Parameter having the same value share one
+   * number. So structurally identical queries lead to the same SQL text, independent of the parameter created
+   * before, which enables the database to reuse the execution plan.<p>
+   * Optionally integral numbers can be rendered as literal into the statement.
+   * @param statement SQL text with the numbers of this buffer
+   * @param inlineConstants Integral numbers shall be inlined
+   * @return
+   * @throws IllegalArgumentException if the statement contains a parameter not created by this buffer
+   */
+  Scope scope(@Nonnull final String statement, final boolean inlineConstants) {
+    final StringBuilder scopedStatement = new StringBuilder(statement.length());
+    final Map<Integer, Integer> positions = new HashMap<>();
+    final Map<Object, Integer> valuePositions = new HashMap<>();
+    final List<Object> values = new ArrayList<>();
+    char quote = 0;
+    int i = 0;
+    while (i < statement.length()) {
+      final char c = statement.charAt(i++);
+      if (quote != 0) {
+        if (c == quote)
+          quote = 0;
+      } else if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '?') {
+        final int start = i;
+        while (i < statement.length() && Character.isDigit(statement.charAt(i)))
+          i++;
+        if (start != i) {
+          final Integer index = Integer.valueOf(statement.substring(start, i));
+          if (!parameter.containsKey(index))
+            throw new IllegalArgumentException("Unknown parameter ?" + index + " in: " + statement);
+          final Object value = parameter.get(index).getValue();
+          if (inlineConstants && isInlineable(value)) {
+            scopedStatement.append(value);
+          } else {
+            final Integer position = positions.computeIfAbsent(index,
+                key -> valuePositions.computeIfAbsent(new ValueKey(value), v -> {
+                  values.add(value);
+                  return values.size();
+                }));
+            scopedStatement.append(c).append(position);
+          }
+          continue;
+        }
+      }
+      scopedStatement.append(c);
+    }
+    return new Scope(scopedStatement.toString(), values);
+  }
+
+  private static boolean isInlineable(final Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+        || value instanceof BigInteger;
+  }
+
+  /**
+   * SQL text and parameter values of one statement.
+   */
+  static final class Scope {
+    private final String sql;
+    private final Map<Integer, Object> values;
+
+    private Scope(final String sql, final List<Object> values) {
+      this.sql = sql;
+      final Map<Integer, Object> positionValues = new LinkedHashMap<>(values.size() * 2);
+      for (int i = 0; i < values.size(); i++)
+        positionValues.put(i + 1, values.get(i));
+      this.values = Collections.unmodifiableMap(positionValues);
+    }
+
+    String getSql() {
+      return sql;
+    }
+
+    /**
+     * @return Value per parameter number, starting with 1
+     */
+    Map<Integer, Object> getValues() {
+      return values;
+    }
+  }
+
+  /**
+   * Values are only treated as identical if they have the same type, so e.g. an Integer and a Long are bound as
+   * different parameter.
+   */
+  private static final class ValueKey {
+    private final Object value;
+
+    private ValueKey(final Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof ValueKey))
+        return false;
+      final Object other = ((ValueKey) obj).value;
+      if (value == null || other == null)
+        return value == other;
+      return value.getClass() == other.getClass() && value.equals(other);
+    }
+  }
 }
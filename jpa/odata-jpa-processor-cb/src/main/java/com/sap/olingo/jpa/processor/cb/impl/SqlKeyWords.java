@@ -17,6 +17,7 @@ enum SqlKeyWords {
   GROUPBY("GROUP BY"),
   HAVING("HAVING"),
   IN("IN"),
+  LATERAL("LATERAL"),
   LIKE("LIKE"),
   MOD("MOD"),
   NOT("NOT"),
@@ -16,16 +16,38 @@ import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 class SubqueryRootImpl<X> extends FromImpl<X, X> implements Root<X> {
 
   private final Subquery<X> query;
+  private final boolean lateral;
 
   SubqueryRootImpl(@Nonnull final ProcessorSubquery<X> inner, @Nonnull final AliasBuilder ab,
       final JPAServiceDocument sd) throws ODataJPAModelException {
 
+    this(inner, ab, sd, false);
+  }
+
+  /**
+   * @param inner
+   * @param ab
+   * @param sd
+   * @param lateral The sub query is rendered as lateral derived table, so it can refer to the roots preceding it in the
+   * FROM clause
+   * @throws ODataJPAModelException
+   */
+  SubqueryRootImpl(@Nonnull final ProcessorSubquery<X> inner, @Nonnull final AliasBuilder ab,
+      final JPAServiceDocument sd, final boolean lateral) throws ODataJPAModelException {
+
     super(sd.getEntity(inner.getJavaType()), ab, null);
     this.query = inner;
+    this.lateral = lateral;
+  }
+
+  boolean isLateral() {
+    return lateral;
   }
 
   @Override
   public StringBuilder asSQL(final StringBuilder statement) {
+    if (lateral)
+      statement.append(SqlKeyWords.LATERAL).append(" ");
     statement.append(OPENING_BRACKET);
     ((SqlConvertible) query).asSQL(statement);
     statement.append(CLOSING_BRACKET)
@@ -71,6 +93,10 @@ class SubqueryRootImpl<X> extends FromImpl<X, X> implements Root<X> {
         } else if (x instanceof WindowFunctionExpression<?>
             && x.getAlias().equals(attributeName)) {
           return ((WindowFunctionExpression<Y>) x).asPath(tableAlias.orElse(""));
+        } else if (x instanceof SelectionPath<?>
+            && attributeName.equals(x.getAlias())) {
+          // Selection taken from a sub query of the sub query
+          return new SelectionPath(selImpl, tableAlias);
         }
       }
     }
@@ -82,6 +108,7 @@ class SubqueryRootImpl<X> extends FromImpl<X, X> implements Root<X> {
     final int prime = 31;
     int result = super.hashCode();
     result = prime * result + ((query == null) ? 0 : query.hashCode());
+    result = prime * result + (lateral ? 1231 : 1237);
     return result;
   }
 
@@ -92,6 +119,7 @@ class SubqueryRootImpl<X> extends FromImpl<X, X> implements Root<X> {
     if (getClass() != obj.getClass()) return false;
     @SuppressWarnings("unchecked")
     final SubqueryRootImpl<X> other = (SubqueryRootImpl<X>) obj;
+    if (lateral != other.lateral) return false;
     if (query == null) {
       if (other.query != null) return false;
     } else if (!query.equals(other.query)) return false;
@@ -2,27 +2,36 @@ package com.sap.olingo.jpa.processor.cb.impl;
 
 import static com.sap.olingo.jpa.processor.cb.impl.TypeConverter.convert;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import javax.persistence.AttributeConverter;
 import javax.persistence.Tuple;
 import javax.persistence.TupleElement;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
 
 /**
- *
+ * Result row of a tuple query. The values are converted into the type of the selected attribute when they are
+ * requested by alias. The converter of a column is determined once per statement, see
+ * {@link #createConverters(List)}, and each value is converted at most once.
  * @author Oliver Grande
  * @since 1.0.0
  */
 class TupleImpl implements Tuple {
+  private static final Object NOT_CONVERTED = new Object();
   private final Object[] values;
   private final List<Entry<String, JPAAttribute>> selection;
   private final Map<String, Integer> selectionIndex;
+  private final List<UnaryOperator<Object>> converters;
+  private Object[] convertedValues;
   private Optional<List<TupleElement<?>>> tupleElements;
 
   TupleImpl(final Object value, final List<Entry<String, JPAAttribute>> selection,
@@ -32,13 +41,52 @@ class TupleImpl implements Tuple {
 
   TupleImpl(final Object[] values, final List<Entry<String, JPAAttribute>> selPath,
       final Map<String, Integer> selectionIndex) {
+    this(values, selPath, selectionIndex, createConverters(selPath));
+  }
+
+  TupleImpl(final Object value, final TupleLayout layout) {
+    this(new Object[] { value }, layout);
+  }
+
+  TupleImpl(final Object[] values, final TupleLayout layout) {
+    this(values, layout.getAttributes(), layout.getIndex(), layout.getConverters());
+  }
+
+  private TupleImpl(final Object[] values, final List<Entry<String, JPAAttribute>> selPath,
+      final Map<String, Integer> selectionIndex, final List<UnaryOperator<Object>> converters) {
     super();
     this.values = values;
     this.selection = selPath;
     this.selectionIndex = selectionIndex;
+    this.converters = converters;
     this.tupleElements = Optional.empty();
   }
 
+  /**
+   * Determines for each selected attribute how a database value gets converted into the attribute type. This is done
+   * once per statement, so that the attribute metadata are not evaluated again for each row and column.
+   * @param selection
+   * @return converter per column
+   */
+  static List<UnaryOperator<Object>> createConverters(final List<Entry<String, JPAAttribute>> selection) {
+    final List<UnaryOperator<Object>> converters = new ArrayList<>(selection.size());
+    for (final Entry<String, JPAAttribute> item : selection)
+      converters.add(createConverter(item.getValue()));
+    return Collections.unmodifiableList(converters);
+  }
+
+  private static UnaryOperator<Object> createConverter(final JPAAttribute attribute) {
+    if (attribute.isEnum() && attribute.getConverter() == null) {
+      final Object[] constants = attribute.getType().getEnumConstants();
+      return value -> constants[(Integer) convert(value, Integer.class)];
+    }
+    final Class<?> dbType = attribute.getDbType();
+    final AttributeConverter<Object, Object> rawConverter = attribute.getRawConverter();
+    if (rawConverter != null)
+      return value -> rawConverter.convertToEntityAttribute(convert(value, dbType));
+    return value -> convert(value, dbType);
+  }
+
   /**
    * Get the value of the element at the specified
    * position in the result tuple. The first position is 0.<p>
@@ -84,22 +132,18 @@ class TupleImpl implements Tuple {
   @Override
   public Object get(final String alias) {
 
-    if (selectionIndex.containsKey(alias)) {
-      final int index = selectionIndex.get(alias);
-      final JPAAttribute attribute = selection.get(index).getValue();
-      if (values[index] == null)
-        return null;
-      if (attribute.isEnum() && attribute.getConverter() == null) {
-        final int value = (Integer) convert(values[index], Integer.class);
-        return attribute.getType().getEnumConstants()[value];
-      }
-      final Object value = convert(values[index], attribute.getDbType());
-      if (attribute.getRawConverter() != null)
-        return attribute.getRawConverter().convertToEntityAttribute(value);
-      return value;
-    } else {
+    final Integer index = selectionIndex.get(alias);
+    if (index == null)
       throw new IllegalArgumentException("Unknown alias: " + alias);
+    if (values[index] == null)
+      return null;
+    if (convertedValues == null) {
+      convertedValues = new Object[values.length];
+      Arrays.fill(convertedValues, NOT_CONVERTED);
     }
+    if (convertedValues[index] == NOT_CONVERTED)
+      convertedValues[index] = converters.get(index).apply(values[index]);
+    return convertedValues[index];
   }
 
   /**
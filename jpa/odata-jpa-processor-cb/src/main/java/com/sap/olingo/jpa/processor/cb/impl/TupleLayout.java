@@ -0,0 +1,52 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.UnaryOperator;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
+
+/**
+ * Information derived from the selection of a query, which is needed to convert the result rows into tuples. It is
+ * created once per query and shared by all rows, so the selected attributes are not evaluated again for each row.
+ * @since 1.0.9
+ */
+final class TupleLayout {
+  private final List<Entry<String, JPAAttribute>> attributes;
+  private final Map<String, Integer> index;
+  private final List<UnaryOperator<Object>> converters;
+
+  TupleLayout(final List<Entry<String, JPAPath>> selection) {
+    final List<Entry<String, JPAAttribute>> attributeList = new ArrayList<>(selection.size());
+    final Map<String, Integer> selectionIndex = new HashMap<>(selection.size() * 2);
+    for (final Entry<String, JPAPath> item : selection) {
+      attributeList.add(new ProcessorSelection.SelectionAttribute(item.getKey(), item.getValue().getLeaf()));
+      if (selectionIndex.put(item.getKey(), selectionIndex.size()) != null)
+        throw new IllegalStateException("Duplicate selection alias " + item.getKey());
+    }
+    this.attributes = Collections.unmodifiableList(attributeList);
+    this.index = Collections.unmodifiableMap(selectionIndex);
+    this.converters = TupleImpl.createConverters(attributes);
+  }
+
+  List<Entry<String, JPAAttribute>> getAttributes() {
+    return attributes;
+  }
+
+  Map<String, Integer> getIndex() {
+    return index;
+  }
+
+  /**
+   * @return Converter per column, which converts a database value into the type of the selected attribute
+   */
+  List<UnaryOperator<Object>> getConverters() {
+    return converters;
+  }
+}
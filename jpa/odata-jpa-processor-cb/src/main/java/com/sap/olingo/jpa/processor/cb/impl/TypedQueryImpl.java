@@ -1,14 +1,16 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.FlushModeType;
@@ -27,25 +29,55 @@ import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaQuery;
 
-import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
-import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
-import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 
 class TypedQueryImpl<T> implements TypedQuery<T> {
 
   private final CriteriaQueryImpl<T> parent;
   private final Query q;
   private final ProcessorSelection<T> selection;
+  private final String sql;
+  private final Optional<EntityManagerWrapper> wrapper;
+  private final Map<Integer, Object> parameterValues;
+  private final EntityManager em;
+  private final ProcessorSqlPaging sqlPaging;
+  private boolean useJdbc;
+  private int fetchSize;
+  private int firstResult;
+  private int maxResults;
+  private TupleLayout layout;
 
   TypedQueryImpl(final CriteriaQuery<T> criteriaQuery, final EntityManager em,
       final ParameterBuffer parameterBuffer) {
-    final StringBuilder sql = new StringBuilder();
+    this(criteriaQuery, em, parameterBuffer, Optional.empty());
+  }
+
+  TypedQueryImpl(final CriteriaQuery<T> criteriaQuery, final EntityManagerWrapper em,
+      final ParameterBuffer parameterBuffer) {
+    this(criteriaQuery, em, parameterBuffer, Optional.of(em));
+  }
+
+  private TypedQueryImpl(final CriteriaQuery<T> criteriaQuery, final EntityManager em,
+      final ParameterBuffer parameterBuffer, final Optional<EntityManagerWrapper> wrapper) {
     this.parent = (CriteriaQueryImpl<T>) criteriaQuery;
     this.parent.getResultType();
     this.selection = (ProcessorSelection<T>) parent.getSelection();
-    this.q = em.createNativeQuery(parent.asSQL(sql).toString());
-    copyParameter(parameterBuffer.getParameter());
+    final ParameterBuffer.Scope scope = parameterBuffer.scope(parent.asSQL(new StringBuilder()).toString(),
+        wrapper.map(source -> isTrue(source.getPropertiesInEffect().get(EntityManagerWrapper.INLINE_CONSTANTS)))
+            .orElse(Boolean.FALSE));
+    this.sql = scope.getSql();
+    this.wrapper = wrapper;
+    this.parameterValues = new HashMap<>();
+    this.em = em;
+    this.sqlPaging = wrapper.map(EntityManagerWrapper::getSqlPaging).orElse(ProcessorSqlPaging.NONE);
+    this.maxResults = Integer.MAX_VALUE;
+    this.q = em.createNativeQuery(sql);
+    scope.getValues().forEach((position, value) -> setParameter(position.intValue(), value));
+    wrapper.ifPresent(source -> {
+      useJdbc = isTrue(source.getPropertiesInEffect().get(EntityManagerWrapper.JDBC_EXECUTION));
+      fetchSize = toInt(source.getPropertiesInEffect().get(EntityManagerWrapper.JDBC_FETCH_SIZE));
+    });
   }
 
   @Override
@@ -55,7 +87,7 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
 
   @Override
   public int getFirstResult() {
-    return q.getFirstResult();
+    return sqlPaging == ProcessorSqlPaging.NONE ? q.getFirstResult() : firstResult;
   }
 
   @Override
@@ -75,7 +107,7 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
 
   @Override
   public int getMaxResults() {
-    return q.getMaxResults();
+    return sqlPaging == ProcessorSqlPaging.NONE ? q.getMaxResults() : maxResults;
   }
 
   @Override
@@ -142,25 +174,63 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
   @Override
   public List<T> getResultList() {
 
-    final List<?> result = q.getResultList();
+    if (useJdbc) {
+      final Optional<JdbcQuery.ConnectionHandle> connection = wrapper.flatMap(
+          EntityManagerWrapper::getJdbcConnection);
+      if (connection.isPresent()) {
+        try (JdbcQuery.ConnectionHandle handle = connection.get()) {
+          if (isPagedByDatabase()) {
+            final Map<Integer, Object> values = new HashMap<>(parameterValues);
+            return new JdbcQuery(createPagedSql(values)).getResultList(handle.getConnection(), values::get, 0,
+                Integer.MAX_VALUE, fetchSize, createRowMapper());
+          }
+          return new JdbcQuery(sql).getResultList(handle.getConnection(), parameterValues::get, q.getFirstResult(),
+              q.getMaxResults(), fetchSize, createRowMapper());
+        }
+      }
+    }
+    final List<?> result = createExecutableQuery().getResultList();
     if (parent.getResultType().isAssignableFrom(Tuple.class)) {
       if (result.isEmpty())
         return Collections.emptyList();
-      final List<Entry<String, JPAPath>> selPath = buildSelection();
-      final Map<String, Integer> index = buildSelectionIndex(selPath);
-      final List<Entry<String, JPAAttribute>> selAttributes = toAttributeList(selPath);
+      final TupleLayout tupleLayout = getLayout();
       if (result.get(0).getClass().isArray()) {
         return (List<T>) ((List<Object[]>) result).stream()
-            .map(r -> new TupleImpl(r, selAttributes, index))
+            .map(r -> new TupleImpl(r, tupleLayout))
             .collect(Collectors.toList());
       }
       return (List<T>) ((List<Object>) result).stream()
-          .map(r -> new TupleImpl(r, selAttributes, index))
+          .map(r -> new TupleImpl(r, tupleLayout))
           .collect(Collectors.toList());
     }
     return (List<T>) result;
   }
 
+  /**
+   * Execute a SELECT query and return the query results as a typed Stream. In case the query is executed directly via
+   * JDBC, the rows are read while the stream is consumed. The stream has to be closed to release the JDBC resources,
+   * in case it is not consumed completely.
+   * @return a stream of the results
+   */
+  @Override
+  public Stream<T> getResultStream() {
+    if (useJdbc) {
+      final Optional<JdbcQuery.ConnectionHandle> connection = wrapper.flatMap(
+          EntityManagerWrapper::getJdbcConnection);
+      if (connection.isPresent()) {
+        final JdbcQuery.ConnectionHandle handle = connection.get();
+        if (isPagedByDatabase()) {
+          final Map<Integer, Object> values = new HashMap<>(parameterValues);
+          return new JdbcQuery(createPagedSql(values)).getResultStream(handle.getConnection(), values::get, 0,
+              Integer.MAX_VALUE, fetchSize, createRowMapper(), handle::close);
+        }
+        return new JdbcQuery(sql).getResultStream(handle.getConnection(), parameterValues::get, q.getFirstResult(),
+            q.getMaxResults(), fetchSize, createRowMapper(), handle::close);
+      }
+    }
+    return getResultList().stream();
+  }
+
   /**
    * Execute a SELECT query that returns a single untyped result.
    * @return the result
@@ -197,8 +267,13 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
 
   @Override
   public TypedQuery<T> setFirstResult(final int startPosition) {
-
-    q.setFirstResult(startPosition);
+    if (sqlPaging == ProcessorSqlPaging.NONE) {
+      q.setFirstResult(startPosition);
+    } else {
+      if (startPosition < 0)
+        throw new IllegalArgumentException("First result must not be negative");
+      firstResult = startPosition;
+    }
     return this;
   }
 
@@ -210,7 +285,12 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
 
   @Override
   public TypedQuery<T> setHint(final String hintName, final Object value) {
-    q.setHint(hintName, value);
+    if (EntityManagerWrapper.JDBC_EXECUTION.equals(hintName))
+      useJdbc = isTrue(value);
+    else if (EntityManagerWrapper.JDBC_FETCH_SIZE.equals(hintName))
+      fetchSize = toInt(value);
+    else
+      q.setHint(hintName, value);
     return this;
   }
 
@@ -222,25 +302,34 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
 
   @Override
   public TypedQuery<T> setMaxResults(final int maxResult) {
-    q.setMaxResults(maxResult);
+    if (sqlPaging == ProcessorSqlPaging.NONE) {
+      q.setMaxResults(maxResult);
+    } else {
+      if (maxResult < 0)
+        throw new IllegalArgumentException("Max results must not be negative");
+      maxResults = maxResult;
+    }
     return this;
   }
 
   @Override
   public TypedQuery<T> setParameter(final int position, final Calendar value, final TemporalType temporalType) {
     q.setParameter(position, value, temporalType);
+    parameterValues.put(position, value);
     return this;
   }
 
   @Override
   public TypedQuery<T> setParameter(final int position, final Date value, final TemporalType temporalType) {
     q.setParameter(position, value, temporalType);
+    parameterValues.put(position, value);
     return this;
   }
 
   @Override
   public TypedQuery<T> setParameter(final int position, final Object value) {
     q.setParameter(position, value);
+    parameterValues.put(position, value);
     return this;
   }
 
@@ -286,27 +375,81 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
     return q.unwrap(cls);
   }
 
-  private List<Entry<String, JPAPath>> buildSelection() {
-    return selection.getResolvedSelection();
+  String getSql() {
+    return sql;
   }
 
-  private Map<String, Integer> buildSelectionIndex(final List<Entry<String, JPAPath>> selPath) {
+  private boolean isPagedByDatabase() {
+    return sqlPaging != ProcessorSqlPaging.NONE && (firstResult > 0 || maxResults < Integer.MAX_VALUE);
+  }
+
+  /**
+   * Provides the query to be executed. In case the paging is done by the database, a query with the paging clause
+   * is created, which gets the parameter, hints and flush mode of the query without paging.
+   */
+  private Query createExecutableQuery() {
+    if (!isPagedByDatabase())
+      return q;
+    final Map<Integer, Object> values = new HashMap<>(parameterValues);
+    final Query pagedQuery = em.createNativeQuery(createPagedSql(values));
+    values.forEach(pagedQuery::setParameter);
+    final Map<String, Object> hints = q.getHints();
+    if (hints != null)
+      hints.forEach(pagedQuery::setHint);
+    pagedQuery.setFlushMode(q.getFlushMode());
+    return pagedQuery;
+  }
 
-    final int[] count = { 0 };
-    return selPath.stream()
-        .collect(Collectors.toMap(Entry::getKey, p -> count[0]++));
+  /**
+   * Appends the paging clause to the statement. First result and max results are bound as parameter, so the SQL text
+   * does not depend on the requested page.
+   * @param values Parameter values of the query. The values of the paging parameter are added
+   * @return
+   */
+  private String createPagedSql(final Map<Integer, Object> values) {
+    final StringBuilder pagedSql = new StringBuilder(sql);
+    int position = values.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    if (sqlPaging == ProcessorSqlPaging.LIMIT_OFFSET) {
+      values.put(++position, maxResults);
+      pagedSql.append(" LIMIT ?").append(position);
+      values.put(++position, firstResult);
+      pagedSql.append(" OFFSET ?").append(position);
+    } else {
+      values.put(++position, firstResult);
+      pagedSql.append(" OFFSET ?").append(position).append(" ROWS");
+      if (maxResults < Integer.MAX_VALUE) {
+        values.put(++position, maxResults);
+        pagedSql.append(" FETCH NEXT ?").append(position).append(" ROWS ONLY");
+      }
+    }
+    return pagedSql.toString();
   }
 
-  private void copyParameter(final Map<Integer, ParameterExpression<?, ?>> map) {
-    map.entrySet().stream().forEach(e -> this.q.setParameter(e.getKey(), e.getValue().getValue()));
+  /**
+   * The layout of the result tuples is determined once per query, so repeated executions share it.
+   */
+  private TupleLayout getLayout() {
+    if (layout == null)
+      layout = new TupleLayout(selection.getResolvedSelection());
+    return layout;
   }
 
-  private List<Entry<String, JPAAttribute>> toAttributeList(final List<Entry<String, JPAPath>> selPath) {
-    final List<Entry<String, JPAAttribute>> result = new ArrayList<>(selPath.size());
-    for (final Entry<String, JPAPath> entity : selPath) {
-      result.add(new ProcessorSelection.SelectionAttribute(entity.getKey(), entity.getValue().getLeaf()));
+  @SuppressWarnings("unchecked")
+  private Function<Object[], T> createRowMapper() {
+    if (parent.getResultType().isAssignableFrom(Tuple.class)) {
+      final TupleLayout tupleLayout = getLayout();
+      return row -> (T) new TupleImpl(row, tupleLayout);
     }
-    return result;
+    return row -> (T) (row.length == 1 ? row[0] : row);
+  }
+
+  private static boolean isTrue(final Object value) {
+    return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value == null ? null : value.toString());
   }
 
+  private static int toInt(final Object value) {
+    if (value instanceof Number)
+      return ((Number) value).intValue();
+    return value == null ? 0 : Integer.parseInt(value.toString().trim());
+  }
 }
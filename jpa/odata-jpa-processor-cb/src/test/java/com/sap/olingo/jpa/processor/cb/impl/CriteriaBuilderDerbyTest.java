@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Disabled;
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
 
 @Disabled
@@ -35,4 +36,9 @@ class CriteriaBuilderDerbyTest extends CriteriaBuilderOverallTest {
   void setup() {
     super.setup(emf, sd);
   }
+
+  @Override
+  protected ProcessorSqlPaging getSqlPaging() {
+    return ProcessorSqlPaging.OFFSET_FETCH;
+  }
 }
@@ -1,15 +1,27 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.Root;
 import javax.sql.DataSource;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaQuery;
+import com.sap.olingo.jpa.processor.cb.ProcessorSubquery;
+import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
+import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
 import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
 
 class CriteriaBuilderHSQLDBTest extends CriteriaBuilderOverallTest {
@@ -33,4 +45,52 @@ class CriteriaBuilderHSQLDBTest extends CriteriaBuilderOverallTest {
   void setup() {
     super.setup(emf, sd);
   }
+
+  @Test
+  void testLateralJoinRestrictsRowsPerParent() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> parent = cq.from(AdministrativeDivision.class);
+    final ProcessorSubquery<AdministrativeDivision> children = createChildrenQuery(cq, parent);
+    children.orderBy(cb.desc(children.getRoots().iterator().next().get("divisionCode")));
+    children.setMaxResults(2);
+    final Root<?> lateral = cq.lateral(children);
+
+    cq.multiselect(parent.get("divisionCode").alias("parent"), lateral.get("divisionCode").alias("child"));
+    cq.where(cb.and(cb.equal(parent.get("codeID"), "NUTS1"), cb.equal(parent.get("divisionCode"), "BE2")));
+    cq.orderBy(cb.asc(lateral.get("divisionCode")));
+
+    final String sql = ((SqlConvertible) cq).asSQL(new StringBuilder()).toString();
+    assertTrue(sql.contains(" E0, LATERAL (SELECT "), sql);
+    final List<Tuple> act = em.createQuery(cq).getResultList();
+    assertEquals(2, act.size());
+    assertEquals("BE2", act.get(0).get("parent"));
+    assertEquals("BE24", act.get(0).get("child"));
+    assertEquals("BE25", act.get(1).get("child"));
+  }
+
+  @Test
+  void testLateralJoinWithoutRows() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> parent = cq.from(AdministrativeDivision.class);
+    final ProcessorSubquery<AdministrativeDivision> children = createChildrenQuery(cq, parent);
+    children.setMaxResults(1);
+    final Root<?> lateral = cq.lateral(children);
+
+    cq.multiselect(parent.get("divisionCode").alias("parent"), lateral.get("divisionCode").alias("child"));
+    cq.where(cb.equal(parent.get("codeID"), "LAU2"));
+
+    assertTrue(em.createQuery(cq).getResultList().isEmpty());
+  }
+
+  private ProcessorSubquery<AdministrativeDivision> createChildrenQuery(final ProcessorCriteriaQuery<Tuple> cq,
+      final Root<AdministrativeDivision> parent) {
+
+    final ProcessorSubquery<AdministrativeDivision> children = cq.subquery(AdministrativeDivision.class);
+    final Root<AdministrativeDivision> child = children.from(AdministrativeDivision.class);
+    children.multiselect(child.get("codePublisher"), child.get("codeID"), child.get("divisionCode"));
+    children.where(cb.and(cb.equal(child.get("codePublisher"), parent.get("codePublisher")),
+        cb.and(cb.equal(child.get("parentCodeID"), parent.get("codeID")),
+            cb.equal(child.get("parentDivisionCode"), parent.get("divisionCode")))));
+    return children;
+  }
 }
@@ -1,6 +1,8 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -8,6 +10,9 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -24,6 +29,7 @@ import org.junit.jupiter.api.Test;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
 import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivisionDescription;
@@ -38,8 +44,12 @@ abstract class CriteriaBuilderOverallTest {
   protected EntityManager em;
   protected StringBuilder stmt;
   protected CriteriaQuery<Tuple> q;
+  private EntityManagerFactory emf;
+  private JPAServiceDocument sd;
 
   void setup(final EntityManagerFactory emf, final JPAServiceDocument sd) {
+    this.emf = emf;
+    this.sd = sd;
     em = new EntityManagerWrapper(emf.createEntityManager(), sd);
     cb = (ProcessorCriteriaBuilder) em.getCriteriaBuilder();
     assertNotNull(cb);
@@ -311,4 +321,134 @@ abstract class CriteriaBuilderOverallTest {
     assertEquals(LocalDate.parse("1999-04-01"), act.get(0).get("S2"));
     assertEquals(LocalDateTime.parse("2016-01-20T09:21:23"), act.get(0).get("S1"));
   }
+
+  @Test
+  void testJdbcExecutionProvidesSameResult() {
+    final Optional<JdbcQuery.ConnectionHandle> connection = ((EntityManagerWrapper) em).getJdbcConnection();
+    assertTrue(connection.isPresent());
+    connection.get().close();
+
+    final List<Tuple> exp = createDivisionQuery(em, "NUTS2").getResultList();
+    final List<Tuple> act = createDivisionQuery(em, "NUTS2")
+        .setHint(EntityManagerWrapper.JDBC_EXECUTION, true)
+        .setHint(EntityManagerWrapper.JDBC_FETCH_SIZE, 10)
+        .getResultList();
+
+    assertFalse(exp.isEmpty());
+    assertEquals(exp.size(), act.size());
+    for (int i = 0; i < exp.size(); i++) {
+      assertArrayEquals(exp.get(i).toArray(), act.get(i).toArray());
+      assertEquals(exp.get(i).get("divisionCode"), act.get(i).get("divisionCode"));
+    }
+  }
+
+  @Test
+  void testJdbcExecutionRespectsFirstAndMaxResult() {
+    final List<Tuple> exp = createDivisionQuery(em, "NUTS1").getResultList();
+    final List<Tuple> act = createDivisionQuery(em, "NUTS1")
+        .setHint(EntityManagerWrapper.JDBC_EXECUTION, "true")
+        .setFirstResult(2)
+        .setMaxResults(3)
+        .getResultList();
+
+    assertEquals(3, act.size());
+    assertEquals(exp.get(2).get("divisionCode"), act.get(0).get("divisionCode"));
+    assertEquals(exp.get(4).get("divisionCode"), act.get(2).get("divisionCode"));
+  }
+
+  @Test
+  void testJdbcExecutionProvidesStream() {
+    final List<Tuple> exp = createDivisionQuery(em, "NUTS2").getResultList();
+    try (Stream<Tuple> act = createDivisionQuery(em, "NUTS2")
+        .setHint(EntityManagerWrapper.JDBC_EXECUTION, true)
+        .getResultStream()) {
+      assertEquals(exp.stream().map(t -> t.get("divisionCode")).collect(Collectors.toList()),
+          act.map(t -> t.get("divisionCode")).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void testJdbcExecutionOfCount() {
+    final CriteriaQuery<Long> qc = cb.createQuery(Long.class);
+    final Root<?> adminDiv = qc.from(AdministrativeDivision.class);
+    qc.multiselect(cb.count(adminDiv));
+    qc.where(cb.equal(adminDiv.get("codeID"), "NUTS2"));
+    final Number act = em.createQuery(qc).setHint(EntityManagerWrapper.JDBC_EXECUTION, true).getSingleResult();
+
+    assertEquals(createDivisionQuery(em, "NUTS2").getResultList().size(), act.intValue());
+  }
+
+  @Test
+  void testQueriesOfOneEntityManagerHaveSameSql() {
+    final String first = ((TypedQueryImpl<Tuple>) createDivisionQuery(em, "NUTS1")).getSql();
+    final String second = ((TypedQueryImpl<Tuple>) createDivisionQuery(em, "NUTS2")).getSql();
+
+    assertEquals(first, second);
+    assertTrue(first.contains("?1"));
+    assertFalse(first.contains("?2"));
+  }
+
+  @Test
+  void testInlineConstantsProvidesSameResult() {
+    final List<Tuple> exp = createAreaQuery(em).getResultList();
+    em.setProperty(EntityManagerWrapper.INLINE_CONSTANTS, true);
+    final TypedQuery<Tuple> query = createAreaQuery(em);
+    final List<Tuple> act = query.getResultList();
+
+    assertFalse(((TypedQueryImpl<Tuple>) query).getSql().contains("?2"));
+    assertFalse(exp.isEmpty());
+    assertEquals(exp.size(), act.size());
+  }
+
+  @Test
+  void testDatabasePagingProvidesSameResult() {
+    final EntityManager pagingEm = new EntityManagerWrapper(emf.createEntityManager(), sd, getSqlPaging());
+    final List<Tuple> exp = createDivisionQuery(em, "NUTS2").setFirstResult(2).setMaxResults(3).getResultList();
+    final TypedQuery<Tuple> query = createDivisionQuery(pagingEm, "NUTS2").setFirstResult(2).setMaxResults(3);
+
+    assertEquals(2, query.getFirstResult());
+    assertEquals(3, query.getMaxResults());
+    assertPagedResult(exp, query.getResultList());
+    assertPagedResult(exp, query.setHint(EntityManagerWrapper.JDBC_EXECUTION, true).getResultList());
+  }
+
+  @Test
+  void testDatabasePagingWithFirstResultOnly() {
+    final EntityManager pagingEm = new EntityManagerWrapper(emf.createEntityManager(), sd, getSqlPaging());
+    final List<Tuple> exp = createDivisionQuery(em, "NUTS2").setFirstResult(4).getResultList();
+    final List<Tuple> act = createDivisionQuery(pagingEm, "NUTS2").setFirstResult(4).getResultList();
+
+    assertPagedResult(exp, act);
+  }
+
+  protected ProcessorSqlPaging getSqlPaging() {
+    return ProcessorSqlPaging.LIMIT_OFFSET;
+  }
+
+  private void assertPagedResult(final List<Tuple> exp, final List<Tuple> act) {
+    assertFalse(exp.isEmpty());
+    assertEquals(exp.stream().map(t -> t.get("divisionCode")).collect(Collectors.toList()),
+        act.stream().map(t -> t.get("divisionCode")).collect(Collectors.toList()));
+  }
+
+  private TypedQuery<Tuple> createAreaQuery(final EntityManager entityManager) {
+    final ProcessorCriteriaBuilder builder = (ProcessorCriteriaBuilder) entityManager.getCriteriaBuilder();
+    final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    final Root<?> adminDiv = query.from(AdministrativeDivision.class);
+    query.multiselect(adminDiv.get("divisionCode").alias("divisionCode"));
+    query.where(builder.and(builder.equal(adminDiv.get("codeID"), "NUTS2"),
+        builder.greaterThanOrEqualTo(adminDiv.get("area"), 0)));
+    return entityManager.createQuery(query);
+  }
+
+  private TypedQuery<Tuple> createDivisionQuery(final EntityManager entityManager, final String codeID) {
+    final ProcessorCriteriaBuilder builder = (ProcessorCriteriaBuilder) entityManager.getCriteriaBuilder();
+    final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    final Root<?> adminDiv = query.from(AdministrativeDivision.class);
+    query.multiselect(adminDiv.get("codeID").alias("codeID"), adminDiv.get("divisionCode").alias("divisionCode"),
+        adminDiv.get("area").alias("area"));
+    query.where(builder.equal(adminDiv.get("codeID"), codeID));
+    query.orderBy(builder.asc(adminDiv.get("divisionCode")));
+    return entityManager.createQuery(query);
+  }
 }
\ No newline at end of file
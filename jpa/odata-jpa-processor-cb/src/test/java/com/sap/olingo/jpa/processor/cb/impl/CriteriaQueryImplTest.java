@@ -3,6 +3,7 @@ package com.sap.olingo.jpa.processor.cb.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -26,6 +27,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
+import com.sap.olingo.jpa.processor.cb.ProcessorSubquery;
 import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
 import com.sap.olingo.jpa.processor.core.testmodel.Organization;
 
@@ -167,4 +169,28 @@ class CriteriaQueryImplTest extends BuilderBaseTest {
     assertNotNull(resolvedSelections.get(0).getValue());
 
   }
+
+  @Test
+  void testLateralSubqueryFollowsPrecedingRoot() {
+    final StringBuilder stmt = new StringBuilder();
+    final Root<?> parent = cut.from(AdministrativeDivision.class);
+    final ProcessorSubquery<AdministrativeDivision> sub = cut.subquery(AdministrativeDivision.class);
+    final Root<?> child = sub.from(AdministrativeDivision.class);
+    sub.multiselect(child.get("divisionCode"));
+    sub.where(cb.equal(child.get("parentDivisionCode"), parent.get("divisionCode")));
+    sub.setMaxResults(2);
+    final Root<?> lateral = cut.lateral(sub);
+    cut.multiselect(lateral.get("divisionCode"));
+    assertEquals(
+        "SELECT E2.S0 S0 FROM \"OLINGO\".\"AdministrativeDivision\" E0, "
+            + "LATERAL (SELECT E1.\"DivisionCode\" S0 FROM \"OLINGO\".\"AdministrativeDivision\" E1 "
+            + "WHERE (E1.\"ParentDivisionCode\" = E0.\"DivisionCode\") LIMIT 2) AS E2",
+        cut.asSQL(stmt).toString());
+  }
+
+  @Test
+  void testLateralSubqueryRequiresRoot() {
+    final ProcessorSubquery<AdministrativeDivision> sub = cut.subquery(AdministrativeDivision.class);
+    assertThrows(IllegalStateException.class, () -> cut.lateral(sub));
+  }
 }
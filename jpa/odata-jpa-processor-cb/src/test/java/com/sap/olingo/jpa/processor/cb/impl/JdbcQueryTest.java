@@ -0,0 +1,147 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.PersistenceException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcQueryTest {
+  private Connection connection;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+
+  @BeforeEach
+  void setup() throws SQLException {
+    connection = mock(Connection.class);
+    statement = mock(PreparedStatement.class);
+    resultSet = mock(ResultSet.class);
+    final ResultSetMetaData metadata = mock(ResultSetMetaData.class);
+    when(connection.prepareStatement(any())).thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.getMetaData()).thenReturn(metadata);
+    when(metadata.getColumnCount()).thenReturn(1);
+  }
+
+  @Test
+  void testParameterMarkersConverted() {
+    final JdbcQuery cut = new JdbcQuery("SELECT E0.\"ID\" S0 FROM \"OLINGO\".\"Org\" E0 WHERE ((E0.\"ID\" = ?12) "
+        + "AND (E0.\"Name\" = ?3)) OR (E0.\"ID\" = ?12)");
+
+    assertEquals("SELECT E0.\"ID\" S0 FROM \"OLINGO\".\"Org\" E0 WHERE ((E0.\"ID\" = ?) AND (E0.\"Name\" = ?)) "
+        + "OR (E0.\"ID\" = ?)", cut.getSql());
+    assertEquals(Arrays.asList(12, 3, 12), cut.getPositions());
+  }
+
+  @Test
+  void testQuotedQuestionMarkNotConverted() {
+    final JdbcQuery cut = new JdbcQuery("SELECT E0.\"Is?\" S0 FROM \"Org\" E0 WHERE (E0.\"Name\" = '?') AND "
+        + "(E0.\"ID\" = ?1)");
+
+    assertEquals("SELECT E0.\"Is?\" S0 FROM \"Org\" E0 WHERE (E0.\"Name\" = '?') AND (E0.\"ID\" = ?)",
+        cut.getSql());
+    assertEquals(Arrays.asList(1), cut.getPositions());
+  }
+
+  @Test
+  void testThrowsExceptionOnParameterWithoutPosition() {
+    assertThrows(IllegalArgumentException.class, () -> new JdbcQuery("SELECT * FROM \"Org\" WHERE ID = ?"));
+  }
+
+  @Test
+  void testParametersBoundInSequence() throws SQLException {
+    final Date now = new Date();
+    final JdbcQuery cut = new JdbcQuery("SELECT * FROM \"Org\" WHERE ID = ?2 AND Name = ?1 AND Created = ?3");
+    cut.getResultList(connection, i -> i == 1 ? "Name" : i == 2 ? 'A' : now, 0, Integer.MAX_VALUE, 0, r -> r[0]);
+
+    verify(statement).setObject(1, "A");
+    verify(statement).setObject(2, "Name");
+    verify(statement).setObject(3, new Timestamp(now.getTime()));
+    verify(statement, never()).setFetchSize(anyInt());
+    verify(statement, never()).setMaxRows(anyInt());
+  }
+
+  @Test
+  void testRowsSkippedAndLimited() throws SQLException {
+    when(resultSet.next()).thenReturn(true, true, true, true, false);
+    when(resultSet.getObject(1)).thenReturn("B", "C", "D");
+    final JdbcQuery cut = new JdbcQuery("SELECT * FROM \"Org\"");
+    final List<Object> act = cut.getResultList(connection, i -> null, 1, 3, 50, r -> r[0]);
+
+    assertEquals(Arrays.asList("B", "C", "D"), act);
+    verify(statement).setFetchSize(50);
+    verify(statement).setMaxRows(4);
+    verify(resultSet).close();
+    verify(statement).close();
+  }
+
+  @Test
+  void testSqlExceptionRethrownAsPersistenceException() throws SQLException {
+    when(statement.executeQuery()).thenThrow(new SQLException("Test"));
+    final JdbcQuery cut = new JdbcQuery("SELECT * FROM \"Org\"");
+
+    assertThrows(PersistenceException.class, () -> cut.getResultList(connection, i -> null, 0, Integer.MAX_VALUE, 0,
+        r -> r[0]));
+    verify(statement).close();
+  }
+
+  @Test
+  void testStreamReadsRowsLazily() throws SQLException {
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getObject(1)).thenReturn("A", "B");
+    final AtomicBoolean released = new AtomicBoolean();
+    final JdbcQuery cut = new JdbcQuery("SELECT * FROM \"Org\"");
+    final Stream<Object> act = cut.getResultStream(connection, i -> null, 0, Integer.MAX_VALUE, 0, r -> r[0],
+        () -> released.set(true));
+
+    verify(statement, never()).executeQuery();
+    assertEquals(Arrays.asList("A", "B"), act.collect(Collectors.toList()));
+    assertTrue(released.get());
+    verify(statement).close();
+  }
+
+  @Test
+  void testStreamReleasesResourcesOnClose() throws SQLException {
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getObject(1)).thenReturn("A");
+    final AtomicBoolean released = new AtomicBoolean();
+    final JdbcQuery cut = new JdbcQuery("SELECT * FROM \"Org\"");
+    try (Stream<Object> act = cut.getResultStream(connection, i -> null, 0, Integer.MAX_VALUE, 0, r -> r[0],
+        () -> released.set(true))) {
+      assertEquals("A", act.findFirst().orElse(null));
+    }
+    assertTrue(released.get());
+    verify(resultSet).close();
+    verify(statement).close();
+  }
+
+  @Test
+  void testConnectionClosedOnlyIfOwned() throws SQLException {
+    new JdbcQuery.ConnectionHandle(connection, false).close();
+    verify(connection, never()).close();
+    new JdbcQuery.ConnectionHandle(connection, true).close();
+    verify(connection).close();
+  }
+}
@@ -0,0 +1,119 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParameterBufferTest {
+  private ParameterBuffer cut;
+
+  @BeforeEach
+  void setup() {
+    cut = new ParameterBuffer();
+  }
+
+  @Test
+  void testAddValueIncreasesIndex() {
+    assertEquals(1, cut.addValue("A").getPosition());
+    assertEquals(2, cut.addValue("B").getPosition());
+    assertEquals(2, cut.getParameter().size());
+  }
+
+  @Test
+  void testScopeStartsNumberingWithOne() {
+    cut.addValue("A");
+    cut.addValue("B");
+    cut.addValue("C");
+
+    final ParameterBuffer.Scope act = cut.scope("SELECT * FROM T WHERE (A = ?3) AND (B = ?2)", false);
+    assertEquals("SELECT * FROM T WHERE (A = ?1) AND (B = ?2)", act.getSql());
+    assertEquals(createValues("C", "B"), act.getValues());
+  }
+
+  @Test
+  void testScopeIgnoresUnusedParameter() {
+    for (int i = 0; i < 10; i++)
+      cut.addValue("Value" + i);
+
+    final ParameterBuffer.Scope act = cut.scope("SELECT * FROM T WHERE (A = ?7)", false);
+    assertEquals("SELECT * FROM T WHERE (A = ?1)", act.getSql());
+    assertEquals(createValues("Value6"), act.getValues());
+  }
+
+  @Test
+  void testScopeProvidesSameSqlIndependentOfPreviousParameter() {
+    cut.addValue("A");
+    final String first = cut.scope("SELECT * FROM T WHERE (A = ?1)", false).getSql();
+    cut.addValue("B");
+    final String second = cut.scope("SELECT * FROM T WHERE (A = ?2)", false).getSql();
+
+    assertEquals(first, second);
+  }
+
+  @Test
+  void testScopeDeduplicatesIdenticalValues() {
+    cut.addValue("A");
+    cut.addValue("B");
+    cut.addValue("A");
+
+    final ParameterBuffer.Scope act = cut.scope("WHERE (A = ?1) OR (A = ?3) OR (B = ?2) OR (C = ?1)", false);
+    assertEquals("WHERE (A = ?1) OR (A = ?1) OR (B = ?2) OR (C = ?1)", act.getSql());
+    assertEquals(createValues("A", "B"), act.getValues());
+  }
+
+  @Test
+  void testScopeDoesNotDeduplicateValuesOfDifferentType() {
+    cut.addValue(1);
+    cut.addValue(1L);
+
+    final ParameterBuffer.Scope act = cut.scope("WHERE (A = ?1) AND (B = ?2)", false);
+    assertEquals("WHERE (A = ?1) AND (B = ?2)", act.getSql());
+    assertEquals(2, act.getValues().size());
+  }
+
+  @Test
+  void testScopeInlinesIntegralNumbers() {
+    cut.addValue("A");
+    cut.addValue(10);
+    cut.addValue(20L);
+    cut.addValue(1.5);
+
+    final ParameterBuffer.Scope act = cut.scope("WHERE (A = ?1) AND (B = ?2) AND (C = ?3) AND (D = ?4)", true);
+    assertEquals("WHERE (A = ?1) AND (B = 10) AND (C = 20) AND (D = ?2)", act.getSql());
+    assertEquals(createValues("A", 1.5), act.getValues());
+  }
+
+  @Test
+  void testScopeIgnoresMarkerWithinLiteral() {
+    cut.addValue("A");
+
+    final ParameterBuffer.Scope act = cut.scope("WHERE (A = '?5') AND (\"?B\" = ?1)", false);
+    assertEquals("WHERE (A = '?5') AND (\"?B\" = ?1)", act.getSql());
+  }
+
+  @Test
+  void testScopeWithoutParameter() {
+    final ParameterBuffer.Scope act = cut.scope("SELECT * FROM T", true);
+    assertEquals("SELECT * FROM T", act.getSql());
+    assertTrue(act.getValues().isEmpty());
+  }
+
+  @Test
+  void testScopeThrowsExceptionOnUnknownParameter() {
+    cut.addValue("A");
+    assertThrows(IllegalArgumentException.class, () -> cut.scope("WHERE (A = ?2)", false));
+  }
+
+  private Map<Integer, Object> createValues(final Object... values) {
+    final Map<Integer, Object> result = new HashMap<>();
+    for (int i = 0; i < values.length; i++)
+      result.put(i + 1, values[i]);
+    return result;
+  }
+}
@@ -4,13 +4,19 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,7 +33,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
+import com.sap.olingo.jpa.processor.core.testmodel.AccessRights;
 import com.sap.olingo.jpa.processor.core.testmodel.DateTimeConverter;
 
 class TupleImplTest {
@@ -166,4 +174,55 @@ class TupleImplTest {
     cut = new TupleImpl(values, selPath, selectionIndex);
     assertTrue(cut.get(TIME_VALUE) instanceof LocalDateTime);
   }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testValueConvertedOnlyOnce() {
+    final AttributeConverter<Object, Object> converter = mock(AttributeConverter.class);
+    final JPAAttribute attribute = selPath.get(2).getValue();
+    when(attribute.getRawConverter()).thenReturn(converter);
+    when(converter.convertToEntityAttribute(any())).thenAnswer(i -> Long.valueOf((Integer) i.getArgument(0)));
+    cut = new TupleImpl(values, selPath, selectionIndex);
+
+    final Object first = cut.get(THIRD_VALUE);
+    final Object second = cut.get(THIRD_VALUE);
+    assertEquals(3L, first);
+    assertSame(first, second);
+    verify(converter, times(1)).convertToEntityAttribute(3);
+  }
+
+  @Test
+  void testConverterDeterminedOncePerStatement() {
+    final JPAAttribute attribute = selPath.get(3).getValue();
+    clearInvocations(attribute);
+    final List<Entry<String, JPAPath>> selection = new ArrayList<>(selPath.size());
+    for (final Entry<String, JPAAttribute> item : selPath) {
+      final JPAPath path = mock(JPAPath.class);
+      when(path.getLeaf()).thenReturn(item.getValue());
+      selection.add(new AbstractMap.SimpleEntry<>(item.getKey(), path));
+    }
+    final TupleLayout layout = new TupleLayout(selection);
+
+    for (int i = 0; i < 3; i++)
+      assertTrue(new TupleImpl(values, layout).get(TIME_VALUE) instanceof LocalDateTime);
+    verify(attribute, times(1)).getRawConverter();
+    verify(attribute, times(1)).getDbType();
+  }
+
+  @Test
+  void testNullValueNotConverted() {
+    final Object[] nullValues = { null, "World", 3, null };
+    cut = new TupleImpl(nullValues, selPath, selectionIndex);
+    assertEquals(null, cut.get(TIME_VALUE));
+    assertEquals(null, cut.get(FIRST_VALUE));
+  }
+
+  @Test
+  void testEnumValueConvertedFromOrdinal() {
+    final JPAAttribute attribute = mockAttribute(FIRST_VALUE, AccessRights.class);
+    when(attribute.isEnum()).thenReturn(true);
+    selPath.set(0, new ProcessorSelection.SelectionAttribute(FIRST_VALUE, attribute));
+    cut = new TupleImpl(new Object[] { 1, "World", 3, null }, selPath, selectionIndex);
+    assertEquals(AccessRights.values()[1], cut.get(FIRST_VALUE));
+  }
 }
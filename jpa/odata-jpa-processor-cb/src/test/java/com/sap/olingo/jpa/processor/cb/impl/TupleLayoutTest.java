@@ -0,0 +1,74 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.persistence.criteria.Selection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.processor.cb.ProcessorSelection.SelectionItem;
+
+class TupleLayoutTest {
+  private JPAPath idPath;
+  private JPAPath namePath;
+  private JPAAttribute idAttribute;
+
+  @BeforeEach
+  void setup() {
+    idPath = mock(JPAPath.class);
+    namePath = mock(JPAPath.class);
+    idAttribute = mock(JPAAttribute.class);
+    when(idPath.getLeaf()).thenReturn(idAttribute);
+    when(namePath.getLeaf()).thenReturn(mock(JPAAttribute.class));
+  }
+
+  @Test
+  void testLayoutProvidesIndexAndAttributes() {
+    final TupleLayout act = new TupleLayout(createSelection(idPath, namePath));
+
+    assertEquals(2, act.getAttributes().size());
+    assertEquals("S0", act.getAttributes().get(0).getKey());
+    assertSame(idAttribute, act.getAttributes().get(0).getValue());
+    assertEquals(0, act.getIndex().get("S0"));
+    assertEquals(1, act.getIndex().get("S1"));
+    assertEquals(2, act.getConverters().size());
+  }
+
+  @Test
+  void testLayoutWithWrapper() {
+    final TupleLayout act = new TupleLayout(createSelection(idPath, createWrapper(Long.class)));
+
+    assertEquals(Long.class, act.getAttributes().get(1).getValue().getType());
+  }
+
+  @Test
+  void testThrowsExceptionOnDuplicateAlias() {
+    final List<Entry<String, JPAPath>> selection = Arrays.asList(new SelectionItem("S0", idPath),
+        new SelectionItem("S0", namePath));
+    assertThrows(IllegalStateException.class, () -> new TupleLayout(selection));
+  }
+
+  private List<Entry<String, JPAPath>> createSelection(final JPAPath... paths) {
+    final SelectionItem[] items = new SelectionItem[paths.length];
+    for (int i = 0; i < paths.length; i++)
+      items[i] = new SelectionItem("S" + i, paths[i]);
+    return Arrays.asList(items);
+  }
+
+  private JPAPath createWrapper(final Class<?> type) {
+    final Selection<?> selection = mock(Selection.class);
+    when(selection.getJavaType()).thenAnswer(i -> type);
+    return new JPAPathWrapper(selection);
+  }
+}
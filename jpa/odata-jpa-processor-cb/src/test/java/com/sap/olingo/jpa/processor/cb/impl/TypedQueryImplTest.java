@@ -1,14 +1,18 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 
 import javax.persistence.EntityManager;
@@ -21,6 +25,8 @@ import javax.persistence.TemporalType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
+
 class TypedQueryImplTest extends BuilderBaseTest {
   private TypedQueryImpl<Long> cut;
   private EntityManager em;
@@ -40,6 +46,62 @@ class TypedQueryImplTest extends BuilderBaseTest {
     cut = new TypedQueryImpl<>(cq, em, parameterBuffer);
   }
 
+  @Test
+  void testPagingRenderedIntoStatement() {
+    final EntityManagerWrapper wrapper = createWrapper(ProcessorSqlPaging.LIMIT_OFFSET);
+    final Query pagedQuery = mock(Query.class);
+    when(wrapper.createNativeQuery("Test LIMIT ?1 OFFSET ?2")).thenReturn(pagedQuery);
+    when(pagedQuery.getResultList()).thenReturn(Collections.emptyList());
+
+    final TypedQueryImpl<Long> act = new TypedQueryImpl<>(cq, wrapper, parameterBuffer);
+    act.setFirstResult(10).setMaxResults(5).getResultList();
+
+    verify(pagedQuery).setParameter(1, 5);
+    verify(pagedQuery).setParameter(2, 10);
+    verify(q, never()).setFirstResult(anyInt());
+    verify(q, never()).getResultList();
+  }
+
+  @Test
+  void testOffsetFetchRenderedIntoStatement() {
+    final EntityManagerWrapper wrapper = createWrapper(ProcessorSqlPaging.OFFSET_FETCH);
+    final Query pagedQuery = mock(Query.class);
+    when(wrapper.createNativeQuery("Test OFFSET ?1 ROWS FETCH NEXT ?2 ROWS ONLY")).thenReturn(pagedQuery);
+    when(pagedQuery.getResultList()).thenReturn(Collections.emptyList());
+
+    final TypedQueryImpl<Long> act = new TypedQueryImpl<>(cq, wrapper, parameterBuffer);
+    act.setFirstResult(10).setMaxResults(5).getResultList();
+
+    verify(pagedQuery).setParameter(1, 10);
+    verify(pagedQuery).setParameter(2, 5);
+  }
+
+  @Test
+  void testNoPagingRenderedIfNotRequested() {
+    final EntityManagerWrapper wrapper = createWrapper(ProcessorSqlPaging.LIMIT_OFFSET);
+    when(q.getResultList()).thenReturn(Collections.emptyList());
+
+    new TypedQueryImpl<>(cq, wrapper, parameterBuffer).getResultList();
+    verify(q).getResultList();
+  }
+
+  @Test
+  void testPagingThrowsExceptionOnNegativeValue() {
+    final TypedQueryImpl<Long> act = new TypedQueryImpl<>(cq, createWrapper(ProcessorSqlPaging.LIMIT_OFFSET),
+        parameterBuffer);
+    assertThrows(IllegalArgumentException.class, () -> act.setFirstResult(-1));
+    assertThrows(IllegalArgumentException.class, () -> act.setMaxResults(-1));
+  }
+
+  private EntityManagerWrapper createWrapper(final ProcessorSqlPaging paging) {
+    final EntityManagerWrapper wrapper = mock(EntityManagerWrapper.class);
+    when(wrapper.getSqlPaging()).thenReturn(paging);
+    when(wrapper.getPropertiesInEffect()).thenReturn(Collections.emptyMap());
+    when(wrapper.createNativeQuery("Test")).thenReturn(q);
+    when(cq.getResultType()).thenReturn(Long.class);
+    return wrapper;
+  }
+
   @Test
   void testExecuteUpdate() {
     cut.executeUpdate();
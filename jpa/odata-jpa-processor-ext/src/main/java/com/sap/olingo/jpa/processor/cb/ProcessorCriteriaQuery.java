@@ -16,4 +16,16 @@ public interface ProcessorCriteriaQuery<T>  extends CriteriaQuery<T> , Processor
    */
   <X> Root<X> from(final ProcessorSubquery<X> subquery);
 
+  /**
+   * Create and add a query root corresponding to a lateral derived table. Other than a sub query added via
+   * {@link #from(ProcessorSubquery)} the sub query may refer to the roots added before, so it is executed once per row
+   * of them. This allows e.g. to restrict the number of rows per parent via
+   * {@link ProcessorSubquery#setMaxResults(Integer)}.<p>
+   * Lateral derived tables are not supported by all databases.
+   * @param subquery
+   * @return query root corresponding to the sub query
+   * @since 1.0.9
+   */
+  <X> Root<X> lateral(final ProcessorSubquery<X> subquery);
+
 }
@@ -0,0 +1,21 @@
+package com.sap.olingo.jpa.processor.cb;
+
+/**
+ * Syntax used by the database to restrict the rows returned by a statement. It is used to render <i>first result</i>
+ * and <i>max results</i> of a query into the SQL text, so that the paging is done by the database.
+ * @since 1.0.9
+ */
+public enum ProcessorSqlPaging {
+  /**
+   * Paging is left to the JPA provider
+   */
+  NONE,
+  /**
+   * <code>LIMIT n OFFSET m</code> as supported e.g. by PostgreSQL, H2 and HSQLDB
+   */
+  LIMIT_OFFSET,
+  /**
+   * <code>OFFSET m ROWS FETCH NEXT n ROWS ONLY</code> as defined by SQL:2008 and supported e.g. by Derby
+   */
+  OFFSET_FETCH;
+}
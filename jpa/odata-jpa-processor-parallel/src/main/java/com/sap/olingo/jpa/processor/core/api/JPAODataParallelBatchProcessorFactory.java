@@ -1,5 +1,9 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 import javax.annotation.Nonnull;
 
 import com.sap.olingo.jpa.processor.core.processor.JPAODataParallelBatchProcessor;
@@ -7,10 +11,35 @@ import com.sap.olingo.jpa.processor.core.processor.JPAODataParallelBatchProcesso
 public class JPAODataParallelBatchProcessorFactory implements
     JPAODataBatchProcessorFactory<JPAODataParallelBatchProcessor> {
 
+  private final Executor executor;
+  private final int maxParallelParts;
+
+  /**
+   * Parts of a batch request are processed by the common fork join pool. At most as many parts of a batch request as
+   * processors are available are processed at the same time.
+   */
+  public JPAODataParallelBatchProcessorFactory() {
+    this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param executor Executor the parts of a batch request are processed with. It is recommended to provide an own
+   * executor, e.g. one using virtual threads where available, so batch requests do not compete with other tasks of the
+   * JVM.
+   * @param maxParallelParts Maximum number of parts of one batch request that are processed at the same time
+   * @since 1.0.9
+   */
+  public JPAODataParallelBatchProcessorFactory(@Nonnull final Executor executor, final int maxParallelParts) {
+    if (maxParallelParts < 1)
+      throw new IllegalArgumentException("Maximum number of parallel parts must be at least 1");
+    this.executor = Objects.requireNonNull(executor);
+    this.maxParallelParts = maxParallelParts;
+  }
+
   @Override
   public JPAODataParallelBatchProcessor getBatchProcessor(@Nonnull final JPAODataSessionContextAccess serviceContext,
       @Nonnull final JPAODataRequestContextAccess requestContext) {
-    return new JPAODataParallelBatchProcessor(serviceContext, requestContext);
+    return new JPAODataParallelBatchProcessor(serviceContext, requestContext, executor, maxParallelParts);
   }
 
 }
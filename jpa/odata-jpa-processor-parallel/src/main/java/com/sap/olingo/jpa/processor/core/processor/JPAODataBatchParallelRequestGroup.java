@@ -1,21 +1,44 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataHandler;
 import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.batch.BatchFacade;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.core.batchhandler.BatchFacadeImpl;
 
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestProcessor;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchRuntimeException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
+/**
+ * Processes the parts of a group in parallel. At most {@link JPAODataParallelBatchProcessor#getMaxParallelParts()}
+ * parts are processed at the same time. As entity managers are not thread safe, each part uses an own entity manager
+ * created from the entity manager factory of the service context. In case no entity manager factory is available, the
+ * parts are processed one after the other.<p>
+ * The entity manager of a part is closed as soon as the part is processed. Streamed responses read and convert their
+ * data only when they get written, which for a batch request happens after all parts are done. Therefore the content of
+ * streamed responses is written into a buffer while the entity manager of the part is still open. As the batch response
+ * serializer buffers the body of each part anyhow, this does not increase the memory consumption.
+ */
 class JPAODataBatchParallelRequestGroup implements JPAODataBatchRequestGroup {
   private final List<BatchRequestPart> requestParts;
   private final JPAODataParallelBatchProcessor processor;
@@ -29,39 +52,97 @@ class JPAODataBatchParallelRequestGroup implements JPAODataBatchRequestGroup {
 
   @Override
   public List<ODataResponsePart> execute() {
-    try {
-
-      processor.getRequestContext().getDebugger().debug(this, "Number of groups elements : %d", requestParts.size());
 
-      final List<CompletableFuture<ODataResponsePart>> requests = requestParts.stream()
-          .map(part -> startBatchPart(buildFacade(), part))
+    processor.getRequestContext().getDebugger().debug(this, "Number of groups elements : %d", requestParts.size());
+    final Optional<? extends EntityManagerFactory> emf = processor.getServiceContext().getEntityManagerFactory();
+    if (!emf.isPresent()) {
+      final BatchFacade facade = buildFacade(processor.getRequestContext());
+      return requestParts.stream()
+          .map(part -> executePart(facade, part))
           .collect(Collectors.toList());
-
-      return CompletableFuture.allOf(requests.toArray(new CompletableFuture[requests.size()]))
-          .thenApply(dummy -> requests.stream()
-              .map(CompletableFuture::join)
-              .collect(Collectors.toList())).join();
-    } catch (RuntimeException e) {
-      // startBatchPart throws an runtime exception that wraps the original exception. This runtime exception gets is
-      // wrapped into an CompletionException. The original exception has to be re-wrapped, so the caller can handle it.
-      throw new ODataJPABatchRuntimeException((ODataException) e.getCause().getCause());
+    }
+    final Semaphore permits = new Semaphore(processor.getMaxParallelParts());
+    final List<CompletableFuture<ODataResponsePart>> requests = new ArrayList<>(requestParts.size());
+    for (final BatchRequestPart part : requestParts)
+      requests.add(startBatchPart(emf.get(), part, permits));
+    try {
+      return requests.stream()
+          .map(CompletableFuture::join)
+          .collect(Collectors.toList());
+    } catch (final CompletionException e) {
+      // startBatchPart throws an runtime exception that wraps the original exception. This runtime exception gets
+      // wrapped into an CompletionException, which has to be removed, so the caller can handle the original one.
+      if (e.getCause() instanceof ODataJPABatchRuntimeException)
+        throw (ODataJPABatchRuntimeException) e.getCause();
+      throw new ODataJPABatchRuntimeException(new ODataJPAProcessorException(e.getCause(),
+          HttpStatusCode.INTERNAL_SERVER_ERROR));
     }
   }
 
-  private BatchFacade buildFacade() {
+  private BatchFacade buildFacade(final JPAODataRequestContextAccess requestContext) {
     final ODataHandler odataHandler = processor.getOdata().createRawHandler(processor.getServiceMetadata());
-    odataHandler.register(new JPAODataRequestProcessor(processor.getServiceContext(), processor.getRequestContext()));
+    odataHandler.register(new JPAODataRequestProcessor(processor.getServiceContext(), requestContext));
     return new BatchFacadeImpl(odataHandler, processor, true);
   }
 
-  private CompletableFuture<ODataResponsePart> startBatchPart(final BatchFacade facade,
-      final BatchRequestPart requestPart) {
-    return CompletableFuture.supplyAsync(() -> {
-      try {
-        return facade.handleBatchRequest(requestPart);
-      } catch (ODataApplicationException | ODataLibraryException e) {
-        throw new ODataJPABatchRuntimeException(e);
+  private ODataResponsePart executePart(final BatchFacade facade, final BatchRequestPart requestPart) {
+    try {
+      return facade.handleBatchRequest(requestPart);
+    } catch (ODataApplicationException | ODataLibraryException e) {
+      throw new ODataJPABatchRuntimeException(e);
+    }
+  }
+
+  /**
+   * Starts the processing of a part as soon as the number of parts in process falls below the limit. The copy of the
+   * request context is created by the calling thread, so the request context of the batch request is not read by
+   * several threads at the same time.
+   */
+  private CompletableFuture<ODataResponsePart> startBatchPart(final EntityManagerFactory emf,
+      final BatchRequestPart requestPart, final Semaphore permits) {
+    acquire(permits);
+    final EntityManager em = emf.createEntityManager();
+    try {
+      final BatchFacade facade = buildFacade(new JPAODataInternalRequestContext(processor.getRequestContext(), em));
+      return CompletableFuture.supplyAsync(() -> bufferContent(executePart(facade, requestPart)),
+          processor.getExecutor())
+          .whenComplete((response, e) -> release(em, permits));
+    } catch (final ODataException e) {
+      release(em, permits);
+      throw new ODataJPABatchRuntimeException(e);
+    } catch (final RuntimeException e) {
+      release(em, permits);
+      throw e;
+    }
+  }
+
+  private ODataResponsePart bufferContent(final ODataResponsePart responsePart) {
+    for (final ODataResponse response : responsePart.getResponses()) {
+      if (response != null && response.getODataContent() != null) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        response.getODataContent().write(buffer);
+        response.setODataContent(null);
+        response.setContent(new ByteArrayInputStream(buffer.toByteArray()));
       }
-    });
+    }
+    return responsePart;
+  }
+
+  private void acquire(final Semaphore permits) {
+    try {
+      permits.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataJPABatchRuntimeException(new ODataJPAProcessorException(e,
+          HttpStatusCode.INTERNAL_SERVER_ERROR));
+    }
+  }
+
+  private void release(final EntityManager em, final Semaphore permits) {
+    try {
+      em.close();
+    } finally {
+      permits.release();
+    }
   }
 }
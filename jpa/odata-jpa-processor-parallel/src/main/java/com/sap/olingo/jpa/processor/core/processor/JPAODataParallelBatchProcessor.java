@@ -5,6 +5,8 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPABatchException
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -14,6 +16,7 @@ import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.batch.BatchFacade;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
@@ -35,14 +38,35 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchRuntimeException
  * <li> In case the client sends an continue-on-error=true</li>
  * <li> It is guaranteed that the GET do not fail
  * </ol>
+ * The parts are processed by the given executor, limited to a maximum number of parts per batch request. Each part
+ * processed in parallel gets an own entity manager, created from the entity manager factory of the service context,
+ * and an own copy of the request context.
  * @author Oliver Grande
  * Created: 27.02.2020
  */
 public class JPAODataParallelBatchProcessor extends JPAODataBatchProcessor {
 
+  private final Executor executor;
+  private final int maxParallelParts;
+
   public JPAODataParallelBatchProcessor(final JPAODataSessionContextAccess serviceContext,
       final JPAODataRequestContextAccess requestContext) {
+    this(serviceContext, requestContext, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param serviceContext
+   * @param requestContext
+   * @param executor Executor the parts of a parallel group are processed with
+   * @param maxParallelParts Maximum number of parts processed at the same time
+   * @since 1.0.9
+   */
+  public JPAODataParallelBatchProcessor(final JPAODataSessionContextAccess serviceContext,
+      final JPAODataRequestContextAccess requestContext, @Nonnull final Executor executor,
+      final int maxParallelParts) {
     super(serviceContext, requestContext);
+    this.executor = executor;
+    this.maxParallelParts = maxParallelParts;
   }
 
   @Override
@@ -107,6 +131,14 @@ public class JPAODataParallelBatchProcessor extends JPAODataBatchProcessor {
     return serviceMetadata;
   }
 
+  Executor getExecutor() {
+    return executor;
+  }
+
+  int getMaxParallelParts() {
+    return maxParallelParts;
+  }
+
   private void addLastGroup(final List<JPAODataBatchRequestGroup> groups, final Boolean isGetGroup,
       final List<BatchRequestPart> groupElements) {
     if (Boolean.FALSE.equals(isGetGroup) || groupElements.size() == 1)
@@ -116,7 +148,8 @@ public class JPAODataParallelBatchProcessor extends JPAODataBatchProcessor {
   }
 
   private boolean isGetRequest(final BatchRequestPart part) {
-    return part.getRequests().get(0).getMethod() == HttpMethod.GET;
+    final ODataRequest request = part.getRequests().get(0);
+    return request.getMethod() == HttpMethod.GET && !isSetBasedRequest(request);
   }
 
   private void checkPartConsistency(final BatchRequestPart part) throws ODataJPABatchException {
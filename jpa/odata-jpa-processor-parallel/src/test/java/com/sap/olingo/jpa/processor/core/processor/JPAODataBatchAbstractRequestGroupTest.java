@@ -1,6 +1,7 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -8,6 +9,10 @@ import static org.mockito.Mockito.withSettings;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
@@ -27,8 +32,9 @@ abstract class JPAODataBatchAbstractRequestGroupTest {
 
   protected JPAODataParallelBatchProcessor processor;
   protected ODataHandler odataHandler;
+  protected EntityManagerFactory emf;
   private JPAODataRequestContextAccess requestContext;
-  private JPAODataSessionContextAccess serviceContext;
+  protected JPAODataSessionContextAccess serviceContext;
   private OData odata;
   private ServiceMetadata serviceMetadata;
   protected List<BatchRequestPart> groupElements;
@@ -43,6 +49,9 @@ abstract class JPAODataBatchAbstractRequestGroupTest {
     serviceContext = mock(JPAODataSessionContextAccess.class);
     requestContext = mock(JPAODataRequestContextAccess.class, withSettings().defaultAnswer(Answers.RETURNS_DEEP_STUBS));
     odataHandler = mock(ODataHandler.class);
+    emf = mock(EntityManagerFactory.class);
+    when(emf.createEntityManager()).thenAnswer(invocation -> mock(EntityManager.class));
+    doReturn(Optional.of(emf)).when(serviceContext).getEntityManagerFactory();
     processor = spy(new JPAODataParallelBatchProcessor(serviceContext, requestContext));
     groupElements = new ArrayList<>();
 
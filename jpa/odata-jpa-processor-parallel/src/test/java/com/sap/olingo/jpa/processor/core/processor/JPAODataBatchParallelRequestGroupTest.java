@@ -1,12 +1,22 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
 
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
@@ -127,6 +137,81 @@ class JPAODataBatchParallelRequestGroupTest extends JPAODataBatchAbstractRequest
     Assertions.assertThrows(ODataJPABatchRuntimeException.class, cut::execute);
   }
 
+  @Test
+  void testEachPartUsesOwnEntityManager() {
+    final List<EntityManager> entityManagers = new ArrayList<>();
+    when(emf.createEntityManager()).thenAnswer(invocation -> {
+      final EntityManager em = mock(EntityManager.class);
+      synchronized (entityManagers) {
+        entityManagers.add(em);
+      }
+      return em;
+    });
+    buildPart();
+    buildPart();
+
+    Assertions.assertEquals(2, cut.execute().size());
+    Assertions.assertEquals(2, entityManagers.size());
+    for (final EntityManager em : entityManagers)
+      verify(em, times(1)).close();
+  }
+
+  @Test
+  void testPartsProcessedOneAfterAnotherWithoutEntityManagerFactory() {
+    doReturn(Optional.empty()).when(serviceContext).getEntityManagerFactory();
+    final ODataRequest request1 = buildPart();
+    final ODataRequest request2 = buildPart();
+
+    Assertions.assertEquals(2, cut.execute().size());
+    verify(emf, never()).createEntityManager();
+    verify(odataHandler, times(1)).process(request1);
+    verify(odataHandler, times(1)).process(request2);
+  }
+
+  @Test
+  void testProvidedExecutorUsed() {
+    final AtomicInteger noTasks = new AtomicInteger();
+    doReturn((Executor) task -> {
+      noTasks.incrementAndGet();
+      ForkJoinPool.commonPool().execute(task);
+    }).when(processor).getExecutor();
+    buildPart();
+    buildPart();
+
+    Assertions.assertEquals(2, cut.execute().size());
+    Assertions.assertEquals(2, noTasks.get());
+  }
+
+  @Test
+  void testNumberOfPartsInProcessLimited() {
+    final ExecutorService executor = Executors.newFixedThreadPool(6);
+    final ConcurrencyCounter counter = new ConcurrencyCounter();
+    doReturn(executor).when(processor).getExecutor();
+    doReturn(2).when(processor).getMaxParallelParts();
+    for (int i = 0; i < 6; i++)
+      when(odataHandler.process(buildPart())).thenAnswer(counter);
+    try {
+      Assertions.assertEquals(6, cut.execute().size());
+    } finally {
+      executor.shutdown();
+    }
+    Assertions.assertTrue(counter.maxInProcess.get() <= 2);
+  }
+
+  private static class ConcurrencyCounter implements Answer<ODataResponse> {
+    private final AtomicInteger inProcess = new AtomicInteger();
+    private final AtomicInteger maxInProcess = new AtomicInteger();
+
+    @Override
+    public ODataResponse answer(final InvocationOnMock invocation) throws Throwable {
+      final int current = inProcess.incrementAndGet();
+      maxInProcess.accumulateAndGet(current, Math::max);
+      Thread.sleep(20); // NOSONAR
+      inProcess.decrementAndGet();
+      return mock(ODataResponse.class);
+    }
+  }
+
   private static class AnswerLate<T> implements Answer<T> {
     private final int millisDelay;
     private final T response;
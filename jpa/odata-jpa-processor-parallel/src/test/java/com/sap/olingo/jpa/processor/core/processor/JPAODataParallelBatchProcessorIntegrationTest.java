@@ -2,20 +2,43 @@ package com.sap.olingo.jpa.processor.core.processor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.sql.DataSource;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPACUDRequestHandler;
+import com.sap.olingo.jpa.processor.core.api.JPAODataParallelBatchProcessorFactory;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
 import com.sap.olingo.jpa.processor.test.util.IntegrationTestHelper;
 
@@ -86,6 +109,210 @@ class JPAODataParallelBatchProcessorIntegrationTest {
     assertEquals("5", value.get("ID").asText());
   }
 
+  @Test
+  void testSetBasedRequestBetweenGetRequestsProcessed() throws IOException, ODataException {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final StringBuilder requestBody = new StringBuilder();
+    addGet(requestBody, "Organizations('3')");
+    addGet(requestBody, "Organizations('4')");
+    requestBody.append("--abc123\r\n");
+    requestBody.append("Content-Type: application/http\r\n");
+    requestBody.append("Content-Transfer-Encoding: binary\r\n");
+    requestBody.append("\r\n");
+    requestBody.append("DELETE Organizations/$filter(Country%20eq%20'DEU')/$each HTTP/1.1\r\n");
+    requestBody.append("Content-Type: application/json\r\n");
+    requestBody.append("\r\n");
+    requestBody.append("\r\n");
+    addGet(requestBody, "Organizations('5')");
+    addGet(requestBody, "Organizations('6')");
+    requestBody.append("--abc123--");
+
+    try {
+      final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "$batch", requestBody,
+          createFactory(executor, 2, new EntityManagerCounter()), false, handler);
+      assertEquals(200, helper.getBatchResultStatus(1));
+      assertEquals(200, helper.getBatchResultStatus(2));
+      assertEquals(204, helper.getBatchResultStatus(3));
+      assertEquals(200, helper.getBatchResultStatus(4));
+      assertEquals("6", helper.getBatchResult(5).get("ID").asText());
+    } finally {
+      executor.shutdown();
+    }
+    verify(handler, times(1)).deleteEntities(any(JPARequestEntity.class), any(CriteriaDelete.class), any(
+        EntityManager.class));
+  }
+
+  @Test
+  void testManyGetRequestsProcessedInParallelCheckValues() throws IOException, ODataException {
+    final int noCores = Runtime.getRuntime().availableProcessors();
+    final int noParts = 10 * noCores;
+    final ExecutorService executor = Executors.newFixedThreadPool(2 * noCores);
+    final EntityManagerCounter counter = new EntityManagerCounter();
+    final StringBuilder requestBody = new StringBuilder();
+    for (int i = 0; i < noParts; i++)
+      addGet(requestBody, "Organizations('" + (i % 10 + 1) + "')");
+    requestBody.append("--abc123--");
+
+    try {
+      final IntegrationTestHelper helper = new IntegrationTestHelper(counter.wrap(emf), "$batch", requestBody,
+          createFactory(executor, noCores, counter));
+      for (int i = 1; i <= noParts; i++) {
+        assertEquals(200, helper.getBatchResultStatus(i));
+        assertEquals(String.valueOf((i - 1) % 10 + 1), helper.getBatchResult(i).get("ID").asText());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(noParts, counter.noCreated.get());
+    assertEquals(0, counter.noOpen.get());
+    assertTrue(counter.maxOpen.get() <= noCores);
+  }
+
+  @Test
+  void testStreamedPartsCalculateTransientPropertiesWithOpenEntityManager() throws IOException, ODataException {
+    final int noCores = Runtime.getRuntime().availableProcessors();
+    final int noParts = 2 * noCores;
+    final ExecutorService executor = Executors.newFixedThreadPool(noCores);
+    final EntityManagerCounter counter = new EntityManagerCounter();
+    final StringBuilder requestBody = new StringBuilder();
+    for (int i = 0; i < noParts; i++)
+      addGet(requestBody, "SalesTeams?$orderby=ID");
+    requestBody.append("--abc123--");
+
+    try {
+      final IntegrationTestHelper helper = new IntegrationTestHelper(counter.wrap(emf), "$batch", requestBody,
+          createFactory(executor, noCores, counter), true);
+      for (int i = 1; i <= noParts; i++) {
+        assertEquals(200, helper.getBatchResultStatus(i));
+        final JsonNode teams = helper.getBatchResult(i).get("value");
+        assertEquals(3, teams.size());
+        assertEquals("S0 S0", teams.get(0).get("FullName").asText());
+        assertEquals("S2 S2", teams.get(2).get("FullName").asText());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(noParts, counter.noCreated.get());
+    assertEquals(0, counter.noOpen.get());
+  }
+
+  /**
+   * Several batch requests are processed at the same time and share one executor, like they would do on a server. For
+   * each number of concurrent batch requests all parts have to return the right result, and each batch request must
+   * not use more entity managers at the same time than parts are allowed to run in parallel.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 2, 4, 8 })
+  void testConcurrentBatchRequestsStayWithinLimits(final int noBatchRequests) throws InterruptedException,
+      ExecutionException {
+    final int maxParallelParts = 2;
+    final int noParts = 20;
+    final ExecutorService clients = Executors.newFixedThreadPool(noBatchRequests);
+    final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    final StringBuilder requestBody = new StringBuilder();
+    for (int i = 0; i < noParts; i++)
+      addGet(requestBody, "SalesTeams('S" + (i % 3) + "')");
+    requestBody.append("--abc123--");
+
+    try {
+      final List<Future<EntityManagerCounter>> batchRequests = new ArrayList<>(noBatchRequests);
+      final long start = System.nanoTime();
+      for (int i = 0; i < noBatchRequests; i++)
+        batchRequests.add(clients.submit(() -> {
+          final EntityManagerCounter counter = new EntityManagerCounter();
+          final IntegrationTestHelper helper = new IntegrationTestHelper(counter.wrap(emf), "$batch", requestBody,
+              createFactory(executor, maxParallelParts, counter), true);
+          for (int j = 1; j <= noParts; j++) {
+            assertEquals(200, helper.getBatchResultStatus(j));
+            assertEquals("S" + ((j - 1) % 3), helper.getBatchResult(j).get("ID").asText());
+          }
+          return counter;
+        }));
+      for (final Future<EntityManagerCounter> batchRequest : batchRequests) {
+        final EntityManagerCounter counter = batchRequest.get();
+        assertEquals(noParts, counter.noCreated.get());
+        assertEquals(0, counter.noOpen.get());
+        assertTrue(counter.maxOpen.get() <= maxParallelParts);
+      }
+      System.out.println(String.format("%d concurrent batch requests with %d parts each: %d ms", noBatchRequests,
+          noParts, (System.nanoTime() - start) / 1_000_000));
+    } finally {
+      clients.shutdown();
+      executor.shutdown();
+    }
+  }
+
+  private JPAODataParallelBatchProcessorFactory createFactory(final ExecutorService executor,
+      final int maxParallelParts, final EntityManagerCounter counter) {
+    return new JPAODataParallelBatchProcessorFactory(executor, maxParallelParts) {
+      @Override
+      public JPAODataParallelBatchProcessor getBatchProcessor(final JPAODataSessionContextAccess serviceContext,
+          final JPAODataRequestContextAccess requestContext) {
+        counter.start();
+        return super.getBatchProcessor(serviceContext, requestContext);
+      }
+    };
+  }
+
+  /**
+   * Counts the entity managers created by the parts of a batch request, so after the batch processor has been created,
+   * and how many of them are open at the same time.
+   */
+  private static class EntityManagerCounter {
+    private volatile boolean started;
+    private final AtomicInteger noCreated = new AtomicInteger();
+    private final AtomicInteger noOpen = new AtomicInteger();
+    private final AtomicInteger maxOpen = new AtomicInteger();
+
+    void start() {
+      started = true;
+    }
+
+    EntityManagerFactory wrap(final EntityManagerFactory emf) {
+      return proxy(EntityManagerFactory.class, emf, (proxy, method, args) -> {
+        final Object result = invoke(emf, method, args);
+        if ("createEntityManager".equals(method.getName()) && started) {
+          noCreated.incrementAndGet();
+          maxOpen.accumulateAndGet(noOpen.incrementAndGet(), Math::max);
+          return wrap((EntityManager) result);
+        }
+        return result;
+      });
+    }
+
+    private EntityManager wrap(final EntityManager em) {
+      return proxy(EntityManager.class, em, (proxy, method, args) -> {
+        if ("close".equals(method.getName()))
+          noOpen.decrementAndGet();
+        return invoke(em, method, args);
+      });
+    }
+
+    private static <T> T proxy(final Class<T> type, final T target, final InvocationHandler handler) {
+      return type.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (final InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private void addGet(final StringBuilder requestBody, final String resource) {
+    requestBody.append("--abc123\r\n");
+    requestBody.append("Content-Type: application/http\r\n");
+    requestBody.append("Content-Transfer-Encoding: binary\r\n");
+    requestBody.append("\r\n");
+    requestBody.append("GET " + resource + " HTTP/1.1\r\n");
+    requestBody.append("Content-Type: application/json\r\n");
+    requestBody.append("\r\n");
+    requestBody.append("\r\n");
+  }
+
   private StringBuilder createBodyTwoGetOneFail() {
     final StringBuilder requestBody = new StringBuilder("--abc123\r\n");
     requestBody.append("Content-Type: application/http\r\n");
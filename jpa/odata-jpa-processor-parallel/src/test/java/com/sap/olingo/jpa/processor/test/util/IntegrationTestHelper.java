@@ -1,5 +1,6 @@
 package com.sap.olingo.jpa.processor.test.util;
 
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -13,6 +14,7 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -30,7 +32,9 @@ import org.mockito.Answers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.processor.core.api.JPACUDRequestHandler;
 import com.sap.olingo.jpa.processor.core.api.JPAODataBatchProcessor;
+import com.sap.olingo.jpa.processor.core.api.JPAODataBatchProcessorFactory;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestProcessor;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
@@ -50,6 +54,23 @@ public class IntegrationTestHelper {
 
   public IntegrationTestHelper(final EntityManagerFactory emf, final String urlPath, final StringBuilder requestBody)
       throws IOException, ODataException {
+    this(emf, urlPath, requestBody, null);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory emf, final String urlPath, final StringBuilder requestBody,
+      final JPAODataBatchProcessorFactory<?> batchProcessorFactory) throws IOException, ODataException {
+    this(emf, urlPath, requestBody, batchProcessorFactory, false);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory emf, final String urlPath, final StringBuilder requestBody,
+      final JPAODataBatchProcessorFactory<?> batchProcessorFactory, final boolean useStreaming) throws IOException,
+      ODataException {
+    this(emf, urlPath, requestBody, batchProcessorFactory, useStreaming, null);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory emf, final String urlPath, final StringBuilder requestBody,
+      final JPAODataBatchProcessorFactory<?> batchProcessorFactory, final boolean useStreaming,
+      final JPACUDRequestHandler cudRequestHandler) throws IOException, ODataException {
 
     final OData odata = OData.newInstance();
     final EntityManager em = emf.createEntityManager();
@@ -63,12 +84,18 @@ public class IntegrationTestHelper {
     when(sessionContext.getDatabaseProcessor()).thenReturn(new JPADefaultDatabaseProcessor());
     when(sessionContext.getOperationConverter()).thenReturn(new JPADefaultDatabaseProcessor());
     when(customContext.getEntityManager()).thenReturn(em);
+    when(customContext.getCUDRequestHandler()).thenReturn(cudRequestHandler);
+    when(sessionContext.useStreamingSerialization()).thenReturn(useStreaming);
+    doReturn(Optional.of(emf)).when(sessionContext).getEntityManagerFactory();
     final ODataHttpHandler handler = odata.createHandler(odata.createServiceMetadata(edmProvider,
         new ArrayList<EdmxReference>()));
     final JPAODataInternalRequestContext requestContext = new JPAODataInternalRequestContext(customContext,
         sessionContext);
     handler.register(new JPAODataRequestProcessor(sessionContext, requestContext));
-    handler.register(new JPAODataBatchProcessor(sessionContext, requestContext));
+    if (batchProcessorFactory == null)
+      handler.register(new JPAODataBatchProcessor(sessionContext, requestContext));
+    else
+      handler.register(batchProcessorFactory.getBatchProcessor(sessionContext, requestContext));
     handler.process(req, resp);
   }
 
@@ -167,7 +194,7 @@ public class IntegrationTestHelper {
 
     @Override
     public void write(final int b) throws IOException {
-      buffer.add(b);
+      buffer.add(b);
     }
 
     public Iterator<Integer> getBuffer() {
@@ -1,10 +1,18 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaUpdate;
 
 import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.modify.JPAUpdateResult;
 import com.sap.olingo.jpa.processor.core.processor.JPARequestEntity;
 
@@ -18,6 +26,28 @@ public interface JPACUDRequestHandler {
   public void deleteEntity(final JPARequestEntity requestEntity, final EntityManager em)
       throws ODataJPAProcessException;
 
+  /**
+   * Hook to delete all entities of an entity set that match a filter with one statement. This is the case for
+   * set-based requests like <code>DELETE Organizations?$filter=Country eq 'DEU'</code> or
+   * <code>DELETE Organizations/$filter(Country eq 'DEU')/$each</code>, as introduced with OData 4.01.<p>
+   * The statement is prepared by the processor and contains the filter as well as the restrictions given by the
+   * claims. It is executed without loading the entities, so no life cycle call backs get triggered and the persistence
+   * context does not know about the deletion. Transaction handling is done outside.<p>
+   * The default implementation rejects the request, so set-based changes have to be enabled explicitly, e.g. by
+   * executing the statement: <code>em.createQuery(delete).executeUpdate()</code>.
+   * @param requestEntity Provides the entity type and the header. It contains neither keys nor attributes
+   * @param delete Prepared delete statement
+   * @param em
+   * @return Number of deleted entities
+   * @throws ODataJPAProcessException
+   * @since 1.0.9
+   */
+  public default int deleteEntities(final JPARequestEntity requestEntity, final CriteriaDelete<?> delete,
+      final EntityManager em) throws ODataJPAProcessException {
+    throw new ODataJPAProcessorException(ODataJPAProcessorException.MessageKeys.NOT_SUPPORTED_DELETE,
+        HttpStatusCode.NOT_IMPLEMENTED);
+  }
+
   /**
    * Hook to create an entity. Transaction handling is done outside to guarantee transactional behavior of change
    * sets in batch requests. This method has to return the newly create entity even so validateChanges is implemented.
@@ -30,6 +60,30 @@ public interface JPACUDRequestHandler {
   public Object createEntity(final JPARequestEntity requestEntity, final EntityManager em)
       throws ODataJPAProcessException;
 
+  /**
+   * Hook to create multiple entities of the same entity set, which were provided by one request. This is the case for
+   * a POST on an entity set with a collection of entities as payload, as introduced with OData 4.01. Transaction
+   * handling is done outside, so all entities are created within the same transaction and
+   * {@link #validateChanges(EntityManager)} is called once afterwards.<p>
+   * The default implementation calls {@link #createEntity(JPARequestEntity, EntityManager)} for each entity. An
+   * implementation can override this method to create the entities in one go, e.g. by checking the existence of
+   * all keys with one query and flushing all inserts at once, so the JPA provider can use JDBC batch statements.
+   * @param requestEntities
+   * @param em
+   * @return The newly created instances or maps of created attributes in the same sequence as the request entities.
+   * See {@link #createEntity(JPARequestEntity, EntityManager)}.
+   * @throws ODataJPAProcessException
+   * @since 1.0.9
+   */
+  public default List<Object> createEntities(final List<JPARequestEntity> requestEntities, final EntityManager em)
+      throws ODataJPAProcessException {
+
+    final List<Object> results = new ArrayList<>(requestEntities.size());
+    for (final JPARequestEntity requestEntity : requestEntities)
+      results.add(createEntity(requestEntity, em));
+    return results;
+  }
+
   /**
    * Hook to handle all request that change an existing entity.
    * This includes update and upsert on entities, updates on properties and values, updates on relations as well as
@@ -62,6 +116,69 @@ public interface JPACUDRequestHandler {
   public JPAUpdateResult updateEntity(final JPARequestEntity requestEntity, final EntityManager em,
       final HttpMethod httpMethod) throws ODataJPAProcessException;
 
+  /**
+   * Hook to change all entities of an entity set that match a filter with one statement. This is the case for
+   * set-based requests like <code>PATCH Organizations/$filter(Country eq 'DEU')/$each</code>, as introduced with OData
+   * 4.01.<p>
+   * The statement is prepared by the processor. It contains the new values of the attributes given in the request as
+   * well as the filter and the restrictions given by the claims. Only attributes that are neither part of the key nor
+   * a collection can be changed. Like for {@link #deleteEntities(JPARequestEntity, CriteriaDelete, EntityManager)} the
+   * entities are not loaded and transaction handling is done outside.<p>
+   * The default implementation rejects the request.
+   * @param requestEntity Provides the entity type, the changed attributes and the header
+   * @param update Prepared update statement
+   * @param em
+   * @return Number of changed entities
+   * @throws ODataJPAProcessException
+   * @since 1.0.9
+   */
+  public default int updateEntities(final JPARequestEntity requestEntity, final CriteriaUpdate<?> update,
+      final EntityManager em) throws ODataJPAProcessException {
+    throw new ODataJPAProcessorException(ODataJPAProcessorException.MessageKeys.NOT_SUPPORTED_UPDATE,
+        HttpStatusCode.NOT_IMPLEMENTED);
+  }
+
+  /**
+   * Decides if PATCH requests on entities of the given type can be processed by a conditional update instead of
+   * {@link #updateEntity(JPARequestEntity, EntityManager, HttpMethod)}. A conditional update changes the entity with
+   * one statement, without reading it before, so neither the before image nor the current state of the entity is
+   * available. It shall only be switched on for entity types that do not need them, e.g. for frequent status
+   * changes.<p>
+   * A request is processed by a conditional update only if the entity type has a numeric version as ETag, the request
+   * provides exactly one ETag with If-Match, does not request the changed entity as response and changes only simple
+   * attributes. All other requests are handed over to
+   * {@link #updateEntity(JPARequestEntity, EntityManager, HttpMethod)}.
+   * @param et
+   * @return True if conditional updates shall be used. The default is false.
+   * @since 1.0.9
+   */
+  public default boolean useConditionalUpdate(final JPAEntityType et) {
+    return false;
+  }
+
+  /**
+   * Hook to change an entity with a conditional update, see {@link #useConditionalUpdate(JPAEntityType)}. The statement
+   * is prepared by the processor. It is restricted to the key of the entity, the ETag given in the request and the
+   * restrictions given by the claims. Besides the new values of the attributes it increases the version:<br>
+   * <code>UPDATE Organization o SET o.name1 = ?, o.eTag = o.eTag + 1 WHERE o.iD = ? AND o.eTag = ?</code><p>
+   * As the entity is not loaded, no life cycle call backs get triggered and the persistence context does not know about
+   * the change. Transaction handling is done outside. In case no entity was changed the request is rejected with
+   * <i>412 Precondition Failed</i>.<p>
+   * The default implementation rejects the request.
+   * @param requestEntity Provides the entity type, the keys, the changed attributes and the header. It contains no
+   * before image
+   * @param update Prepared update statement
+   * @param em
+   * @return Number of changed entities
+   * @throws ODataJPAProcessException
+   * @since 1.0.9
+   */
+  public default int updateEntityConditional(final JPARequestEntity requestEntity, final CriteriaUpdate<?> update,
+      final EntityManager em) throws ODataJPAProcessException {
+    throw new ODataJPAProcessorException(ODataJPAProcessorException.MessageKeys.NOT_SUPPORTED_UPDATE,
+        HttpStatusCode.NOT_IMPLEMENTED);
+  }
+
   /**
    * Hook that is called after all changes of one transaction have been processed. The method shall enable a check of
    * all modification within the new context. This can be imported if multiple entities are changes with the same
@@ -68,8 +68,10 @@ public class JPAODataBatchProcessor implements BatchProcessor {
         .rawBaseUri(request.getRawBaseUri())
         .rawServiceResolutionUri(request.getRawServiceResolutionUri())
         .build();
-    final List<BatchRequestPart> requestParts = odata.createFixedFormatDeserializer()
-        .parseBatchRequest(request.getBody(), boundary, options);
+    final List<BatchRequestPart> requestParts = new ArrayList<>();
+    for (final BatchRequestPart part : odata.createFixedFormatDeserializer()
+        .parseBatchRequest(request.getBody(), boundary, options))
+      requestParts.add(JPAODataSetBasedRequest.adapt(part, serviceMetadata));
     final List<ODataResponsePart> responseParts = executeBatchParts(facade, requestParts,
         continueOnError(odata.createPreferences(request.getHeaders(HttpHeader.PREFER))));
 
@@ -99,6 +101,17 @@ public class JPAODataBatchProcessor implements BatchProcessor {
     return responseParts;
   }
 
+  /**
+   * Set-based requests of a batch request are converted into GET requests on the entity set, so Olingo dispatches them,
+   * see {@link JPAODataSetBasedRequest}.
+   * @param request
+   * @return True if the request is a converted set-based request
+   * @since 1.0.9
+   */
+  protected final boolean isSetBasedRequest(final ODataRequest request) {
+    return JPAODataSetBasedRequest.getMethod(request).isPresent();
+  }
+
   /**
    * Processing one change set of a $batch request. <p>
    * <i>OData Version 4.0 Part 1: Protocol Plus Errata 02 11.7.4 Responding
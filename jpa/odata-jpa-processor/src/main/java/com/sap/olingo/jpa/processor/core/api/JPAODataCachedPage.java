@@ -0,0 +1,59 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.io.Serializable;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Entry of a {@link JPAODataPageStore}. It describes the page that has been handed out, together with the end of the
+ * list, so the following page can be calculated.<p>
+ * The entry does not contain the {@link org.apache.olingo.server.api.uri.UriInfo} of the request, but the raw path
+ * and query of it, which get parsed again when the following page is requested. So an entry can be serialized and
+ * kept outside of the JVM, e.g. in a cache shared within a cluster.
+ */
+public final class JPAODataCachedPage implements Serializable {
+  private static final long serialVersionUID = -3620471458036617127L;
+  private final JPAODataPathInformation pathInformation;
+  private final int skip;
+  private final int top;
+  private final String skipToken;
+  private final long maxTop;
+
+  public JPAODataCachedPage(@Nonnull final JPAODataPathInformation pathInformation, final int skip, final int top,
+      final String skipToken, final long maxTop) {
+    super();
+    this.pathInformation = pathInformation;
+    this.skip = skip;
+    this.top = top;
+    this.skipToken = skipToken;
+    this.maxTop = maxTop;
+  }
+
+  /**
+   * @return Path and query of the request the first page was created for
+   */
+  public JPAODataPathInformation getPathInformation() {
+    return pathInformation;
+  }
+
+  public int getSkip() {
+    return skip;
+  }
+
+  public int getTop() {
+    return top;
+  }
+
+  @CheckForNull
+  public String getSkipToken() {
+    return skipToken;
+  }
+
+  /**
+   * @return Index of the row after the last one that shall be returned, either $skip + $top or the number of rows
+   */
+  public long getMaxTop() {
+    return maxTop;
+  }
+}
@@ -0,0 +1,157 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.core.uri.parser.Parser;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+/**
+ * Thread safe paging provider that keeps the pages it has handed out in a {@link JPAODataPageStore}. By default the
+ * pages are kept in a {@link JPAODataLocalPageStore}, which limits the number of pages and removes them after a time
+ * to live. A store that keeps the pages outside the JVM, e.g. to share them within a cluster, can be provided. The
+ * pages contain only the raw path and query of the request, which are parsed again when the next page is requested.<p>
+ * Pages are created for the entity sets a maximum page size is given for. A smaller page size can be requested via
+ * the <code>odata.maxpagesize</code> preference.
+ */
+public class JPAODataCachingPagingProvider implements JPAODataPagingProvider {
+
+  private final Map<String, Integer> maxPageSizes;
+  private final JPAODataPageStore store;
+  private final LongAdder hits;
+  private final LongAdder misses;
+
+  /**
+   * @param pageSizes Maximum page size per entity set name
+   */
+  public JPAODataCachingPagingProvider(@Nonnull final Map<String, Integer> pageSizes) {
+    this(pageSizes, new JPAODataLocalPageStore());
+  }
+
+  /**
+   * @param pageSizes Maximum page size per entity set name
+   * @param maxStoreSize Maximum number of pages kept
+   * @param timeToLive Time after which a page can not be requested anymore
+   */
+  public JPAODataCachingPagingProvider(@Nonnull final Map<String, Integer> pageSizes, final int maxStoreSize,
+      @Nonnull final Duration timeToLive) {
+    this(pageSizes, new JPAODataLocalPageStore(maxStoreSize, timeToLive));
+  }
+
+  /**
+   * @param pageSizes Maximum page size per entity set name
+   * @param store Store for the pages handed out
+   */
+  public JPAODataCachingPagingProvider(@Nonnull final Map<String, Integer> pageSizes,
+      @Nonnull final JPAODataPageStore store) {
+    super();
+    this.maxPageSizes = Collections.unmodifiableMap(pageSizes);
+    this.store = store;
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * The pages can only be restored together with the OData helper and the service metadata, see
+   * {@link #getNextPage(String, OData, ServiceMetadata, UriInfo, Integer)}.
+   * @return null
+   */
+  @Override
+  public JPAODataPage getNextPage(@Nonnull final String skipToken) {
+    return null;
+  }
+
+  @Override
+  public JPAODataPage getNextPage(@Nonnull final String skipToken, @Nonnull final OData odata,
+      @Nonnull final ServiceMetadata serviceMetadata, final UriInfo uriInfo, final Integer preferredPageSize)
+      throws ODataApplicationException {
+    final Optional<JPAODataCachedPage> previous = store.get(skipToken.replace("'", ""));
+    if (!previous.isPresent()) {
+      misses.increment();
+      // skip token not found => let JPA Processor handle this
+      return null;
+    }
+    hits.increment();
+    final JPAODataCachedPage previousPage = previous.get();
+    final long maxTop = previousPage.getMaxTop();
+    // Calculate next page
+    final int skip = previousPage.getSkip() + previousPage.getTop();
+    final int top = (int) Math.min(previousPage.getTop(), maxTop - skip);
+    // Create a new skip token if next page is not the last one
+    final String nextToken = skip + top < maxTop ? UUID.randomUUID().toString() : null;
+    if (nextToken != null)
+      store.put(nextToken, new JPAODataCachedPage(previousPage.getPathInformation(), skip, top, nextToken, maxTop));
+    return new JPAODataPage(parseUri(odata, serviceMetadata, previousPage.getPathInformation()), skip, top,
+        nextToken);
+  }
+
+  /**
+   * Without the path information of the request no page can be stored, so no paging is done.
+   * @return null
+   */
+  @Override
+  public JPAODataPage getFirstPage(final UriInfo uriInfo, final Integer preferredPageSize,
+      final JPACountQuery countQuery, final EntityManager em) throws ODataApplicationException {
+    return null;
+  }
+
+  @Override
+  public JPAODataPage getFirstPage(@Nonnull final JPAODataPathInformation pathInformation, final UriInfo uriInfo,
+      final Integer preferredPageSize, final JPACountQuery countQuery, final EntityManager em)
+      throws ODataApplicationException {
+
+    final UriResource root = uriInfo.getUriResourceParts().get(0);
+    // Paging will only be done for Entity Sets
+    if (root instanceof UriResourceEntitySet) {
+      final Integer maxSize = maxPageSizes.get(((UriResourceEntitySet) root).getEntitySet().getName());
+      if (maxSize != null) {
+        final int skipValue = uriInfo.getSkipOption() != null ? uriInfo.getSkipOption().getValue() : 0;
+        final Integer topValue = uriInfo.getTopOption() != null ? uriInfo.getTopOption().getValue() : null;
+        // Determine end of list
+        final long maxTop = topValue != null ? (topValue + skipValue) : countQuery.countResults();
+        final int size = preferredPageSize != null && preferredPageSize < maxSize ? preferredPageSize : maxSize;
+        final int top = topValue != null && topValue < size ? topValue : size;
+        // Create a unique skip token if needed
+        final String skipToken = skipValue + top < maxTop ? UUID.randomUUID().toString() : null;
+        if (skipToken != null)
+          store.put(skipToken, new JPAODataCachedPage(pathInformation, skipValue, top, skipToken, maxTop));
+        return new JPAODataPage(uriInfo, skipValue, top, skipToken);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return Snapshot of the hits, misses and evictions of the page store
+   */
+  public JPAODataPagingStatistics getStatistics() {
+    return new JPAODataPagingStatistics(hits.sum(), misses.sum(), store.getEvictionCount());
+  }
+
+  private UriInfo parseUri(final OData odata, final ServiceMetadata serviceMetadata,
+      final JPAODataPathInformation pathInformation) throws ODataJPAProcessorException {
+    try {
+      return new Parser(serviceMetadata.getEdm(), odata).parseUri(pathInformation.getODataPath(),
+          pathInformation.getQueryPath(), pathInformation.getFragments(), pathInformation.getBaseUri());
+    } catch (final ODataLibraryException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseSearch;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseTableFunction;
 
@@ -10,4 +11,22 @@ import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseTableFunction;
  */
 public interface JPAODataDatabaseProcessor extends JPAODataDatabaseSearch, JPAODataDatabaseTableFunction {
 
+  /**
+   * Syntax the database uses to restrict the returned rows. It is used by the criteria builder extension to do the
+   * paging within the database. By default paging is left to the JPA provider.
+   * @return
+   */
+  default ProcessorSqlPaging getSqlPaging() {
+    return ProcessorSqlPaging.NONE;
+  }
+
+  /**
+   * Indicates if the database supports lateral derived tables. If so, the criteria builder extension restricts the
+   * number of expanded entities per parent requested via $top and $skip using a lateral join instead of the window
+   * function ROW_NUMBER. By default the window function is used.
+   * @return
+   */
+  default boolean isLateralJoinSupported() {
+    return false;
+  }
 }
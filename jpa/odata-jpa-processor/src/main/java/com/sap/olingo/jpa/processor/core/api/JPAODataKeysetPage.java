@@ -0,0 +1,115 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.apache.olingo.server.api.uri.UriInfo;
+
+/**
+ * Page of a keyset (seek) based server driven paging. Instead of skipping the rows of the previous pages, the query
+ * restricts the result to the rows that follow the last row of the previous page. The values of the last row, in the
+ * order of the $orderby and the primary key, are part of the skip token, so no page state has to be kept by the
+ * server.<p>
+ * The skip token of the next page is only known after the page has been read. It is provided by the query via
+ * {@link #setPageResult(int, List)}. In case the last row can not be used to seek, e.g. as the result is ordered by a
+ * <code>$count</code>, the next page falls back to an offset.
+ * @see JPAODataKeysetPagingProvider
+ */
+public class JPAODataKeysetPage extends JPAODataPage {
+  private static final String SEPARATOR = ".";
+  private static final int NO_LIMIT = -1;
+
+  private final int position;
+  private final int remaining;
+  private final List<String> lastValues;
+  private String nextSkipToken;
+
+  /**
+   * Creates a page from a skip token created by {@link #getSkipToken()}.
+   * @param uriInfo
+   * @param skipToken
+   * @param pageSize
+   * @return
+   * @throws IllegalArgumentException In case the skip token could not be interpreted
+   */
+  public static JPAODataKeysetPage fromSkipToken(@Nonnull final UriInfo uriInfo, @Nonnull final String skipToken,
+      final int pageSize) {
+
+    final String[] parts = skipToken.split("\\" + SEPARATOR, -1);
+    if (parts.length < 2)
+      throw new IllegalArgumentException("Invalid skip token " + skipToken);
+    try {
+      final int position = Integer.parseInt(parts[0]);
+      final int remaining = Integer.parseInt(parts[1]);
+      if (position < 0 || remaining < NO_LIMIT)
+        throw new IllegalArgumentException("Invalid skip token " + skipToken);
+      final List<String> lastValues = new ArrayList<>(parts.length - 2);
+      for (int i = 2; i < parts.length; i++)
+        lastValues.add(new String(Base64.getUrlDecoder().decode(parts[i]), UTF_8));
+      final int top = remaining == NO_LIMIT ? pageSize : Math.min(pageSize, remaining);
+      return new JPAODataKeysetPage(uriInfo, lastValues.isEmpty() ? position : 0, top, position,
+          remaining == NO_LIMIT ? null : remaining, lastValues);
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid skip token " + skipToken, e);
+    }
+  }
+
+  /**
+   * @param uriInfo
+   * @param skip Number of rows to be skipped by the query. Zero if the query seeks based on the last values.
+   * @param top Maximum number of rows of this page
+   * @param position Number of rows, including $skip, that are in front of this page
+   * @param remaining Rows that still can be returned because of a $top, including the ones of this page. Null if no
+   * $top was given.
+   * @param lastValues Values of the last row of the previous page as OData literals. Empty for the first page.
+   */
+  public JPAODataKeysetPage(final UriInfo uriInfo, final int skip, final int top, final int position,
+      @CheckForNull final Integer remaining, @Nonnull final List<String> lastValues) {
+    super(uriInfo, skip, top, null);
+    this.position = position;
+    this.remaining = remaining == null ? NO_LIMIT : remaining;
+    this.lastValues = Collections.unmodifiableList(lastValues);
+  }
+
+  /**
+   * @return Values of the last row of the previous page in the sequence of the order by. Empty in case no seek shall be
+   * done.
+   */
+  public List<String> getLastValues() {
+    return lastValues;
+  }
+
+  /**
+   * @return The skip token of the next page. Null if the page has not been read yet or it is the last one.
+   */
+  @Override
+  public Object getSkipToken() {
+    return nextSkipToken;
+  }
+
+  /**
+   * Provides the result of reading the page, so the skip token of the next page can be created.
+   * @param count Number of rows read
+   * @param lastValues Values of the last row read as OData literals. Empty if the next page shall use an offset.
+   */
+  public void setPageResult(final int count, @Nonnull final List<String> lastValues) {
+    if (count < getTop() || (remaining != NO_LIMIT && remaining <= count)) {
+      nextSkipToken = null;
+      return;
+    }
+    final StringBuilder token = new StringBuilder()
+        .append(position + count)
+        .append(SEPARATOR)
+        .append(remaining == NO_LIMIT ? NO_LIMIT : remaining - count);
+    for (final String value : lastValues)
+      token.append(SEPARATOR).append(Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8)));
+    nextSkipToken = token.toString();
+  }
+}
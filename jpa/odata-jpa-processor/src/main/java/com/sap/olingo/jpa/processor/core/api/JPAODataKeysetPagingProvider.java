@@ -0,0 +1,81 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+/**
+ * Paging provider that uses keyset (seek) based paging. The cost of reading a page does not depend on the number of
+ * the preceding pages, as instead of an OFFSET the query gets a condition on the values of the last row of the
+ * previous page. The next link contains, beside the skip token, the query options of the request, so the provider
+ * does not need to keep track of the pages it has handed out.<p>
+ * Pages are created for the entity sets a maximum page size is given for. A smaller page size can be requested via
+ * the <code>odata.maxpagesize</code> preference.
+ */
+public class JPAODataKeysetPagingProvider implements JPAODataPagingProvider {
+
+  private final Map<String, Integer> maxPageSizes;
+
+  /**
+   * @param pageSizes Maximum page size per entity set name
+   */
+  public JPAODataKeysetPagingProvider(final Map<String, Integer> pageSizes) {
+    maxPageSizes = Collections.unmodifiableMap(pageSizes);
+  }
+
+  /**
+   * A keyset page can not be created from the skip token alone, so null is returned.
+   */
+  @Override
+  public JPAODataPage getNextPage(final String skipToken) {
+    return null;
+  }
+
+  @Override
+  public JPAODataPage getNextPage(final String skipToken, final UriInfo uriInfo, final Integer preferredPageSize) {
+    final Integer size = determinePageSize(uriInfo, preferredPageSize);
+    if (size != null) {
+      try {
+        return JPAODataKeysetPage.fromSkipToken(uriInfo, skipToken.replace("'", ""), size);
+      } catch (final IllegalArgumentException e) {
+        // skip token not valid => let JPA Processor handle this
+        return null;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public JPAODataPage getFirstPage(final UriInfo uriInfo, final Integer preferredPageSize,
+      final JPACountQuery countQuery, final EntityManager em) throws ODataApplicationException {
+
+    final Integer size = determinePageSize(uriInfo, preferredPageSize);
+    if (size != null) {
+      final int skipValue = uriInfo.getSkipOption() != null ? uriInfo.getSkipOption().getValue() : 0;
+      final Integer topValue = uriInfo.getTopOption() != null ? uriInfo.getTopOption().getValue() : null;
+      // No paging needed if $top does not exceed the page size
+      if (topValue == null || topValue > size)
+        return new JPAODataKeysetPage(uriInfo, skipValue, size, skipValue, topValue, Collections.emptyList());
+    }
+    return null;
+  }
+
+  private Integer determinePageSize(final UriInfo uriInfo, final Integer preferredPageSize) {
+    final UriResource root = uriInfo.getUriResourceParts().get(0);
+    // Paging will only be done for Entity Sets
+    if (root instanceof UriResourceEntitySet) {
+      final Integer maxSize = maxPageSizes.get(((UriResourceEntitySet) root).getEntitySet().getName());
+      if (maxSize != null)
+        return preferredPageSize != null && preferredPageSize < maxSize ? preferredPageSize : maxSize;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,126 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Thread safe, in memory {@link JPAODataPageStore}. The number of pages is limited and each page expires after a
+ * given time to live.<p>
+ * If the store is full, the oldest pages are evicted. As the provider stores a new page for each page it hands out,
+ * the pages of clients that are still paging are younger than the ones of abandoned paging sessions, so they survive a
+ * burst of new requests longer.
+ */
+public class JPAODataLocalPageStore implements JPAODataPageStore {
+  public static final int DEFAULT_MAX_SIZE = 1000;
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+  private final Map<String, TimedEntry> pages;
+  private final Queue<TimedToken> insertionOrder;
+  private final int maxSize;
+  private final long timeToLive;
+  private final Clock clock;
+  private final LongAdder evictions;
+
+  public JPAODataLocalPageStore() {
+    this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * @param maxSize Maximum number of pages kept
+   * @param timeToLive Time after which a page gets removed
+   */
+  public JPAODataLocalPageStore(final int maxSize, @Nonnull final Duration timeToLive) {
+    this(maxSize, timeToLive, Clock.systemUTC());
+  }
+
+  JPAODataLocalPageStore(final int maxSize, @Nonnull final Duration timeToLive, @Nonnull final Clock clock) {
+    super();
+    if (maxSize <= 0)
+      throw new IllegalArgumentException("Maximum size of page store must be positive");
+    if (timeToLive.isNegative() || timeToLive.isZero())
+      throw new IllegalArgumentException("Time to live of page store must be positive");
+    this.pages = new ConcurrentHashMap<>();
+    this.insertionOrder = new ConcurrentLinkedQueue<>();
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive.toMillis();
+    this.clock = clock;
+    this.evictions = new LongAdder();
+  }
+
+  @Override
+  public void put(@Nonnull final String skipToken, @Nonnull final JPAODataCachedPage page) {
+    final long now = clock.millis();
+    final TimedEntry entry = new TimedEntry(page, now + timeToLive);
+    pages.put(skipToken, entry);
+    insertionOrder.add(new TimedToken(skipToken, entry));
+    evict(now);
+  }
+
+  @Override
+  public Optional<JPAODataCachedPage> get(@Nonnull final String skipToken) {
+    final TimedEntry entry = pages.get(skipToken);
+    if (entry == null)
+      return Optional.empty();
+    if (entry.isExpired(clock.millis())) {
+      if (pages.remove(skipToken, entry))
+        evictions.increment();
+      return Optional.empty();
+    }
+    return Optional.of(entry.page);
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return Number of pages currently stored, including expired ones not removed yet
+   */
+  public int size() {
+    return pages.size();
+  }
+
+  private void evict(final long now) {
+    TimedToken oldest;
+    while ((oldest = insertionOrder.peek()) != null
+        && (oldest.entry.isExpired(now) || pages.size() > maxSize || pages.get(oldest.token) != oldest.entry)) {
+      if (insertionOrder.remove(oldest) && pages.remove(oldest.token, oldest.entry))
+        evictions.increment();
+    }
+  }
+
+  private static class TimedEntry {
+    private final JPAODataCachedPage page;
+    private final long expiresAt;
+
+    TimedEntry(final JPAODataCachedPage page, final long expiresAt) {
+      super();
+      this.page = page;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(final long now) {
+      return now >= expiresAt;
+    }
+  }
+
+  private static class TimedToken {
+    private final String token;
+    private final TimedEntry entry;
+
+    TimedToken(final String token, final TimedEntry entry) {
+      super();
+      this.token = token;
+      this.entry = entry;
+    }
+  }
+}
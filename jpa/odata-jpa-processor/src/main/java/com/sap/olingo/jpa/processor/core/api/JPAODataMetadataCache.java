@@ -0,0 +1,158 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.serializer.SerializerException;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
+
+/**
+ * Cache of the serialized metadata document. The metadata document only changes if the model is rebuild, which leads
+ * to a new edm provider and with that to a new cache. So the document needs to be serialized only once per format,
+ * request languages and metadata post processor.<p>
+ * The ETag of a document is a strong ETag derived from its content. This way it is the same on all instances of a
+ * service and survives a restart, as long as the model does not change.<p>
+ * The cache is only used to answer <code>$metadata</code> requests. It is not registered as
+ * {@link org.apache.olingo.server.api.etag.ServiceMetadataETagSupport}, so data requests neither serialize the metadata
+ * document nor get an <code>@odata.metadataEtag</code> annotation.
+ */
+final class JPAODataMetadataCache {
+  private static final Log LOGGER = LogFactory.getLog(JPAODataMetadataCache.class);
+  private final Map<DocumentKey, MetadataDocument> documents;
+  private final OData odata;
+  private final ServiceMetadata serviceMetadata;
+
+  JPAODataMetadataCache(@Nonnull final OData odata, @Nonnull final ServiceMetadata serviceMetadata) {
+    super();
+    this.documents = new ConcurrentHashMap<>(2);
+    this.odata = odata;
+    this.serviceMetadata = serviceMetadata;
+  }
+
+  /**
+   * Returns the serialized metadata document. The document is created on first request of a combination of format,
+   * languages and post processor.
+   * @param contentType
+   * @param languages Languages requested, e.g. the content of the <code>Accept-Language</code> header
+   * @param postProcessor Metadata post processor the model was created with
+   * @return
+   * @throws SerializerException
+   */
+  @Nonnull
+  MetadataDocument getDocument(@Nonnull final ContentType contentType, @Nonnull final String languages,
+      @Nullable final JPAEdmMetadataPostProcessor postProcessor) throws SerializerException {
+    final DocumentKey key = new DocumentKey(contentType.toContentTypeString(), languages, postProcessor);
+    MetadataDocument document = documents.get(key);
+    if (document == null) {
+      // Serialization is done outside of the map, as it can take a while. In rare cases it is done twice.
+      document = serialize(contentType);
+      final MetadataDocument existing = documents.putIfAbsent(key, document);
+      if (existing != null)
+        document = existing;
+    }
+    return document;
+  }
+
+  private MetadataDocument serialize(final ContentType contentType) throws SerializerException {
+    final InputStream content = odata.createSerializer(contentType).metadataDocument(serviceMetadata).getContent();
+    try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+      final byte[] chunk = new byte[8192];
+      int read;
+      while ((read = content.read(chunk)) != -1)
+        buffer.write(chunk, 0, read);
+      LOGGER.trace("Metadata document serialized for " + contentType.toContentTypeString());
+      return new MetadataDocument(buffer.toByteArray());
+    } catch (final IOException e) {
+      throw new SerializerException("Metadata document could not be read", e,
+          SerializerException.MessageKeys.IO_EXCEPTION);
+    } finally {
+      closeQuietly(content);
+    }
+  }
+
+  private void closeQuietly(final InputStream content) {
+    try {
+      content.close();
+    } catch (final IOException e) {
+      LOGGER.trace("Could not close metadata stream", e);
+    }
+  }
+
+  private static final class DocumentKey {
+    private final String contentType;
+    private final String languages;
+    private final JPAEdmMetadataPostProcessor postProcessor;
+
+    private DocumentKey(final String contentType, final String languages,
+        final JPAEdmMetadataPostProcessor postProcessor) {
+      this.contentType = contentType;
+      this.languages = languages;
+      this.postProcessor = postProcessor;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(contentType, languages, postProcessor);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof DocumentKey))
+        return false;
+      final DocumentKey other = (DocumentKey) obj;
+      return contentType.equals(other.contentType)
+          && languages.equals(other.languages)
+          && postProcessor == other.postProcessor;
+    }
+  }
+
+  static final class MetadataDocument {
+    private final byte[] content;
+    private final String eTag;
+
+    MetadataDocument(final byte[] content) {
+      this.content = content;
+      this.eTag = "\"" + hash(content) + "\"";
+    }
+
+    /**
+     * @return A new stream on the cached content
+     */
+    InputStream getContent() {
+      return new ByteArrayInputStream(content);
+    }
+
+    String getETag() {
+      return eTag;
+    }
+
+    private static String hash(final byte[] content) {
+      try {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(
+            content));
+      } catch (final NoSuchAlgorithmException e) {
+        // Every Java platform has to support SHA-256
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
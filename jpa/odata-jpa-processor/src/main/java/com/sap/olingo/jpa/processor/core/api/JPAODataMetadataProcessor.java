@@ -0,0 +1,70 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.processor.MetadataProcessor;
+import org.apache.olingo.server.api.uri.UriInfo;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
+import com.sap.olingo.jpa.processor.core.api.JPAODataMetadataCache.MetadataDocument;
+
+/**
+ * Provides the metadata document from the {@link JPAODataMetadataCache}, so it is serialized only once per format,
+ * request languages and metadata post processor. The response contains a strong ETag, which allows clients to
+ * revalidate the metadata via <code>If-None-Match</code>.
+ */
+public class JPAODataMetadataProcessor implements MetadataProcessor {
+
+  private final JPAODataMetadataCache cache;
+  private final JPAEdmMetadataPostProcessor postProcessor;
+  private OData odata;
+
+  JPAODataMetadataProcessor(@Nonnull final JPAODataMetadataCache cache,
+      @Nullable final JPAEdmMetadataPostProcessor postProcessor) {
+    this.cache = cache;
+    this.postProcessor = postProcessor;
+  }
+
+  @Override
+  public void init(final OData odata, final ServiceMetadata serviceMetadata) {
+    this.odata = odata;
+  }
+
+  @Override
+  public void readMetadata(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+      final ContentType requestedContentType) throws ODataApplicationException, ODataLibraryException {
+
+    final MetadataDocument document = cache.getDocument(requestedContentType, getLanguages(request), postProcessor);
+    response.setHeader(HttpHeader.ETAG, document.getETag());
+    final boolean isNotModified = odata.createETagHelper().checkReadPreconditions(document.getETag(),
+        request.getHeaders(HttpHeader.IF_MATCH), request.getHeaders(HttpHeader.IF_NONE_MATCH));
+
+    if (isNotModified) {
+      response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+    } else {
+      // HTTP HEAD requires no payload but a 200 OK response
+      if (HttpMethod.HEAD != request.getMethod())
+        response.setContent(document.getContent());
+      response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+      response.setHeader(HttpHeader.CONTENT_TYPE, requestedContentType.toContentTypeString());
+    }
+  }
+
+  private String getLanguages(final ODataRequest request) {
+    final List<String> languages = request.getHeaders(HttpHeader.ACCEPT_LANGUAGE);
+    return languages == null ? "" : String.join(",", languages);
+  }
+}
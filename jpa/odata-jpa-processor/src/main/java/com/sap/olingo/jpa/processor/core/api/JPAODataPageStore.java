@@ -0,0 +1,35 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Store of the pages handed out by the {@link JPAODataCachingPagingProvider}. The store is responsible for limiting
+ * its size and for removing outdated entries.<p>
+ * The pages are serializable, so a store can keep them outside of the JVM, e.g. in a cache shared within a cluster.<p>
+ * Implementations have to be thread safe.
+ */
+public interface JPAODataPageStore {
+
+  /**
+   * Adds a page. An existing entry for the same skip token is replaced.
+   * @param skipToken
+   * @param page
+   */
+  void put(@Nonnull final String skipToken, @Nonnull final JPAODataCachedPage page);
+
+  /**
+   * @param skipToken
+   * @return The page stored for the skip token. Empty if the skip token is unknown or has been evicted.
+   */
+  Optional<JPAODataCachedPage> get(@Nonnull final String skipToken);
+
+  /**
+   * @return Number of entries that have been removed because the store was full or an entry was expired. Stores that
+   * can not provide this information return 0.
+   */
+  default long getEvictionCount() {
+    return 0;
+  }
+}
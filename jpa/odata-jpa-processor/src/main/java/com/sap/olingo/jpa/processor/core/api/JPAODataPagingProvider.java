@@ -2,7 +2,9 @@ package com.sap.olingo.jpa.processor.core.api;
 
 import javax.persistence.EntityManager;
 
+import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.uri.UriInfo;
 
 import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
@@ -21,6 +23,41 @@ public interface JPAODataPagingProvider {
    */
   JPAODataPage getNextPage(final String skiptoken);
 
+  /**
+   * Returns the page related to a given skiptoken. In addition to {@link #getNextPage(String)} the query options of the
+   * request and the preferred page size are provided. This allows a provider to create the page without keeping track
+   * of the previous requests.<br>
+   * If the method returns null, {@link #getNextPage(String)} is called.
+   * @param skiptoken
+   * @param uriInfo
+   * @param preferredPageSize
+   * @return
+   * @throws ODataApplicationException
+   */
+  default JPAODataPage getNextPage(final String skiptoken, final UriInfo uriInfo, final Integer preferredPageSize)
+      throws ODataApplicationException {
+    return null;
+  }
+
+  /**
+   * Returns the page related to a given skiptoken. In addition to {@link #getNextPage(String, UriInfo, Integer)} the
+   * OData helper and the service metadata are provided. This allows a provider to parse the request of the first page
+   * again, e.g. in case only its {@link JPAODataPathInformation} has been stored.<br>
+   * If the method returns null, {@link #getNextPage(String)} is called.
+   * @param skiptoken
+   * @param odata
+   * @param serviceMetadata
+   * @param uriInfo
+   * @param preferredPageSize
+   * @return
+   * @throws ODataApplicationException
+   * @since 1.0.9
+   */
+  default JPAODataPage getNextPage(final String skiptoken, final OData odata, final ServiceMetadata serviceMetadata,
+      final UriInfo uriInfo, final Integer preferredPageSize) throws ODataApplicationException {
+    return getNextPage(skiptoken, uriInfo, preferredPageSize);
+  }
+
   /**
    * Based on the query the provider decides if a paging is required and return the first page.
    * @param uriInfo
@@ -30,4 +67,23 @@ public interface JPAODataPagingProvider {
   JPAODataPage getFirstPage(final UriInfo uriInfo, final Integer preferredPageSize, final JPACountQuery countQuery,
       final EntityManager em) throws ODataApplicationException;
 
+  /**
+   * Based on the query the provider decides if a paging is required and return the first page. In addition to
+   * {@link #getFirstPage(UriInfo, Integer, JPACountQuery, EntityManager)} the raw path information of the request is
+   * provided, which, other than the UriInfo, can be serialized.
+   * @param pathInformation
+   * @param uriInfo
+   * @param preferredPageSize
+   * @param countQuery
+   * @param em
+   * @return
+   * @throws ODataApplicationException
+   * @since 1.0.9
+   */
+  default JPAODataPage getFirstPage(final JPAODataPathInformation pathInformation, final UriInfo uriInfo,
+      final Integer preferredPageSize, final JPACountQuery countQuery, final EntityManager em)
+      throws ODataApplicationException {
+    return getFirstPage(uriInfo, preferredPageSize, countQuery, em);
+  }
+
 }
@@ -0,0 +1,44 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+/**
+ * Snapshot of the usage of the page store of a {@link JPAODataCachingPagingProvider}.
+ */
+public final class JPAODataPagingStatistics {
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+
+  JPAODataPagingStatistics(final long hitCount, final long missCount, final long evictionCount) {
+    super();
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+  }
+
+  /**
+   * @return Number of skip tokens a page was found for
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return Number of skip tokens no page was found for, e.g. as the page was evicted
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * @return Number of pages removed from the store as it was full or the page was expired
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  @Override
+  public String toString() {
+    return "JPAODataPagingStatistics [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+        + evictionCount + "]";
+  }
+}
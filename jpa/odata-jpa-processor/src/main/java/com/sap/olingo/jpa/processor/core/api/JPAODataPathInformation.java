@@ -0,0 +1,60 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.io.Serializable;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.apache.olingo.server.api.ODataRequest;
+
+/**
+ * Raw path information of a request, as provided by {@link ODataRequest}. Other than the
+ * {@link org.apache.olingo.server.api.uri.UriInfo}, it can be serialized, so it can be kept outside of the JVM and
+ * parsed again later on.
+ * @since 1.0.9
+ */
+public final class JPAODataPathInformation implements Serializable {
+  private static final long serialVersionUID = 4413431475683208935L;
+  private final String baseUri;
+  private final String oDataPath;
+  private final String queryPath;
+  private final String fragments;
+
+  /**
+   * @param baseUri Base URI of the service, e.g. http://localhost:8080/Test/Olingo.svc
+   * @param oDataPath OData path of the request, e.g. Organizations
+   * @param queryPath Encoded query string of the request. Can be null
+   * @param fragments Fragment of the request. Can be null
+   */
+  public JPAODataPathInformation(final String baseUri, @Nonnull final String oDataPath, final String queryPath,
+      final String fragments) {
+    super();
+    this.baseUri = baseUri;
+    this.oDataPath = oDataPath;
+    this.queryPath = queryPath;
+    this.fragments = fragments;
+  }
+
+  public static JPAODataPathInformation of(@Nonnull final ODataRequest request) {
+    return new JPAODataPathInformation(request.getRawBaseUri(), request.getRawODataPath(), request.getRawQueryPath(),
+        null);
+  }
+
+  public String getBaseUri() {
+    return baseUri;
+  }
+
+  public String getODataPath() {
+    return oDataPath;
+  }
+
+  @CheckForNull
+  public String getQueryPath() {
+    return queryPath;
+  }
+
+  @CheckForNull
+  public String getFragments() {
+    return fragments;
+  }
+}
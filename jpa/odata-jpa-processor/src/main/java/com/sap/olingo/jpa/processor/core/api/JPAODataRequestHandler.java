@@ -11,6 +11,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataHttpHandler;
+import org.apache.olingo.server.api.ServiceMetadata;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.processor.core.processor.JPAODataInternalRequestContext;
@@ -76,15 +77,19 @@ public class JPAODataRequestHandler {
       throws ODataException {
 
     final JPAEdmProvider jpaEdm = requestContext.getEdmProvider();
-    final ODataHttpHandler handler = odata.createHandler(odata.createServiceMetadata(jpaEdm, jpaEdm.getReferences()));
+    final ServiceMetadata serviceMetadata = serviceContext.getServiceMetadata(odata, jpaEdm);
+    final ODataHttpHandler handler = odata.createHandler(serviceMetadata);
     serviceContext.getEdmProvider().setRequestLocales(request.getLocales());
-    final HttpServletRequest mappedRequest = prepareRequestMapping(request, serviceContext.getMappingPath());
+    final HttpServletRequest mappedRequest = prepareRequestMapping(JPAODataSetBasedRequest.adapt(request,
+        serviceMetadata, serviceContext.getMappingPath()), serviceContext.getMappingPath());
     handler.register(requestContext.getDebugSupport());
     handler.register(new JPAODataRequestProcessor(serviceContext, requestContext));
     handler.register(serviceContext.getBatchProcessorFactory().getBatchProcessor(serviceContext, requestContext));
     handler.register(serviceContext.getEdmProvider().getServiceDocument());
     handler.register(serviceContext.getErrorProcessor());
     handler.register(new JPAODataServiceDocumentProcessor(serviceContext));
+    handler.register(new JPAODataMetadataProcessor(serviceContext.getMetadataCache(odata, jpaEdm),
+        serviceContext.getMetadataPostProcessor()));
     handler.process(mappedRequest, response);
   }
 
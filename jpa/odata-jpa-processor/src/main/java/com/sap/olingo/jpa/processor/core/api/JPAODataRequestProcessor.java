@@ -1,10 +1,13 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import java.util.Optional;
+
 import javax.persistence.OptimisticLockException;
 import javax.persistence.RollbackException;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
@@ -57,7 +60,7 @@ public final class JPAODataRequestProcessor
 
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, ContentType.TEXT_PLAIN, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, ContentType.TEXT_PLAIN);
     } catch (ODataApplicationException | ODataLibraryException e) {
       throw e;
@@ -196,7 +199,7 @@ public final class JPAODataRequestProcessor
 
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -212,7 +215,7 @@ public final class JPAODataRequestProcessor
       final ContentType responseFormat) throws ODataApplicationException, ODataLibraryException {
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -229,7 +232,7 @@ public final class JPAODataRequestProcessor
 
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -244,9 +247,18 @@ public final class JPAODataRequestProcessor
   public void readEntityCollection(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
       final ContentType responseFormat) throws ODataApplicationException, ODataLibraryException {
 
+    final Optional<HttpMethod> setBasedMethod = JPAODataSetBasedRequest.getMethod(request);
+    if (setBasedMethod.isPresent()) {
+      request.setMethod(setBasedMethod.get());
+      if (setBasedMethod.get() == HttpMethod.DELETE)
+        deleteEntities(request, response, uriInfo);
+      else
+        updateEntities(request, response, uriInfo, JPAODataSetBasedRequest.getRequestFormat(request));
+      return;
+    }
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -262,7 +274,7 @@ public final class JPAODataRequestProcessor
       final ContentType responseFormat) throws ODataApplicationException, ODataLibraryException {
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -279,7 +291,7 @@ public final class JPAODataRequestProcessor
 
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -296,7 +308,7 @@ public final class JPAODataRequestProcessor
 
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -314,7 +326,7 @@ public final class JPAODataRequestProcessor
 
     try {
       final JPARequestProcessor p = factory.createProcessor(uriInfo, responseFormat, request.getAllHeaders(),
-          requestContext);
+          requestContext, JPAODataPathInformation.of(request));
       p.retrieveData(request, response, responseFormat);
     } catch (ODataApplicationException | ODataLibraryException e) {
       requestContext.getDebugger().debug(this, e.getMessage());
@@ -354,6 +366,48 @@ public final class JPAODataRequestProcessor
     }
   }
 
+  /**
+   * Processes a set-based delete like <code>DELETE Organizations?$filter=Country eq 'DEU'</code>. Olingo dispatches
+   * such a request as GET request on the entity set, see {@link JPAODataSetBasedRequest}.
+   */
+  private void deleteEntities(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo)
+      throws ODataApplicationException, ODataLibraryException {
+
+    try {
+      final JPACUDRequestProcessor p = factory.createCUDRequestProcessor(uriInfo, requestContext, request
+          .getAllHeaders());
+      p.deleteEntities(request, response);
+    } catch (ODataApplicationException | ODataLibraryException e) {
+      if (e.getCause() instanceof RollbackException)
+        handleRollbackException((RollbackException) e.getCause());
+      throw e;
+    } catch (final ODataException e) {
+      throw new ODataApplicationException(e.getLocalizedMessage(),
+          HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), null, e);
+    }
+  }
+
+  /**
+   * Processes a set-based update like <code>PATCH Organizations/$filter(Country eq 'DEU')/$each</code>. Olingo
+   * dispatches such a request as GET request on the entity set, see {@link JPAODataSetBasedRequest}.
+   */
+  private void updateEntities(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+      final ContentType requestFormat) throws ODataApplicationException, ODataLibraryException {
+
+    try {
+      final JPACUDRequestProcessor p = factory.createCUDRequestProcessor(uriInfo, requestContext, request
+          .getAllHeaders());
+      p.updateEntities(request, response, requestFormat);
+    } catch (ODataApplicationException | ODataLibraryException e) {
+      if (e.getCause() instanceof RollbackException)
+        handleRollbackException((RollbackException) e.getCause());
+      throw e;
+    } catch (final ODataException e) {
+      throw new ODataApplicationException(e.getLocalizedMessage(),
+          HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), null, e);
+    }
+  }
+
   private void handleRollbackException(final RollbackException e) throws ODataJPAProcessorException {
     if (e.getCause() instanceof OptimisticLockException) {
       throw new ODataJPAProcessorException(e.getCause().getCause(), HttpStatusCode.PRECONDITION_FAILED);
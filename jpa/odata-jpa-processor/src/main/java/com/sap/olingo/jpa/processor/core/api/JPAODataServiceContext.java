@@ -5,8 +5,11 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManager;
@@ -19,6 +22,8 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.processor.ErrorProcessor;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
@@ -27,6 +32,7 @@ import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEdmNameBuilder;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPADefaultEdmNameBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.database.JPADefaultDatabaseProcessor;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseOperations;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseProcessorFactory;
@@ -50,6 +56,10 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
   private final String mappingPath;
   private final JPAODataBatchProcessorFactory<JPAODataBatchProcessor> batchProcessorFactory;
   private final boolean useAbsoluteContextURL;
+  private final Map<JPAEdmProvider, ServiceMetadata> serviceMetadata;
+  private final Map<JPAEdmProvider, JPAODataMetadataCache> metadataCaches;
+  private final Optional<Executor> expandExecutor;
+  private final boolean useStreamingSerialization;
 
   public static Builder with() {
     return new Builder();
@@ -71,6 +81,10 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     mappingPath = builder.mappingPath;
     batchProcessorFactory = (JPAODataBatchProcessorFactory<JPAODataBatchProcessor>) builder.batchProcessorFactory;
     useAbsoluteContextURL = builder.useAbsoluteContextURL;
+    serviceMetadata = new ConcurrentHashMap<>(2);
+    metadataCaches = new ConcurrentHashMap<>(2);
+    expandExecutor = Optional.ofNullable(builder.expandExecutor);
+    useStreamingSerialization = builder.useStreamingSerialization;
   }
 
   @Override
@@ -91,6 +105,35 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     return jpaEdm;
   }
 
+  /**
+   * Returns the Olingo service metadata for the given edm provider. The service metadata, and with that the Olingo
+   * Edm, is created only once per edm provider and reused by all subsequent requests. As the Edm is build lazily by
+   * Olingo, also the already converted parts are reused.
+   * @param odata
+   * @param edmProvider
+   * @return
+   */
+  ServiceMetadata getServiceMetadata(@Nonnull final OData odata, @Nonnull final JPAEdmProvider edmProvider) {
+    return serviceMetadata.computeIfAbsent(edmProvider,
+        edm -> odata.createServiceMetadata(edm, edm.getReferences()));
+  }
+
+  /**
+   * Returns the cache of the serialized metadata documents for the given edm provider. As a model rebuild leads to a
+   * new edm provider, the cache is also rebuild in that case.
+   * @param odata
+   * @param edmProvider
+   * @return
+   */
+  JPAODataMetadataCache getMetadataCache(@Nonnull final OData odata, @Nonnull final JPAEdmProvider edmProvider) {
+    return metadataCaches.computeIfAbsent(edmProvider,
+        edm -> new JPAODataMetadataCache(odata, getServiceMetadata(odata, edm)));
+  }
+
+  JPAEdmMetadataPostProcessor getMetadataPostProcessor() {
+    return postProcessor;
+  }
+
   @Override
   public Optional<? extends EntityManagerFactory> getEntityManagerFactory() {
     return emf;
@@ -136,6 +179,16 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     return batchProcessorFactory;
   }
 
+  @Override
+  public Optional<Executor> getExpandExecutor() {
+    return expandExecutor;
+  }
+
+  @Override
+  public boolean useStreamingSerialization() {
+    return useStreamingSerialization;
+  }
+
   public static class Builder {
 
     private String namespace;
@@ -153,6 +206,11 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     private String mappingPath;
     private JPAODataBatchProcessorFactory<?> batchProcessorFactory;
     private boolean useAbsoluteContextURL = false;
+    private Executor expandExecutor;
+    private boolean useStreamingSerialization = false;
+    private boolean useEagerModelBuild = false;
+    private Executor modelBuildExecutor;
+    private boolean useTypeScanSnapshot = false;
 
     private Builder() {
       super();
@@ -168,13 +226,13 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
           packageName = new String[0];
         if (!emf.isPresent() && ds != null && namespace != null)
           emf = Optional.ofNullable(JPAEntityManagerFactory.getEntityManagerFactory(namespace, ds));
-        createEmfWrapper();
-        if (emf.isPresent() && jpaEdm == null)
-          jpaEdm = new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder);
         if (databaseProcessor == null) {
           LOGGER.trace("No database-processor provided, use JPAODataDatabaseProcessorFactory to create one");
           databaseProcessor = new JPAODataDatabaseProcessorFactory().create(ds);
         }
+        createEmfWrapper();
+        if (emf.isPresent() && jpaEdm == null)
+          jpaEdm = createEdmProvider();
         if (batchProcessorFactory == null) {
           LOGGER.trace("No batch-processor-factory provided, use default factory to create one");
           batchProcessorFactory = new JPADefaultBatchProcessorFactory();
@@ -337,6 +395,79 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
       return this;
     }
 
+    /**
+     * Provide an executor to read the $expand and collection properties of a request in parallel. Each expand or
+     * collection property of the requested entity set is read by an own task, using an own entity manager created from
+     * the entity manager factory. Nested expands are read by the task of their parent. If no executor is provided, or
+     * no entity manager factory is available, expands are read one after the other. The executor is also used to read
+     * the $count in parallel to a page or a result restricted by $top.<br>
+     * It is recommended to provide a bounded executor, e.g. one using virtual threads where available.
+     * @param expandExecutor
+     * @return
+     */
+    public Builder setExpandExecutor(final Executor expandExecutor) {
+      this.expandExecutor = expandExecutor;
+      return this;
+    }
+
+    /**
+     * Entity collections are per default converted and serialized completely, before the response is written. For
+     * large pages, e.g. export like requests with a big $top, this can be switched to a streaming mode. In this mode the
+     * entities are converted one by one while they are written into the response. As a draw back errors that occur
+     * during the conversion can not be reported by an error response anymore, as the response has already been started.
+     * @param useStreamingSerialization
+     * @return
+     */
+    public Builder setUseStreamingSerialization(final boolean useStreamingSerialization) {
+      this.useStreamingSerialization = useStreamingSerialization;
+      return this;
+    }
+
+    /**
+     * Per default the intermediate model is created lazily, part by part, when it is accessed the first time. With the
+     * eager model build, the complete model is created while the service context is build. Afterwards the model is
+     * only read, which removes the first touch costs and races from the request processing.
+     * @param useEagerModelBuild
+     * @return
+     */
+    public Builder setUseEagerModelBuild(final boolean useEagerModelBuild) {
+      this.useEagerModelBuild = useEagerModelBuild;
+      return this;
+    }
+
+    /**
+     * Executor used to build the intermediate model eagerly and in parallel, e.g. a
+     * {@link java.util.concurrent.ForkJoinPool}. This is helpful for large models. The resulting model is the same as
+     * the one build sequentially, but a metadata post processor gets called concurrently and has to be thread safe.
+     * @param modelBuildExecutor
+     * @return
+     */
+    public Builder setModelBuildExecutor(final Executor modelBuildExecutor) {
+      this.modelBuildExecutor = modelBuildExecutor;
+      return this;
+    }
+
+    /**
+     * Per default the packages given via {@link #setTypePackage(String...)} are scanned for enumerations and java
+     * operations. With a type scan snapshot, the result of the scan is taken from a snapshot created during the build,
+     * see {@link com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPATypeScanSnapshot}. A missing snapshot or one that
+     * does not fit to the classes is ignored and the packages are scanned.
+     * @param useTypeScanSnapshot
+     * @return
+     */
+    public Builder setUseTypeScanSnapshot(final boolean useTypeScanSnapshot) {
+      this.useTypeScanSnapshot = useTypeScanSnapshot;
+      return this;
+    }
+
+    private JPAEdmProvider createEdmProvider() throws ODataException {
+      if (modelBuildExecutor != null)
+        return new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder,
+            modelBuildExecutor, useTypeScanSnapshot);
+      return new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder, useEagerModelBuild,
+          useTypeScanSnapshot);
+    }
+
     @SuppressWarnings("unchecked")
     private void createEmfWrapper() {
       if (emf.isPresent()) {
@@ -344,9 +475,10 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
           final Class<? extends EntityManagerFactory> wrapperClass = (Class<? extends EntityManagerFactory>) Class
               .forName("com.sap.olingo.jpa.processor.cb.api.EntityManagerFactoryWrapper");
           if (jpaEdm == null)
-            jpaEdm = new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder);
-          emf = Optional.of(wrapperClass.getConstructor(EntityManagerFactory.class,
-              JPAServiceDocument.class).newInstance(emf.get(), jpaEdm.getServiceDocument()));
+            jpaEdm = createEdmProvider();
+          emf = Optional.of(wrapperClass.getConstructor(EntityManagerFactory.class, JPAServiceDocument.class,
+              ProcessorSqlPaging.class).newInstance(emf.get(), jpaEdm.getServiceDocument(),
+                  databaseProcessor.getSqlPaging()));
           LOGGER.trace("Criteria Builder Extension found. It will be used");
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
             | NoSuchMethodException | SecurityException e) {
@@ -360,4 +492,4 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
       }
     }
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.core.api;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManagerFactory;
 
@@ -61,4 +62,24 @@ public interface JPAODataSessionContextAccess {
   public default boolean useAbsoluteContextURL() {
     return false;
   }
+
+  /**
+   * If <code>true</code> entity collections are written directly into the response while the entities are converted,
+   * instead of creating the complete entity collection and the complete response content up front.
+   * @return
+   */
+  public default boolean useStreamingSerialization() {
+    return false;
+  }
+
+  /**
+   * If the $expand and collection properties of a request shall be read in parallel, <code>getExpandExecutor</code>
+   * returns the executor the single expand branches are processed with. Each branch uses an own entity manager, so
+   * parallel processing requires an entity manager factory. The executor is also used to read a requested $count in
+   * parallel to the entities.
+   * @return
+   */
+  public default Optional<Executor> getExpandExecutor() {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,304 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import org.apache.olingo.commons.api.edm.EdmEntityContainer;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+
+/**
+ * Supports set-based requests on an entity set, as introduced with OData 4.01:
+ * <ul>
+ * <li><code>DELETE Organizations?$filter=Country eq 'DEU'</code></li>
+ * <li><code>DELETE Organizations/$filter(Country eq 'DEU')/$each</code></li>
+ * <li><code>PATCH Organizations/$filter(Country eq 'DEU')/$each</code></li>
+ * </ul>
+ * Olingo neither dispatches DELETE and PATCH requests on entity sets nor knows the <code>$filter</code> and
+ * <code>$each</code> path segments. So a set-based request is converted into a GET request on the entity set, which
+ * Olingo dispatches to {@link JPAODataRequestProcessor#readEntityCollection}. A filter segment becomes a
+ * <code>$filter</code> query option, which is combined with an existing one. The original method is kept in a header,
+ * together with a token only known by this JVM, so a client can not send a GET request that is processed as set-based
+ * request.<p>
+ * As the response of a set-based request has no content, the return preferences of a <code>Prefer</code> header are
+ * ignored.
+ * @since 1.0.9
+ */
+final class JPAODataSetBasedRequest {
+  static final String METHOD_HEADER = "JPA-Set-Based-Method";
+  private static final String TOKEN = UUID.randomUUID().toString();
+  private static final String EACH_SEGMENT = "/$each";
+  private static final String FILTER_SEGMENT = "/$filter(";
+  private static final String FILTER_OPTION = "$filter=";
+  // The URI parser splits the query at each ampersand, so it must not be part of the filter taken from the path
+  private static final String OPTION_SEPARATOR = "&";
+  private static final String ENCODED_SEPARATOR = "%26";
+  private static final List<String> RETURN_PREFERENCES = Arrays.asList("return=minimal", "return=representation");
+
+  private JPAODataSetBasedRequest() {
+    super();
+  }
+
+  /**
+   * Converts a set-based request received by the servlet.
+   * @param request
+   * @param serviceMetadata
+   * @param requestMapping Path the service is mapped to, if the request is not dispatched by the servlet path
+   * @return Either the converted request or the given one, if it is not a set-based request
+   */
+  static HttpServletRequest adapt(@Nonnull final HttpServletRequest request,
+      @Nonnull final ServiceMetadata serviceMetadata, @Nullable final String requestMapping) {
+
+    final String rawRequestUri = request.getRequestURL().toString();
+    final String rawODataPath = determineODataPath(request, rawRequestUri, requestMapping);
+    return convert(request.getMethod(), rawODataPath, request.getQueryString(), serviceMetadata)
+        .<HttpServletRequest> map(target -> new SetBasedServletRequest(request, target))
+        .orElse(request);
+  }
+
+  /**
+   * Converts a set-based request that is part of a batch request.
+   * @param request
+   * @param serviceMetadata
+   * @return Either the converted request or the given one, if it is not a set-based request
+   */
+  static ODataRequest adapt(@Nonnull final ODataRequest request, @Nonnull final ServiceMetadata serviceMetadata) {
+    return convert(String.valueOf(request.getMethod()), request.getRawODataPath(), request.getRawQueryPath(),
+        serviceMetadata)
+        .map(target -> createRequest(request, target))
+        .orElse(request);
+  }
+
+  /**
+   * Converts the set-based requests of a batch part.
+   * @param part
+   * @param serviceMetadata
+   * @return Either a part with the converted requests or the given one, if it contains no set-based request
+   */
+  static BatchRequestPart adapt(@Nonnull final BatchRequestPart part, @Nonnull final ServiceMetadata serviceMetadata) {
+    final List<ODataRequest> requests = new ArrayList<>(part.getRequests().size());
+    boolean converted = false;
+    for (final ODataRequest request : part.getRequests()) {
+      final ODataRequest target = adapt(request, serviceMetadata);
+      converted = converted || target != request;
+      requests.add(target);
+    }
+    return converted ? new BatchRequestPart(part.isChangeSet(), requests) : part;
+  }
+
+  /**
+   * @param request
+   * @return The original method, if the request is a converted set-based request
+   */
+  static Optional<HttpMethod> getMethod(@Nonnull final ODataRequest request) {
+    final String marker = request.getHeader(METHOD_HEADER);
+    if (marker != null && marker.startsWith(TOKEN + " "))
+      return Optional.of(HttpMethod.valueOf(marker.substring(TOKEN.length() + 1)));
+    return Optional.empty();
+  }
+
+  static ContentType getRequestFormat(@Nonnull final ODataRequest request) {
+    final String contentType = request.getHeader(HttpHeader.CONTENT_TYPE);
+    return contentType == null ? ContentType.JSON : ContentType.parse(contentType);
+  }
+
+  private static Optional<Target> convert(final String method, final String rawODataPath,
+      @Nullable final String rawQueryPath, final ServiceMetadata serviceMetadata) {
+
+    if (!HttpMethod.DELETE.name().equals(method) && !HttpMethod.PATCH.name().equals(method))
+      return Optional.empty();
+    final String path = rawODataPath.startsWith("/") ? rawODataPath.substring(1) : rawODataPath;
+    if (path.endsWith(EACH_SEGMENT)) {
+      final int start = path.indexOf(FILTER_SEGMENT);
+      if (start < 0 || !path.endsWith(")" + EACH_SEGMENT) || !isEntitySet(path.substring(0, start), serviceMetadata))
+        return Optional.empty();
+      final String filter = path.substring(start + FILTER_SEGMENT.length(), path.length() - EACH_SEGMENT.length() - 1);
+      final String removedPath = path.substring(start);
+      return Optional.of(new Target(method, rawODataPath.substring(0, rawODataPath.length() - removedPath.length()),
+          removedPath, addFilter(rawQueryPath, filter.replace(OPTION_SEPARATOR, ENCODED_SEPARATOR))));
+    }
+    if (HttpMethod.DELETE.name().equals(method) && hasFilterOption(rawQueryPath) && isEntitySet(path, serviceMetadata))
+      return Optional.of(new Target(method, rawODataPath, "", rawQueryPath));
+    return Optional.empty();
+  }
+
+  /**
+   * Combines the filter of a filter segment with the filter given as query option.
+   */
+  private static String addFilter(@Nullable final String rawQueryPath, final String filter) {
+    final List<String> options = splitQuery(rawQueryPath);
+    boolean combined = false;
+    for (int i = 0; i < options.size(); i++) {
+      final String option = options.get(i);
+      if (option.startsWith(FILTER_OPTION)) {
+        options.set(i, FILTER_OPTION + "(" + filter + ")%20and%20(" + option.substring(FILTER_OPTION.length()) + ")");
+        combined = true;
+      }
+    }
+    if (!combined)
+      options.add(FILTER_OPTION + filter);
+    return String.join(OPTION_SEPARATOR, options);
+  }
+
+  private static ODataRequest createRequest(final ODataRequest request, final Target target) {
+    final ODataRequest odataRequest = new ODataRequest();
+    odataRequest.setMethod(HttpMethod.GET);
+    odataRequest.setProtocol(request.getProtocol());
+    odataRequest.setBody(request.getBody());
+    odataRequest.setRawBaseUri(request.getRawBaseUri());
+    odataRequest.setRawServiceResolutionUri(request.getRawServiceResolutionUri());
+    odataRequest.setRawODataPath(target.rawODataPath);
+    odataRequest.setRawQueryPath(target.rawQueryPath);
+    odataRequest.setRawRequestUri(request.getRawBaseUri() + target.rawODataPath
+        + (target.rawQueryPath == null ? "" : "?" + target.rawQueryPath));
+    for (final Entry<String, List<String>> header : request.getAllHeaders().entrySet()) {
+      final List<String> values = getHeaderValues(header.getKey(), header.getValue());
+      if (!values.isEmpty())
+        odataRequest.addHeader(header.getKey(), values);
+    }
+    odataRequest.setHeader(METHOD_HEADER, target.marker);
+    return odataRequest;
+  }
+
+  /**
+   * Determines the OData path the same way Olingo does.
+   */
+  private static String determineODataPath(final HttpServletRequest request, final String rawRequestUri,
+      @Nullable final String requestMapping) {
+
+    final String servletPath = request.getServletPath();
+    final String contextPath = request.getContextPath();
+    if (requestMapping != null && !requestMapping.isEmpty())
+      return rawRequestUri.substring(rawRequestUri.indexOf(requestMapping) + requestMapping.length());
+    if (servletPath != null && !servletPath.isEmpty())
+      return rawRequestUri.substring(rawRequestUri.indexOf(servletPath) + servletPath.length());
+    if (contextPath != null && !contextPath.isEmpty())
+      return rawRequestUri.substring(rawRequestUri.indexOf(contextPath) + contextPath.length());
+    return request.getRequestURI();
+  }
+
+  /**
+   * Removes a marker a client may have sent and the return preferences, which Olingo rejects for GET requests.
+   */
+  private static List<String> getHeaderValues(final String name, final List<String> values) {
+    final List<String> result = new ArrayList<>(values.size());
+    if (METHOD_HEADER.equalsIgnoreCase(name))
+      return result;
+    for (final String value : values) {
+      if (!HttpHeader.PREFER.equalsIgnoreCase(name) || !RETURN_PREFERENCES.contains(value.trim().toLowerCase()))
+        result.add(value);
+    }
+    return result;
+  }
+
+  private static boolean hasFilterOption(@Nullable final String rawQueryPath) {
+    return splitQuery(rawQueryPath).stream().anyMatch(option -> option.startsWith(FILTER_OPTION));
+  }
+
+  private static boolean isEntitySet(final String segment, final ServiceMetadata serviceMetadata) {
+    if (segment.isEmpty() || segment.contains("/") || segment.contains("("))
+      return false;
+    final EdmEntityContainer container = serviceMetadata.getEdm().getEntityContainer();
+    return container != null && container.getEntitySet(segment) != null;
+  }
+
+  private static List<String> splitQuery(@Nullable final String rawQueryPath) {
+    final List<String> options = new ArrayList<>();
+    if (rawQueryPath != null && !rawQueryPath.isEmpty())
+      Collections.addAll(options, rawQueryPath.split(OPTION_SEPARATOR));
+    return options;
+  }
+
+  private static class Target {
+    private final String marker;
+    private final String rawODataPath;
+    private final String removedPath;
+    private final String rawQueryPath;
+
+    private Target(final String method, final String rawODataPath, final String removedPath,
+        final String rawQueryPath) {
+      this.marker = TOKEN + " " + method;
+      this.rawODataPath = rawODataPath;
+      this.removedPath = removedPath;
+      this.rawQueryPath = rawQueryPath;
+    }
+  }
+
+  private static class SetBasedServletRequest extends HttpServletRequestWrapper {
+    private final Target target;
+
+    private SetBasedServletRequest(final HttpServletRequest request, final Target target) {
+      super(request);
+      this.target = target;
+    }
+
+    @Override
+    public String getHeader(final String name) {
+      final Enumeration<String> values = getHeaders(name);
+      return values.hasMoreElements() ? values.nextElement() : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      final List<String> names = new ArrayList<>();
+      final Enumeration<String> original = super.getHeaderNames();
+      while (original != null && original.hasMoreElements()) {
+        final String name = original.nextElement();
+        if (!METHOD_HEADER.equalsIgnoreCase(name))
+          names.add(name);
+      }
+      names.add(METHOD_HEADER);
+      return Collections.enumeration(names);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(final String name) {
+      if (METHOD_HEADER.equalsIgnoreCase(name))
+        return Collections.enumeration(Collections.singletonList(target.marker));
+      final Enumeration<String> values = super.getHeaders(name);
+      return Collections.enumeration(getHeaderValues(name, values == null ? Collections.emptyList() : Collections
+          .list(values)));
+    }
+
+    @Override
+    public String getMethod() {
+      return HttpMethod.GET.name();
+    }
+
+    @Override
+    public String getQueryString() {
+      return target.rawQueryPath;
+    }
+
+    @Override
+    public String getRequestURI() {
+      return removePath(super.getRequestURI());
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+      return new StringBuffer(removePath(super.getRequestURL().toString()));
+    }
+
+    private String removePath(final String uri) {
+      return uri != null && uri.endsWith(target.removedPath)
+          ? uri.substring(0, uri.length() - target.removedPath.length())
+          : uri;
+    }
+  }
+}
@@ -21,6 +21,8 @@ import java.util.regex.Pattern;
 
 import javax.persistence.EntityManager;
 import javax.persistence.GeneratedValue;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.SingularAttribute;
 
@@ -103,6 +105,27 @@ public class JPAExampleCUDRequestHandler extends JPAAbstractCUDRequestHandler {
       em.remove(instance);
   }
 
+  @Override
+  public int deleteEntities(final JPARequestEntity requestEntity, final CriteriaDelete<?> delete,
+      final EntityManager em) throws ODataJPAProcessException {
+
+    return em.createQuery(delete).executeUpdate();
+  }
+
+  @Override
+  public int updateEntities(final JPARequestEntity requestEntity, final CriteriaUpdate<?> update,
+      final EntityManager em) throws ODataJPAProcessException {
+
+    return em.createQuery(update).executeUpdate();
+  }
+
+  @Override
+  public int updateEntityConditional(final JPARequestEntity requestEntity, final CriteriaUpdate<?> update,
+      final EntityManager em) throws ODataJPAProcessException {
+
+    return em.createQuery(update).executeUpdate();
+  }
+
   @Override
   public JPAUpdateResult updateEntity(final JPARequestEntity requestEntity, final EntityManager em,
       final HttpMethod method) throws ODataJPAProcessException {
@@ -17,6 +17,10 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
 import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
 
+/**
+ * Example of a paging provider. The pages are kept in a simple buffer, which is not synchronized and does not expire
+ * entries. For a productive usage see {@link com.sap.olingo.jpa.processor.core.api.JPAODataCachingPagingProvider}.
+ */
 public class JPAExamplePagingProvider implements JPAODataPagingProvider {
 
   private static final int DEFAULT_BUFFER_SIZE = 100;
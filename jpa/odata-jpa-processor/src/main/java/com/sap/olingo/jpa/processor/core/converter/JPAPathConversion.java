@@ -0,0 +1,57 @@
+package com.sap.olingo.jpa.processor.core.converter;
+
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+
+/**
+ * Describes how the value of a selected path is put into an entity. As this does not depend on the row, it is
+ * determined once per result and not per row. The description consists of the complex attributes on the way to the
+ * value, together with the key of the corresponding complex value within the complex value buffer, and the path and
+ * attribute that provide the value.
+ */
+final class JPAPathConversion {
+  private final JPAPath selectedPath;
+  private final List<JPAAttribute> complexAttributes;
+  private final List<String> bufferKeys;
+  private final JPAPath leafPath;
+  private final JPAAttribute leafAttribute;
+
+  JPAPathConversion(final JPAPath selectedPath, final List<JPAAttribute> complexAttributes,
+      final List<String> bufferKeys, final JPAPath leafPath, final JPAAttribute leafAttribute) {
+    super();
+    this.selectedPath = selectedPath;
+    this.complexAttributes = complexAttributes;
+    this.bufferKeys = bufferKeys;
+    this.leafPath = leafPath;
+    this.leafAttribute = leafAttribute;
+  }
+
+  JPAPath getSelectedPath() {
+    return selectedPath;
+  }
+
+  List<JPAAttribute> getComplexAttributes() {
+    return complexAttributes;
+  }
+
+  List<String> getBufferKeys() {
+    return bufferKeys;
+  }
+
+  @CheckForNull
+  JPAPath getLeafPath() {
+    return leafPath;
+  }
+
+  /**
+   * @return <code>null</code> in case the selected path could not be resolved
+   */
+  @CheckForNull
+  JPAAttribute getLeafAttribute() {
+    return leafAttribute;
+  }
+}
@@ -0,0 +1,111 @@
+package com.sap.olingo.jpa.processor.core.converter;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.persistence.Tuple;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+
+/**
+ * Immutable key of a partial result, e.g. the result of an $expand, for one parent. The key is made of the values of
+ * the join columns in the order they are given by the association path.<p>
+ * In contrast to a concatenated string, the values are compared by their type specific <code>equals</code>, arrays like
+ * <code>byte[]</code> by their content. As the columns of the parent and of the child may have different integral types,
+ * e.g. <code>Integer</code> and <code>Long</code>, integral numbers are compared by their value. The hash code is
+ * calculated once.
+ */
+public final class JPAResultKey {
+  /** Key of the result of the requested entity set, which has no parent */
+  public static final JPAResultKey ROOT = new JPAResultKey(new Object[] { new Object() }, "root");
+
+  private final Object[] values;
+  private final int hashCode;
+  private final String description;
+
+  /**
+   * Creates a key from the given values.
+   * @param values
+   * @return
+   */
+  public static JPAResultKey of(final Object... values) {
+    final Object[] keyValues = new Object[values.length];
+    for (int i = 0; i < values.length; i++)
+      keyValues[i] = normalize(values[i]);
+    return new JPAResultKey(keyValues, null);
+  }
+
+  /**
+   * Creates a key from the values a row has for the given aliases.
+   * @param row
+   * @param aliases
+   * @return
+   * @throws IllegalArgumentException if an alias is not part of the row
+   */
+  public static JPAResultKey of(@Nonnull final Tuple row, @Nonnull final List<String> aliases) {
+    final Object[] keyValues = new Object[aliases.size()];
+    for (int i = 0; i < keyValues.length; i++)
+      keyValues[i] = normalize(row.get(aliases.get(i)));
+    return new JPAResultKey(keyValues, null);
+  }
+
+  /**
+   * Creates a key from the values a row has for the aliases of the given paths.
+   * @param row
+   * @param paths
+   * @return
+   */
+  public static JPAResultKey ofPaths(@Nonnull final Tuple row, @Nonnull final List<JPAPath> paths) {
+    final Object[] keyValues = new Object[paths.size()];
+    for (int i = 0; i < keyValues.length; i++)
+      keyValues[i] = normalize(row.get(paths.get(i).getAlias()));
+    return new JPAResultKey(keyValues, null);
+  }
+
+  private static Object normalize(final Object value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+      return ((Number) value).longValue();
+    if (value instanceof BigInteger && ((BigInteger) value).bitLength() < Long.SIZE)
+      return ((BigInteger) value).longValue();
+    return value;
+  }
+
+  private JPAResultKey(final Object[] values, final String description) {
+    this.values = values;
+    this.hashCode = Arrays.deepHashCode(values);
+    this.description = description;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    if (this == object)
+      return true;
+    if (!(object instanceof JPAResultKey))
+      return false;
+    final JPAResultKey other = (JPAResultKey) object;
+    return hashCode == other.hashCode && Arrays.deepEquals(values, other.values);
+  }
+
+  /**
+   * Returns the values separated by {@value JPAPath#PATH_SEPARATOR}. For logging and debugging only.
+   */
+  @Override
+  public String toString() {
+    if (description != null)
+      return description;
+    final StringBuilder buffer = new StringBuilder();
+    for (final Object value : values) {
+      if (buffer.length() > 0)
+        buffer.append(JPAPath.PATH_SEPARATOR);
+      buffer.append(value instanceof byte[] ? Arrays.toString((byte[]) value) : String.valueOf(value));
+    }
+    return buffer.toString();
+  }
+}
@@ -5,9 +5,11 @@ import java.net.URISyntaxException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -18,6 +20,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.olingo.commons.api.data.ComplexValue;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -63,7 +66,7 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
     this(converter.sd, converter.uriHelper, converter.serviceMetadata, converter.requestContext);
   }
 
-  public Map<String, List<Object>> getCollectionResult(final JPACollectionResult jpaResult,
+  public Map<JPAResultKey, List<Object>> getCollectionResult(final JPACollectionResult jpaResult,
       final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
     return new JPATupleCollectionConverter(sd, uriHelper, serviceMetadata, requestContext)
@@ -71,17 +74,17 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
   }
 
   @Override
-  public Map<String, EntityCollection> getResult(@Nonnull final JPAExpandResult jpaResult,
+  public Map<JPAResultKey, EntityCollection> getResult(@Nonnull final JPAExpandResult jpaResult,
       @Nonnull final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
     jpaQueryResult = jpaResult;
     this.setName = determineSetName(jpaQueryResult);
     this.jpaConversionTargetEntity = jpaQueryResult.getEntityType();
     this.edmType = determineEdmType();
-    final Map<String, List<Tuple>> childResult = jpaResult.getResults();
+    final Map<JPAResultKey, List<Tuple>> childResult = jpaResult.getResults();
 
-    final Map<String, EntityCollection> result = new HashMap<>(childResult.size());
-    for (final Entry<String, List<Tuple>> tuple : childResult.entrySet()) {
+    final Map<JPAResultKey, EntityCollection> result = new HashMap<>(childResult.size());
+    for (final Entry<JPAResultKey, List<Tuple>> tuple : childResult.entrySet()) {
       final EntityCollection entityCollection = new EntityCollection();
       final List<Entity> entities = entityCollection.getEntities();
       final List<Tuple> rows = tuple.getValue();
@@ -98,6 +101,78 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
     return result;
   }
 
+  /**
+   * Converts the rows of the root result not up front, but one by one when the serializer requests them. As each row is
+   * released after its conversion, neither a complete entity collection nor all converted rows exist at the same time.
+   * The results of the children have to be converted before.
+   * @param jpaResult
+   * @param requestedSelection
+   * @return
+   * @throws ODataApplicationException
+   */
+  public EntityIterator getResultIterator(@Nonnull final JPAExpandResult jpaResult,
+      @Nonnull final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
+
+    final List<Tuple> rows = Optional.ofNullable(jpaResult.getResult(JPAExpandResult.ROOT_RESULT_KEY))
+        .orElse(Collections.emptyList());
+    return getResultIterator(jpaResult, new Iterator<Tuple>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < rows.size();
+      }
+
+      @Override
+      public Tuple next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        return rows.set(index++, null);
+      }
+    }, requestedSelection);
+  }
+
+  /**
+   * Converts the rows of the root result one by one when the serializer requests them. A row is only taken from the
+   * given iterator when the corresponding entity is requested, so the rows can be read from the database while the
+   * response is written. The results of the children have to be converted before.
+   * @param jpaResult
+   * @param rows Rows of the root result
+   * @param requestedSelection
+   * @return
+   * @throws ODataApplicationException
+   */
+  public EntityIterator getResultIterator(@Nonnull final JPAExpandResult jpaResult, @Nonnull final Iterator<Tuple> rows,
+      @Nonnull final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
+
+    jpaQueryResult = jpaResult;
+    this.setName = determineSetName(jpaQueryResult);
+    this.jpaConversionTargetEntity = jpaQueryResult.getEntityType();
+    this.edmType = determineEdmType();
+
+    return new EntityIterator() {
+
+      @Override
+      public boolean hasNext() {
+        return rows.hasNext();
+      }
+
+      @Override
+      public Entity next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        final Tuple row = rows.next();
+        try {
+          final Entity odataEntity = convertRow(jpaConversionTargetEntity, row, requestedSelection);
+          odataEntity.setMediaContentType(determineContentType(jpaConversionTargetEntity, row));
+          return odataEntity;
+        } catch (final ODataApplicationException e) {
+          throw new ODataRuntimeException(e);
+        }
+      }
+    };
+  }
+
   protected Entity convertRow(final JPAEntityType rowEntity, final Tuple row,
       final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
@@ -169,7 +244,7 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
       final JPAExpandResult child) throws ODataJPAModelException {
 
     final Collection<Object> collectionResult = ((JPACollectionResult) child).getPropertyCollection(
-        buildConcatenatedKey(row, collection.asAssociation().getLeftColumnsList()));
+        buildResultKey(row, collection.asAssociation().getLeftColumnsList()));
 
     result.add(new Property(
         null,
@@ -39,7 +39,7 @@ public class JPATupleCollectionConverter extends JPATupleResultConverter {
   }
 
   @Override
-  public Map<String, List<Object>> getResult(final JPAExpandResult dbResult,
+  public Map<JPAResultKey, List<Object>> getResult(final JPAExpandResult dbResult,
       final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
     jpaQueryResult = dbResult;
@@ -47,15 +47,15 @@ public class JPATupleCollectionConverter extends JPATupleResultConverter {
     final JPAAssociationAttribute attribute = jpaResult.getAssociation().getLeaf();
     final boolean isTransient = attribute.isTransient();
 
-    final Map<String, List<Tuple>> childResult = jpaResult.getResults();
-    final Map<String, List<Object>> result = new HashMap<>(childResult.size());
+    final Map<JPAResultKey, List<Tuple>> childResult = jpaResult.getResults();
+    final Map<JPAResultKey, List<Object>> result = new HashMap<>(childResult.size());
 
     try {
       final JPAStructuredType st = determineCollectionRoot(jpaResult.getEntityType(), jpaResult.getAssociation()
           .getPath());
       final String prefix = determinePrefix(jpaResult.getAssociation().getAlias());
 
-      for (Entry<String, List<Tuple>> tuple : childResult.entrySet()) {
+      for (Entry<JPAResultKey, List<Tuple>> tuple : childResult.entrySet()) {
         if (isTransient) {
           result.put(tuple.getKey(), convertTransientCollection(attribute, tuple));
         } else {
@@ -74,7 +74,7 @@ public class JPATupleCollectionConverter extends JPATupleResultConverter {
 
   private List<Object> convertPersistentCollection(final JPACollectionResult jpaResult,
       final JPAAssociationAttribute attribute, final JPAStructuredType st, final String prefix,
-      Entry<String, List<Tuple>> tuple, final Collection<JPAPath> requestedSelection) throws ODataJPAModelException,
+      Entry<JPAResultKey, List<Tuple>> tuple, final Collection<JPAPath> requestedSelection) throws ODataJPAModelException,
       ODataApplicationException {
 
     final List<Object> collection = new ArrayList<>();
@@ -115,7 +115,7 @@ public class JPATupleCollectionConverter extends JPATupleResultConverter {
 
   @SuppressWarnings("unchecked")
   private List<Object> convertTransientCollection(final JPAAssociationAttribute attribute,
-      Entry<String, List<Tuple>> tuple) throws ODataJPAProcessorException {
+      Entry<JPAResultKey, List<Tuple>> tuple) throws ODataJPAProcessorException {
 
     final Optional<EdmTransientPropertyCalculator<?>> calculator = requestContext.getCalculator(attribute);
     if (calculator.isPresent()) {
@@ -56,6 +56,8 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
   protected final ServiceMetadata serviceMetadata;
   protected EdmEntityType edmType;
   protected final JPAODataRequestContextAccess requestContext;
+  private Collection<JPAPath> compiledSelection;
+  private List<JPAPathConversion> selectionConversion;
 
   protected JPATupleResultConverter(final JPAServiceDocument sd, final UriHelper uriHelper,
       final ServiceMetadata serviceMetadata, final JPAODataRequestContextAccess requestContext) {
@@ -65,15 +67,9 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     this.requestContext = requestContext;
   }
 
-  protected String buildConcatenatedKey(final Tuple row, final List<JPAPath> leftColumns) {
-    final StringBuilder buffer = new StringBuilder();
-    for (final JPAPath item : leftColumns) {
-      buffer.append(JPAPath.PATH_SEPARATOR);
-      // TODO Tuple returns the converted value in case a @Convert(converter = annotation is given
-      buffer.append(row.get(item.getAlias()));
-    }
-    buffer.deleteCharAt(0);
-    return buffer.toString();
+  protected JPAResultKey buildResultKey(final Tuple row, final List<JPAPath> leftColumns) {
+    // TODO Tuple returns the converted value in case a @Convert(converter = annotation is given
+    return JPAResultKey.ofPaths(row, leftColumns);
   }
 
   protected String buildPath(final String prefix, final JPAAssociationAttribute association) {
@@ -117,18 +113,19 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
   protected void convertRowWithSelection(final Tuple row, final Collection<JPAPath> requestedSelection,
       final Map<String, ComplexValue> complexValueBuffer, final Entity odataEntity, final List<Property> properties)
       throws ODataApplicationException {
-    for (final JPAPath p : requestedSelection) {
+    for (final JPAPathConversion conversion : getSelectionConversion(requestedSelection)) {
+      final JPAPath p = conversion.getSelectedPath();
       try {
         final Object value = p.isTransient() ? null : row.get(p.getAlias());
         if (odataEntity == null || odataEntity.getProperty(p.getAlias()) == null)
-          convertAttribute(value, p, complexValueBuffer, properties, row, EMPTY_PREFIX, odataEntity);
+          convertAttribute(value, conversion, complexValueBuffer, properties, row, odataEntity);
 
       } catch (final IllegalArgumentException e) {
         // Skipped property; add it to result
         final JPATuple skipped = new JPATuple();
         skipped.addElement(p.getAlias(), p.getLeaf().getType(), null);
         try {
-          convertAttribute(null, p, complexValueBuffer, properties, skipped, EMPTY_PREFIX, odataEntity);
+          convertAttribute(null, conversion, complexValueBuffer, properties, skipped, odataEntity);
         } catch (final ODataJPAModelException e1) {
           throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_RESULT_CONV_ERROR,
               HttpStatusCode.INTERNAL_SERVER_ERROR, e1);
@@ -140,6 +137,81 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     }
   }
 
+  /**
+   * Same as {@link #convertAttribute(Object, JPAPath, Map, List, Tuple, String, Entity)}, but based on a path
+   * conversion that has been resolved already.
+   */
+  protected void convertAttribute(final Object value, final JPAPathConversion conversion,
+      final Map<String, ComplexValue> complexValueBuffer, final List<Property> properties, final Tuple parentRow,
+      @Nullable final Entity odataEntity) throws ODataJPAModelException, ODataApplicationException {
+
+    List<Property> values = properties;
+    final List<String> bufferKeys = conversion.getBufferKeys();
+    for (int i = 0; i < bufferKeys.size(); i++) {
+      final String bufferKey = bufferKeys.get(i);
+      ComplexValue complexValue = complexValueBuffer.get(bufferKey);
+      if (complexValue == null) {
+        createComplexValue(complexValueBuffer, values, conversion.getComplexAttributes().get(i), parentRow, bufferKey,
+            odataEntity == null ? "" : odataEntity.getId().toString());
+        complexValue = complexValueBuffer.get(bufferKey);
+      }
+      values = complexValue.getValue();
+    }
+    if (conversion.getLeafAttribute() != null)
+      convertPrimitiveAttribute(value, values, conversion.getLeafPath(), conversion.getLeafAttribute(), parentRow);
+  }
+
+  /**
+   * Resolves the selected paths once for all rows of a result. The last resolved selection is buffered, as the
+   * selection does not change between the rows of a result.
+   * @param requestedSelection
+   * @return
+   * @throws ODataJPAQueryException
+   */
+  protected final List<JPAPathConversion> getSelectionConversion(final Collection<JPAPath> requestedSelection)
+      throws ODataJPAQueryException {
+
+    if (requestedSelection != compiledSelection) {
+      try {
+        final List<JPAPathConversion> conversions = new ArrayList<>(requestedSelection.size());
+        for (final JPAPath selected : requestedSelection)
+          conversions.add(resolveConversion(selected));
+        selectionConversion = conversions;
+        compiledSelection = requestedSelection;
+      } catch (final ODataJPAModelException e) {
+        throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_RESULT_CONV_ERROR,
+            HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+      }
+    }
+    return selectionConversion;
+  }
+
+  /**
+   * Follows the selected path the same way {@link #convertAttribute(Object, JPAPath, Map, List, Tuple, String, Entity)}
+   * and {@link #convertComplexAttribute(Object, String, Map, List, JPAAttribute, Tuple, String, Entity)} do.
+   */
+  private JPAPathConversion resolveConversion(final JPAPath selected) throws ODataJPAModelException {
+    final List<JPAAttribute> complexAttributes = new ArrayList<>(2);
+    final List<String> bufferKeys = new ArrayList<>(2);
+    String prefix = EMPTY_PREFIX;
+    JPAPath jpaPath = selected;
+    while (jpaPath != null) {
+      final JPAAttribute attribute = (JPAAttribute) jpaPath.getPath().get(0);
+      if (attribute == null)
+        break;
+      if (attribute.isKey() || !attribute.isComplex())
+        return new JPAPathConversion(selected, complexAttributes, bufferKeys, jpaPath, attribute);
+      prefix = buildPath(attribute, prefix);
+      complexAttributes.add(attribute);
+      bufferKeys.add(prefix);
+      final String alias = jpaPath.getAlias();
+      final int splitIndex = attribute.getExternalName().length() + JPAPath.PATH_SEPARATOR.length();
+      jpaPath = attribute.getStructuredType().getPath(splitIndex < alias.length() ? alias.substring(splitIndex)
+          : alias);
+    }
+    return new JPAPathConversion(selected, complexAttributes, bufferKeys, null, null);
+  }
+
   protected void createComplexValue(final Map<String, ComplexValue> complexValueBuffer, final List<Property> properties,
       final JPAAttribute attribute, final Tuple parentRow, final String bufferKey, final String rootURI)
       throws ODataJPAModelException, ODataApplicationException {
@@ -281,7 +353,7 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
   Integer determineCount(final JPAAssociationPath association, final Tuple parentRow, final JPAExpandResult child)
       throws ODataJPAQueryException {
     try {
-      final Long count = child.getCount(buildConcatenatedKey(parentRow, association.getLeftColumnsList()));
+      final Long count = child.getCount(buildResultKey(parentRow, association.getLeftColumnsList()));
       return count != null ? count.intValue() : null;
     } catch (final ODataJPAModelException e) {
       throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_RESULT_CONV_ERROR,
@@ -306,7 +378,7 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     link.setType(Constants.ENTITY_NAVIGATION_LINK_TYPE);
     try {
       final EntityCollection expandCollection = ((JPAConvertibleResult) child).getEntityCollection(
-          buildConcatenatedKey(parentRow, association.getLeftColumnsList()));
+          buildResultKey(parentRow, association.getLeftColumnsList()));
 
       expandCollection.setCount(determineCount(association, parentRow, child));
       if (association.getLeaf().isCollection()) {
@@ -326,4 +398,4 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     return link;
   }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
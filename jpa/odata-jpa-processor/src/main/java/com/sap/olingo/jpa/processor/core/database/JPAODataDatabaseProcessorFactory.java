@@ -29,7 +29,7 @@ public class JPAODataDatabaseProcessorFactory {
           return new JPA_HSQLDB_DatabaseProcessor();
         } else if (dbMetadata.getDatabaseProductName().equals(PRODUCT_NAME_H2)) {
           LOGGER.trace("Create database-processor for H2");
-          return new JPA_HSQLDB_DatabaseProcessor();
+          return new JPA_HSQLDB_DatabaseProcessor(false);
         } else {
           LOGGER.trace("Create default database-processor");
           return new JPADefaultDatabaseProcessor();
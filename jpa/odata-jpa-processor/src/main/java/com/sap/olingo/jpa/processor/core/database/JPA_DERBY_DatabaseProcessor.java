@@ -19,6 +19,7 @@ import org.apache.olingo.server.api.uri.queryoption.SearchOption;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPADataBaseFunction;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPADBAdaptorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
@@ -55,4 +56,8 @@ public class JPA_DERBY_DatabaseProcessor extends JPAAbstractDatabaseProcessor {
 
   }
 
+  @Override
+  public ProcessorSqlPaging getSqlPaging() {
+    return ProcessorSqlPaging.OFFSET_FETCH;
+  }
 }
@@ -19,12 +19,26 @@ import org.apache.olingo.server.api.uri.queryoption.SearchOption;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPADataBaseFunction;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPADBAdaptorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
 public class JPA_HSQLDB_DatabaseProcessor extends JPAAbstractDatabaseProcessor { // NOSONAR
   private static final String SELECT_BASE_PATTERN = "SELECT * FROM TABLE ($FUNCTIONNAME$($PARAMETER$))";
   private static final String SELECT_COUNT_PATTERN = "SELECT COUNT(*) FROM TABLE ($FUNCTIONNAME$($PARAMETER$))";
+  private final boolean lateralJoinSupported;
+
+  public JPA_HSQLDB_DatabaseProcessor() {
+    this(true);
+  }
+
+  /**
+   * @param lateralJoinSupported H2 is also handled by this processor, but does not support lateral derived tables
+   */
+  JPA_HSQLDB_DatabaseProcessor(final boolean lateralJoinSupported) {
+    super();
+    this.lateralJoinSupported = lateralJoinSupported;
+  }
 
   @Override
   public Expression<Boolean> createSearchWhereClause(final CriteriaBuilder cb, final CriteriaQuery<?> cq,
@@ -51,4 +65,13 @@ public class JPA_HSQLDB_DatabaseProcessor extends JPAAbstractDatabaseProcessor {
     throw new ODataJPAProcessorException(NOT_SUPPORTED_FUNC_WITH_NAVI, HttpStatusCode.NOT_IMPLEMENTED);
   }
 
+  @Override
+  public ProcessorSqlPaging getSqlPaging() {
+    return ProcessorSqlPaging.LIMIT_OFFSET;
+  }
+
+  @Override
+  public boolean isLateralJoinSupported() {
+    return lateralJoinSupported;
+  }
 }
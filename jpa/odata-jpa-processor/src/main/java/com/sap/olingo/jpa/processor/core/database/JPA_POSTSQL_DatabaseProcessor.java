@@ -19,6 +19,7 @@ import org.apache.olingo.server.api.uri.queryoption.SearchOption;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPADataBaseFunction;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPADBAdaptorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
@@ -61,4 +62,14 @@ public class JPA_POSTSQL_DatabaseProcessor extends JPAAbstractDatabaseProcessor
       return executeQuery(uriResourceParts, jpaFunction, em, SELECT_BASE_PATTERN);
     throw new ODataJPAProcessorException(NOT_SUPPORTED_FUNC_WITH_NAVI, HttpStatusCode.NOT_IMPLEMENTED);
   }
+
+  @Override
+  public ProcessorSqlPaging getSqlPaging() {
+    return ProcessorSqlPaging.LIMIT_OFFSET;
+  }
+
+  @Override
+  public boolean isLateralJoinSupported() {
+    return true;
+  }
 }
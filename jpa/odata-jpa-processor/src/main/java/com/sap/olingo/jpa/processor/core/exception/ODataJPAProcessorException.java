@@ -24,6 +24,7 @@ public class ODataJPAProcessorException extends ODataJPAProcessException { // NO
     NOT_SUPPORTED_CREATE,
     NOT_SUPPORTED_UPDATE,
     NOT_SUPPORTED_UPDATE_VALUE,
+    UPDATE_PRECONDITION_FAILED,
     NOT_SUPPORTED_DELETE,
     NOT_SUPPORTED_DELETE_VALUE,
     NOT_SUPPORTED_RESOURCE_TYPE,
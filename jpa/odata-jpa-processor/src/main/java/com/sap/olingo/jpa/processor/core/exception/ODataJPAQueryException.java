@@ -35,6 +35,7 @@ public class ODataJPAQueryException extends ODataJPAProcessException { // NOSONA
     QUERY_PREPARATION_NOT_ALLOWED_MEMBER,
     QUERY_PREPARATION_ORDER_BY_TRANSIENT,
     QUERY_PREPARATION_JOIN_TABLE_TYPE_MISSING,
+    QUERY_PREPARATION_SET_BASED_NOT_SUPPORTED,
     NOT_SUPPORTED_RESOURCE_TYPE,
     MISSING_CLAIMS_PROVIDER,
     MISSING_CLAIM,
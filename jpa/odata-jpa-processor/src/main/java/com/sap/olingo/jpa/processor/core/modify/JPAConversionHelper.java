@@ -6,13 +6,16 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorExcep
 import static org.apache.olingo.commons.api.data.ValueType.ENUM;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.BAD_REQUEST;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.persistence.AttributeConverter;
 
@@ -22,6 +25,7 @@ import org.apache.olingo.commons.api.data.Parameter;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
@@ -33,8 +37,13 @@ import org.apache.olingo.server.api.deserializer.ODataDeserializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriParameter;
 import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
 import org.apache.olingo.server.api.uri.UriResourceProperty;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEnumerationAttribute;
@@ -46,6 +55,8 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAFilterException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys;
+import com.sap.olingo.jpa.processor.core.processor.JPAPropertyAccessors;
+import com.sap.olingo.jpa.processor.core.processor.JPAPropertyAccessors.Getter;
 import com.sap.olingo.jpa.processor.core.query.EdmBindingTargetInfo;
 import com.sap.olingo.jpa.processor.core.query.ExpressionUtil;
 import com.sap.olingo.jpa.processor.core.query.Util;
@@ -58,6 +69,8 @@ import com.sap.olingo.jpa.processor.core.query.Util;
  */
 
 public class JPAConversionHelper {
+  private static final String COLLECTION_VALUE = "value";
+  private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
 
   private final Map<Object, Map<String, Object>> getterBuffer;
 
@@ -163,6 +176,51 @@ public class JPAConversionHelper {
     }
   }
 
+  /**
+   * Converts the payload of a POST request on an entity set into a list of odata entities, in case the payload
+   * contains a collection of entities, as allowed as of OData 4.01. Only JSON payloads are supported, which have the
+   * format <code>{"value":[{...},{...}]}</code>.<p>
+   * If the payload contains a single entity, an empty optional is returned. The body of the request is reset, so it
+   * can be converted by {@link #convertInputStream(OData, ODataRequest, ContentType, List)}.
+   * @param odata
+   * @param request
+   * @param requestFormat
+   * @param uriResourceParts
+   * @return
+   * @throws ODataJPAProcessorException
+   */
+  public Optional<List<Entity>> convertInputStreamCollection(final OData odata, final ODataRequest request,
+      final ContentType requestFormat, final List<UriResource> uriResourceParts) throws ODataJPAProcessorException {
+
+    if (uriResourceParts.size() != 1 || !(uriResourceParts.get(0) instanceof UriResourceEntitySet)
+        || requestFormat == null || !requestFormat.isCompatible(ContentType.APPLICATION_JSON)
+        || request.getBody() == null)
+      return Optional.empty();
+
+    final EdmEntityType et = ((UriResourceEntitySet) uriResourceParts.get(0)).getEntityType();
+    if (et.getPropertyNames().contains(COLLECTION_VALUE))
+      return Optional.empty();
+    try {
+      InputStream requestInputStream = request.getBody();
+      if (!requestInputStream.markSupported()) {
+        requestInputStream = new BufferedInputStream(requestInputStream);
+        request.setBody(requestInputStream);
+      }
+      requestInputStream.mark(Integer.MAX_VALUE);
+      final boolean isCollection = isCollection(requestInputStream);
+      requestInputStream.reset();
+      if (!isCollection)
+        return Optional.empty();
+      final ODataDeserializer deserializer = createDeserializer(odata, requestFormat,
+          request.getHeaders(HttpHeader.ODATA_VERSION));
+      return Optional.of(deserializer.entityCollection(requestInputStream, et).getEntityCollection().getEntities());
+    } catch (final DeserializerException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.BAD_REQUEST);
+    } catch (final IOException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
   /**
    *
    * @param odata
@@ -294,20 +352,14 @@ public class JPAConversionHelper {
    * @throws ODataJPAProcessorException
    */
   public Map<String, Object> determineGetter(final Object instance) throws ODataJPAProcessorException {
-    Map<String, Object> getterMap;
-    getterMap = new HashMap<>();
-    final Method[] methods = instance.getClass().getMethods();
-    for (final Method meth : methods) {
-      final String methodName = meth.getName();
-      if (methodName.substring(0, 3).equals("get") && methodName.length() > 3) {
-        final String attributeName = methodName.substring(3, 4).toLowerCase() + methodName.substring(4);
-        try {
-          final Object value = meth.invoke(instance);
-          getterMap.put(attributeName, value);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-          throw new ODataJPAProcessorException(MessageKeys.ATTRIBUTE_RETRIEVAL_FAILED,
-              HttpStatusCode.INTERNAL_SERVER_ERROR, e, attributeName);
-        }
+    final Collection<Getter> getters = JPAPropertyAccessors.of(instance.getClass()).getGetters();
+    final Map<String, Object> getterMap = new HashMap<>(getters.size() * 2);
+    for (final Getter getter : getters) {
+      try {
+        getterMap.put(getter.getName(), getter.get(instance));
+      } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+        throw new ODataJPAProcessorException(MessageKeys.ATTRIBUTE_RETRIEVAL_FAILED,
+            HttpStatusCode.INTERNAL_SERVER_ERROR, e, getter.getName());
       }
     }
     return getterMap;
@@ -420,6 +472,26 @@ public class JPAConversionHelper {
     return odata.createDeserializer(requestFormat, version);
   }
 
+  /**
+   * Checks if the JSON payload is a collection. Only the first property, which is not an annotation, is read.
+   */
+  private boolean isCollection(final InputStream requestInputStream) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(requestInputStream)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT)
+        return false;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if (!name.startsWith("@"))
+          return COLLECTION_VALUE.equals(name) && value == JsonToken.START_ARRAY;
+        parser.skipChildren();
+      }
+      return false;
+    } catch (final JsonParseException e) {
+      return false;
+    }
+  }
+
   private <T> Object findEnumConstantsByOrdinal(final T[] enumConstants, final Object value) {
     for (int i = 0; i < enumConstants.length; i++) {
       if (((Enum<?>) enumConstants[i]).ordinal() == (Integer) value)
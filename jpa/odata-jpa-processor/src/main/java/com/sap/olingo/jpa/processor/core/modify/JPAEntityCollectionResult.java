@@ -16,13 +16,14 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.converter.JPACollectionResult;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATuple;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
 final class JPAEntityCollectionResult extends JPAEntityBasedResult implements JPACollectionResult { // JPACollectionQueryResult
 
-  private Map<String, List<Object>> converted;
+  private Map<JPAResultKey, List<Object>> converted;
   private final JPAAssociationPath path;
 
   JPAEntityCollectionResult(final JPAEntityType et, final Collection<?> values,
@@ -60,7 +61,7 @@ final class JPAEntityCollectionResult extends JPAEntityBasedResult implements JP
   }
 
   @Override
-  public List<Object> getPropertyCollection(String key) {
+  public List<Object> getPropertyCollection(final JPAResultKey key) {
     return converted.get(ROOT_RESULT_KEY);
   }
 
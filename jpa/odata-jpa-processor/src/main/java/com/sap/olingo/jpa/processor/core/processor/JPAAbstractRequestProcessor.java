@@ -10,6 +10,7 @@ import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.serializer.SerializerResult;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
 import org.apache.olingo.server.api.uri.UriInfoResource;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
@@ -49,4 +50,12 @@ abstract class JPAAbstractRequestProcessor {
     response.setStatusCode(successStatusCode);
     response.setHeader(HttpHeader.CONTENT_TYPE, responseFormat.toContentTypeString());
   }
-}
\ No newline at end of file
+
+  protected final void createSuccessResponse(final ODataResponse response, final ContentType responseFormat,
+      final SerializerStreamResult serializerResult) {
+
+    response.setODataContent(serializerResult.getODataContent());
+    response.setStatusCode(successStatusCode);
+    response.setHeader(HttpHeader.CONTENT_TYPE, responseFormat.toContentTypeString());
+  }
+}
\ No newline at end of file
@@ -6,10 +6,13 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorExcep
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.ENTITY_TYPE_UNKNOWN;
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.RETURN_MISSING_ENTITY;
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.RETURN_NULL;
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.UPDATE_PRECONDITION_FAILED;
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.WRONG_RETURN_TYPE;
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_SET_BASED_NOT_SUPPORTED;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.BAD_REQUEST;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.INTERNAL_SERVER_ERROR;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.NO_CONTENT;
+import static org.apache.olingo.commons.api.http.HttpStatusCode.PRECONDITION_FAILED;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,8 +21,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaUpdate;
 
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
@@ -58,9 +65,11 @@ import com.sap.olingo.jpa.processor.core.api.JPACUDRequestHandler;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataTransactionFactory.JPAODataTransaction;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAFilterException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAInvocationTargetException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPATransactionException;
 import com.sap.olingo.jpa.processor.core.modify.JPAConversionHelper;
@@ -68,12 +77,18 @@ import com.sap.olingo.jpa.processor.core.modify.JPACreateResultFactory;
 import com.sap.olingo.jpa.processor.core.modify.JPAUpdateResult;
 import com.sap.olingo.jpa.processor.core.query.EdmBindingTargetInfo;
 import com.sap.olingo.jpa.processor.core.query.ExpressionUtil;
+import com.sap.olingo.jpa.processor.core.query.JPASetBasedModifyQuery;
 import com.sap.olingo.jpa.processor.core.query.Util;
+import com.sap.olingo.jpa.processor.core.serializer.JPACreatedEntityCollection;
 
 public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
 
   private static final String DEBUG_CREATE_ENTITY = "createEntity";
+  private static final String DEBUG_CREATE_ENTITIES = "createEntities";
   private static final String DEBUG_UPDATE_ENTITY = "updateEntity";
+  private static final String DEBUG_DELETE_ENTITIES = "deleteEntities";
+  private static final String DEBUG_UPDATE_ENTITIES = "updateEntities";
+  private static final String DEBUG_UPDATE_ENTITY_CONDITIONAL = "updateEntityConditional";
   private final ServiceMetadata serviceMetadata;
   private final JPAConversionHelper helper;
 
@@ -128,6 +143,12 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
 
     final EdmBindingTargetInfo edmEntitySetInfo = Util.determineModifyEntitySetAndKeys(uriInfo.getUriResourceParts());
+    final Optional<List<Entity>> odataEntities = helper.convertInputStreamCollection(odata, request, requestFormat,
+        uriInfo.getUriResourceParts());
+    if (odataEntities.isPresent()) {
+      createEntities(request, response, responseFormat, edmEntitySetInfo, odataEntities.get(), handle);
+      return;
+    }
     final Entity odataEntity = helper.convertInputStream(odata, request, requestFormat, uriInfo.getUriResourceParts());
 
     final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
@@ -230,6 +251,98 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     debugger.stopRuntimeMeasurement(handle);
   }
 
+  /**
+   * Deletes all entities of an entity set that match the filter of a set-based request with one statement, e.g.
+   * <code>DELETE Organizations?$filter=Country eq 'DEU'</code>.
+   * @param request
+   * @param response
+   * @throws ODataApplicationException
+   */
+  public void deleteEntities(final ODataRequest request, final ODataResponse response)
+      throws ODataApplicationException {
+
+    final int handle = debugger.startRuntimeMeasurement(this, DEBUG_DELETE_ENTITIES);
+    final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
+    final EntityManager providerEm = determineProviderEntityManager();
+    final JPAEntityType et = determineSetBasedEntityType();
+    final JPARequestEntity requestEntity = createRequestEntity(et, new HashMap<>(0), request.getAllHeaders());
+    final CriteriaDelete<?> delete = createSetBasedQuery(et, providerEm).createDelete();
+
+    JPAODataTransaction ownTransaction = null;
+    final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
+    if (!foreignTransaction)
+      ownTransaction = requestContext.getTransactionFactory().createTransaction();
+    try {
+      final int deleteHandle = debugger.startRuntimeMeasurement(handler, DEBUG_DELETE_ENTITIES);
+      handler.deleteEntities(requestEntity, delete, providerEm);
+      if (!foreignTransaction)
+        handler.validateChanges(em);
+      debugger.stopRuntimeMeasurement(deleteHandle);
+    } catch (final ODataJPAProcessException e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw e;
+    } catch (final Throwable e) { // NOSONAR
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+    if (!foreignTransaction)
+      ownTransaction.commit();
+
+    response.setStatusCode(NO_CONTENT.getStatusCode());
+    debugger.stopRuntimeMeasurement(handle);
+  }
+
+  /**
+   * Changes all entities of an entity set that match the filter of a set-based request with one statement, e.g.
+   * <code>PATCH Organizations/$filter(Country eq 'DEU')/$each</code>. The payload must neither contain key attributes
+   * nor navigation properties.
+   * @param request
+   * @param response
+   * @param requestFormat
+   * @throws ODataApplicationException
+   * @throws ODataLibraryException
+   */
+  public void updateEntities(final ODataRequest request, final ODataResponse response, final ContentType requestFormat)
+      throws ODataApplicationException, ODataLibraryException {
+
+    final int handle = debugger.startRuntimeMeasurement(this, DEBUG_UPDATE_ENTITIES);
+    final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
+    final EntityManager providerEm = determineProviderEntityManager();
+    final JPAEntityType et = determineSetBasedEntityType();
+    final Entity odataEntity = helper.convertInputStream(odata, request, requestFormat, uriInfo.getUriResourceParts());
+    final JPARequestEntity requestEntity = createRequestEntity(et, odataEntity, new HashMap<>(0), request
+        .getAllHeaders(), null);
+    checkNoRelationChanged(requestEntity);
+    final CriteriaUpdate<?> update = createSetBasedQuery(et, providerEm).createUpdate(requestEntity.getData());
+
+    JPAODataTransaction ownTransaction = null;
+    final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
+    if (!foreignTransaction)
+      ownTransaction = requestContext.getTransactionFactory().createTransaction();
+    try {
+      final int updateHandle = debugger.startRuntimeMeasurement(handler, DEBUG_UPDATE_ENTITIES);
+      handler.updateEntities(requestEntity, update, providerEm);
+      if (!foreignTransaction)
+        handler.validateChanges(em);
+      debugger.stopRuntimeMeasurement(updateHandle);
+    } catch (final ODataJPAProcessException e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw e;
+    } catch (final Throwable e) { // NOSONAR
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+    if (!foreignTransaction)
+      ownTransaction.commit();
+
+    response.setStatusCode(NO_CONTENT.getStatusCode());
+    debugger.stopRuntimeMeasurement(handle);
+  }
+
   public void updateEntity(final ODataRequest request, final ODataResponse response, final ContentType requestFormat,
       final ContentType responseFormat) throws ODataJPAProcessException, ODataLibraryException {
 
@@ -245,7 +358,13 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     // navigation properties. For single-valued navigation properties this replaces the relationship. For
     // collection-valued navigation properties this adds to the relationship.
     // TODO navigation properties this replaces the relationship
-    final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
+    final JPARequestEntity requestEntity = createRequestEntityWithoutBeforeImage(edmEntitySetInfo, odataEntity, request
+        .getAllHeaders());
+    if (updateEntityConditional(request, response, requestEntity, handler)) {
+      debugger.stopRuntimeMeasurement(handle);
+      return;
+    }
+    addBeforeImage(requestEntity);
 
     // Update entity
     JPAUpdateResult updateResult = null;
@@ -304,6 +423,197 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
 
   }
 
+  /**
+   * Creates the entities of a POST request on an entity set, which has a collection of entities as payload. All
+   * entities are handed over to the CUD request handler at once and created within one transaction.
+   */
+  private void createEntities(final ODataRequest request, final ODataResponse response,
+      final ContentType responseFormat, final EdmBindingTargetInfo edmEntitySetInfo, final List<Entity> odataEntities,
+      final int handle) throws ODataApplicationException, ODataLibraryException {
+
+    final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
+    final EdmEntitySet edmEntitySet = (EdmEntitySet) edmEntitySetInfo.getEdmBindingTarget();
+    final List<JPARequestEntity> requestEntities = new ArrayList<>(odataEntities.size());
+    for (final Entity odataEntity : odataEntities)
+      requestEntities.add(createRequestEntity(edmEntitySet, odataEntity, request.getAllHeaders()));
+
+    List<Object> results = null;
+    JPAODataTransaction ownTransaction = null;
+    final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
+    if (!foreignTransaction)
+      ownTransaction = requestContext.getTransactionFactory().createTransaction();
+    try {
+      final int createHandle = debugger.startRuntimeMeasurement(handler, DEBUG_CREATE_ENTITIES);
+      results = handler.createEntities(requestEntities, em);
+      if (!foreignTransaction)
+        handler.validateChanges(em);
+      debugger.stopRuntimeMeasurement(createHandle);
+      checkCreateResults(requestEntities, results);
+    } catch (final ODataJPAProcessException e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw e;
+    } catch (final Exception e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+
+    if (!foreignTransaction)
+      ownTransaction.commit();
+
+    createCreateResponse(request, response, responseFormat, requestEntities, results);
+    debugger.stopRuntimeMeasurement(handle);
+  }
+
+  private void checkCreateResults(final List<JPARequestEntity> requestEntities, final List<Object> results)
+      throws ODataJPAProcessorException {
+
+    if (results == null || results.size() != requestEntities.size())
+      throw new ODataJPAProcessorException(RETURN_MISSING_ENTITY, INTERNAL_SERVER_ERROR);
+    for (int i = 0; i < results.size(); i++) {
+      final Object result = results.get(i);
+      final Class<?> typeClass = requestEntities.get(i).getEntityType().getTypeClass();
+      if (result == null)
+        throw new ODataJPAProcessorException(RETURN_NULL, INTERNAL_SERVER_ERROR);
+      if (result.getClass() != typeClass && !(result instanceof Map<?, ?>))
+        throw new ODataJPAProcessorException(WRONG_RETURN_TYPE, INTERNAL_SERVER_ERROR, result.getClass().toString(),
+            typeClass.toString());
+    }
+  }
+
+  /**
+   * Processes a PATCH request by a conditional update, if the CUD request handler supports this for the entity type
+   * and the request addresses an entity directly, provides exactly one ETag via If-Match, does not ask for the changed
+   * entity and changes only simple attributes.
+   * @return True if the request has been processed
+   */
+  private boolean updateEntityConditional(final ODataRequest request, final ODataResponse response,
+      final JPARequestEntity requestEntity, final JPACUDRequestHandler handler) throws ODataJPAProcessException {
+
+    final Optional<String> eTag = determineConditionalUpdateETag(request, requestEntity, handler);
+    if (!eTag.isPresent())
+      return false;
+    final EntityManager providerEm = determineProviderEntityManager();
+    final JPASetBasedModifyQuery query = createSetBasedQuery(requestEntity.getEntityType(), providerEm);
+    if (!query.isConditionalUpdatePossible(requestEntity.getData()))
+      return false;
+    final CriteriaUpdate<?> update = query.createConditionalUpdate(requestEntity.getKeys(), convertETag(requestEntity
+        .getEntityType(), eTag.get()), requestEntity.getData());
+
+    JPAODataTransaction ownTransaction = null;
+    final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
+    if (!foreignTransaction)
+      ownTransaction = requestContext.getTransactionFactory().createTransaction();
+    try {
+      final int updateHandle = debugger.startRuntimeMeasurement(handler, DEBUG_UPDATE_ENTITY_CONDITIONAL);
+      final int noChanges = handler.updateEntityConditional(requestEntity, update, providerEm);
+      debugger.stopRuntimeMeasurement(updateHandle);
+      if (noChanges == 0)
+        throw new ODataJPAProcessorException(UPDATE_PRECONDITION_FAILED, PRECONDITION_FAILED, requestEntity
+            .getEntityType().getExternalName());
+      if (!foreignTransaction)
+        handler.validateChanges(em);
+    } catch (final ODataJPAProcessException e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      throw e;
+    } catch (final Throwable e) { // NOSONAR
+      checkForRollback(ownTransaction, foreignTransaction);
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+    if (!foreignTransaction)
+      ownTransaction.commit();
+
+    response.setStatusCode(NO_CONTENT.getStatusCode());
+    response.setHeader(HttpHeader.PREFERENCE_APPLIED, "return=minimal");
+    return true;
+  }
+
+  private Optional<String> determineConditionalUpdateETag(final ODataRequest request,
+      final JPARequestEntity requestEntity, final JPACUDRequestHandler handler) {
+
+    final List<String> ifMatch = request.getHeaders(HttpHeader.IF_MATCH);
+    final List<String> ifNoneMatch = request.getHeaders(HttpHeader.IF_NONE_MATCH);
+    if (request.getMethod() != HttpMethod.PATCH
+        || uriInfo.getUriResourceParts().size() != 1
+        || requestEntity.getKeys().isEmpty()
+        || ifMatch == null || ifMatch.size() != 1
+        || ifMatch.get(0).contains(",") || "*".equals(ifMatch.get(0).trim())
+        || (ifNoneMatch != null && !ifNoneMatch.isEmpty())
+        || odata.createPreferences(request.getHeaders(HttpHeader.PREFER)).getReturn() == Return.REPRESENTATION
+        || !requestEntity.getRelatedEntities().isEmpty()
+        || !requestEntity.getRelationLinks().isEmpty()
+        || !handler.useConditionalUpdate(requestEntity.getEntityType()))
+      return Optional.empty();
+    return Optional.of(ifMatch.get(0).trim());
+  }
+
+  /**
+   * Converts an ETag like <code>W/"3"</code> into a value of the version attribute. An ETag that can not be converted
+   * can not match the version of any entity.
+   */
+  private Object convertETag(final JPAEntityType et, final String eTag) throws ODataJPAProcessorException {
+    String value = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\""))
+      value = value.substring(1, value.length() - 1);
+    try {
+      return ExpressionUtil.convertValueOnAttribute(odata, et.getEtagPath().getLeaf(), value, false);
+    } catch (final ODataJPAFilterException e) {
+      throw new ODataJPAProcessorException(UPDATE_PRECONDITION_FAILED, PRECONDITION_FAILED, e, et.getExternalName());
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  private void checkNoRelationChanged(final JPARequestEntity requestEntity) throws ODataJPAQueryException {
+    final Optional<JPAAssociationPath> association = Stream.concat(requestEntity.getRelatedEntities().keySet()
+        .stream(), requestEntity.getRelationLinks().keySet().stream()).findFirst();
+    if (association.isPresent())
+      throw new ODataJPAQueryException(QUERY_PREPARATION_SET_BASED_NOT_SUPPORTED, BAD_REQUEST, association.get()
+          .getAlias());
+  }
+
+  private JPASetBasedModifyQuery createSetBasedQuery(final JPAEntityType et, final EntityManager providerEm)
+      throws ODataJPAProcessException {
+    try {
+      return new JPASetBasedModifyQuery(odata, et, new JPAODataInternalRequestContext(requestContext, providerEm));
+    } catch (final ODataJPAProcessException e) {
+      throw e;
+    } catch (final ODataException e) {
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * Delete and update statements are not supported by the criteria builder of the processor-cb module, so they are
+   * created with the entity manager of the JPA provider. Not all providers support to unwrap the entity manager
+   * interface, so the delegate is taken in that case.
+   */
+  private EntityManager determineProviderEntityManager() {
+    try {
+      final EntityManager providerEm = em.unwrap(EntityManager.class);
+      if (providerEm != null)
+        return providerEm;
+    } catch (final PersistenceException e) {
+      // Provider does not support to unwrap the interface
+    }
+    final Object delegate = em.getDelegate();
+    return delegate instanceof EntityManager ? (EntityManager) delegate : em;
+  }
+
+  private JPAEntityType determineSetBasedEntityType() throws ODataJPAProcessorException {
+    final EdmEntitySet edmEntitySet = ((UriResourceEntitySet) uriInfo.getUriResourceParts().get(0)).getEntitySet();
+    final JPAEntityType et;
+    try {
+      et = sd.getEntity(edmEntitySet.getName());
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAProcessorException(e, BAD_REQUEST);
+    }
+    if (et == null)
+      throw new ODataJPAProcessorException(ENTITY_TYPE_UNKNOWN, BAD_REQUEST, edmEntitySet.getName());
+    return et;
+  }
+
   private void checkForRollback(final JPAODataTransaction ownTransaction, final boolean foreignTransaction)
       throws ODataJPATransactionException {
     if (!foreignTransaction)
@@ -338,16 +648,31 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
   final JPARequestEntity createRequestEntity(final EdmBindingTargetInfo edmEntitySetInfo, final Entity odataEntity,
       final Map<String, List<String>> headers) throws ODataJPAProcessorException {
 
+    final JPARequestEntity requestEntity = createRequestEntityWithoutBeforeImage(edmEntitySetInfo, odataEntity,
+        headers);
+    addBeforeImage(requestEntity);
+    return requestEntity;
+  }
+
+  private JPARequestEntity createRequestEntityWithoutBeforeImage(final EdmBindingTargetInfo edmEntitySetInfo,
+      final Entity odataEntity, final Map<String, List<String>> headers) throws ODataJPAProcessorException {
+
     try {
       final JPAEntityType et = sd.getEntity(edmEntitySetInfo
           .getName());
       if (et == null)
         throw new ODataJPAProcessorException(ENTITY_TYPE_UNKNOWN, BAD_REQUEST, edmEntitySetInfo.getName());
       final Map<String, Object> keys = helper.convertUriKeys(odata, et, edmEntitySetInfo.getKeyPredicates());
-      final JPARequestEntityImpl requestEntity = (JPARequestEntityImpl) createRequestEntity(et, odataEntity, keys,
-          headers, et.getAssociationPath(edmEntitySetInfo.getNavigationPath()));
-      requestEntity.setBeforeImage(createBeforeImage(requestEntity, em));
-      return requestEntity;
+      return createRequestEntity(et, odataEntity, keys, headers, et.getAssociationPath(edmEntitySetInfo
+          .getNavigationPath()));
+    } catch (final ODataException e) {
+      throw new ODataJPAProcessorException(e, BAD_REQUEST);
+    }
+  }
+
+  private void addBeforeImage(final JPARequestEntity requestEntity) throws ODataJPAProcessorException {
+    try {
+      ((JPARequestEntityImpl) requestEntity).setBeforeImage(createBeforeImage(requestEntity, em));
     } catch (final ODataException e) {
       throw new ODataJPAProcessorException(e, BAD_REQUEST);
     }
@@ -419,6 +744,24 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
 
   }
 
+  private EntityCollection convertEntities(final List<JPARequestEntity> requestEntities, final List<Object> results,
+      final Map<String, List<String>> headers) throws ODataJPAProcessorException {
+
+    try {
+      final JPATupleChildConverter converter = new JPATupleChildConverter(sd, odata.createUriHelper(), serviceMetadata,
+          requestContext);
+      final JPACreateResultFactory factory = new JPACreateResultFactory(converter);
+      final EntityCollection entities = new JPACreatedEntityCollection();
+      for (int i = 0; i < results.size(); i++)
+        entities.getEntities().add(converter.getResult(factory.getJPACreateResult(requestEntities.get(i)
+            .getEntityType(), results.get(i), headers), Collections.emptySet()).get(ROOT_RESULT_KEY).getEntities()
+            .get(0));
+      return entities;
+    } catch (ODataJPAModelException | ODataApplicationException e) {
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+  }
+
   private Map<String, Object> convertUriPath(final JPAEntityType et, final List<UriResource> resourcePaths)
       throws ODataJPAModelException, ODataJPAProcessorException {
 
@@ -520,6 +863,25 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     }
   }
 
+  /**
+   * Creates the response of a POST request with a collection of entities. As not a single entity was created, neither a
+   * Location nor an OData-EntityId header is returned.
+   */
+  private void createCreateResponse(final ODataRequest request, final ODataResponse response,
+      final ContentType responseFormat, final List<JPARequestEntity> requestEntities, final List<Object> results)
+      throws SerializerException, ODataJPAProcessorException, ODataJPASerializerException {
+
+    successStatusCode = HttpStatusCode.CREATED.getStatusCode();
+    final Preferences prefer = odata.createPreferences(request.getHeaders(HttpHeader.PREFER));
+    if (prefer.getReturn() == Return.MINIMAL) {
+      response.setStatusCode(NO_CONTENT.getStatusCode());
+      response.setHeader(HttpHeader.PREFERENCE_APPLIED, "return=minimal");
+    } else {
+      createSuccessResponse(response, responseFormat, serializer.serialize(request, convertEntities(requestEntities,
+          results, request.getAllHeaders())));
+    }
+  }
+
   private void createCreateResponse(final ODataRequest request, final ODataResponse response,
       final ContentType responseFormat, final JPARequestEntity requestEntity, final EdmBindingTargetInfo edmEntitySet,
       final Object result) throws SerializerException, ODataJPAProcessorException, ODataJPASerializerException {
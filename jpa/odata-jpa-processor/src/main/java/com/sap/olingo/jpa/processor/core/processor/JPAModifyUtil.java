@@ -4,12 +4,11 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorExcep
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 
@@ -25,6 +24,8 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAInvocationTargetException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys;
+import com.sap.olingo.jpa.processor.core.processor.JPAPropertyAccessors.Getter;
+import com.sap.olingo.jpa.processor.core.processor.JPAPropertyAccessors.Setter;
 
 /**
  * This class provides some primitive util methods to support modifying
@@ -33,7 +34,8 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.Me
  * The set method shall fill an object from a given Map. JPA processor provides
  * in a Map the internal, JAVA attribute, names. Based on the JAVA naming
  * conventions the corresponding Setter is called, as long as the Setter has the
- * correct type.
+ * correct type. The getter and setter are taken from {@link JPAPropertyAccessors}, so the methods of a class are
+ * determined only once.
  * 
  * @author Oliver Grande
  *
@@ -117,7 +119,7 @@ public final class JPAModifyUtil {
       final Object source = determineSourceForLink(sourceInstance, pathInfo);
       setLink(source, targetInstance, pathInfo.getLeaf());
 
-    } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
+    } catch (SecurityException | IllegalAccessException | IllegalArgumentException
         | InvocationTargetException e) {
       throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
     }
@@ -137,31 +139,27 @@ public final class JPAModifyUtil {
    */
   public void setAttributes(final Map<String, Object> jpaAttributes, final Object instance, final JPAStructuredType st)
       throws ODataJPAProcessorException, ODataJPAInvocationTargetException {
-    final Method[] methods = instance.getClass().getMethods();
-    for (final Method meth : methods) {
-      if (meth.getName().substring(0, 3).equals("set")) {
-        final String attributeName = meth.getName().substring(3, 4).toLowerCase(Locale.ENGLISH) + meth.getName()
-            .substring(4);
-        if (jpaAttributes.containsKey(attributeName)) {
-          final Object value = jpaAttributes.get(attributeName);
-          if (!(value instanceof Map<?, ?>) && !(value instanceof JPARequestEntity)) {
+    final JPAPropertyAccessors accessors = JPAPropertyAccessors.of(instance.getClass());
+    for (final Entry<String, Object> jpaAttribute : jpaAttributes.entrySet()) {
+      final String attributeName = jpaAttribute.getKey();
+      final Object value = jpaAttribute.getValue();
+      if (!(value instanceof Map<?, ?>) && !(value instanceof JPARequestEntity)) {
+        for (final Setter setter : accessors.getSetters(attributeName)) {
+          try {
+            if (value == null || value.getClass() == setter.getType()) {
+              setter.set(instance, value);
+            }
+          } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+          } catch (final InvocationTargetException e) {
             try {
-              final Class<?>[] parameters = meth.getParameterTypes();
-              if (parameters.length == 1 && (value == null || value.getClass() == parameters[0])) {
-                meth.invoke(instance, value);
-              }
-            } catch (IllegalAccessException | IllegalArgumentException e) {
-              throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
-            } catch (final InvocationTargetException e) {
-              try {
-                throw new ODataJPAInvocationTargetException(e.getCause(),
-                    st.getExternalName() + JPAPath.PATH_SEPARATOR + st.getAttribute(attributeName)
-                        .orElseThrow(() -> new ODataJPAProcessorException(
-                            ATTRIBUTE_NOT_FOUND, HttpStatusCode.INTERNAL_SERVER_ERROR, attributeName))
-                        .getExternalName());
-              } catch (final ODataJPAModelException e1) {
-                throw new ODataJPAProcessorException(e1, HttpStatusCode.INTERNAL_SERVER_ERROR);
-              }
+              throw new ODataJPAInvocationTargetException(e.getCause(),
+                  st.getExternalName() + JPAPath.PATH_SEPARATOR + st.getAttribute(attributeName)
+                      .orElseThrow(() -> new ODataJPAProcessorException(
+                          ATTRIBUTE_NOT_FOUND, HttpStatusCode.INTERNAL_SERVER_ERROR, attributeName))
+                      .getExternalName());
+            } catch (final ODataJPAModelException e1) {
+              throw new ODataJPAProcessorException(e1, HttpStatusCode.INTERNAL_SERVER_ERROR);
             }
           }
         }
@@ -186,16 +184,12 @@ public final class JPAModifyUtil {
   public void setAttributesDeep(final Map<String, Object> jpaAttributes, final Object instance,
       final JPAStructuredType st) throws ODataJPAProcessorException, ODataJPAInvocationTargetException {
 
-    final Method[] methods = instance.getClass().getMethods();
-    for (final Method meth : methods) {
-      if (meth.getName().substring(0, 3).equals("set")) {
-        final String attributeName = meth.getName().substring(3, 4).toLowerCase() + meth.getName().substring(4);
-        if (jpaAttributes.containsKey(attributeName)) {
-          final Object value = jpaAttributes.get(attributeName);
-          final Class<?>[] parameters = meth.getParameterTypes();
-          if (!(value instanceof JPARequestEntity) && parameters.length == 1) {
-            setAttributeDeep(instance, st, meth, attributeName, value, parameters);
-          }
+    final JPAPropertyAccessors accessors = JPAPropertyAccessors.of(instance.getClass());
+    for (final Entry<String, Object> jpaAttribute : jpaAttributes.entrySet()) {
+      final Object value = jpaAttribute.getValue();
+      if (!(value instanceof JPARequestEntity)) {
+        for (final Setter setter : accessors.getSetters(jpaAttribute.getKey())) {
+          setAttributeDeep(instance, st, setter, jpaAttribute.getKey(), value);
         }
       }
     }
@@ -216,7 +210,7 @@ public final class JPAModifyUtil {
         setAttribute(newInstance, joinColumn.getRightPath().getLeaf(), getAttribute(parentInstance, joinColumn
             .getLeftPath().getLeaf()));
       }
-    } catch (ODataJPAModelException | NoSuchMethodException | IllegalAccessException | IllegalArgumentException
+    } catch (ODataJPAModelException | IllegalAccessException | IllegalArgumentException
         | InvocationTargetException e) {
       throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
     }
@@ -245,27 +239,23 @@ public final class JPAModifyUtil {
    * @param sourceInstance
    * @param pathInfo
    * @return
-   * @throws NoSuchMethodException
    * @throws IllegalAccessException
    * @throws InvocationTargetException
    * @throws ODataJPAProcessorException
    */
   private Object determineSourceForLink(final Object sourceInstance, final JPAAssociationPath pathInfo)
-      throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, ODataJPAProcessorException {
+      throws IllegalAccessException, InvocationTargetException, ODataJPAProcessorException {
 
     Object source = sourceInstance;
     for (final JPAElement pathItem : pathInfo.getPath()) {
       if (pathItem != pathInfo.getLeaf()) {
-        final String methodSuffix = buildMethodNameSuffix(pathItem);
-        final Method getter = source.getClass().getMethod("get" + methodSuffix);
-        Object next = getter.invoke(source);
+        Object next = getAttribute(source, pathItem);
         if (next == null) {
           try {
             final Constructor<?> c = ((JPAAttribute) pathItem).getStructuredType().getTypeClass().getConstructor();
             next = c.newInstance();
-            final Method setter = source.getClass().getMethod("set" + methodSuffix, next.getClass());
-            setter.invoke(source, next);
-          } catch (ODataJPAModelException | InstantiationException e) {
+            setAttribute(source, pathItem, next);
+          } catch (ODataJPAModelException | InstantiationException | NoSuchMethodException e) {
             throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
           }
         }
@@ -280,19 +270,19 @@ public final class JPAModifyUtil {
    * @param instance
    * @param attribute
    * @return
-   * @throws NoSuchMethodException
    * @throws ODataJPAProcessorException
    * @throws IllegalAccessException
    * @throws InvocationTargetException
    */
-  private Object getAttribute(final Object instance, final JPAElement attribute) throws NoSuchMethodException,
-      ODataJPAProcessorException, IllegalAccessException, InvocationTargetException {
+  private Object getAttribute(final Object instance, final JPAElement attribute) throws ODataJPAProcessorException,
+      IllegalAccessException, InvocationTargetException {
 
-    final Method getter = instance.getClass().getMethod("get" + buildMethodNameSuffix(attribute));
+    final Getter getter = JPAPropertyAccessors.of(instance.getClass()).getGetterBySuffix(buildMethodNameSuffix(
+        attribute));
     if (getter == null)
       throw new ODataJPAProcessorException(MessageKeys.GETTER_NOT_FOUND, HttpStatusCode.INTERNAL_SERVER_ERROR,
-          buildMethodNameSuffix(attribute), instance.getClass().getName());
-    return getter.invoke(instance);
+          "get" + buildMethodNameSuffix(attribute), instance.getClass().getName());
+    return getter.get(instance);
   }
 
   private void handleInvocationTargetException(final JPAStructuredType st, final String attributeName,
@@ -324,44 +314,45 @@ public final class JPAModifyUtil {
    * @param instance
    * @param attribute
    * @return
-   * @throws NoSuchMethodException
    * @throws IllegalAccessException
    * @throws InvocationTargetException
    */
-  private Object readCurrentState(final Object instance, final JPAElement attribute) throws NoSuchMethodException,
-      IllegalAccessException, InvocationTargetException {
+  private Object readCurrentState(final Object instance, final JPAElement attribute) throws IllegalAccessException,
+      InvocationTargetException {
 
-    final Method getter = instance.getClass().getMethod("get" + buildMethodNameSuffix(attribute));
+    final Getter getter = JPAPropertyAccessors.of(instance.getClass()).getGetterBySuffix(buildMethodNameSuffix(
+        attribute));
     if (getter == null)
       return null;
-    return getter.invoke(instance);
+    return getter.get(instance);
   }
 
   private void setAttribute(final Object instance, final JPAElement attribute, final Object value)
-      throws NoSuchMethodException, ODataJPAProcessorException, IllegalAccessException, InvocationTargetException {
+      throws ODataJPAProcessorException, IllegalAccessException, InvocationTargetException {
 
-    final Method setter = instance.getClass().getMethod("set" + buildMethodNameSuffix(attribute), value.getClass());
+    final Setter setter = JPAPropertyAccessors.of(instance.getClass()).getSetterBySuffix(buildMethodNameSuffix(
+        attribute), value.getClass());
     if (setter == null)
       throw new ODataJPAProcessorException(MessageKeys.SETTER_NOT_FOUND, HttpStatusCode.INTERNAL_SERVER_ERROR,
-          buildMethodNameSuffix(attribute), instance.getClass().getName(), value.getClass().getName());
-    setter.invoke(instance, value);
+          "set" + buildMethodNameSuffix(attribute), instance.getClass().getName(), value.getClass().getName());
+    setter.set(instance, value);
   }
 
-  private void setAttributeDeep(final Object instance, final JPAStructuredType st, final Method meth,
-      final String attributeName, final Object value, final Class<?>[] parameters) throws ODataJPAProcessorException,
+  private void setAttributeDeep(final Object instance, final JPAStructuredType st, final Setter setter,
+      final String attributeName, final Object value) throws ODataJPAProcessorException,
       ODataJPAInvocationTargetException {
     try {
       final JPAAttribute attribute = st.getAttribute(attributeName).orElseThrow(
           () -> new ODataJPAProcessorException(ATTRIBUTE_NOT_FOUND,
               HttpStatusCode.INTERNAL_SERVER_ERROR, attributeName));
       if (!attribute.isComplex() || value == null) {
-        if (value == null || parameters[0].isAssignableFrom(value.getClass())) {
-          meth.invoke(instance, value);
+        if (value == null || setter.getType().isAssignableFrom(value.getClass())) {
+          setter.set(instance, value);
         }
       } else if (attribute.isCollection()) {
-        setEmbeddedCollectionAttributeDeep(instance, st, meth, value, parameters, attribute);
+        setEmbeddedCollectionAttributeDeep(instance, st, setter, value, attribute);
       } else {
-        setEmbeddedAttributeDeep(instance, st, meth, value, parameters, attribute);
+        setEmbeddedAttributeDeep(instance, st, setter, value, attribute);
       }
     } catch (IllegalAccessException | IllegalArgumentException | ODataJPAModelException
         | NoSuchMethodException | SecurityException | InstantiationException e) {
@@ -372,15 +363,15 @@ public final class JPAModifyUtil {
   }
 
   @SuppressWarnings("unchecked")
-  private void setEmbeddedAttributeDeep(final Object instance, final JPAStructuredType st, final Method meth,
-      final Object value, final Class<?>[] parameters, final JPAAttribute attribute)
+  private void setEmbeddedAttributeDeep(final Object instance, final JPAStructuredType st, final Setter setter,
+      final Object value, final JPAAttribute attribute)
       throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException,
       ODataJPAModelException, ODataJPAProcessorException, ODataJPAInvocationTargetException {
 
     Object embedded = readCurrentState(instance, attribute);
     if (embedded == null) {
-      embedded = createInstance(parameters[0]);
-      meth.invoke(instance, embedded);
+      embedded = createInstance(setter.getType());
+      setter.set(instance, embedded);
     }
     if (embedded != null) {
       if (this.st == null)
@@ -393,20 +384,20 @@ public final class JPAModifyUtil {
   }
 
   @SuppressWarnings("unchecked")
-  private void setEmbeddedCollectionAttributeDeep(final Object instance, final JPAStructuredType st, final Method meth,
-      final Object value, final Class<?>[] parameters, final JPAAttribute attribute)
+  private void setEmbeddedCollectionAttributeDeep(final Object instance, final JPAStructuredType st,
+      final Setter setter, final Object value, final JPAAttribute attribute)
       throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException,
       ODataJPAModelException, ODataJPAProcessorException, ODataJPAInvocationTargetException {
 
     Collection<Object> embedded = (Collection<Object>) readCurrentState(instance, attribute);
     if (embedded == null) {
       // List; Set; Queue
-      if (parameters[0].isAssignableFrom(List.class)) {
+      if (setter.getType().isAssignableFrom(List.class)) {
         embedded = (Collection<Object>) createInstance(ArrayList.class);
       } else {
-        embedded = (Collection<Object>) createInstance(parameters[0]);
+        embedded = (Collection<Object>) createInstance(setter.getType());
       }
-      meth.invoke(instance, embedded);
+      setter.set(instance, embedded);
     }
     if (embedded != null) {
       if (this.st == null)
@@ -425,28 +416,23 @@ public final class JPAModifyUtil {
 
   @SuppressWarnings("unchecked")
   private <T> void setLink(final Object sourceInstance, final T targetInstance, final JPAAssociationAttribute attribute)
-      throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, ODataJPAProcessorException {
-
-    final String methodSuffix = attribute.getInternalName().substring(0, 1).toUpperCase() + attribute.getInternalName()
-        .substring(1);
+      throws IllegalAccessException, InvocationTargetException, ODataJPAProcessorException {
 
     if (attribute.isCollection()) {
-      final Method getter = sourceInstance.getClass().getMethod("get" + methodSuffix);
-      ((Collection<T>) getter.invoke(sourceInstance)).add(targetInstance);
+      ((Collection<T>) getAttribute(sourceInstance, attribute)).add(targetInstance);
     } else {
-      Method setter = null;
+      final JPAPropertyAccessors accessors = JPAPropertyAccessors.of(sourceInstance.getClass());
+      Setter setter = null;
       Class<?> clazz = targetInstance.getClass();
       while (clazz != null && setter == null) {
-        try {
-          setter = sourceInstance.getClass().getMethod("set" + methodSuffix, clazz);
-        } catch (final NoSuchMethodException e) {
-          clazz = clazz.getSuperclass();
-        }
+        setter = accessors.getSetterBySuffix(buildMethodNameSuffix(attribute), clazz);
+        clazz = clazz.getSuperclass();
       }
       if (setter == null)
         throw new ODataJPAProcessorException(MessageKeys.SETTER_NOT_FOUND, HttpStatusCode.INTERNAL_SERVER_ERROR, "set"
-            + methodSuffix, sourceInstance.getClass().getName(), targetInstance.getClass().getName());
-      setter.invoke(sourceInstance, targetInstance);
+            + buildMethodNameSuffix(attribute), sourceInstance.getClass().getName(), targetInstance.getClass()
+                .getName());
+      setter.set(sourceInstance, targetInstance);
     }
   }
 }
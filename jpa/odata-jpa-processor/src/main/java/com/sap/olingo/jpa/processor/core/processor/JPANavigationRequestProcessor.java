@@ -7,14 +7,23 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorExcep
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import org.apache.olingo.commons.api.data.ComplexValue;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.format.ContentType;
@@ -25,6 +34,7 @@ import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.serializer.SerializerResult;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
 import org.apache.olingo.server.api.uri.UriInfoResource;
 import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.UriResourceKind;
@@ -33,6 +43,7 @@ import org.apache.olingo.server.api.uri.queryoption.CountOption;
 import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
@@ -52,21 +63,42 @@ import com.sap.olingo.jpa.processor.core.query.JPAJoinQuery;
 import com.sap.olingo.jpa.processor.core.query.JPAKeyBoundary;
 import com.sap.olingo.jpa.processor.core.query.JPANavigationPropertyInfo;
 import com.sap.olingo.jpa.processor.core.query.Util;
+import com.sap.olingo.jpa.processor.core.serializer.JPAStreamSerializer;
 
 public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestProcessor {
   private final ServiceMetadata serviceMetadata;
   private final UriResource lastItem;
   private final JPAODataPage page;
+  private final Optional<Executor> expandExecutor;
+  private final Optional<? extends EntityManagerFactory> emf;
 
   public JPANavigationRequestProcessor(final OData odata, final ServiceMetadata serviceMetadata,
       final JPAODataRequestContextAccess requestContext)
       throws ODataException {
 
+    this(odata, serviceMetadata, requestContext, Optional.empty(), Optional.empty());
+  }
+
+  /**
+   *
+   * @param odata
+   * @param serviceMetadata
+   * @param requestContext
+   * @param expandExecutor Executor to read expand and collection properties, as well as the $count, in parallel
+   * @param emf Entity manager factory to create an entity manager per parallel expand or count
+   * @throws ODataException
+   */
+  public JPANavigationRequestProcessor(final OData odata, final ServiceMetadata serviceMetadata,
+      final JPAODataRequestContextAccess requestContext, final Optional<Executor> expandExecutor,
+      final Optional<? extends EntityManagerFactory> emf) throws ODataException {
+
     super(odata, requestContext);
     this.serviceMetadata = serviceMetadata;
     final List<UriResource> resourceParts = uriInfo.getUriResourceParts();
     this.lastItem = resourceParts.get(resourceParts.size() - 1);
     this.page = requestContext.getPage();
+    this.expandExecutor = expandExecutor;
+    this.emf = emf;
   }
 
   @Override
@@ -84,10 +116,20 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
       throw new ODataJPAProcessorException(QUERY_PREPARATION_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
     }
 
-    final JPAConvertibleResult result = query.execute();
+    final Optional<CompletableFuture<Long>> count = startCount();
+    final boolean useStreaming = serializer instanceof JPAStreamSerializer
+        && ((JPAStreamSerializer) serializer).useStreaming();
+    // In case of streaming, the root rows are read while the response is written, if they are not needed up front
+    final JPAConvertibleResult result = query.execute(useStreaming);
     // Read Expand and Collection
     final Optional<JPAKeyBoundary> keyBoundary = result.getKeyBoundary(requestContext, query.getNavigationInfo(), page);
     result.putChildren(readExpandEntities(request.getAllHeaders(), query.getNavigationInfo(), uriInfo, keyBoundary));
+    if (useStreaming) {
+      // Entity collections are returned with 200 OK, even if they are empty, so no conversion is needed up front
+      retrieveDataStreamed(request, response, responseFormat, query, result, count);
+      debugger.stopRuntimeMeasurement(handle);
+      return;
+    }
     // Convert tuple result into an OData Result
     final int converterHandle = debugger.startRuntimeMeasurement(this, "convertResult");
     EntityCollection entityCollection;
@@ -101,12 +143,10 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
       throw new ODataJPAProcessorException(QUERY_RESULT_CONV_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
     }
     // Set Next Link
-    entityCollection.setNext(buildNextLink(page));
+    entityCollection.setNext(buildNextLink(page, request));
     // Count results if requested
-    final CountOption countOption = uriInfo.getCountOption();
-    if (countOption != null && countOption.getValue())
-      entityCollection.setCount(new JPAJoinQuery(odata, requestContext)
-          .countResults().intValue());
+    if (countRequested())
+      entityCollection.setCount(determineCount(query, count));
 
     /*
      * See part 1:
@@ -147,15 +187,92 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
     debugger.stopRuntimeMeasurement(handle);
   }
 
+  private void retrieveDataStreamed(final ODataRequest request, final ODataResponse response,
+      final ContentType responseFormat, final JPAJoinQuery query, final JPAConvertibleResult result,
+      final Optional<CompletableFuture<Long>> count) throws ODataException {
+
+    final int converterHandle = debugger.startRuntimeMeasurement(this, "convertResult");
+    EntityIterator entities;
+    try {
+      entities = result.asEntityIterator(new JPATupleChildConverter(sd, odata.createUriHelper(), serviceMetadata,
+          requestContext));
+    } catch (final ODataApplicationException e) {
+      throw new ODataJPAProcessorException(QUERY_RESULT_CONV_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    } finally {
+      debugger.stopRuntimeMeasurement(converterHandle);
+    }
+    entities.setNext(buildNextLink(page, request));
+    if (countRequested())
+      entities.setCount(determineCount(query, count));
+
+    final int serializerHandle = debugger.startRuntimeMeasurement(serializer, "serialize");
+    final SerializerStreamResult serializerResult = ((JPAStreamSerializer) serializer).serialize(request, entities);
+    debugger.stopRuntimeMeasurement(serializerHandle);
+    createSuccessResponse(response, responseFormat, serializerResult);
+  }
+
+  private boolean countRequested() {
+    final CountOption countOption = uriInfo.getCountOption();
+    return countOption != null && countOption.getValue();
+  }
+
+  /**
+   * The count is read in parallel to the data, in case the result may get cut off by $top or paging, so that it can
+   * not be derived from the data.
+   */
+  private Optional<CompletableFuture<Long>> startCount() {
+    if (countRequested() && expandExecutor.isPresent() && emf.isPresent()
+        && (page != null || uriInfo.getTopOption() != null)) {
+      debugger.debug(this, "Read count in parallel");
+      return Optional.of(CompletableFuture.supplyAsync(() -> {
+        final EntityManager em = emf.get().createEntityManager();
+        try {
+          return new JPAJoinQuery(odata, new JPAODataInternalRequestContext(requestContext, em)).countResults();
+        } catch (final ODataException e) {
+          throw new CompletionException(e);
+        } finally {
+          em.close();
+        }
+      }, expandExecutor.get()));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Takes the count from the data query if possible. Otherwise the count is either taken from the parallel count
+   * query or it is read now. As a query instance can only be executed once, a new one is needed for the count.
+   */
+  private Integer determineCount(final JPAJoinQuery query, final Optional<CompletableFuture<Long>> count)
+      throws ODataException {
+    final Optional<Long> resultCount = query.getResultCount();
+    if (resultCount.isPresent()) {
+      count.ifPresent(c -> c.cancel(false));
+      return resultCount.get().intValue();
+    }
+    if (count.isPresent()) {
+      try {
+        return count.get().join().intValue();
+      } catch (final CompletionException e) {
+        if (e.getCause() instanceof ODataException)
+          throw (ODataException) e.getCause();
+        throw new ODataJPAProcessorException(QUERY_PREPARATION_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR,
+            e.getCause());
+      }
+    }
+    return new JPAJoinQuery(odata, requestContext).countResults().intValue();
+  }
+
   private void checkRequestSupported() throws ODataJPAProcessException {
     if (uriInfo.getApplyOption() != null)
       throw new ODataJPANotImplementedException("$apply");
   }
 
-  private URI buildNextLink(final JPAODataPage page) throws ODataJPAProcessorException {
+  private URI buildNextLink(final JPAODataPage page, final ODataRequest request) throws ODataJPAProcessorException {
     if (page != null && page.getSkipToken() != null) {
       try {
-        if (page.getSkipToken() instanceof String)
+        if (page instanceof JPAODataKeysetPage)
+          return new URI(buildKeysetNextLink(page, request));
+        else if (page.getSkipToken() instanceof String)
           return new URI(Util.determineBindingTarget(uriInfo.getUriResourceParts()).getName() + "?"
               + SystemQueryOptionKind.SKIPTOKEN.toString() + "='" + page.getSkipToken() + "'");
         else
@@ -168,6 +285,47 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
     return null;
   }
 
+  /**
+   * A keyset page is created from the skip token and the query options of the request, so the next link contains the
+   * resource path and all query options of the request, but $skip and $top. Those have been taken into account by the
+   * skip token.
+   */
+  private String buildKeysetNextLink(final JPAODataPage page, final ODataRequest request) {
+    final StringBuilder nextLink = new StringBuilder(request.getRawODataPath().replaceFirst("^/", ""))
+        .append("?");
+    if (request.getRawQueryPath() != null) {
+      for (final String option : request.getRawQueryPath().split("&")) {
+        final String name = option.split("=", 2)[0].replace("%24", "$");
+        if (!option.isEmpty()
+            && !SystemQueryOptionKind.SKIP.toString().equals(name)
+            && !SystemQueryOptionKind.TOP.toString().equals(name)
+            && !SystemQueryOptionKind.SKIPTOKEN.toString().equals(name))
+          nextLink.append(encodeQueryOption(option)).append("&");
+      }
+    }
+    return nextLink.append(SystemQueryOptionKind.SKIPTOKEN.toString())
+        .append("='")
+        .append(page.getSkipToken())
+        .append("'")
+        .toString();
+  }
+
+  /**
+   * Escapes characters that are not allowed within a query of an URI. Escaped octets are kept as they are.
+   */
+  private String encodeQueryOption(final String option) {
+    final StringBuilder encoded = new StringBuilder(option.length());
+    for (final byte octet : option.getBytes(StandardCharsets.UTF_8)) {
+      final char c = (char) (octet & 0xFF);
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || "-._~!$&'()*+,;=:@/?%".indexOf(c) >= 0)
+        encoded.append(c);
+      else
+        encoded.append('%').append(String.format("%02X", (int) c));
+    }
+    return encoded.toString();
+  }
+
   private boolean complexHasNoContent(final List<Entity> entities) {
     final String name;
     if (entities.isEmpty())
@@ -263,8 +421,6 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
       final Optional<JPAKeyBoundary> keyBoundary) throws ODataException {
 
     final int handle = debugger.startRuntimeMeasurement(this, "readExpandEntities");
-    final JPAExpandQueryFactory factory = new JPAExpandQueryFactory(odata, requestContext, cb);
-    final Map<JPAAssociationPath, JPAExpandResult> allExpResults = new HashMap<>();
     // x/a?$expand=b/c($expand=d,e/f)&$filter=...&$top=3&$orderBy=...
     // For performance reasons the expand query should only return results for the results of the higher-level query.
     // The solution for restrictions like a given key or a given filter condition, as it can be propagated to a
@@ -273,29 +429,114 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
     // done on the TypedQuery created out of the CriteriaQuery. In addition not all databases support LIMIT within a
     // sub-query used within EXISTS.
     // Solution: Forward the highest and lowest key from the root and create a "between" those.
-
     final List<JPAExpandItemInfo> itemInfoList = new JPAExpandItemInfoFactory()
         .buildExpandItemInfo(sd, uriResourceInfo, parentHops);
-    for (final JPAExpandItemInfo item : itemInfoList) {
-      final JPAAbstractExpandQuery expandQuery = factory.createQuery(item, keyBoundary);
-      final JPAExpandQueryResult expandResult = expandQuery.execute();
-      if (expandResult.getNoResults() > 0)
-        // Only go to the next hop if the current one has a result
-        expandResult.putChildren(readExpandEntities(headers, item.getHops(), item.getUriInfo(), keyBoundary));
-      allExpResults.put(item.getExpandAssociation(), expandResult);
-    }
-
-    // process collection attributes
     final List<JPACollectionItemInfo> collectionInfoList = new JPAExpandItemInfoFactory()
         .buildCollectionItemInfo(sd, uriResourceInfo, parentHops, requestContext.getGroupsProvider());
-    for (final JPACollectionItemInfo item : collectionInfoList) {
-      final JPACollectionJoinQuery collectionQuery = new JPACollectionJoinQuery(odata, item,
-          new JPAODataInternalRequestContext(item.getUriInfo(), requestContext, headers), keyBoundary);
-      final JPAExpandResult expandResult = collectionQuery.execute();
-      allExpResults.put(item.getExpandAssociation(), expandResult);
-    }
+
+    final Map<JPAAssociationPath, JPAExpandResult> allExpResults;
+    if (expandInParallel(itemInfoList.size() + collectionInfoList.size()))
+      allExpResults = readExpandEntitiesParallel(headers, itemInfoList, collectionInfoList, keyBoundary);
+    else
+      allExpResults = readExpandEntities(headers, itemInfoList, collectionInfoList, keyBoundary, requestContext);
     debugger.stopRuntimeMeasurement(handle);
     return allExpResults;
   }
 
+  private Map<JPAAssociationPath, JPAExpandResult> readExpandEntities(final Map<String, List<String>> headers,
+      final List<JPAExpandItemInfo> itemInfoList, final List<JPACollectionItemInfo> collectionInfoList,
+      final Optional<JPAKeyBoundary> keyBoundary, final JPAODataRequestContextAccess context) throws ODataException {
+
+    final Map<JPAAssociationPath, JPAExpandResult> allExpResults = new HashMap<>();
+    for (final JPAExpandItemInfo item : itemInfoList)
+      allExpResults.put(item.getExpandAssociation(), readExpandItem(headers, item, keyBoundary, context));
+    // process collection attributes
+    for (final JPACollectionItemInfo item : collectionInfoList)
+      allExpResults.put(item.getExpandAssociation(), readCollectionItem(headers, item, keyBoundary, context));
+    return allExpResults;
+  }
+
+  /**
+   * Reads the expand and collection properties of one level in parallel. Each of them is read together with its nested
+   * expands by an own task on the expand executor. The tasks use an own entity manager, as entity managers are not
+   * thread safe.
+   */
+  private Map<JPAAssociationPath, JPAExpandResult> readExpandEntitiesParallel(final Map<String, List<String>> headers,
+      final List<JPAExpandItemInfo> itemInfoList, final List<JPACollectionItemInfo> collectionInfoList,
+      final Optional<JPAKeyBoundary> keyBoundary) throws ODataException {
+
+    debugger.debug(this, "Read %d expand branches in parallel", itemInfoList.size() + collectionInfoList.size());
+    final Map<JPAAssociationPath, CompletableFuture<JPAExpandResult>> branches = new HashMap<>();
+    for (final JPAExpandItemInfo item : itemInfoList)
+      branches.put(item.getExpandAssociation(), startExpandBranch(context -> readExpandItem(headers, item,
+          keyBoundary, context)));
+    for (final JPACollectionItemInfo item : collectionInfoList)
+      branches.put(item.getExpandAssociation(), startExpandBranch(context -> readCollectionItem(headers, item,
+          keyBoundary, context)));
+
+    final Map<JPAAssociationPath, JPAExpandResult> allExpResults = new HashMap<>();
+    for (final Entry<JPAAssociationPath, CompletableFuture<JPAExpandResult>> branch : branches.entrySet())
+      allExpResults.put(branch.getKey(), joinExpandBranch(branch.getValue()));
+    return allExpResults;
+  }
+
+  private JPAExpandResult readExpandItem(final Map<String, List<String>> headers, final JPAExpandItemInfo item,
+      final Optional<JPAKeyBoundary> keyBoundary, final JPAODataRequestContextAccess context) throws ODataException {
+
+    final JPAExpandQueryFactory factory = new JPAExpandQueryFactory(odata, context, context.getEntityManager()
+        .getCriteriaBuilder());
+    final JPAAbstractExpandQuery expandQuery = factory.createQuery(item, keyBoundary);
+    final JPAExpandQueryResult expandResult = expandQuery.execute();
+    if (expandResult.getNoResults() > 0) {
+      // Only go to the next hop if the current one has a result
+      final List<JPAExpandItemInfo> itemInfoList = new JPAExpandItemInfoFactory()
+          .buildExpandItemInfo(sd, item.getUriInfo(), item.getHops());
+      final List<JPACollectionItemInfo> collectionInfoList = new JPAExpandItemInfoFactory()
+          .buildCollectionItemInfo(sd, item.getUriInfo(), item.getHops(), context.getGroupsProvider());
+      expandResult.putChildren(readExpandEntities(headers, itemInfoList, collectionInfoList, keyBoundary, context));
+    }
+    return expandResult;
+  }
+
+  private JPAExpandResult readCollectionItem(final Map<String, List<String>> headers,
+      final JPACollectionItemInfo item, final Optional<JPAKeyBoundary> keyBoundary,
+      final JPAODataRequestContextAccess context) throws ODataException {
+
+    final JPACollectionJoinQuery collectionQuery = new JPACollectionJoinQuery(odata, item,
+        new JPAODataInternalRequestContext(item.getUriInfo(), context, headers), keyBoundary);
+    return collectionQuery.execute();
+  }
+
+  private boolean expandInParallel(final int noBranches) {
+    return noBranches > 1 && expandExecutor.isPresent() && emf.isPresent();
+  }
+
+  private CompletableFuture<JPAExpandResult> startExpandBranch(final ExpandBranch branch) {
+    return CompletableFuture.supplyAsync(() -> {
+      final EntityManager em = emf.get().createEntityManager(); // NOSONAR emf presence checked in expandInParallel
+      try {
+        return branch.read(new JPAODataInternalRequestContext(requestContext, em));
+      } catch (final ODataException e) {
+        throw new CompletionException(e);
+      } finally {
+        em.close();
+      }
+    }, expandExecutor.get()); // NOSONAR executor presence checked in expandInParallel
+  }
+
+  private JPAExpandResult joinExpandBranch(final CompletableFuture<JPAExpandResult> branch) throws ODataException {
+    try {
+      return branch.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof ODataException)
+        throw (ODataException) e.getCause();
+      throw new ODataJPAProcessorException(QUERY_PREPARATION_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR,
+          e.getCause());
+    }
+  }
+
+  @FunctionalInterface
+  private static interface ExpandBranch {
+    JPAExpandResult read(final JPAODataRequestContextAccess context) throws ODataException;
+  }
 }
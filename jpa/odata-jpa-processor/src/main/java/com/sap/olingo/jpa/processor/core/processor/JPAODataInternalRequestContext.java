@@ -124,6 +124,27 @@ public final class JPAODataInternalRequestContext implements JPAODataRequestCont
     this.hookFactory = new JPAHookFactory(em, this.header, customParameter);
   }
 
+  /**
+   * Copy constructor switching the entity manager. Used to process independent parts of a request in parallel.
+   * @param context
+   * @param em
+   * @throws ODataJPAProcessorException
+   */
+  JPAODataInternalRequestContext(final JPAODataRequestContextAccess context, @Nonnull final EntityManager em)
+      throws ODataJPAProcessorException {
+
+    copyContextValues(context);
+    this.em = Objects.requireNonNull(em);
+    this.serializer = context.getSerializer();
+    this.cudRequestHandler = this.cudRequestHandler == null ? new JPADefaultCUDRequestHandler()
+        : this.cudRequestHandler;
+    this.uriInfo = context.getUriInfo();
+    this.page = context.getPage();
+    this.header = new JPAHttpHeaderHashMap(context.getHeader());
+    this.customParameter = new JPARequestParameterHashMap(context.getRequestParameter());
+    this.hookFactory = new JPAHookFactory(this.em, this.header, customParameter);
+  }
+
   @Override
   public Optional<EdmTransientPropertyCalculator<?>> getCalculator(@Nonnull final JPAAttribute transientProperty)
       throws ODataJPAProcessorException {
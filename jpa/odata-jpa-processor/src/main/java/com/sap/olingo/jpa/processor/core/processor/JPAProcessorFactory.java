@@ -23,6 +23,7 @@ import org.apache.olingo.server.api.uri.queryoption.SystemQueryOption;
 import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
 
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPathInformation;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAIllegalAccessException;
@@ -77,11 +78,12 @@ public final class JPAProcessorFactory {
   }
 
   public JPARequestProcessor createProcessor(final UriInfo uriInfo, final ContentType responseFormat,
-      final Map<String, List<String>> header, final JPAODataRequestContextAccess context) throws ODataException {
+      final Map<String, List<String>> header, final JPAODataRequestContextAccess context,
+      final JPAODataPathInformation pathInformation) throws ODataException {
 
     final List<UriResource> resourceParts = uriInfo.getUriResourceParts();
     final UriResource lastItem = resourceParts.get(resourceParts.size() - 1);
-    final JPAODataPage page = getPage(header, uriInfo, context);
+    final JPAODataPage page = getPage(header, uriInfo, context, pathInformation);
     JPAODataRequestContextAccess requestContext;
     try {
       requestContext = new JPAODataInternalRequestContext(page, serializerFactory
@@ -104,7 +106,8 @@ public final class JPAProcessorFactory {
       case singleton:
       case value:
         checkNavigationPathSupported(resourceParts);
-        return new JPANavigationRequestProcessor(odata, serviceMetadata, requestContext);
+        return new JPANavigationRequestProcessor(odata, serviceMetadata, requestContext, sessionContext
+            .getExpandExecutor(), sessionContext.getEntityManagerFactory());
       default:
         throw new ODataJPAProcessorException(ODataJPAProcessorException.MessageKeys.NOT_SUPPORTED_RESOURCE_TYPE,
             HttpStatusCode.NOT_IMPLEMENTED, lastItem.getKind().toString());
@@ -131,22 +134,26 @@ public final class JPAProcessorFactory {
   }
 
   private JPAODataPage getPage(final Map<String, List<String>> headers, final UriInfo uriInfo,
-      final JPAODataRequestContextAccess requestContext) throws ODataException {
+      final JPAODataRequestContextAccess requestContext, final JPAODataPathInformation pathInformation)
+      throws ODataException {
 
     JPAODataPage page = new JPAODataPage(uriInfo, 0, Integer.MAX_VALUE, null);
     // Server-Driven-Paging
     if (serverDrivenPaging(uriInfo)) {
       final String skipToken = skipToken(uriInfo);
       if (skipToken != null && !skipToken.isEmpty()) {
-        page = sessionContext.getPagingProvider().getNextPage(skipToken);
+        page = sessionContext.getPagingProvider().getNextPage(skipToken, odata, serviceMetadata, uriInfo,
+            getPreferredPagesize(headers));
+        if (page == null)
+          page = sessionContext.getPagingProvider().getNextPage(skipToken);
         if (page == null)
           throw new ODataJPAProcessorException(QUERY_SERVER_DRIVEN_PAGING_GONE, HttpStatusCode.GONE, skipToken);
       } else {
         final JPACountQuery countQuery = new JPAJoinQuery(odata, new JPAODataInternalRequestContext(uriInfo,
             requestContext, headers));
         final Integer preferredPagesize = getPreferredPagesize(headers);
-        final JPAODataPage firstPage = sessionContext.getPagingProvider().getFirstPage(uriInfo, preferredPagesize,
-            countQuery, requestContext.getEntityManager());
+        final JPAODataPage firstPage = sessionContext.getPagingProvider().getFirstPage(pathInformation, uriInfo,
+            preferredPagesize, countQuery, requestContext.getEntityManager());
         page = firstPage != null ? firstPage : page;
       }
     }
@@ -0,0 +1,254 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Accessors of a JPA POJO class, like an entity, an embeddable or an id class. The getter and setter of a class are
+ * determined once and kept as method handles, so creating, updating or reading an instance does not require to search
+ * the methods of the class again.<p>
+ * Based on the JAVA naming conventions the accessors are identified by the attribute name, which is the method name
+ * without <i>get</i> or <i>set</i> starting with a lower case letter. As this does not work for attribute names like
+ * <code>ID</code>, the accessors can also be identified by the method name suffix, which is the method name without
+ * <i>get</i> or <i>set</i>.
+ * @since 1.0.9
+ */
+public final class JPAPropertyAccessors {
+  private static final String GETTER_PREFIX = "get";
+  private static final String SETTER_PREFIX = "set";
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final ClassValue<JPAPropertyAccessors> ACCESSORS = new ClassValue<JPAPropertyAccessors>() {
+    @Override
+    protected JPAPropertyAccessors computeValue(final Class<?> type) {
+      return new JPAPropertyAccessors(type);
+    }
+  };
+
+  private final Map<String, Getter> getters;
+  private final Map<String, List<Setter>> setters;
+  private final Map<String, Getter> gettersBySuffix;
+  private final Map<String, List<Setter>> settersBySuffix;
+
+  private JPAPropertyAccessors(final Class<?> clazz) {
+    final Map<String, Getter> getterMap = new HashMap<>();
+    final Map<String, List<Setter>> setterMap = new HashMap<>();
+    final Map<String, Getter> getterSuffixMap = new HashMap<>();
+    final Map<String, List<Setter>> setterSuffixMap = new HashMap<>();
+    for (final Method method : clazz.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers()))
+        continue;
+      final String methodName = method.getName();
+      if (methodName.length() > 3 && methodName.startsWith(GETTER_PREFIX) && method.getParameterCount() == 0
+          && method.getReturnType() != void.class) {
+        final Getter getter = new Getter(method);
+        getterMap.put(getter.getName(), getter);
+        getterSuffixMap.put(getter.getMethodNameSuffix(), getter);
+      } else if (methodName.length() > 3 && methodName.startsWith(SETTER_PREFIX) && method.getParameterCount() == 1) {
+        final Setter setter = new Setter(method);
+        setterMap.computeIfAbsent(setter.getName(), k -> new ArrayList<>(1)).add(setter);
+        setterSuffixMap.computeIfAbsent(setter.getMethodNameSuffix(), k -> new ArrayList<>(1)).add(setter);
+      }
+    }
+    setterMap.replaceAll((name, list) -> Collections.unmodifiableList(list));
+    setterSuffixMap.replaceAll((name, list) -> Collections.unmodifiableList(list));
+    this.getters = Collections.unmodifiableMap(getterMap);
+    this.setters = Collections.unmodifiableMap(setterMap);
+    this.gettersBySuffix = Collections.unmodifiableMap(getterSuffixMap);
+    this.settersBySuffix = Collections.unmodifiableMap(setterSuffixMap);
+  }
+
+  /**
+   * Returns the accessors of a class. They are created with the first request for the class.
+   * @param clazz
+   * @return
+   */
+  @Nonnull
+  public static JPAPropertyAccessors of(@Nonnull final Class<?> clazz) {
+    return ACCESSORS.get(clazz);
+  }
+
+  /**
+   * @param attributeName
+   * @return The getter of the attribute or null, if the class does not provide one
+   */
+  @CheckForNull
+  public Getter getGetter(@Nonnull final String attributeName) {
+    return getters.get(attributeName);
+  }
+
+  /**
+   * @return All getter of the class
+   */
+  @Nonnull
+  public Collection<Getter> getGetters() {
+    return getters.values();
+  }
+
+  /**
+   * @param attributeName
+   * @param parameterType
+   * @return The setter of the attribute that takes exactly the given type or null, if the class does not provide one
+   */
+  @CheckForNull
+  public Setter getSetter(@Nonnull final String attributeName, @Nonnull final Class<?> parameterType) {
+    return findSetter(getSetters(attributeName), parameterType);
+  }
+
+  /**
+   * @param methodNameSuffix Method name without <i>get</i>, e.g. <code>ID</code> for <code>getID</code>
+   * @return The getter or null, if the class does not provide one
+   */
+  @CheckForNull
+  public Getter getGetterBySuffix(@Nonnull final String methodNameSuffix) {
+    return gettersBySuffix.get(methodNameSuffix);
+  }
+
+  /**
+   * @param methodNameSuffix Method name without <i>set</i>, e.g. <code>ID</code> for <code>setID</code>
+   * @param parameterType
+   * @return The setter that takes exactly the given type or null, if the class does not provide one
+   */
+  @CheckForNull
+  public Setter getSetterBySuffix(@Nonnull final String methodNameSuffix, @Nonnull final Class<?> parameterType) {
+    return findSetter(settersBySuffix.getOrDefault(methodNameSuffix, Collections.emptyList()), parameterType);
+  }
+
+  /**
+   * @param attributeName
+   * @return All setter of an attribute, which can be more than one in case the setter is overloaded
+   */
+  @Nonnull
+  public List<Setter> getSetters(@Nonnull final String attributeName) {
+    return setters.getOrDefault(attributeName, Collections.emptyList());
+  }
+
+  private static Setter findSetter(final List<Setter> candidates, final Class<?> parameterType) {
+    for (final Setter setter : candidates) {
+      if (setter.getType() == parameterType)
+        return setter;
+    }
+    return null;
+  }
+
+  private static String buildAttributeName(final String methodName) {
+    return methodName.substring(3, 4).toLowerCase(Locale.ENGLISH) + methodName.substring(4);
+  }
+
+  /**
+   * Common part of getter and setter. In case a method handle can not be created, e.g. because the method is declared
+   * by a non public class, the method is called via reflection.
+   */
+  public abstract static class Accessor {
+    private final String name;
+    private final String methodNameSuffix;
+    private final Class<?> type;
+    protected final Method method;
+    protected final MethodHandle handle;
+
+    Accessor(final Method method, final Class<?> type, final MethodType handleType) {
+      this.name = buildAttributeName(method.getName());
+      this.methodNameSuffix = method.getName().substring(3);
+      this.type = type;
+      this.method = method;
+      this.handle = createHandle(method, handleType);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return The method name without <i>get</i> or <i>set</i>
+     */
+    public String getMethodNameSuffix() {
+      return methodNameSuffix;
+    }
+
+    /**
+     * @return The return type of a getter or the parameter type of a setter
+     */
+    public Class<?> getType() {
+      return type;
+    }
+
+    private static MethodHandle createHandle(final Method method, final MethodType handleType) {
+      try {
+        return MethodHandles.publicLookup().unreflect(method).asType(handleType);
+      } catch (final IllegalAccessException e) {
+        return null;
+      }
+    }
+  }
+
+  public static final class Getter extends Accessor {
+
+    Getter(final Method method) {
+      super(method, method.getReturnType(), GETTER_TYPE);
+    }
+
+    /**
+     * Reads the value of the attribute.
+     * @param instance
+     * @return
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException Thrown if the getter throws an exception
+     */
+    public Object get(@Nonnull final Object instance) throws IllegalAccessException, InvocationTargetException {
+      if (handle == null)
+        return method.invoke(instance);
+      try {
+        return handle.invokeExact(instance);
+      } catch (final Throwable e) { // NOSONAR
+        throw new InvocationTargetException(e);
+      }
+    }
+  }
+
+  public static final class Setter extends Accessor {
+    private final Class<?> valueType;
+
+    Setter(final Method method) {
+      super(method, method.getParameterTypes()[0], SETTER_TYPE);
+      this.valueType = MethodType.methodType(getType()).wrap().returnType();
+    }
+
+    /**
+     * Changes the value of the attribute.
+     * @param instance
+     * @param value
+     * @throws IllegalAccessException
+     * @throws IllegalArgumentException Thrown if the value does not fit to the parameter type of the setter
+     * @throws InvocationTargetException Thrown if the setter throws an exception
+     */
+    public void set(@Nonnull final Object instance, final Object value) throws IllegalAccessException,
+        InvocationTargetException {
+      if (handle == null) {
+        method.invoke(instance, value);
+        return;
+      }
+      if (value == null ? getType().isPrimitive() : !valueType.isInstance(value))
+        throw new IllegalArgumentException("Value of type " + (value == null ? "null" : value.getClass().getName())
+            + " not supported by " + method);
+      try {
+        handle.invokeExact(instance, value);
+      } catch (final Throwable e) { // NOSONAR
+        throw new InvocationTargetException(e);
+      }
+    }
+  }
+}
@@ -142,6 +142,33 @@ public final class ExpressionUtil {
     }
   }
 
+  /**
+   * Converts the value of an attribute into its OData representation. This is the reverse of
+   * {@link #convertValueOnAttribute(OData, JPAAttribute, String, Boolean)} with <code>isUri = false</code>.
+   * @param odata
+   * @param attribute
+   * @param value
+   * @return
+   * @throws ODataJPAFilterException
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> String convertValueToString(final OData odata, final JPAAttribute attribute, final Object value)
+      throws ODataJPAFilterException {
+
+    try {
+      final CsdlProperty edmProperty = (CsdlProperty) attribute.getProperty();
+      final EdmPrimitiveTypeKind edmTypeKind = JPATypeConverter.convertToEdmSimpleType(attribute);
+      final EdmPrimitiveType edmType = odata.createPrimitiveTypeInstance(edmTypeKind);
+      // Converter
+      final Object dbValue = attribute.getConverter() != null
+          ? ((AttributeConverter<Object, T>) attribute.getConverter()).convertToDatabaseColumn(value) : value;
+      return edmType.valueToString(dbValue, edmProperty.isNullable(), edmProperty.getMaxLength(),
+          edmProperty.getPrecision(), edmProperty.getScale(), true);
+    } catch (EdmPrimitiveTypeException | ODataJPAModelException e) {
+      throw new ODataJPAFilterException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
   public static Object convertValueOnFacet(final OData odata, final JPAParameterFacet returnType, final String value)
       throws ODataJPAFilterException {
     try {
@@ -1,7 +1,8 @@
 package com.sap.olingo.jpa.processor.core.query;
 
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.joining;
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,6 +33,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAException;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
@@ -78,21 +80,23 @@ public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
     }
   }
 
-  protected String buildConcatenatedKey(final Tuple row, final JPAAssociationPath association)
-      throws ODataJPAModelException {
+  /**
+   * Determines the aliases of the columns, which are used to assign a row of the result to its parent. The aliases are
+   * determined once per query and not per row.
+   * @param association
+   * @return
+   * @throws ODataJPAModelException
+   */
+  protected List<String> determineKeyAliases(final JPAAssociationPath association) throws ODataJPAModelException {
 
     if (!association.hasJoinTable()) {
-      final List<JPAPath> joinColumns = association.getRightColumnsList();
-      return joinColumns.stream()
-          .map(c -> (row.get(c
-              .getAlias()))
-                  .toString())
-          .collect(joining(JPAPath.PATH_SEPARATOR));
+      return association.getRightColumnsList().stream()
+          .map(JPAPath::getAlias)
+          .collect(toList());
     } else {
-      final List<JPAPath> joinColumns = association.getLeftColumnsList();
-      return joinColumns.stream()
-          .map(c -> (row.get(association.getAlias() + ALIAS_SEPARATOR + c.getAlias())).toString())
-          .collect(joining(JPAPath.PATH_SEPARATOR));
+      return association.getLeftColumnsList().stream()
+          .map(c -> association.getAlias() + ALIAS_SEPARATOR + c.getAlias())
+          .collect(toList());
     }
   }
 
@@ -142,7 +146,22 @@ public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
     return groupBy;
   }
 
-  abstract Map<String, Long> count() throws ODataApplicationException;
+  abstract Map<JPAResultKey, Long> count() throws ODataApplicationException;
+
+  /**
+   * Determines the number of entities per parent from the result of the expand query. This is only valid in case the
+   * result was not restricted by $top or $skip, but saves an additional round trip to the database.
+   * @param result
+   * @return
+   */
+  protected Map<JPAResultKey, Long> countFromResult(final Map<JPAResultKey, List<Tuple>> result) {
+    if (!countRequested(lastInfo))
+      return emptyMap();
+    final Map<JPAResultKey, Long> counts = new HashMap<>(result.size());
+    for (final Map.Entry<JPAResultKey, List<Tuple>> parent : result.entrySet())
+      counts.put(parent.getKey(), (long) parent.getValue().size());
+    return counts;
+  }
 
   protected boolean countRequested(final JPANavigationPropertyInfo lastInfo) {
     if (lastInfo.getUriInfo() == null)
@@ -169,16 +188,17 @@ public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
     return selections;
   }
 
-  protected Map<String, Long> convertCountResult(final List<Tuple> intermediateResult) throws ODataJPAQueryException {
-    final Map<String, Long> result = new HashMap<>();
-    for (final Tuple row : intermediateResult) {
-      try {
-        final String actualKey = buildConcatenatedKey(row, association);
+  protected Map<JPAResultKey, Long> convertCountResult(final List<Tuple> intermediateResult)
+      throws ODataJPAQueryException {
+    final Map<JPAResultKey, Long> result = new HashMap<>();
+    try {
+      final List<String> keyAliases = determineKeyAliases(association);
+      for (final Tuple row : intermediateResult) {
         final Number count = (Number) row.get(COUNT_COLUMN_NAME);
-        result.put(actualKey, count.longValue());
-      } catch (final ODataJPAModelException e) {
-        throw new ODataJPAQueryException(e, HttpStatusCode.BAD_REQUEST);
+        result.put(JPAResultKey.of(row, keyAliases), count.longValue());
       }
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, HttpStatusCode.BAD_REQUEST);
     }
     return result;
   }
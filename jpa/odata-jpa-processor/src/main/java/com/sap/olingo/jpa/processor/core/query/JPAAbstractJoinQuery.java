@@ -440,30 +440,51 @@ public abstract class JPAAbstractJoinQuery extends JPAAbstractQuery implements J
     }
   }
 
-  private void addSkip(final TypedQuery<Tuple> tq) throws ODataJPAQueryException {
+  /**
+   * @return Number of rows skipped, either because of $skip or the page. Empty if no rows are skipped.
+   */
+  protected final Optional<Integer> determineSkipNumber() {
     final SkipOption skipOption = uriResource.getSkipOption();
     if (skipOption != null || page != null) {
-      int skipNumber = skipOption != null ? skipOption.getValue() : page.getSkip();
-      skipNumber = skipOption != null && page != null ? Math.max(skipOption.getValue(), page.getSkip()) : skipNumber;
-      if (skipNumber >= 0)
-        tq.setFirstResult(skipNumber);
+      final int skipNumber = skipOption != null ? skipOption.getValue() : page.getSkip();
+      return Optional.of(skipOption != null && page != null ? Math.max(skipOption.getValue(), page.getSkip())
+          : skipNumber);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return Maximum number of rows returned, either because of $top or the page. Empty if the result is not limited.
+   */
+  protected final Optional<Integer> determineTopNumber() {
+    final TopOption topOption = uriResource.getTopOption();
+    if (topOption != null || page != null) {
+      final int topNumber = topOption != null ? topOption.getValue() : page.getTop();
+      return Optional.of(topOption != null && page != null ? Math.min(topOption.getValue(), page.getTop())
+          : topNumber);
+    }
+    return Optional.empty();
+  }
+
+  private void addSkip(final TypedQuery<Tuple> tq) throws ODataJPAQueryException {
+    final Optional<Integer> skipNumber = determineSkipNumber();
+    if (skipNumber.isPresent()) {
+      if (skipNumber.get() >= 0)
+        tq.setFirstResult(skipNumber.get());
       else
         throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_INVALID_VALUE,
-            HttpStatusCode.BAD_REQUEST, Integer.toString(skipNumber), "$skip");
+            HttpStatusCode.BAD_REQUEST, Integer.toString(skipNumber.get()), "$skip");
     }
   }
 
   private void addTop(final TypedQuery<Tuple> tq) throws ODataJPAQueryException {
-    final TopOption topOption = uriResource.getTopOption();
-    if (topOption != null || page != null) {
-      int topNumber = topOption != null ? topOption.getValue() : page.getTop();
-      topNumber = topOption != null && page != null ? Math.min(topOption.getValue(), page.getTop())
-          : topNumber;
-      if (topNumber >= 0)
-        tq.setMaxResults(topNumber);
+    final Optional<Integer> topNumber = determineTopNumber();
+    if (topNumber.isPresent()) {
+      if (topNumber.get() >= 0)
+        tq.setMaxResults(topNumber.get());
       else
         throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_INVALID_VALUE,
-            HttpStatusCode.BAD_REQUEST, Integer.toString(topNumber), "$top");
+            HttpStatusCode.BAD_REQUEST, Integer.toString(topNumber.get()), "$top");
     }
   }
 
@@ -2,7 +2,7 @@ package com.sap.olingo.jpa.processor.core.query;
 
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_FILTER_ERROR;
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_INVALID_SELECTION_PATH;
-import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.BAD_REQUEST;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.INTERNAL_SERVER_ERROR;
 
@@ -37,6 +37,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAElement;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 public class JPACollectionJoinQuery extends JPAAbstractJoinQuery {
@@ -63,7 +64,7 @@ public class JPACollectionJoinQuery extends JPAAbstractJoinQuery {
       final List<Tuple> intermediateResult = tupleQuery.getResultList();
       debugger.stopRuntimeMeasurement(resultHandle);
 
-      final Map<String, List<Tuple>> result = convertResult(intermediateResult, association, 0, Long.MAX_VALUE);
+      final Map<JPAResultKey, List<Tuple>> result = convertResult(intermediateResult, association, 0, Long.MAX_VALUE);
       return new JPACollectionQueryResult(result, new HashMap<>(1), jpaEntity, this.association,
           requestedSelection.joinedRequested());
     } catch (final JPANoSelectionException e) {
@@ -164,21 +165,22 @@ public class JPACollectionJoinQuery extends JPAAbstractJoinQuery {
    * @return
    * @throws ODataApplicationException
    */
-  Map<String, List<Tuple>> convertResult(final List<Tuple> intermediateResult, final JPAAssociationPath associationPath,
-      final long skip, final long top) throws ODataApplicationException {
-    String joinKey = "";
+  Map<JPAResultKey, List<Tuple>> convertResult(final List<Tuple> intermediateResult,
+      final JPAAssociationPath associationPath, final long skip, final long top) throws ODataApplicationException {
+    JPAResultKey joinKey = null;
     long skipped = 0;
     long taken = 0;
 
     List<Tuple> subResult = null;
-    final Map<String, List<Tuple>> convertedResult = new HashMap<>();
+    final Map<JPAResultKey, List<Tuple>> convertedResult = new HashMap<>();
+    final List<String> keyAliases;
+    try {
+      keyAliases = determineKeyAliases(associationPath);
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, BAD_REQUEST);
+    }
     for (final Tuple row : intermediateResult) {
-      String actualKey;
-      try {
-        actualKey = buildConcatenatedKey(row, associationPath);
-      } catch (final ODataJPAModelException e) {
-        throw new ODataJPAQueryException(e, BAD_REQUEST);
-      }
+      final JPAResultKey actualKey = JPAResultKey.of(row, keyAliases);
 
       if (!actualKey.equals(joinKey)) {
         subResult = new ArrayList<>();
@@ -196,19 +198,17 @@ public class JPACollectionJoinQuery extends JPAAbstractJoinQuery {
     return convertedResult;
   }
 
-  private String buildConcatenatedKey(final Tuple row, final JPAAssociationPath associationPath)
+  private List<String> determineKeyAliases(final JPAAssociationPath associationPath)
       throws ODataJPAModelException {
 
     if (!associationPath.hasJoinTable()) {
-      final List<JPAPath> joinColumns = associationPath.getRightColumnsList();
-      return joinColumns.stream()
-          .map(c -> (row.get(c.getAlias())).toString())
-          .collect(joining(JPAPath.PATH_SEPARATOR));
+      return associationPath.getRightColumnsList().stream()
+          .map(JPAPath::getAlias)
+          .collect(toList());
     } else {
-      final List<JPAPath> joinColumns = associationPath.getLeftColumnsList();
-      return joinColumns.stream()
-          .map(c -> (row.get(association.getAlias() + ALIAS_SEPARATOR + c.getAlias())).toString())
-          .collect(joining(JPAPath.PATH_SEPARATOR));
+      return associationPath.getLeftColumnsList().stream()
+          .map(c -> association.getAlias() + ALIAS_SEPARATOR + c.getAlias())
+          .collect(toList());
     }
   }
 
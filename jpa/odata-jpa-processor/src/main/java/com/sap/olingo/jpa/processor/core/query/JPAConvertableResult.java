@@ -10,6 +10,7 @@ import org.apache.olingo.server.api.ODataApplicationException;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
@@ -20,7 +21,7 @@ public interface JPAConvertableResult {
    * @return
    * @throws ODataApplicationException
    */
-  Map<String, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
+  Map<JPAResultKey, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
       throws ODataApplicationException;
 
   void putChildren(final Map<JPAAssociationPath, JPAExpandResult> childResults) throws ODataApplicationException;
@@ -31,7 +32,7 @@ public interface JPAConvertableResult {
    * @return
    * @throws ODataApplicationException
    */
-  EntityCollection getEntityCollection(final String key) throws ODataApplicationException;
+  EntityCollection getEntityCollection(final JPAResultKey key) throws ODataApplicationException;
 
   /**
    * Returns a key pair if the query had $top and/or $skip and the key of the entity implements {@link Comparable}.
@@ -1,16 +1,20 @@
 package com.sap.olingo.jpa.processor.core.query;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.server.api.ODataApplicationException;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
@@ -22,9 +26,31 @@ public interface JPAConvertibleResult {
    * @return
    * @throws ODataApplicationException
    */
-  Map<String, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
+  Map<JPAResultKey, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
       throws ODataApplicationException;
 
+  /**
+   * Provides the root result as an iterator, which converts the entities one by one while they are serialized. The
+   * default implementation converts the complete result up front.
+   * @param converter
+   * @return
+   * @throws ODataApplicationException
+   */
+  default EntityIterator asEntityIterator(final JPATupleChildConverter converter) throws ODataApplicationException {
+    final Iterator<Entity> entities = asEntityCollection(converter).get(JPAExpandResult.ROOT_RESULT_KEY).iterator();
+    return new EntityIterator() {
+      @Override
+      public boolean hasNext() {
+        return entities.hasNext();
+      }
+
+      @Override
+      public Entity next() {
+        return entities.next();
+      }
+    };
+  }
+
   void putChildren(final Map<JPAAssociationPath, JPAExpandResult> childResults) throws ODataApplicationException;
 
   /**
@@ -33,7 +59,7 @@ public interface JPAConvertibleResult {
    * @return
    * @throws ODataApplicationException
    */
-  EntityCollection getEntityCollection(final String key) throws ODataApplicationException;
+  EntityCollection getEntityCollection(final JPAResultKey key) throws ODataApplicationException;
 
   /**
    * Returns a key pair if the query had $top and/or $skip and the key of the entity implements {@link Comparable}.
@@ -24,6 +24,7 @@ import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResourceSingleton;
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
@@ -31,6 +32,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 /**
@@ -76,7 +78,10 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
    * the first/least/max row per group in SQL</a>. Often databases offer the option to use <code>ROW_NUMBER</code>
    * together with <code>OVER ... ORDER BY</code> see e.g. <a
    * href="http://www.sqltutorial.org/sql-window-functions/sql-row_number/">SQL ROW_NUMBER</a>.
-   * Unfortunately this is not supported by JPA.
+   * Unfortunately this is not supported by JPA.<br>
+   * In case the expand has only one parent, see {@link #hasSingleParent()}, $skip and $top are handed over to the
+   * database. Otherwise they are applied on the result. A limitation per parent on the database is provided via the
+   * criteria builder extension, which uses {@link JPAExpandSubQuery} instead.
    * @return query result
    * @throws ODataApplicationException
    */
@@ -86,13 +91,27 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
 
     try {
       tupleQuery = createTupleQuery();
+      if (hasSingleParent()) {
+        // All rows belong to the same parent, so $top and $skip can be handled by the database
+        addExpandTopSkip(tupleQuery.getQuery());
+        final int resultHandle = debugger.startRuntimeMeasurement(tupleQuery, "getResultList");
+        final List<Tuple> intermediateResult = tupleQuery.getQuery().getResultList();
+        debugger.stopRuntimeMeasurement(resultHandle);
+        final Map<JPAResultKey, List<Tuple>> result = convertResult(intermediateResult, association, 0, Long.MAX_VALUE);
+        final boolean limited = determineSkip() > 0 || determineTop() < Long.MAX_VALUE;
+        return new JPAExpandQueryResult(result, limited && countRequested(lastInfo) ? count() : countFromResult(
+            result), jpaEntity, tupleQuery.getSelection().joinedRequested());
+      }
       final int resultHandle = debugger.startRuntimeMeasurement(tupleQuery, "getResultList");
       final List<Tuple> intermediateResult = tupleQuery.getQuery().getResultList();
       debugger.stopRuntimeMeasurement(resultHandle);
-      // Simplest solution for the top/skip problem. Read all and throw away, what is not requested
-      final Map<String, List<Tuple>> result = convertResult(intermediateResult, association, determineSkip(),
-          determineTop());
-      return new JPAExpandQueryResult(result, count(), jpaEntity, tupleQuery.getSelection().joinedRequested());
+      // JPQL does not support a limitation per parent. Read all and throw away, what is not requested
+      final Map<JPAResultKey, Long> counts = new HashMap<>();
+      final Map<JPAResultKey, List<Tuple>> result = convertResult(intermediateResult, association, determineSkip(),
+          determineTop(), counts);
+      // All rows have been read, so the counts are known without an additional round trip
+      return new JPAExpandQueryResult(result, countRequested(lastInfo) ? counts : emptyMap(), jpaEntity,
+          tupleQuery.getSelection().joinedRequested());
     } catch (final JPANoSelectionException e) {
       return new JPAExpandQueryResult(emptyMap(), emptyMap(), this.jpaEntity, emptyList());
     } finally {
@@ -100,6 +119,34 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
     }
   }
 
+  /**
+   * An expand has exactly one parent, if either the parent is addressed via its key e.g.
+   * <code>Organizations('1')?$expand=Roles($top=1)</code> or is a singleton, or if the key boundary restricts the
+   * parent to one entity e.g. <code>Organizations?$top=1&$expand=Roles($top=1)</code>.
+   * @return
+   */
+  boolean hasSingleParent() {
+    if (navigationInfo.size() < 2)
+      return false;
+    final int parentIndex = navigationInfo.size() - 2;
+    final JPANavigationPropertyInfo parentInfo = navigationInfo.get(parentIndex);
+    if (parentInfo.getUriResource() instanceof UriResourceSingleton
+        || parentInfo.getKeyPredicates() != null && !parentInfo.getKeyPredicates().isEmpty())
+      return true;
+    return keyBoundary
+        .map(boundary -> boundary.getNoHops() - 1 == parentIndex && !boundary.getKeyBoundary().hasUpperBoundary())
+        .orElse(false);
+  }
+
+  private void addExpandTopSkip(final TypedQuery<Tuple> query) {
+    final long skip = determineSkip();
+    final long top = determineTop();
+    if (skip > 0)
+      query.setFirstResult((int) skip);
+    if (top < Long.MAX_VALUE)
+      query.setMaxResults((int) top);
+  }
+
   private long determineTop() {
     if (uriResource.getTopOption() != null)
       return uriResource.getTopOption().getValue();
@@ -165,8 +212,7 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
   }
 
   /**
-   * Splits up a expand results, so it is returned as a map that uses a concatenation of the field values know by the
-   * parent.
+   * Splits up a expand results, so it is returned as a map that uses the field values know by the parent as key.
    * @param intermediateResult
    * @param associationPath
    * @param skip
@@ -174,21 +220,39 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
    * @return
    * @throws ODataApplicationException
    */
-  Map<String, List<Tuple>> convertResult(final List<Tuple> intermediateResult, final JPAAssociationPath associationPath,
-      final long skip, final long top) throws ODataApplicationException {
-    String joinKey = "";
+  Map<JPAResultKey, List<Tuple>> convertResult(final List<Tuple> intermediateResult,
+      final JPAAssociationPath associationPath, final long skip, final long top) throws ODataApplicationException {
+    return convertResult(intermediateResult, associationPath, skip, top, new HashMap<>());
+  }
+
+  /**
+   * Splits up a expand results like {@link #convertResult(List, JPAAssociationPath, long, long)} and collects in
+   * addition the number of rows found per parent, independent of $skip and $top.
+   * @param intermediateResult
+   * @param associationPath
+   * @param skip
+   * @param top
+   * @param counts Map the number of rows per parent is put into
+   * @return
+   * @throws ODataApplicationException
+   */
+  Map<JPAResultKey, List<Tuple>> convertResult(final List<Tuple> intermediateResult,
+      final JPAAssociationPath associationPath, final long skip, final long top, final Map<JPAResultKey, Long> counts)
+      throws ODataApplicationException {
+    JPAResultKey joinKey = null;
     long skipped = 0;
     long taken = 0;
 
     List<Tuple> subResult = null;
-    final Map<String, List<Tuple>> convertedResult = new HashMap<>();
+    final Map<JPAResultKey, List<Tuple>> convertedResult = new HashMap<>();
+    final List<String> keyAliases;
+    try {
+      keyAliases = determineKeyAliases(associationPath);
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, HttpStatusCode.BAD_REQUEST);
+    }
     for (final Tuple row : intermediateResult) {
-      String actualKey;
-      try {
-        actualKey = buildConcatenatedKey(row, associationPath);
-      } catch (final ODataJPAModelException e) {
-        throw new ODataJPAQueryException(e, HttpStatusCode.BAD_REQUEST);
-      }
+      final JPAResultKey actualKey = JPAResultKey.of(row, keyAliases);
 
       if (!actualKey.equals(joinKey)) {
         subResult = new ArrayList<>();
@@ -196,6 +260,7 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
         joinKey = actualKey;
         skipped = taken = 0;
       }
+      counts.merge(actualKey, 1L, Long::sum);
       if (subResult != null && skipped >= skip && taken < top) {
         taken += 1;
         subResult.add(row);
@@ -207,7 +272,7 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
   }
 
   @Override
-  final Map<String, Long> count() throws ODataApplicationException {
+  final Map<JPAResultKey, Long> count() throws ODataApplicationException {
     final int handle = debugger.startRuntimeMeasurement(this, "count");
     try {
       final JPAExpandJoinCountQuery countQuery = new JPAExpandJoinCountQuery(odata, requestContext, jpaEntity,
@@ -3,17 +3,20 @@ package com.sap.olingo.jpa.processor.core.query;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.persistence.Tuple;
 
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.uri.queryoption.SelectItem;
@@ -27,6 +30,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
@@ -39,13 +43,14 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
  *
  */
 public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertibleResult {
-  private static final Map<String, List<Tuple>> EMPTY_RESULT;
+  private static final Map<JPAResultKey, List<Tuple>> EMPTY_RESULT;
   private final Map<JPAAssociationPath, JPAExpandResult> childrenResult;
-  private final Map<String, List<Tuple>> jpaResult;
-  private Map<String, EntityCollection> odataResult;
-  private final Map<String, Long> counts;
+  private final Map<JPAResultKey, List<Tuple>> jpaResult;
+  private Map<JPAResultKey, EntityCollection> odataResult;
+  private final Map<JPAResultKey, Long> counts;
   private final JPAEntityType jpaEntityType;
   private final Collection<JPAPath> requestedSelection;
+  private Stream<Tuple> rootRows;
 
   static {
     EMPTY_RESULT = new HashMap<>(1);
@@ -58,7 +63,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @see JPATupleChildConverter
    * @return
    */
-  private static Map<String, List<Tuple>> putEmptyResult() {
+  private static Map<JPAResultKey, List<Tuple>> putEmptyResult() {
     EMPTY_RESULT.put(ROOT_RESULT_KEY, Collections.emptyList());
     return EMPTY_RESULT;
   }
@@ -67,7 +72,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
     this(putEmptyResult(), Collections.emptyMap(), jpaEntityType, selectionPath);
   }
 
-  public JPAExpandQueryResult(final Map<String, List<Tuple>> result, final Map<String, Long> counts,
+  public JPAExpandQueryResult(final Map<JPAResultKey, List<Tuple>> result, final Map<JPAResultKey, Long> counts,
       @Nonnull final JPAEntityType jpaEntityType, final Collection<JPAPath> selectionPath) {
 
     Objects.requireNonNull(jpaEntityType);
@@ -78,16 +83,48 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
     this.requestedSelection = selectionPath;
   }
 
+  /**
+   * Creates a result, which reads the root rows from a stream, e.g. one provided by
+   * {@link javax.persistence.TypedQuery#getResultStream()}. The rows are taken from the stream one by one when they are
+   * converted by {@link #asEntityIterator(JPATupleChildConverter)}. Any other access to the root result reads the
+   * complete stream.
+   * @param rootRows
+   * @param jpaEntityType
+   * @param selectionPath
+   */
+  public JPAExpandQueryResult(@Nonnull final Stream<Tuple> rootRows, @Nonnull final JPAEntityType jpaEntityType,
+      final Collection<JPAPath> selectionPath) {
+    this(new HashMap<>(1), Collections.emptyMap(), jpaEntityType, selectionPath);
+    this.rootRows = Objects.requireNonNull(rootRows);
+  }
+
   @Override
-  public Map<String, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
+  public Map<JPAResultKey, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
       throws ODataApplicationException {
 
     convert(new JPATupleChildConverter(converter));
     return odataResult;
   }
 
+  @Override
+  public EntityIterator asEntityIterator(final JPATupleChildConverter converter) throws ODataApplicationException {
+
+    final JPATupleChildConverter rootConverter = new JPATupleChildConverter(converter);
+    for (final Entry<JPAAssociationPath, JPAExpandResult> childResult : childrenResult.entrySet()) {
+      childResult.getValue().convert(rootConverter);
+    }
+    if (rootRows != null) {
+      final Stream<Tuple> rows = rootRows;
+      rootRows = null;
+      jpaResult.put(ROOT_RESULT_KEY, Collections.emptyList());
+      return rootConverter.getResultIterator(this, new ClosingIterator(rows), requestedSelection);
+    }
+    return rootConverter.getResultIterator(this, requestedSelection);
+  }
+
   @Override
   public void convert(final JPATupleChildConverter converter) throws ODataApplicationException {
+    readRootRows();
     if (odataResult == null) {
       for (final Entry<JPAAssociationPath, JPAExpandResult> childResult : childrenResult.entrySet()) {
         childResult.getValue().convert(converter);
@@ -117,7 +154,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @see org.apache.org.jpa.processor.core.converter.JPAExpandResult#getCount()
    */
   @Override
-  public Long getCount(final String key) {
+  public Long getCount(final JPAResultKey key) {
     return counts != null ? counts.get(key) : null;
   }
 
@@ -132,12 +169,14 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
   }
 
   public long getNoResults() {
+    readRootRows();
     return jpaResult.size();
   }
 
   public long getNoResultsDeep() {
+    readRootRows();
     long count = 0;
-    for (final Entry<String, List<Tuple>> result : jpaResult.entrySet()) {
+    for (final Entry<JPAResultKey, List<Tuple>> result : jpaResult.entrySet()) {
       count += result.getValue().size();
     }
     return count;
@@ -149,7 +188,8 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @see org.apache.org.jpa.processor.core.converter.JPAExpandResult#getResult(java.lang.String)
    */
   @Override
-  public List<Tuple> getResult(final String key) {
+  public List<Tuple> getResult(final JPAResultKey key) {
+    readRootRows();
     return jpaResult.get(key);
   }
 
@@ -176,7 +216,8 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
   }
 
   @Override
-  public Map<String, List<Tuple>> getResults() {
+  public Map<JPAResultKey, List<Tuple>> getResults() {
+    readRootRows();
     return jpaResult;
   }
 
@@ -186,13 +227,16 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @return
    */
   @Override
-  public EntityCollection getEntityCollection(final String key) {
+  public EntityCollection getEntityCollection(final JPAResultKey key) {
     return odataResult.containsKey(key) ? odataResult.get(key) : new EntityCollection();
   }
 
   @Override
   public Optional<JPAKeyBoundary> getKeyBoundary(final JPAODataRequestContextAccess requestContext,
       final List<JPANavigationPropertyInfo> hops, final JPAODataPage page) throws ODataJPAProcessException {
+    // Root rows are only streamed, if no key boundary is needed, see JPAJoinQuery
+    if (rootRows != null)
+      return JPAConvertibleResult.super.getKeyBoundary(requestContext, hops, page);
     try {
       if (!jpaResult.get(ROOT_RESULT_KEY).isEmpty()
           && (requestContext.getUriInfo().getExpandOption() != null
@@ -241,4 +285,48 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
     }
     return keyMap;
   }
+
+  /**
+   * Reads the complete stream of root rows, in case the root result is needed as a whole.
+   */
+  private void readRootRows() {
+    if (rootRows != null) {
+      try (Stream<Tuple> rows = rootRows) {
+        jpaResult.put(ROOT_RESULT_KEY, rows.collect(Collectors.toList()));
+      }
+      rootRows = null;
+    }
+  }
+
+  /**
+   * Closes the stream of root rows as soon as the last row has been taken, so that e.g. an underlying cursor is
+   * released before the entity manager gets closed.
+   */
+  private static class ClosingIterator implements Iterator<Tuple> {
+    private final Stream<Tuple> rows;
+    private final Iterator<Tuple> iterator;
+    private boolean closed = false;
+
+    private ClosingIterator(final Stream<Tuple> rows) {
+      this.rows = rows;
+      this.iterator = rows.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed)
+        return false;
+      final boolean hasNext = iterator.hasNext();
+      if (!hasNext) {
+        rows.close();
+        closed = true;
+      }
+      return hasNext;
+    }
+
+    @Override
+    public Tuple next() {
+      return iterator.next();
+    }
+  }
 }
@@ -24,6 +24,7 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Selection;
 import javax.persistence.criteria.Subquery;
 
@@ -31,6 +32,8 @@ import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
@@ -41,7 +44,9 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaQuery;
 import com.sap.olingo.jpa.processor.cb.ProcessorSubquery;
+import com.sap.olingo.jpa.processor.core.api.JPAODataDatabaseProcessor;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 /**
@@ -52,6 +57,7 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
  * 25.11.2020
  */
 public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
+  private boolean lateralJoin;
 
   public JPAExpandSubQuery(final OData odata, final JPAInlineItemInfo item,
       final JPAODataRequestContextAccess requestContext) throws ODataException {
@@ -65,8 +71,9 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     try {
       final JPAQueryCreationResult tupleQuery = createTupleQuery();
       final List<Tuple> intermediateResult = tupleQuery.getQuery().getResultList();
-      final Map<String, List<Tuple>> result = convertResult(intermediateResult);
-      return new JPAExpandQueryResult(result, count(), jpaEntity, tupleQuery.getSelection().joinedRequested());
+      final Map<JPAResultKey, List<Tuple>> result = convertResult(intermediateResult);
+      return new JPAExpandQueryResult(result, hasRowLimit(lastInfo) ? count() : countFromResult(result), jpaEntity,
+          tupleQuery.getSelection().joinedRequested());
     } catch (final JPANoSelectionException e) {
       return new JPAExpandQueryResult(emptyMap(), emptyMap(), this.jpaEntity, emptyList());
     } catch (final ODataApplicationException e) {
@@ -154,7 +161,7 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
   }
 
   @Override
-  final Map<String, Long> count() throws ODataApplicationException {
+  final Map<JPAResultKey, Long> count() throws ODataApplicationException {
     final int handle = debugger.startRuntimeMeasurement(this, "count");
     try {
       final JPAExpandSubCountQuery countQuery = new JPAExpandSubCountQuery(odata, requestContext, jpaEntity,
@@ -176,18 +183,19 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     return sq;
   }
 
-  private Map<String, List<Tuple>> convertResult(final List<Tuple> intermediateResult)
+  private Map<JPAResultKey, List<Tuple>> convertResult(final List<Tuple> intermediateResult)
       throws ODataApplicationException {
-    String joinKey = "";
+    JPAResultKey joinKey = null;
     List<Tuple> subResult = null;
-    final Map<String, List<Tuple>> convertedResult = new HashMap<>();
+    final Map<JPAResultKey, List<Tuple>> convertedResult = new HashMap<>();
+    final List<String> keyAliases;
+    try {
+      keyAliases = determineKeyAliases(association);
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, BAD_REQUEST);
+    }
     for (final Tuple row : intermediateResult) {
-      String actualKey;
-      try {
-        actualKey = buildConcatenatedKey(row, association);
-      } catch (final ODataJPAModelException e) {
-        throw new ODataJPAQueryException(e, BAD_REQUEST);
-      }
+      final JPAResultKey actualKey = JPAResultKey.of(row, keyAliases);
       if (!actualKey.equals(joinKey)) {
         subResult = new ArrayList<>();
         convertedResult.put(actualKey, subResult);
@@ -263,7 +271,7 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
    * @throws ODataException
    */
   private JPAQueryPair createQueries(final SelectionPathInfo<JPAPath> selectionPath) throws ODataException {
-    if (hasRowLimit(lastInfo)) {
+    if (hasRowLimit(lastInfo) && !lateralJoin) {
       debugger.trace(this, "Row number required");
       final int lastIndex = navigationInfo.size() - 2;
       final JPAAssociationPath childAssociation = navigationInfo.get(lastIndex).getAssociationPath();
@@ -283,6 +291,7 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     final ProcessorCriteriaQuery<Tuple> tq = (ProcessorCriteriaQuery<Tuple>) cq;
     final List<JPAAssociationPath> orderByAttributes = extractOrderByNaviAttributes(uriResource.getOrderByOption());
     final SelectionPathInfo<JPAPath> selectionPath = buildSelectionPathList(this.uriResource);
+    lateralJoin = useLateralJoin(orderByAttributes);
     final JPAQueryPair queries = createQueries(selectionPath);
     addFilterCompiler(lastInfo);
     final LinkedList<JPAAbstractQuery> hops = buildSubQueries(queries);
@@ -306,7 +315,9 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
 
     Map<String, From<?, ?>> joinTables = new HashMap<>();
 
-    if (hasRowLimit(lastInfo)) {
+    if (lateralJoin) {
+      this.target = this.root = createFromClauseLateral(tq, selectionPath.joinedPersistent(), sq);
+    } else if (hasRowLimit(lastInfo)) {
       this.target = this.root = tq.from((ProcessorSubquery<?>) sq);
     } else {
       joinTables = createFromClause(emptyList(), selectionPath.joinedPersistent(), cq, lastInfo);
@@ -320,6 +331,9 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
 
     final int handle = debugger.startRuntimeMeasurement(this, "createWhere");
     try {
+      if (lateralJoin) {
+        return null;
+      }
       if (hasRowLimit(lastInfo)) {
         return createWhereByRowNumber(target, lastInfo);
       }
@@ -339,4 +353,86 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
       debugger.stopRuntimeMeasurement(handle);
     }
   }
+
+  /**
+   * A lateral join restricts the number of entities per parent within the database without the need to number all
+   * entities of all parents. It is used instead of the window function ROW_NUMBER, if the database supports it. As
+   * the join table would have to become part of the lateral sub query, associations with join table are excluded, as
+   * well as ordering by navigation properties, which requires a grouping.
+   * @param orderByAttributes
+   * @return
+   */
+  boolean useLateralJoin(final List<JPAAssociationPath> orderByAttributes) {
+    final JPAODataDatabaseProcessor dbProcessor = requestContext.getDatabaseProcessor();
+    return hasRowLimit(lastInfo)
+        && orderByAttributes.isEmpty()
+        && !association.hasJoinTable()
+        && dbProcessor != null
+        && dbProcessor.isLateralJoinSupported();
+  }
+
+  /**
+   * Creates the FROM clause in case of a lateral join:
+   * <p>
+   * <code>
+   * FROM (SELECT E1."CodePublisher", E1."CodeID", E1."DivisionCode" FROM ... ) E0,<br>
+   * LATERAL (SELECT E2."CodePublisher", E2."ParentCodeID", ... FROM "OLINGO"."AdministrativeDivision" E2<br>
+   * WHERE (E2."CodePublisher" = E0.S0) AND ... ORDER BY ... LIMIT 2) AS E3
+   * </code>
+   * @return The lateral root
+   */
+  private Root<?> createFromClauseLateral(final ProcessorCriteriaQuery<Tuple> tq,
+      final Collection<JPAPath> selectionPath, final Subquery<Object> sq) throws ODataApplicationException {
+
+    final From<?, ?> parent = tq.from((ProcessorSubquery<?>) sq);
+    final ProcessorSubquery<?> lateral = tq.subquery(jpaEntity.getTypeClass());
+    final Map<String, From<?, ?>> lateralJoinTables = new HashMap<>();
+    // The filter of the expand is compiled against the root of the lateral sub query
+    this.root = lateral.from(jpaEntity.getTypeClass());
+    this.target = root;
+    lastInfo.setFromClause(target);
+    createFromClauseDescriptionFields(selectionPath, lateralJoinTables, target, singletonList(lastInfo));
+    lateral.multiselect(createSelectClauseLateral(lateralJoinTables, selectionPath));
+    lateral.where(createWhereLateral(parent));
+    lateral.orderBy(new JPAOrderByBuilder(jpaEntity, target, cb, groups)
+        .createOrderByList(lateralJoinTables, lastInfo.getUriInfo(), null));
+    lateral.setFirstResult(Optional.ofNullable(lastInfo.getUriInfo().getSkipOption())
+        .map(SkipOption::getValue)
+        .orElse(null));
+    lateral.setMaxResults(Optional.ofNullable(lastInfo.getUriInfo().getTopOption())
+        .map(TopOption::getValue)
+        .orElse(null));
+    debugger.trace(this, "Lateral sub query created for %s", jpaEntity);
+    return tq.lateral(lateral);
+  }
+
+  private List<Selection<?>> createSelectClauseLateral(final Map<String, From<?, ?>> joinTables,
+      final Collection<JPAPath> selectionPath) {
+
+    final List<Selection<?>> selections = new ArrayList<>(selectionPath.size());
+    for (final JPAPath jpaPath : selectionPath) {
+      if (jpaPath.isPartOfGroups(groups)) {
+        final Path<?> p = ExpressionUtil.convertToCriteriaPath(joinTables, target, jpaPath.getPath());
+        p.alias(jpaPath.getAlias());
+        selections.add(p);
+      }
+    }
+    return selections;
+  }
+
+  private Expression<Boolean> createWhereLateral(final From<?, ?> parent) throws ODataApplicationException {
+    try {
+      Expression<Boolean> whereCondition = createWhereByKey(lastInfo);
+      for (final JPAOnConditionItem joinColumn : association.getJoinColumnsList()) {
+        whereCondition = addWhereClause(whereCondition, cb.equal(
+            target.get(joinColumn.getRightPath().getLeaf().getInternalName()),
+            parent.get(joinColumn.getLeftPath().getLeaf().getInternalName())));
+      }
+      whereCondition = addWhereClause(whereCondition, createExpandWhere(lastInfo));
+      return addWhereClause(whereCondition, createProtectionWhereForEntityType(claimsProvider, jpaEntity, target));
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_ERROR,
+          HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+  }
 }
@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.persistence.Tuple;
@@ -30,10 +31,14 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPACollectionAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery {
+  private Optional<Long> resultCount = Optional.empty();
 
   private static List<JPANavigationPropertyInfo> determineNavigationInfo(
       final JPAServiceDocument sd, final UriInfoResource uriResource) throws ODataException {
@@ -110,19 +115,38 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
 
   @Override
   public JPAConvertibleResult execute() throws ODataApplicationException {
+    return execute(false);
+  }
+
+  /**
+   * Executes the query. If requested, the root rows are read via {@link TypedQuery#getResultStream()}, so that they
+   * can be converted one by one while the response is written, see
+   * {@link JPAConvertibleResult#asEntityIterator(com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter)}.
+   * This is only done if the rows are not needed up front, otherwise they are read as a list. Whether the rows get
+   * read lazily from the database depends on the JPA provider. The stream has to be consumed before the entity manager
+   * gets closed.
+   * @param streamRootRows True if the root rows shall be streamed
+   * @return
+   * @throws ODataApplicationException
+   */
+  public JPAConvertibleResult execute(final boolean streamRootRows) throws ODataApplicationException {
     // Pre-process URI parameter, so they can be used at different places
     final int handle = debugger.startRuntimeMeasurement(this, "execute");
 
     final List<JPAAssociationPath> orderByNaviAttributes = extractOrderByNaviAttributes(uriResource.getOrderByOption());
     final SelectionPathInfo<JPAPath> selectionPath = buildSelectionPathList(this.uriResource);
     try {
+      final Optional<JPAKeysetBuilder> keyset = createKeysetBuilder();
+      if (keyset.isPresent())
+        selectionPath.getRequiredSelections().addAll(keyset.get().getKeyset());
       final Map<String, From<?, ?>> joinTables = createFromClause(orderByNaviAttributes,
           selectionPath.joinedPersistent(), cq, lastInfo);
 
       cq.multiselect(createSelectClause(joinTables, selectionPath.joinedPersistent(), target, groups))
           .distinct(determineDistinct());
 
-      final javax.persistence.criteria.Expression<Boolean> whereClause = createWhere();
+      final javax.persistence.criteria.Expression<Boolean> whereClause = addWhereClause(createWhere(),
+          createSeekCondition(keyset));
       if (whereClause != null)
         cq.where(whereClause);
 
@@ -134,20 +158,38 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
       final TypedQuery<Tuple> tq = em.createQuery(cq);
       addTopSkip(tq);
 
-      final HashMap<String, List<Tuple>> result = new HashMap<>(1);
+      if (streamRootRows && isStreamable()) {
+        final int resultHandle = debugger.startRuntimeMeasurement(tq, "getResultStream");
+        final Stream<Tuple> rows = tq.getResultStream();
+        debugger.stopRuntimeMeasurement(resultHandle);
+        return new JPAExpandQueryResult(rows, determineODataTargetEntityType(requestContext),
+            selectionPath.joinedRequested());
+      }
+      final HashMap<JPAResultKey, List<Tuple>> result = new HashMap<>(1);
       final int resultHandle = debugger.startRuntimeMeasurement(tq, "getResultList");
       final List<Tuple> intermediateResult = tq.getResultList();
 
       debugger.stopRuntimeMeasurement(resultHandle);
+      setPageResult(keyset, intermediateResult);
+      resultCount = deriveResultCount(intermediateResult.size());
       result.put(ROOT_RESULT_KEY, intermediateResult);
       return returnResult(selectionPath.joinedRequested(), result);
     } catch (final JPANoSelectionException e) {
+      resultCount = Optional.of(0L);
       return returnEmptyResult(selectionPath.joinedRequested());
     } finally {
       debugger.stopRuntimeMeasurement(handle);
     }
   }
 
+  /**
+   * @return The number of results of the request ignoring $top and $skip, in case it could be derived from the result
+   * of {@link #execute()}. This is the case if the result was not cut by $top or paging.
+   */
+  public Optional<Long> getResultCount() {
+    return resultCount;
+  }
+
   public List<JPANavigationPropertyInfo> getNavigationInfo() {
     return navigationInfo;
   }
@@ -158,6 +200,76 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
     return cq;
   }
 
+  /**
+   * In case of a keyset page, a builder for the seek condition is created. The builder is only returned if the rows
+   * of the page can be determined by the values of the last row of the previous page.
+   */
+  private Optional<JPAKeysetBuilder> createKeysetBuilder() throws ODataApplicationException {
+    if (page instanceof JPAODataKeysetPage) {
+      final JPAKeysetBuilder builder = new JPAKeysetBuilder(odata, jpaEntity, cb, uriResource.getOrderByOption());
+      if (builder.isSeekable())
+        return Optional.of(builder);
+    }
+    return Optional.empty();
+  }
+
+  private javax.persistence.criteria.Expression<Boolean> createSeekCondition(final Optional<JPAKeysetBuilder> keyset)
+      throws ODataJPAQueryException {
+    if (keyset.isPresent() && !((JPAODataKeysetPage) page).getLastValues().isEmpty())
+      return keyset.get().createSeekCondition(target, ((JPAODataKeysetPage) page).getLastValues());
+    return null;
+  }
+
+  private void setPageResult(final Optional<JPAKeysetBuilder> keyset, final List<Tuple> intermediateResult) {
+    if (page instanceof JPAODataKeysetPage) {
+      final List<String> lastValues = keyset.isPresent() && !intermediateResult.isEmpty()
+          ? keyset.get().determineLastValues(intermediateResult.get(intermediateResult.size() - 1))
+          : Collections.emptyList();
+      ((JPAODataKeysetPage) page).setPageResult(intermediateResult.size(), lastValues);
+    }
+  }
+
+  /**
+   * The number of results can be derived if each row represents an entity and no rows were cut off. To be on the safe
+   * side, the first is only assumed for requests without navigation. Rows may have been cut off if the maximum number
+   * of rows was read, rows were skipped, but nothing was found, or a keyset page restricted the rows.
+   */
+  private Optional<Long> deriveResultCount(final int noResults) {
+    if (navigationInfo.size() > 1 || isCollectionProperty()
+        || (page instanceof JPAODataKeysetPage && !((JPAODataKeysetPage) page).getLastValues().isEmpty()))
+      return Optional.empty();
+    final Optional<Integer> top = determineTopNumber();
+    final int skip = determineSkipNumber().orElse(0);
+    if ((top.isPresent() && noResults >= top.get()) || (skip > 0 && noResults == 0))
+      return Optional.empty();
+    return Optional.of((long) skip + noResults);
+  }
+
+  /**
+   * The root rows can be streamed if they are not needed before they are converted. This is not the case if a keyset
+   * page needs the last row, the request ends at a collection property, or the rows are needed to determine the key
+   * boundary of $expand or collection property queries. The later is only the case if the result may be cut by $top,
+   * $skip or paging.
+   */
+  private boolean isStreamable() throws ODataJPAQueryException {
+    if (page instanceof JPAODataKeysetPage || isCollectionProperty())
+      return false;
+    final boolean hasChildren;
+    try {
+      hasChildren = uriResource.getExpandOption() != null || !jpaEntity.getCollectionAttributesPath().isEmpty();
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, INTERNAL_SERVER_ERROR);
+    }
+    final boolean isRestricted = uriResource.getTopOption() != null || uriResource.getSkipOption() != null
+        || (page != null && (page.getSkip() != 0 || page.getTop() != Integer.MAX_VALUE));
+    return !(hasChildren && isRestricted);
+  }
+
+  private boolean isCollectionProperty() {
+    return lastInfo.getAssociationPath() != null
+        && (lastInfo.getAssociationPath().getLeaf() instanceof JPACollectionAttribute);
+  }
+
   private javax.persistence.criteria.Expression<Boolean> createWhere() throws ODataApplicationException {
     return addWhereClause(super.createWhere(uriResource, navigationInfo), createProtectionWhere(claimsProvider));
   }
@@ -179,7 +291,7 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
   }
 
   private JPAConvertibleResult returnResult(@Nonnull final Collection<JPAPath> selectionPath,
-      final HashMap<String, List<Tuple>> result) throws ODataApplicationException {
+      final HashMap<JPAResultKey, List<Tuple>> result) throws ODataApplicationException {
     final JPAEntityType odataEntityType = determineODataTargetEntityType(requestContext);
     if (lastInfo.getAssociationPath() != null
         && (lastInfo.getAssociationPath().getLeaf() instanceof JPACollectionAttribute))
@@ -0,0 +1,203 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_INVALID_VALUE;
+import static org.apache.olingo.commons.api.http.HttpStatusCode.BAD_REQUEST;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Path;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.olingo.commons.api.edm.provider.CsdlProperty;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceComplexProperty;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPADescriptionAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAElement;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAFilterException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
+
+/**
+ * Constructor of the condition used by keyset (seek) based paging. The keyset consists of the properties of the
+ * $orderby followed by the primary key, which is the order the {@link JPAOrderByBuilder} creates for a paged request.
+ * <p>
+ * As a row value comparison like <code>(k1, k2) > (?, ?)</code> can not be expressed with the criteria builder, the
+ * condition is expanded to <code>k1 > ? OR (k1 = ? AND k2 > ?)</code>. A descending order leads to a less than.<p>
+ * Seeking is only possible if all elements of the keyset are simple, not nullable properties of the queried entity.
+ * Otherwise, e.g. for an order by a $count, the page has to be read using an offset.
+ */
+final class JPAKeysetBuilder {
+  private static final Log LOGGER = LogFactory.getLog(JPAKeysetBuilder.class);
+  private final OData odata;
+  private final CriteriaBuilder cb;
+  private final List<JPAPath> keyset;
+  private final List<Boolean> descending;
+
+  JPAKeysetBuilder(@Nonnull final OData odata, @Nonnull final JPAEntityType jpaEntity,
+      @Nonnull final CriteriaBuilder cb, @CheckForNull final OrderByOption orderBy) throws ODataJPAQueryException {
+    super();
+    this.odata = odata;
+    this.cb = cb;
+    this.keyset = new ArrayList<>();
+    this.descending = new ArrayList<>();
+    try {
+      if (!addOrderBy(jpaEntity, orderBy) || !addKey(jpaEntity)) {
+        LOGGER.trace("Keyset not usable: use offset");
+        keyset.clear();
+        descending.clear();
+      }
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, BAD_REQUEST);
+    }
+  }
+
+  /**
+   * @return True if the rows of a page can be determined by the values of the last row of the previous page
+   */
+  boolean isSeekable() {
+    return !keyset.isEmpty();
+  }
+
+  /**
+   * @return Paths of the keyset in the sequence of the order by. Empty if not seekable.
+   */
+  List<JPAPath> getKeyset() {
+    return Collections.unmodifiableList(keyset);
+  }
+
+  /**
+   * Creates the condition restricting the result to the rows following the row with the given values.
+   * @param target
+   * @param lastValues Values of the last row of the previous page
+   * @return
+   * @throws ODataJPAQueryException In case the values do not match the keyset
+   */
+  @SuppressWarnings("unchecked")
+  @Nonnull
+  <Y extends Comparable<? super Y>> Expression<Boolean> createSeekCondition(@Nonnull final From<?, ?> target,
+      @Nonnull final List<String> lastValues) throws ODataJPAQueryException {
+
+    if (lastValues.size() != keyset.size())
+      throw new ODataJPAQueryException(QUERY_PREPARATION_INVALID_VALUE, BAD_REQUEST, String.join(",", lastValues),
+          "$skiptoken");
+    Expression<Boolean> seekCondition = null;
+    Expression<Boolean> equalCondition = null;
+    for (int i = 0; i < keyset.size(); i++) {
+      final JPAPath jpaPath = keyset.get(i);
+      final Path<Y> path = (Path<Y>) ExpressionUtil.convertToCriteriaPath(target, jpaPath.getPath());
+      final Y value = (Y) convertValue(jpaPath, lastValues.get(i));
+      final Expression<Boolean> following = Boolean.TRUE.equals(descending.get(i))
+          ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+      final Expression<Boolean> fragment = equalCondition == null ? following : cb.and(equalCondition, following);
+      seekCondition = seekCondition == null ? fragment : cb.or(seekCondition, fragment);
+      final Expression<Boolean> equal = cb.equal(path, value);
+      equalCondition = equalCondition == null ? equal : cb.and(equalCondition, equal);
+    }
+    return seekCondition;
+  }
+
+  /**
+   * Determines the values of the keyset of a row.
+   * @param row
+   * @return The values in the sequence of the order by. Empty if a value is null or can not be converted.
+   */
+  @Nonnull
+  List<String> determineLastValues(@Nonnull final Tuple row) {
+    final List<String> lastValues = new ArrayList<>(keyset.size());
+    for (final JPAPath jpaPath : keyset) {
+      final Object value = row.get(jpaPath.getAlias());
+      if (value == null)
+        return Collections.emptyList();
+      try {
+        lastValues.add(ExpressionUtil.convertValueToString(odata, jpaPath.getLeaf(), value));
+      } catch (final ODataJPAFilterException e) {
+        LOGGER.debug("Keyset value of " + jpaPath.getAlias() + " could not be converted: use offset", e);
+        return Collections.emptyList();
+      }
+    }
+    return lastValues;
+  }
+
+  private boolean addOrderBy(final JPAEntityType jpaEntity, final OrderByOption orderBy)
+      throws ODataJPAModelException {
+
+    if (orderBy != null) {
+      for (final OrderByItem orderByItem : orderBy.getOrders()) {
+        if (!(orderByItem.getExpression() instanceof Member))
+          return false;
+        final StringBuilder externalPath = new StringBuilder();
+        for (final UriResource uriResourceItem : ((Member) orderByItem.getExpression()).getResourcePath()
+            .getUriResourceParts()) {
+          if (!isSimpleProperty(uriResourceItem))
+            return false;
+          if (externalPath.length() > 0)
+            externalPath.append(JPAPath.PATH_SEPARATOR);
+          externalPath.append(((UriResourceProperty) uriResourceItem).getProperty().getName());
+        }
+        final JPAPath jpaPath = jpaEntity.getPath(externalPath.toString());
+        if (jpaPath == null || !isSeekable(jpaPath))
+          return false;
+        keyset.add(jpaPath);
+        descending.add(orderByItem.isDescending());
+      }
+    }
+    return true;
+  }
+
+  private boolean addKey(final JPAEntityType jpaEntity) throws ODataJPAModelException {
+    for (final JPAPath jpaPath : jpaEntity.getKeyPath()) {
+      if (!isSeekable(jpaPath))
+        return false;
+      if (!keyset.contains(jpaPath)) {
+        keyset.add(jpaPath);
+        descending.add(Boolean.FALSE);
+      }
+    }
+    return true;
+  }
+
+  private Object convertValue(final JPAPath jpaPath, final String value) throws ODataJPAQueryException {
+    try {
+      return ExpressionUtil.convertValueOnAttribute(odata, jpaPath.getLeaf(), value, false);
+    } catch (final ODataJPAFilterException e) {
+      throw new ODataJPAQueryException(QUERY_PREPARATION_INVALID_VALUE, BAD_REQUEST, value, "$skiptoken");
+    }
+  }
+
+  private boolean isSeekable(final JPAPath jpaPath) throws ODataJPAModelException {
+    final JPAAttribute leaf = jpaPath.getLeaf();
+    if (leaf.isComplex() || leaf.isEnum() || leaf.isTransient() || leaf instanceof JPADescriptionAttribute)
+      return false;
+    for (final JPAElement pathElement : jpaPath.getPath()) {
+      if (pathElement instanceof JPAAttribute
+          && ((CsdlProperty) ((JPAAttribute) pathElement).getProperty()).isNullable())
+        return false;
+    }
+    return true;
+  }
+
+  private boolean isSimpleProperty(final UriResource uriResourceItem) {
+    return (uriResourceItem instanceof UriResourcePrimitiveProperty
+        || uriResourceItem instanceof UriResourceComplexProperty)
+        && !((UriResourceProperty) uriResourceItem).isCollection();
+  }
+}
@@ -0,0 +1,252 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_FILTER_ERROR;
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_PREPARATION_SET_BASED_NOT_SUPPORTED;
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException.MessageKeys.QUERY_RESULT_ENTITY_TYPE_ERROR;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAStructuredType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
+import com.sap.olingo.jpa.processor.core.filter.JPAFilterCrossComplier;
+import com.sap.olingo.jpa.processor.core.filter.JPAOperationConverter;
+
+/**
+ * Creates the statements of set-based requests like <code>DELETE Organizations?$filter=Country eq 'DEU'</code> or
+ * <code>PATCH Organizations/$filter(Country eq 'DEU')/$each</code>, so all entities matching the filter are changed
+ * with one statement.<p>
+ * The filter may contain navigations, which are resolved by the filter complier via sub-queries of the parent query.
+ * Delete and update statements can not act as such a parent, so the filter and the restrictions given by the claims
+ * are put into a sub-query correlated by the entity:<br>
+ * <code>DELETE FROM Organization o WHERE EXISTS (SELECT s FROM Organization s WHERE s = o AND ...)</code><p>
+ * In addition conditional updates of a single entity can be created. They are restricted by the key and the version
+ * of the entity, so an entity can be changed without reading it before.<p>
+ * Delete and update statements are not supported by the criteria builder of the processor-cb module, so the request
+ * context has to provide the entity manager of the JPA provider.
+ * @since 1.0.9
+ */
+public final class JPASetBasedModifyQuery extends JPAAbstractQuery {
+  private static final Set<Class<?>> VERSION_TYPES = new HashSet<>(Arrays.asList(Short.class, Integer.class,
+      Long.class));
+  private final JPAODataRequestContextAccess requestContext;
+  private Subquery<?> subQuery;
+  private From<?, ?> queryRoot;
+
+  public JPASetBasedModifyQuery(final OData odata, final JPAEntityType jpaEntityType,
+      final JPAODataRequestContextAccess requestContext) throws ODataException {
+    super(odata, jpaEntityType, requestContext);
+    this.requestContext = requestContext;
+    this.locale = requestContext.getLocale();
+  }
+
+  /**
+   * Creates a statement deleting all entities that match the filter of the request.
+   * @return
+   * @throws ODataApplicationException
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public <T> CriteriaDelete<T> createDelete() throws ODataApplicationException {
+    final Class<T> typeClass = (Class<T>) jpaEntity.getTypeClass();
+    final CriteriaDelete<T> delete = cb.createCriteriaDelete(typeClass);
+    final Root<T> root = delete.from(typeClass);
+    delete.where(createExists(delete, root, typeClass));
+    return delete;
+  }
+
+  /**
+   * Creates a statement setting the given values at all entities that match the filter of the request.
+   * @param jpaAttributes Values to be set in the internal format, so the attribute names are the internal names and
+   * embedded attributes are given as map.
+   * @return
+   * @throws ODataApplicationException Thrown if an attribute is not known or can not be changed by a set-based update,
+   * like key attributes, collections, navigation properties and protected attributes
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public <T> CriteriaUpdate<T> createUpdate(@Nonnull final Map<String, Object> jpaAttributes)
+      throws ODataApplicationException {
+    final Class<T> typeClass = (Class<T>) jpaEntity.getTypeClass();
+    final CriteriaUpdate<T> update = cb.createCriteriaUpdate(typeClass);
+    final Root<T> root = update.from(typeClass);
+    addSetClause(update, root, jpaEntity, jpaAttributes);
+    update.where(createExists(update, root, typeClass));
+    return update;
+  }
+
+  /**
+   * Creates a statement changing the entity with the given key, provided it still has the given version. The version
+   * is increased by the statement:<br>
+   * <code>UPDATE Organization o SET o.name1 = ?, o.eTag = o.eTag + 1 WHERE o.iD = ? AND o.eTag = ?</code>
+   * @param keys Values of the key attributes in the internal format
+   * @param eTag Expected value of the version
+   * @param jpaAttributes Values to be set in the internal format
+   * @return
+   * @throws ODataJPAQueryException Thrown if an attribute can not be changed by an update statement
+   * @see #isConditionalUpdatePossible(Map)
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public <T> CriteriaUpdate<T> createConditionalUpdate(@Nonnull final Map<String, Object> keys,
+      @Nonnull final Object eTag, @Nonnull final Map<String, Object> jpaAttributes) throws ODataJPAQueryException {
+
+    final Class<T> typeClass = (Class<T>) jpaEntity.getTypeClass();
+    final CriteriaUpdate<T> update = cb.createCriteriaUpdate(typeClass);
+    final Root<T> root = update.from(typeClass);
+    addSetClause(update, root, jpaEntity, jpaAttributes);
+    try {
+      final Path<Number> version = (Path<Number>) ExpressionUtil.convertToCriteriaPath(root, jpaEntity.getEtagPath()
+          .getPath());
+      update.set(version, cb.sum(version, 1));
+      Expression<Boolean> whereCondition = cb.equal(version, eTag);
+      for (final JPAPath keyPath : jpaEntity.getKeyPath())
+        whereCondition = addWhereClause(whereCondition, cb.equal(ExpressionUtil.convertToCriteriaPath(root, keyPath
+            .getPath()), keys.get(keyPath.getLeaf().getInternalName())));
+      whereCondition = addWhereClause(whereCondition, createProtectionWhereForEntityType(claimsProvider, jpaEntity,
+          root));
+      update.where(whereCondition);
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(QUERY_RESULT_ENTITY_TYPE_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+    return update;
+  }
+
+  /**
+   * Checks if a conditional update can be created: The entity type must have a numeric version and all attributes
+   * have to be changeable by an update statement. The version itself must not be part of the attributes.
+   * @param jpaAttributes Values to be set in the internal format
+   * @return
+   * @throws ODataJPAQueryException
+   */
+  public boolean isConditionalUpdatePossible(@Nonnull final Map<String, Object> jpaAttributes)
+      throws ODataJPAQueryException {
+    try {
+      if (!jpaEntity.hasEtag())
+        return false;
+      final JPAAttribute version = jpaEntity.getEtagPath().getLeaf();
+      return version.getConverter() == null
+          && VERSION_TYPES.contains(version.getType())
+          && !jpaAttributes.containsKey(version.getInternalName())
+          && isChangeable(jpaEntity, jpaAttributes);
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(QUERY_RESULT_ENTITY_TYPE_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> AbstractQuery<T> getQuery() {
+    return (AbstractQuery<T>) subQuery;
+  }
+
+  @Override
+  public From<?, ?> getRoot() {
+    return queryRoot;
+  }
+
+  @Override
+  protected Locale getLocale() {
+    return locale;
+  }
+
+  @Override
+  JPAODataRequestContextAccess getContext() {
+    return requestContext;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addSetClause(final CriteriaUpdate<?> update, final Path<?> path, final JPAStructuredType st,
+      final Map<String, Object> jpaAttributes) throws ODataJPAQueryException {
+
+    try {
+      for (final Entry<String, Object> value : jpaAttributes.entrySet()) {
+        final JPAAttribute attribute = st.getAttribute(value.getKey())
+            .orElseThrow(() -> new ODataJPAQueryException(QUERY_PREPARATION_SET_BASED_NOT_SUPPORTED,
+                HttpStatusCode.BAD_REQUEST, value.getKey()));
+        if (!isChangeable(attribute))
+          throw new ODataJPAQueryException(QUERY_PREPARATION_SET_BASED_NOT_SUPPORTED, HttpStatusCode.BAD_REQUEST,
+              attribute.getExternalName());
+        if (attribute.isComplex() && value.getValue() instanceof Map<?, ?>)
+          addSetClause(update, path.get(attribute.getInternalName()), attribute.getStructuredType(),
+              (Map<String, Object>) value.getValue());
+        else
+          update.set(path.get(attribute.getInternalName()), value.getValue());
+      }
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(QUERY_RESULT_ENTITY_TYPE_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private boolean isChangeable(final JPAStructuredType st, final Map<String, Object> jpaAttributes)
+      throws ODataJPAModelException {
+
+    for (final Entry<String, Object> value : jpaAttributes.entrySet()) {
+      final JPAAttribute attribute = st.getAttribute(value.getKey()).orElse(null);
+      if (attribute == null || !isChangeable(attribute))
+        return false;
+      if (attribute.isComplex() && value.getValue() instanceof Map<?, ?>
+          && !isChangeable(attribute.getStructuredType(), (Map<String, Object>) value.getValue()))
+        return false;
+    }
+    return true;
+  }
+
+  private boolean isChangeable(final JPAAttribute attribute) {
+    return !(attribute.isKey() || attribute.isCollection() || attribute.isAssociation() || attribute.isTransient()
+        || attribute.hasProtection());
+  }
+
+  private <T> Expression<Boolean> createExists(final CommonAbstractCriteria target, final Root<T> root,
+      final Class<T> typeClass) throws ODataApplicationException {
+
+    final Subquery<T> existsQuery = target.subquery(typeClass);
+    final Root<T> existsRoot = existsQuery.from(typeClass);
+    this.subQuery = existsQuery;
+    this.queryRoot = existsRoot;
+
+    Expression<Boolean> whereCondition = cb.equal(existsRoot, root);
+    whereCondition = addWhereClause(whereCondition, createFilter());
+    whereCondition = addWhereClause(whereCondition, createProtectionWhereForEntityType(claimsProvider, jpaEntity,
+        existsRoot));
+    existsQuery.select(existsRoot).where(whereCondition);
+    return cb.exists(existsQuery);
+  }
+
+  private Expression<Boolean> createFilter() throws ODataApplicationException {
+    final JPAOperationConverter converter = new JPAOperationConverter(cb, requestContext.getOperationConverter());
+    try {
+      return new JPAFilterCrossComplier(odata, sd, jpaEntity, converter, this, queryRoot, null, requestContext)
+          .compile();
+    } catch (final ExpressionVisitException e) {
+      throw new ODataJPAQueryException(QUERY_PREPARATION_FILTER_ERROR, HttpStatusCode.BAD_REQUEST, e);
+    }
+  }
+}
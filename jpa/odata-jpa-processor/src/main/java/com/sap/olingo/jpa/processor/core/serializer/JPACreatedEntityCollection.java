@@ -0,0 +1,12 @@
+package com.sap.olingo.jpa.processor.core.serializer;
+
+import org.apache.olingo.commons.api.data.EntityCollection;
+
+/**
+ * Result of a create request that contained a collection of entities. Other than the result of a create request for
+ * a single entity, it is serialized as collection, even if it contains only one or no entity.
+ * @since 1.0.9
+ */
+public final class JPACreatedEntityCollection extends EntityCollection {
+
+}
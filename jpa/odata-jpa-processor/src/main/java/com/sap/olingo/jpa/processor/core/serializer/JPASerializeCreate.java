@@ -7,12 +7,14 @@ import java.util.List;
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.edm.EdmBindingTarget;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmType;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
 import org.apache.olingo.server.api.serializer.EntitySerializerOptions;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
@@ -36,6 +38,10 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
 import com.sap.olingo.jpa.processor.core.query.Util;
 
+/**
+ * Serializes the result of a create request. In case a collection of entities was created, the result is a
+ * {@link JPACreatedEntityCollection} and serialized as collection.
+ */
 final class JPASerializeCreate implements JPASerializer {
   private final ServiceMetadata serviceMetadata;
   private final UriInfo uriInfo;
@@ -63,6 +69,9 @@ final class JPASerializeCreate implements JPASerializer {
     final EdmBindingTarget targetEdmBindingTarget = Util.determineBindingTarget(uriInfo.getUriResourceParts());
     final EdmEntityType entityType = targetEdmBindingTarget.getEntityType();
     try {
+      if (result instanceof JPACreatedEntityCollection)
+        return serializeCollection(request, result, targetEdmBindingTarget, expandOption);
+
       final ContextURL contextUrl = ContextURL.with()
           .serviceRoot(buildServiceRoot(request, serviceContext))
           .entitySetOrSingletonOrType(targetEdmBindingTarget.getName())
@@ -82,6 +91,23 @@ final class JPASerializeCreate implements JPASerializer {
     }
   }
 
+  private SerializerResult serializeCollection(final ODataRequest request, final EntityCollection result,
+      final EdmBindingTarget targetEdmBindingTarget, final ExpandOption expandOption) throws URISyntaxException,
+      SerializerException {
+
+    final ContextURL contextUrl = ContextURL.with()
+        .serviceRoot(buildServiceRoot(request, serviceContext))
+        .entitySet((EdmEntitySet) targetEdmBindingTarget)
+        .build();
+
+    final EntityCollectionSerializerOptions options = EntityCollectionSerializerOptions.with()
+        .contextURL(contextUrl)
+        .expand(expandOption)
+        .build();
+
+    return serializer.entityCollection(serviceMetadata, targetEdmBindingTarget.getEntityType(), result, options);
+  }
+
   private class ExpandItemWrapper implements ExpandItem {
 
     @Override
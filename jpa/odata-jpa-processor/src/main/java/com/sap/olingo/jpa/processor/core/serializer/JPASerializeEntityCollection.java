@@ -5,6 +5,7 @@ import java.net.URISyntaxException;
 import org.apache.olingo.commons.api.data.Annotatable;
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.edm.EdmBindingTarget;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmType;
@@ -16,6 +17,7 @@ import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.serializer.SerializerResult;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
 import org.apache.olingo.server.api.uri.UriHelper;
 import org.apache.olingo.server.api.uri.UriInfo;
 
@@ -23,7 +25,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
 import com.sap.olingo.jpa.processor.core.query.Util;
 
-final class JPASerializeEntityCollection implements JPAOperationSerializer {
+final class JPASerializeEntityCollection implements JPAOperationSerializer, JPAStreamSerializer {
   private final ServiceMetadata serviceMetadata;
   private final UriInfo uriInfo;
   private final UriHelper uriHelper;
@@ -47,61 +49,78 @@ final class JPASerializeEntityCollection implements JPAOperationSerializer {
       throws SerializerException, ODataJPASerializerException {
 
     final EdmBindingTarget targetEdmBindingTarget = Util.determineBindingTarget(uriInfo.getUriResourceParts());
+    return serializer.entityCollection(this.serviceMetadata, targetEdmBindingTarget.getEntityType(), result,
+        createOptions(request, targetEdmBindingTarget));
+  }
 
-    final String selectList = uriHelper.buildContextURLSelectList(targetEdmBindingTarget.getEntityType(),
-        uriInfo.getExpandOption(), uriInfo.getSelectOption());
+  @Override
+  public SerializerStreamResult serialize(final ODataRequest request, final EntityIterator result)
+      throws SerializerException, ODataJPASerializerException {
+
+    final EdmBindingTarget targetEdmBindingTarget = Util.determineBindingTarget(uriInfo.getUriResourceParts());
+    return serializer.entityCollectionStreamed(this.serviceMetadata, targetEdmBindingTarget.getEntityType(), result,
+        createOptions(request, targetEdmBindingTarget));
+  }
+
+  @Override
+  public boolean useStreaming() {
+    return serviceContext.useStreamingSerialization();
+  }
+
+  @Override
+  public SerializerResult serialize(final Annotatable annotatable, final EdmType entityType, final ODataRequest request)
+      throws SerializerException, ODataJPASerializerException {
+
+    final EntityCollection result = (EntityCollection) annotatable;
+    final String selectList = uriHelper.buildContextURLSelectList((EdmEntityType) entityType, uriInfo.getExpandOption(),
+        uriInfo.getSelectOption());
 
     ContextURL contextUrl;
     try {
       contextUrl = ContextURL.with()
           .serviceRoot(buildServiceRoot(request, serviceContext))
-          .entitySetOrSingletonOrType(targetEdmBindingTarget.getName())
+          .asCollection()
+          .type(entityType)
           .selectList(selectList)
           .build();
     } catch (final URISyntaxException e) {
       throw new ODataJPASerializerException(e, HttpStatusCode.BAD_REQUEST);
     }
 
-    final String id = request.getRawBaseUri() + "/" + targetEdmBindingTarget.getEntityType().getName();
-    final EntityCollectionSerializerOptions opts = EntityCollectionSerializerOptions.with()
+    final EntityCollectionSerializerOptions options = EntityCollectionSerializerOptions.with()
         .contextURL(contextUrl)
-        .id(id)
-        .count(uriInfo.getCountOption())
         .select(uriInfo.getSelectOption())
         .expand(uriInfo.getExpandOption())
         .build();
 
-    return serializer.entityCollection(this.serviceMetadata, targetEdmBindingTarget.getEntityType(), result, opts);
-
+    return serializer.entityCollection(serviceMetadata, (EdmEntityType) entityType, result, options);
   }
 
-  @Override
-  public SerializerResult serialize(final Annotatable annotatable, final EdmType entityType, final ODataRequest request)
-      throws SerializerException, ODataJPASerializerException {
+  private EntityCollectionSerializerOptions createOptions(final ODataRequest request,
+      final EdmBindingTarget targetEdmBindingTarget) throws SerializerException, ODataJPASerializerException {
 
-    final EntityCollection result = (EntityCollection) annotatable;
-    final String selectList = uriHelper.buildContextURLSelectList((EdmEntityType) entityType, uriInfo.getExpandOption(),
-        uriInfo.getSelectOption());
+    final String selectList = uriHelper.buildContextURLSelectList(targetEdmBindingTarget.getEntityType(),
+        uriInfo.getExpandOption(), uriInfo.getSelectOption());
 
     ContextURL contextUrl;
     try {
       contextUrl = ContextURL.with()
           .serviceRoot(buildServiceRoot(request, serviceContext))
-          .asCollection()
-          .type(entityType)
+          .entitySetOrSingletonOrType(targetEdmBindingTarget.getName())
           .selectList(selectList)
           .build();
     } catch (final URISyntaxException e) {
       throw new ODataJPASerializerException(e, HttpStatusCode.BAD_REQUEST);
     }
 
-    final EntityCollectionSerializerOptions options = EntityCollectionSerializerOptions.with()
+    final String id = request.getRawBaseUri() + "/" + targetEdmBindingTarget.getEntityType().getName();
+    return EntityCollectionSerializerOptions.with()
         .contextURL(contextUrl)
+        .id(id)
+        .count(uriInfo.getCountOption())
         .select(uriInfo.getSelectOption())
         .expand(uriInfo.getExpandOption())
         .build();
-
-    return serializer.entityCollection(serviceMetadata, (EdmEntityType) entityType, result, options);
   }
 
   @Override
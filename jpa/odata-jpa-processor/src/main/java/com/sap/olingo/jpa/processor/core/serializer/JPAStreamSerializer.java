@@ -0,0 +1,22 @@
+package com.sap.olingo.jpa.processor.core.serializer;
+
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
+
+/**
+ * Serializer that is able to write an entity collection directly into the response, while the entities are created.
+ */
+public interface JPAStreamSerializer extends JPASerializer {
+
+  public SerializerStreamResult serialize(final ODataRequest request, final EntityIterator result)
+      throws SerializerException, ODataJPASerializerException;
+
+  /**
+   * @return <code>true</code> if streaming has been requested for the service
+   */
+  public boolean useStreaming();
+}
@@ -0,0 +1,221 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class JPAODataCachingPagingProviderTest extends TestBase {
+  private static final String BASE_URI = "http://localhost:8080/Test/Olingo.svc";
+  private JPACountQuery countQuery;
+  private Map<String, Integer> sizes;
+  private OData odata;
+  private ServiceMetadata serviceMetadata;
+
+  @BeforeEach
+  void setup() throws ODataException {
+    countQuery = mock(JPACountQuery.class);
+    when(countQuery.countResults()).thenReturn(10L);
+    sizes = new HashMap<>();
+    sizes.put("Organizations", 4);
+    odata = OData.newInstance();
+    serviceMetadata = odata.createServiceMetadata(new JPAEdmProvider(PUNIT_NAME, emf, null, TestBase.enumPackages),
+        new ArrayList<>());
+  }
+
+  @Test
+  void testFirstPageCreatesSkipToken() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", null);
+    final UriInfo info = parse(path);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes);
+    final JPAODataPage act = cut.getFirstPage(path, info, null, countQuery, null);
+
+    assertEquals(0, act.getSkip());
+    assertEquals(4, act.getTop());
+    assertNotNull(act.getSkipToken());
+    assertEquals(info, act.getUriInfo());
+  }
+
+  @Test
+  void testReturnNullIfEntitySetIsUnknown() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Persons", null);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes);
+
+    assertNull(cut.getFirstPage(path, parse(path), 3, countQuery, null));
+  }
+
+  @Test
+  void testReturnNullWithoutPathInformation() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", null);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes);
+    final JPAODataPage first = cut.getFirstPage(path, parse(path), null, countQuery, null);
+
+    assertNull(cut.getFirstPage(parse(path), null, countQuery, null));
+    assertNull(cut.getNextPage((String) first.getSkipToken()));
+  }
+
+  @Test
+  void testReturnsAllPages() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", null);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes);
+    final JPAODataPage first = cut.getFirstPage(path, parse(path), null, countQuery, null);
+    final JPAODataPage second = getNextPage(cut, "'" + first.getSkipToken() + "'");
+    final JPAODataPage third = getNextPage(cut, (String) second.getSkipToken());
+
+    assertEquals(4, second.getSkip());
+    assertEquals(4, second.getTop());
+    assertEquals(8, third.getSkip());
+    assertEquals(2, third.getTop());
+    assertNull(third.getSkipToken());
+    assertEquals("Organizations", getEntitySetName(third.getUriInfo()));
+  }
+
+  @Test
+  void testRespectTopSkipOfUri() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", "$skip=2&$top=5");
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes);
+    final JPAODataPage first = cut.getFirstPage(path, parse(path), null, countQuery, null);
+    final JPAODataPage act = getNextPage(cut, (String) first.getSkipToken());
+
+    assertEquals(2, first.getSkip());
+    assertEquals(4, first.getTop());
+    assertEquals(6, act.getSkip());
+    assertEquals(1, act.getTop());
+    assertNull(act.getSkipToken());
+  }
+
+  @Test
+  void testNoSkipTokenIfOnlyOnePage() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", null);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes);
+    when(countQuery.countResults()).thenReturn(3L);
+
+    assertNull(cut.getFirstPage(path, parse(path), null, countQuery, null).getSkipToken());
+  }
+
+  @Test
+  void testStatisticsCountHitsMissesAndEvictions() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", null);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes, 1, Duration.ofMinutes(1));
+    final JPAODataPage first = cut.getFirstPage(path, parse(path), null, countQuery, null);
+    assertNotNull(getNextPage(cut, (String) first.getSkipToken()));
+    assertNull(getNextPage(cut, (String) first.getSkipToken()));
+
+    final JPAODataPagingStatistics act = cut.getStatistics();
+    assertEquals(1, act.getHitCount());
+    assertEquals(1, act.getMissCount());
+    assertEquals(1, act.getEvictionCount());
+  }
+
+  @Test
+  void testUsesProvidedStore() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", null);
+    final JPAODataPageStore store = mock(JPAODataPageStore.class);
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes, store);
+    when(store.get("Hugo")).thenReturn(Optional.of(new JPAODataCachedPage(path, 0, 4, "Hugo", 10)));
+    when(store.get("Willi")).thenReturn(Optional.empty());
+
+    final JPAODataPage act = getNextPage(cut, "'Hugo'");
+    assertEquals(4, act.getSkip());
+    verify(store).put(eq((String) act.getSkipToken()), any(JPAODataCachedPage.class));
+    assertNull(getNextPage(cut, "'Willi'"));
+    cut.getFirstPage(path, parse(path), null, countQuery, null);
+    verify(store, times(2)).put(anyString(), any(JPAODataCachedPage.class));
+  }
+
+  @Test
+  void testPageRestoredAfterSerialization() throws ODataException {
+    final JPAODataPathInformation path = buildPath("Organizations", "$filter=Country%20eq%20'DEU'&$orderby=ID");
+    final JPAODataCachingPagingProvider cut = new JPAODataCachingPagingProvider(sizes, new SerializingPageStore());
+    final JPAODataPage first = cut.getFirstPage(path, parse(path), null, countQuery, null);
+    final JPAODataPage act = getNextPage(cut, (String) first.getSkipToken());
+
+    assertEquals(4, act.getSkip());
+    assertEquals(4, act.getTop());
+    assertNotNull(act.getSkipToken());
+    assertEquals("Organizations", getEntitySetName(act.getUriInfo()));
+    assertNotNull(act.getUriInfo().getFilterOption());
+    assertNotNull(act.getUriInfo().getOrderByOption());
+  }
+
+  private JPAODataPage getNextPage(final JPAODataCachingPagingProvider cut, final String skipToken)
+      throws ODataApplicationException {
+    return cut.getNextPage(skipToken, odata, serviceMetadata, null, null);
+  }
+
+  private JPAODataPathInformation buildPath(final String path, final String query) {
+    return new JPAODataPathInformation(BASE_URI, path, query, null);
+  }
+
+  private UriInfo parse(final JPAODataPathInformation path) throws ODataException {
+    return new Parser(serviceMetadata.getEdm(), odata).parseUri(path.getODataPath(), path.getQueryPath(), null,
+        path.getBaseUri());
+  }
+
+  private String getEntitySetName(final UriInfo uriInfo) {
+    return ((UriResourceEntitySet) uriInfo.getUriResourceParts().get(0)).getEntitySet().getName();
+  }
+
+  /**
+   * Keeps the pages only in serialized form, like a store outside of the JVM would do.
+   */
+  private static class SerializingPageStore implements JPAODataPageStore {
+    private final Map<String, byte[]> pages = new HashMap<>();
+
+    @Override
+    public void put(final String skipToken, final JPAODataCachedPage page) {
+      try (ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+          ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+        out.writeObject(page);
+        out.flush();
+        pages.put(skipToken, buffer.toByteArray());
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public Optional<JPAODataCachedPage> get(final String skipToken) {
+      final byte[] page = pages.get(skipToken);
+      if (page == null)
+        return Optional.empty();
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(page))) {
+        return Optional.of((JPAODataCachedPage) in.readObject());
+      } catch (IOException | ClassNotFoundException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
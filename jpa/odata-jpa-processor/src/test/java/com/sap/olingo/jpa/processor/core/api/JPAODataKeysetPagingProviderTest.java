@@ -0,0 +1,161 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JPAODataKeysetPagingProviderTest {
+  private JPAODataKeysetPagingProvider cut;
+
+  @BeforeEach
+  void setup() {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Organizations", 5);
+    cut = new JPAODataKeysetPagingProvider(sizes);
+  }
+
+  @Test
+  void testFirstPageUsesMaxPageSize() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("Organizations");
+    final JPAODataPage act = cut.getFirstPage(info, null, null, null);
+
+    assertTrue(act instanceof JPAODataKeysetPage);
+    assertEquals(0, act.getSkip());
+    assertEquals(5, act.getTop());
+    assertEquals(info, act.getUriInfo());
+    assertTrue(((JPAODataKeysetPage) act).getLastValues().isEmpty());
+  }
+
+  @Test
+  void testFirstPageRespectsPreferredPageSize() throws ODataApplicationException {
+    final JPAODataPage act = cut.getFirstPage(buildUriInfo("Organizations"), 3, null, null);
+
+    assertEquals(3, act.getTop());
+  }
+
+  @Test
+  void testFirstPageRespectsSkip() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("Organizations");
+    addTopSkipToUri(info, 2, 7);
+    final JPAODataPage act = cut.getFirstPage(info, null, null, null);
+
+    assertEquals(2, act.getSkip());
+    assertEquals(5, act.getTop());
+  }
+
+  @Test
+  void testReturnNullIfTopNotExceedsPageSize() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("Organizations");
+    addTopSkipToUri(info, 0, 5);
+
+    assertNull(cut.getFirstPage(info, null, null, null));
+  }
+
+  @Test
+  void testReturnNullIfEntitySetIsUnknown() throws ODataApplicationException {
+    assertNull(cut.getFirstPage(buildUriInfo("Persons"), null, null, null));
+    assertNull(cut.getNextPage("'5.-1'", buildUriInfo("Persons"), null));
+  }
+
+  @Test
+  void testSkipTokenNullIfPageNotFull() throws ODataApplicationException {
+    final JPAODataKeysetPage act = (JPAODataKeysetPage) cut.getFirstPage(buildUriInfo("Organizations"), null, null,
+        null);
+    act.setPageResult(4, Arrays.asList("4"));
+
+    assertNull(act.getSkipToken());
+  }
+
+  @Test
+  void testNextPageSeeksWithLastValues() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("Organizations");
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, null, null);
+    first.setPageResult(5, Arrays.asList("Hello/World.", "5"));
+    assertNotNull(first.getSkipToken());
+
+    final JPAODataKeysetPage act = (JPAODataKeysetPage) cut.getNextPage("'" + first.getSkipToken() + "'", info, null);
+    assertEquals(0, act.getSkip());
+    assertEquals(5, act.getTop());
+    assertEquals(Arrays.asList("Hello/World.", "5"), act.getLastValues());
+    assertNull(act.getSkipToken());
+  }
+
+  @Test
+  void testNextPageUsesOffsetWithoutLastValues() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("Organizations");
+    addTopSkipToUri(info, 2, 7);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, null, null);
+    first.setPageResult(5, Collections.emptyList());
+
+    final JPAODataKeysetPage act = (JPAODataKeysetPage) cut.getNextPage((String) first.getSkipToken(),
+        buildUriInfo("Organizations"), null);
+    assertEquals(7, act.getSkip());
+    assertEquals(2, act.getTop());
+    assertTrue(act.getLastValues().isEmpty());
+  }
+
+  @Test
+  void testSkipTokenNullIfTopReached() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("Organizations");
+    addTopSkipToUri(info, 0, 7);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, null, null);
+    first.setPageResult(5, Arrays.asList("5"));
+    final JPAODataKeysetPage act = (JPAODataKeysetPage) cut.getNextPage((String) first.getSkipToken(),
+        buildUriInfo("Organizations"), null);
+    act.setPageResult(2, Arrays.asList("7"));
+
+    assertNull(act.getSkipToken());
+  }
+
+  @Test
+  void testReturnNullIfSkipTokenInvalid() throws ODataApplicationException {
+    assertNull(cut.getNextPage("'Hugo'", buildUriInfo("Organizations"), null));
+    assertNull(cut.getNextPage("'-1.5'", buildUriInfo("Organizations"), null));
+    assertNull(cut.getNextPage("'5.-1'"));
+  }
+
+  private UriInfo buildUriInfo(final String esName) {
+    final UriInfo uriInfo = mock(UriInfo.class);
+    final UriResourceEntitySet uriEs = mock(UriResourceEntitySet.class);
+    final EdmEntitySet es = mock(EdmEntitySet.class);
+
+    when(uriEs.getKind()).thenReturn(UriResourceKind.entitySet);
+    when(uriEs.getEntitySet()).thenReturn(es);
+    when(es.getName()).thenReturn(esName);
+    final List<UriResource> resourceParts = new ArrayList<>();
+    resourceParts.add(uriEs);
+    when(uriInfo.getUriResourceParts()).thenReturn(resourceParts);
+    return uriInfo;
+  }
+
+  private void addTopSkipToUri(final UriInfo info, final int skip, final int top) {
+    final SkipOption skipOption = mock(SkipOption.class);
+    final TopOption topOption = mock(TopOption.class);
+
+    when(skipOption.getValue()).thenReturn(skip);
+    when(topOption.getValue()).thenReturn(top);
+    when(info.getSkipOption()).thenReturn(skipOption);
+    when(info.getTopOption()).thenReturn(topOption);
+  }
+}
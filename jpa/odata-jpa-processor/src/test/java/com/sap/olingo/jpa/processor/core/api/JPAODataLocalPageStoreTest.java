@@ -0,0 +1,121 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JPAODataLocalPageStoreTest {
+  private Clock clock;
+  private JPAODataLocalPageStore cut;
+
+  @BeforeEach
+  void setup() {
+    clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(1000L);
+    cut = new JPAODataLocalPageStore(3, Duration.ofSeconds(10), clock);
+  }
+
+  @Test
+  void testReturnsStoredPage() {
+    final JPAODataCachedPage page = createPage();
+    cut.put("A", page);
+
+    assertEquals(page, cut.get("A").get());
+    assertFalse(cut.get("B").isPresent());
+  }
+
+  @Test
+  void testEvictsOldestIfFull() {
+    cut.put("A", createPage());
+    cut.put("B", createPage());
+    cut.put("C", createPage());
+    cut.put("D", createPage());
+
+    assertFalse(cut.get("A").isPresent());
+    assertTrue(cut.get("B").isPresent());
+    assertTrue(cut.get("D").isPresent());
+    assertEquals(3, cut.size());
+    assertEquals(1, cut.getEvictionCount());
+  }
+
+  @Test
+  void testEvictsExpiredOnGet() {
+    cut.put("A", createPage());
+    when(clock.millis()).thenReturn(11000L);
+
+    assertFalse(cut.get("A").isPresent());
+    assertEquals(0, cut.size());
+    assertEquals(1, cut.getEvictionCount());
+  }
+
+  @Test
+  void testEvictsExpiredOnPut() {
+    cut.put("A", createPage());
+    cut.put("B", createPage());
+    when(clock.millis()).thenReturn(11000L);
+    cut.put("C", createPage());
+
+    assertEquals(1, cut.size());
+    assertEquals(2, cut.getEvictionCount());
+  }
+
+  @Test
+  void testReplacedPageNotEvictedByOutdatedEntry() {
+    cut.put("A", createPage());
+    when(clock.millis()).thenReturn(5000L);
+    final JPAODataCachedPage page = createPage();
+    cut.put("A", page);
+    when(clock.millis()).thenReturn(12000L);
+    cut.put("B", createPage());
+
+    assertEquals(page, cut.get("A").get());
+    assertEquals(0, cut.getEvictionCount());
+  }
+
+  @Test
+  void testRejectsInvalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> new JPAODataLocalPageStore(0, Duration.ofSeconds(1)));
+    assertThrows(IllegalArgumentException.class, () -> new JPAODataLocalPageStore(1, Duration.ZERO));
+  }
+
+  @Test
+  void testSizeLimitedOnConcurrentPut() throws Exception {
+    final JPAODataLocalPageStore store = new JPAODataLocalPageStore(50, Duration.ofMinutes(1));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final int thread = t;
+        results.add(executor.submit(() -> {
+          for (int i = 0; i < 500; i++)
+            store.put(thread + "/" + i, createPage());
+        }));
+      }
+      for (final Future<?> result : results)
+        result.get();
+    } finally {
+      executor.shutdown();
+    }
+    assertTrue(store.size() <= 50);
+    assertEquals(2000, store.size() + store.getEvictionCount());
+  }
+
+  private static JPAODataCachedPage createPage() {
+    return new JPAODataCachedPage(new JPAODataPathInformation("http://localhost:8080/", "Organizations", null, null),
+        0, 5, "Token", 10);
+  }
+}
@@ -0,0 +1,131 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.serializer.ODataSerializer;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.serializer.SerializerResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
+
+class JPAODataMetadataCacheTest {
+  private static final String XML = "<edmx:Edmx/>";
+  private static final String JSON = "{\"$Version\":\"4.01\"}";
+  private JPAODataMetadataCache cut;
+  private OData odata;
+  private ServiceMetadata serviceMetadata;
+  private ODataSerializer xmlSerializer;
+  private ODataSerializer jsonSerializer;
+
+  @BeforeEach
+  void setup() throws SerializerException {
+    odata = mock(OData.class);
+    serviceMetadata = mock(ServiceMetadata.class);
+    xmlSerializer = createSerializer(XML);
+    jsonSerializer = createSerializer(JSON);
+    when(odata.createSerializer(ContentType.APPLICATION_XML)).thenReturn(xmlSerializer);
+    when(odata.createSerializer(ContentType.APPLICATION_JSON)).thenReturn(jsonSerializer);
+    cut = new JPAODataMetadataCache(odata, serviceMetadata);
+  }
+
+  @Test
+  void testDocumentSerializedOnlyOnce() throws SerializerException, IOException {
+    final JPAODataMetadataCache.MetadataDocument first = cut.getDocument(ContentType.APPLICATION_XML, "", null);
+    final JPAODataMetadataCache.MetadataDocument second = cut.getDocument(ContentType.APPLICATION_XML, "", null);
+
+    assertSame(first, second);
+    assertEquals(XML, read(first.getContent()));
+    assertEquals(XML, read(second.getContent()));
+    verify(xmlSerializer, times(1)).metadataDocument(serviceMetadata);
+  }
+
+  @Test
+  void testETagIsStrongAndDependsOnFormat() throws SerializerException {
+    final String xmlETag = cut.getDocument(ContentType.APPLICATION_XML, "", null).getETag();
+    final String jsonETag = cut.getDocument(ContentType.APPLICATION_JSON, "", null).getETag();
+
+    assertEquals('"', xmlETag.charAt(0));
+    assertEquals('"', xmlETag.charAt(xmlETag.length() - 1));
+    assertNotEquals(xmlETag, jsonETag);
+  }
+
+  @Test
+  void testETagIsStableAcrossInstances() throws SerializerException {
+    final JPAODataMetadataCache other = new JPAODataMetadataCache(odata, serviceMetadata);
+
+    assertEquals(cut.getDocument(ContentType.APPLICATION_XML, "", null).getETag(),
+        other.getDocument(ContentType.APPLICATION_XML, "", null).getETag());
+  }
+
+  @Test
+  void testDocumentSerializedPerLanguages() throws SerializerException {
+    final JPAODataMetadataCache.MetadataDocument english = cut.getDocument(ContentType.APPLICATION_XML, "en", null);
+    final JPAODataMetadataCache.MetadataDocument german = cut.getDocument(ContentType.APPLICATION_XML, "de", null);
+
+    assertNotSame(english, german);
+    assertSame(english, cut.getDocument(ContentType.APPLICATION_XML, "en", null));
+    verify(xmlSerializer, times(2)).metadataDocument(serviceMetadata);
+  }
+
+  @Test
+  void testDocumentSerializedPerPostProcessor() throws SerializerException {
+    final JPAEdmMetadataPostProcessor postProcessor = mock(JPAEdmMetadataPostProcessor.class);
+    final JPAODataMetadataCache.MetadataDocument without = cut.getDocument(ContentType.APPLICATION_XML, "", null);
+    final JPAODataMetadataCache.MetadataDocument with = cut.getDocument(ContentType.APPLICATION_XML, "",
+        postProcessor);
+
+    assertNotSame(without, with);
+    assertSame(with, cut.getDocument(ContentType.APPLICATION_XML, "", postProcessor));
+    verify(xmlSerializer, times(2)).metadataDocument(serviceMetadata);
+  }
+
+  @Test
+  void testReadErrorRethrownAsSerializerException() throws SerializerException, IOException {
+    final InputStream content = mock(InputStream.class);
+    final SerializerResult result = mock(SerializerResult.class);
+    when(content.read(any())).thenThrow(new IOException());
+    when(result.getContent()).thenReturn(content);
+    when(xmlSerializer.metadataDocument(serviceMetadata)).thenReturn(result);
+
+    assertThrows(SerializerException.class, () -> cut.getDocument(ContentType.APPLICATION_XML, "", null));
+  }
+
+  private String read(final InputStream content) throws IOException {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    int read;
+    while ((read = content.read()) != -1)
+      buffer.write(read);
+    return buffer.toString("UTF-8");
+  }
+
+  private ODataSerializer createSerializer(final String content) throws SerializerException {
+    final ODataSerializer serializer = mock(ODataSerializer.class);
+    when(serializer.metadataDocument(serviceMetadata)).thenAnswer(i -> createResult(content));
+    return serializer;
+  }
+
+  private SerializerResult createResult(final String content) {
+    final SerializerResult result = mock(SerializerResult.class);
+    when(result.getContent()).thenReturn(new ByteArrayInputStream(content.getBytes()));
+    return result;
+  }
+}
@@ -0,0 +1,109 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.serializer.ODataSerializer;
+import org.apache.olingo.server.api.serializer.SerializerResult;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JPAODataMetadataProcessorTest {
+  private JPAODataMetadataProcessor cut;
+  private OData odata;
+  private ServiceMetadata metadata;
+  private ODataSerializer serializer;
+  private JPAODataMetadataCache cache;
+  private ODataRequest request;
+  private ODataResponse response;
+  private UriInfo uriInfo;
+
+  @BeforeEach
+  void setup() throws ODataLibraryException {
+    metadata = mock(ServiceMetadata.class);
+    request = mock(ODataRequest.class);
+    response = mock(ODataResponse.class);
+    uriInfo = mock(UriInfo.class);
+    serializer = mock(ODataSerializer.class);
+    odata = mock(OData.class);
+    when(odata.createSerializer(ContentType.APPLICATION_XML)).thenReturn(serializer);
+    when(odata.createETagHelper()).thenReturn(OData.newInstance().createETagHelper());
+    when(serializer.metadataDocument(metadata)).thenAnswer(i -> {
+      final SerializerResult result = mock(SerializerResult.class);
+      when(result.getContent()).thenReturn(new ByteArrayInputStream("<edmx:Edmx/>".getBytes()));
+      return result;
+    });
+    cache = new JPAODataMetadataCache(odata, metadata);
+    when(request.getMethod()).thenReturn(HttpMethod.GET);
+    cut = new JPAODataMetadataProcessor(cache, null);
+    cut.init(odata, metadata);
+  }
+
+  @Test
+  void testReadMetadataProvidesContentAndETag() throws ODataApplicationException, ODataLibraryException {
+    final String eTag = cache.getDocument(ContentType.APPLICATION_XML, "", null).getETag();
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+
+    verify(response).setHeader(HttpHeader.ETAG, eTag);
+    verify(response).setStatusCode(HttpStatusCode.OK.getStatusCode());
+    verify(response).setContent(any());
+    verify(response).setHeader(HttpHeader.CONTENT_TYPE, ContentType.APPLICATION_XML.toContentTypeString());
+  }
+
+  @Test
+  void testReadMetadataNotModified() throws ODataApplicationException, ODataLibraryException {
+    final String eTag = cache.getDocument(ContentType.APPLICATION_XML, "", null).getETag();
+    when(request.getHeaders(HttpHeader.IF_NONE_MATCH)).thenReturn(Collections.singletonList(eTag));
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+
+    verify(response).setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+    verify(response, never()).setContent(any());
+  }
+
+  @Test
+  void testReadMetadataModifiedIfETagDiffers() throws ODataApplicationException, ODataLibraryException {
+    when(request.getHeaders(HttpHeader.IF_NONE_MATCH)).thenReturn(Collections.singletonList("\"Hello\""));
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+
+    verify(response).setStatusCode(HttpStatusCode.OK.getStatusCode());
+    verify(response).setContent(any());
+  }
+
+  @Test
+  void testHeadProvidesNoContent() throws ODataApplicationException, ODataLibraryException {
+    when(request.getMethod()).thenReturn(HttpMethod.HEAD);
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+
+    verify(response).setStatusCode(HttpStatusCode.OK.getStatusCode());
+    verify(response, never()).setContent(any());
+  }
+
+  @Test
+  void testReadMetadataCachedPerLanguages() throws ODataApplicationException, ODataLibraryException {
+    when(request.getHeaders(HttpHeader.ACCEPT_LANGUAGE)).thenReturn(Collections.singletonList("de"));
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+    when(request.getHeaders(HttpHeader.ACCEPT_LANGUAGE)).thenReturn(Collections.singletonList("en"));
+    cut.readMetadata(request, response, uriInfo, ContentType.APPLICATION_XML);
+
+    verify(serializer, times(2)).metadataDocument(metadata);
+  }
+}
@@ -1,29 +1,48 @@
 package com.sap.olingo.jpa.processor.core.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.servlet.ServletOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataHttpHandler;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 
+import com.sap.olingo.jpa.processor.core.processor.JPARequestEntity;
 import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
 import com.sap.olingo.jpa.processor.core.util.TestBase;
 
@@ -144,6 +163,382 @@ class JPAODataRequestHandlerTest extends TestBase {
     verify(handler, times(1)).process(argThat(new HttpRequestMatcher()), any());
   }
 
+  @Test
+  void testServiceMetadataCreatedOnlyOnce() throws ODataException {
+    final OData odata = mock(OData.class);
+    final ODataHttpHandler handler = mock(ODataHttpHandler.class);
+    final ServiceMetadata metadata = mock(ServiceMetadata.class);
+    when(odata.createHandler(any())).thenReturn(handler);
+    when(odata.createServiceMetadata(any(), any())).thenReturn(metadata);
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+    new JPAODataRequestHandler(context, odata).process(request, response);
+    new JPAODataRequestHandler(context, odata).process(request, response);
+    verify(odata, times(1)).createServiceMetadata(any(), any());
+    verify(odata, times(2)).createHandler(metadata);
+  }
+
+  @Test
+  void testServiceMetadataCreatedPerServiceContext() throws ODataException {
+    final OData odata = mock(OData.class);
+    final ODataHttpHandler handler = mock(ODataHttpHandler.class);
+    when(odata.createHandler(any())).thenReturn(handler);
+    when(odata.createServiceMetadata(any(), any())).thenReturn(mock(ServiceMetadata.class));
+    new JPAODataRequestHandler(JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build(), odata).process(request, response);
+    new JPAODataRequestHandler(JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build(), odata).process(request, response);
+    verify(odata, times(2)).createServiceMetadata(any(), any());
+  }
+
+  @Test
+  void testMetadataProvidedWithETag() throws ODataException, IOException {
+    final String url = "http://localhost:8080/Test/Olingo.svc/$metadata?$format=xml";
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+
+    final ResultStream first = new ResultStream();
+    response = getResponseMock(first);
+    new JPAODataRequestHandler(context).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    final String eTag = getHeader(HttpHeader.ETAG);
+    assertTrue(eTag.startsWith("\""));
+    assertTrue(first.toString().contains("edmx:Edmx"));
+
+    final ResultStream second = new ResultStream();
+    response = getResponseMock(second);
+    new JPAODataRequestHandler(context).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    assertEquals(eTag, getHeader(HttpHeader.ETAG));
+    assertEquals(first.toString(), second.toString());
+  }
+
+  @Test
+  void testMetadataNotModifiedIfETagMatches() throws ODataException, IOException {
+    final String url = "http://localhost:8080/Test/Olingo.svc/$metadata?$format=xml";
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+    response = getResponseMock(new ResultStream());
+    new JPAODataRequestHandler(context).process(IntegrationTestHelper.getRequestMock(url), response);
+    final String eTag = getHeader(HttpHeader.ETAG);
+
+    final ResultStream act = new ResultStream();
+    response = getResponseMock(act);
+    final Map<String, List<String>> conditionalHeaders = new HashMap<>();
+    conditionalHeaders.put(HttpHeader.IF_NONE_MATCH, Collections.singletonList(eTag));
+    new JPAODataRequestHandler(context).process(IntegrationTestHelper.getRequestMock(url, null, conditionalHeaders),
+        response);
+    assertEquals(304, getStatus());
+    assertTrue(act.toString().isEmpty());
+  }
+
+  @Test
+  void testDataResponseWithoutMetadataETag() throws ODataException, IOException {
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+    response = getResponseMock(new ResultStream());
+    new JPAODataRequestHandler(context).process(IntegrationTestHelper.getRequestMock(
+        "http://localhost:8080/Test/Olingo.svc/$metadata?$format=xml"), response);
+
+    final ResultStream act = new ResultStream();
+    response = getResponseMock(act);
+    new JPAODataRequestHandler(context).process(IntegrationTestHelper.getRequestMock(
+        "http://localhost:8080/Test/Olingo.svc/Organizations?$top=1"), response);
+    assertEquals(200, getStatus());
+    assertTrue(act.toString().contains("@odata.context"));
+    assertFalse(act.toString().contains("@odata.metadataEtag"));
+  }
+
+  @Test
+  void testProcessWithExpandExecutorReadsBranchesInParallel() throws ODataException, IOException {
+    final String url = "http://localhost:8080/Test/Olingo.svc/AdministrativeDivisions?$orderby=DivisionCode"
+        + "&$filter=CodeID eq 'NUTS2'&$expand=Parent,Children($expand=Parent)";
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final AtomicInteger noBranches = new AtomicInteger();
+    try {
+      final JPAODataSessionContextAccess parallelContext = JPAODataServiceContext.with()
+          .setDataSource(ds)
+          .setPUnit(PUNIT_NAME)
+          .setTypePackage(enumPackages)
+          .setExpandExecutor(task -> {
+            noBranches.incrementAndGet();
+            executor.execute(task);
+          })
+          .build();
+      final JPAODataSessionContextAccess sequentialContext = JPAODataServiceContext.with()
+          .setDataSource(ds)
+          .setPUnit(PUNIT_NAME)
+          .setTypePackage(enumPackages)
+          .build();
+
+      final ResultStream parallelResult = new ResultStream();
+      response = getResponseMock(parallelResult);
+      new JPAODataRequestHandler(parallelContext).process(IntegrationTestHelper.getRequestMock(url), response);
+      assertEquals(200, getStatus());
+      assertEquals(2, noBranches.get());
+      assertTrue(parallelResult.toString().contains("\"Children\""));
+
+      final ResultStream sequentialResult = new ResultStream();
+      response = getResponseMock(sequentialResult);
+      new JPAODataRequestHandler(sequentialContext).process(IntegrationTestHelper.getRequestMock(url), response);
+      assertEquals(200, getStatus());
+      assertEquals(sequentialResult.toString(), parallelResult.toString());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testProcessWithExpandExecutorReadsCountInParallel() throws ODataException, IOException {
+    final String url = "http://localhost:8080/Test/Olingo.svc/Organizations?$orderby=ID&$top=3&$count=true";
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final AtomicInteger noTasks = new AtomicInteger();
+    try {
+      final JPAODataSessionContextAccess parallelContext = JPAODataServiceContext.with()
+          .setDataSource(ds)
+          .setPUnit(PUNIT_NAME)
+          .setTypePackage(enumPackages)
+          .setExpandExecutor(task -> {
+            noTasks.incrementAndGet();
+            executor.execute(task);
+          })
+          .build();
+
+      final ResultStream parallelResult = new ResultStream();
+      response = getResponseMock(parallelResult);
+      new JPAODataRequestHandler(parallelContext).process(IntegrationTestHelper.getRequestMock(url), response);
+      assertEquals(200, getStatus());
+      assertEquals(1, noTasks.get());
+      assertTrue(parallelResult.toString().contains("\"@odata.count\":10"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testProcessWithStreamingSerializationSameResult() throws ODataException, IOException {
+    final String url = "http://localhost:8080/Test/Olingo.svc/Organizations?$orderby=ID&$top=5&$count=true"
+        + "&$expand=Roles&$select=ID,Name1,Address";
+    final JPAODataSessionContextAccess streamingContext = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setUseStreamingSerialization(true)
+        .build();
+    final JPAODataSessionContextAccess defaultContext = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+
+    final ResultStream streamedResult = new ResultStream();
+    response = getResponseMock(streamedResult);
+    new JPAODataRequestHandler(streamingContext).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    assertTrue(streamedResult.toString().contains("\"Roles\""));
+
+    final ResultStream defaultResult = new ResultStream();
+    response = getResponseMock(defaultResult);
+    new JPAODataRequestHandler(defaultContext).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    assertEquals(defaultResult.toString(), streamedResult.toString());
+  }
+
+  @Test
+  void testProcessWithStreamedRootRowsSameResult() throws ODataException, IOException {
+    // Without $top, $skip or paging the root rows are not needed up front, so they get streamed
+    final String url = "http://localhost:8080/Test/Olingo.svc/Organizations?$orderby=ID&$count=true"
+        + "&$filter=Country eq 'DEU'&$expand=Roles";
+    final JPAODataSessionContextAccess streamingContext = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setUseStreamingSerialization(true)
+        .build();
+    final JPAODataSessionContextAccess defaultContext = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+
+    final ResultStream streamedResult = new ResultStream();
+    response = getResponseMock(streamedResult);
+    new JPAODataRequestHandler(streamingContext).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    assertTrue(streamedResult.toString().contains("\"@odata.count\""));
+
+    final ResultStream defaultResult = new ResultStream();
+    response = getResponseMock(defaultResult);
+    new JPAODataRequestHandler(defaultContext).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    assertEquals(defaultResult.toString(), streamedResult.toString());
+  }
+
+  @Test
+  void testProcessWithStreamingSerializationEmptyCollection() throws ODataException, IOException {
+    final String url = "http://localhost:8080/Test/Olingo.svc/Organizations?$filter=ID eq 'XX'";
+    final JPAODataSessionContextAccess streamingContext = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setUseStreamingSerialization(true)
+        .build();
+
+    final ResultStream streamedResult = new ResultStream();
+    response = getResponseMock(streamedResult);
+    new JPAODataRequestHandler(streamingContext).process(IntegrationTestHelper.getRequestMock(url), response);
+    assertEquals(200, getStatus());
+    assertTrue(streamedResult.toString().contains("\"value\":[]"));
+  }
+
+  @Test
+  void testSetBasedDeleteNotImplementedByDefault() throws ODataException, IOException {
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+    request = IntegrationTestHelper.getRequestMock(
+        "http://localhost:8080/Test/Olingo.svc/Organizations/$filter(Country eq 'DEU')/$each");
+    when(request.getMethod()).thenReturn("DELETE");
+
+    new JPAODataRequestHandler(context).process(request, response);
+    assertEquals(501, getStatus());
+  }
+
+  @Test
+  void testSetBasedDeleteCallsHandler() throws ODataException, IOException {
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final JPAODataSessionContextAccess sessionContext = JPAODataServiceContext.with()
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+    final JPAODataRequestContext requestContext = JPAODataRequestContext.with()
+        .setEntityManager(emf.createEntityManager())
+        .setCUDRequestHandler(handler)
+        .build();
+    request = IntegrationTestHelper.getRequestMock(
+        "http://localhost:8080/Test/Olingo.svc/Organizations?$filter=Country eq 'DEU'");
+    when(request.getMethod()).thenReturn("DELETE");
+
+    new JPAODataRequestHandler(sessionContext, requestContext).process(request, response);
+    assertEquals(204, getStatus());
+    verify(handler, times(1)).deleteEntities(any(JPARequestEntity.class), any(CriteriaDelete.class), any(
+        EntityManager.class));
+  }
+
+  @Test
+  void testSetBasedDeleteWithReturnPreferenceCallsHandler() throws ODataException, IOException {
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final Map<String, List<String>> preferHeader = new HashMap<>();
+    preferHeader.put(HttpHeader.PREFER, Collections.singletonList("return=minimal"));
+    request = IntegrationTestHelper.getRequestMock(
+        "http://localhost:8080/Test/Olingo.svc/Organizations/$filter(Country eq 'DEU')/$each", new StringBuilder(),
+        preferHeader);
+    when(request.getMethod()).thenReturn("DELETE");
+
+    new JPAODataRequestHandler(createSetBasedContext(), createSetBasedRequestContext(handler)).process(request,
+        response);
+    assertEquals(204, getStatus());
+    verify(handler, times(1)).deleteEntities(any(JPARequestEntity.class), any(CriteriaDelete.class), any(
+        EntityManager.class));
+  }
+
+  @Test
+  void testSetBasedMarkerOfClientIgnored() throws ODataException, IOException {
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final Map<String, List<String>> markerHeader = new HashMap<>();
+    markerHeader.put(JPAODataSetBasedRequest.METHOD_HEADER, Collections.singletonList("DELETE"));
+    request = IntegrationTestHelper.getRequestMock(
+        "http://localhost:8080/Test/Olingo.svc/Organizations?$filter=Country eq 'DEU'", new StringBuilder(),
+        markerHeader);
+
+    new JPAODataRequestHandler(createSetBasedContext(), createSetBasedRequestContext(handler)).process(request,
+        response);
+    assertEquals(200, getStatus());
+    verify(handler, times(0)).deleteEntities(any(JPARequestEntity.class), any(CriteriaDelete.class), any(
+        EntityManager.class));
+  }
+
+  @Test
+  void testSetBasedDeleteWithinChangeSetCallsHandler() throws ODataException, IOException {
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final ResultStream result = new ResultStream();
+    final StringBuilder body = new StringBuilder("--abc123\r\n")
+        .append("Content-Type: multipart/mixed;boundary=cs123\r\n")
+        .append("\r\n")
+        .append("--cs123\r\n")
+        .append("Content-Type: application/http\r\n")
+        .append("Content-Transfer-Encoding: binary\r\n")
+        .append("Content-ID: 1\r\n")
+        .append("\r\n")
+        .append("DELETE Organizations/$filter(Country%20eq%20'DEU')/$each HTTP/1.1\r\n")
+        .append("Content-Type: application/json\r\n")
+        .append("\r\n")
+        .append("\r\n")
+        .append("--cs123--\r\n")
+        .append("--abc123--");
+    request = IntegrationTestHelper.getRequestMock("http://localhost:8080/Test/Olingo.svc/$batch", body);
+    response = getResponseMock(result);
+
+    new JPAODataRequestHandler(createSetBasedContext(), createSetBasedRequestContext(handler)).process(request,
+        response);
+    assertEquals(202, getStatus());
+    assertTrue(result.toString().contains("HTTP/1.1 204"));
+    verify(handler, times(1)).deleteEntities(any(JPARequestEntity.class), any(CriteriaDelete.class), any(
+        EntityManager.class));
+    verify(handler, times(1)).validateChanges(any(EntityManager.class));
+  }
+
+  private JPAODataSessionContextAccess createSetBasedContext() throws ODataException {
+    return JPAODataServiceContext.with()
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+  }
+
+  private JPAODataRequestContext createSetBasedRequestContext(final JPACUDRequestHandler handler) {
+    return JPAODataRequestContext.with()
+        .setEntityManager(emf.createEntityManager())
+        .setCUDRequestHandler(handler)
+        .build();
+  }
+
+  private static HttpServletResponse getResponseMock(final ResultStream result) throws IOException {
+    final HttpServletResponse response = mock(HttpServletResponse.class, Answers.RETURNS_MOCKS);
+    when(response.getOutputStream()).thenReturn(result);
+    return response;
+  }
+
+  private static class ResultStream extends ServletOutputStream {
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    @Override
+    public void write(final int b) throws IOException {
+      buffer.write(b);
+    }
+
+    @Override
+    public String toString() {
+      return buffer.toString();
+    }
+  }
+
   public static class HttpRequestMatcher implements ArgumentMatcher<HttpServletRequest> {
     @Override
     public boolean matches(final HttpServletRequest argument) {
@@ -151,6 +546,12 @@ class JPAODataRequestHandlerTest extends TestBase {
     }
   }
 
+  private String getHeader(final String name) {
+    final ArgumentCaptor<String> acValue = ArgumentCaptor.forClass(String.class);
+    verify(response).addHeader(eq(name), acValue.capture());
+    return acValue.getValue();
+  }
+
   public int getStatus() {
     final ArgumentCaptor<Integer> acStatus = ArgumentCaptor.forClass(Integer.class);
     verify(response).setStatus(acStatus.capture());
@@ -15,6 +15,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.Nonnull;
 import javax.sql.DataSource;
@@ -303,6 +304,47 @@ class JPAODataServiceContextBuilderTest {
     assertFalse(cut.useAbsoluteContextURL());
   }
 
+  @Test
+  void checkEagerModelBuildProvidesServiceDocument() throws ODataException {
+
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setUseEagerModelBuild(true)
+        .build();
+
+    assertNotNull(cut.getEdmProvider().getServiceDocument().getEntity("Organizations"));
+    assertFalse(cut.getEdmProvider().getServiceDocument().getClaims().isEmpty());
+  }
+
+  @Test
+  void checkModelBuildExecutorProvidesServiceDocument() throws ODataException {
+
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setModelBuildExecutor(ForkJoinPool.commonPool())
+        .build();
+
+    assertNotNull(cut.getEdmProvider().getServiceDocument().getEntity("Organizations"));
+    assertNotNull(cut.getEdmProvider().getServiceDocument().getEnumType("com.sap.olingo.jpa.AccessRights"));
+  }
+
+  @Test
+  void checkTypeScanSnapshotFallsBackToScanWithoutSnapshot() throws ODataException {
+
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setUseTypeScanSnapshot(true)
+        .build();
+
+    assertNotNull(cut.getEdmProvider().getServiceDocument().getEnumType("com.sap.olingo.jpa.AccessRights"));
+  }
+
   private class TestEdmPostProcessor extends JPAEdmMetadataPostProcessor {
 
     @Override
@@ -0,0 +1,149 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class JPAODataSetBasedRequestTest extends TestBase {
+  private static final String BASE_URI = "http://localhost:8080/Test/Olingo.svc";
+  private ServiceMetadata serviceMetadata;
+
+  @BeforeEach
+  void setup() throws ODataException {
+    final OData odata = OData.newInstance();
+    serviceMetadata = odata.createServiceMetadata(new JPAEdmProvider(PUNIT_NAME, emf, null, TestBase.enumPackages),
+        new ArrayList<>());
+  }
+
+  @Test
+  void testFilterSegmentConvertedIntoQueryOption() {
+    final ODataRequest act = JPAODataSetBasedRequest.adapt(createRequest(HttpMethod.DELETE,
+        "/Organizations/$filter(Country%20eq%20'DEU')/$each", "$format=json"), serviceMetadata);
+
+    assertEquals(HttpMethod.GET, act.getMethod());
+    assertEquals("/Organizations", act.getRawODataPath());
+    assertEquals("$format=json&$filter=Country%20eq%20'DEU'", act.getRawQueryPath());
+    assertEquals(BASE_URI + "/Organizations?$format=json&$filter=Country%20eq%20'DEU'", act.getRawRequestUri());
+    assertEquals(HttpMethod.DELETE, JPAODataSetBasedRequest.getMethod(act).get());
+  }
+
+  @Test
+  void testFilterSegmentCombinedWithFilterOption() {
+    final ODataRequest act = JPAODataSetBasedRequest.adapt(createRequest(HttpMethod.PATCH,
+        "/Organizations/$filter(Name1%20eq%20'A&B')/$each", "$filter=Country%20eq%20'DEU'"), serviceMetadata);
+
+    assertEquals("$filter=(Name1%20eq%20'A%26B')%20and%20(Country%20eq%20'DEU')", act.getRawQueryPath());
+    assertEquals(HttpMethod.PATCH, JPAODataSetBasedRequest.getMethod(act).get());
+  }
+
+  @Test
+  void testDeleteWithFilterOptionConverted() {
+    final ODataRequest act = JPAODataSetBasedRequest.adapt(createRequest(HttpMethod.DELETE, "/Organizations",
+        "$filter=Country%20eq%20'DEU'"), serviceMetadata);
+
+    assertEquals(HttpMethod.GET, act.getMethod());
+    assertEquals("/Organizations", act.getRawODataPath());
+    assertEquals("$filter=Country%20eq%20'DEU'", act.getRawQueryPath());
+  }
+
+  @Test
+  void testRequestsNotOnEntitySetUnchanged() {
+    assertUnchanged(createRequest(HttpMethod.DELETE, "/Organizations('3')", "$filter=Country%20eq%20'DEU'"));
+    assertUnchanged(createRequest(HttpMethod.DELETE, "/Persons('99')/Roles/$filter(RoleCategory%20eq%20'A')/$each",
+        null));
+    assertUnchanged(createRequest(HttpMethod.DELETE, "/Hugo/$filter(Country%20eq%20'DEU')/$each", null));
+  }
+
+  @Test
+  void testRequestsNotSetBasedUnchanged() {
+    assertUnchanged(createRequest(HttpMethod.DELETE, "/Organizations", "$top=2"));
+    assertUnchanged(createRequest(HttpMethod.PATCH, "/Organizations", "$filter=Country%20eq%20'DEU'"));
+    assertUnchanged(createRequest(HttpMethod.GET, "/Organizations", "$filter=Country%20eq%20'DEU'"));
+  }
+
+  @Test
+  void testReturnPreferenceRemoved() {
+    final ODataRequest request = createRequest(HttpMethod.DELETE, "/Organizations", "$filter=Country%20eq%20'DEU'");
+    request.addHeader(HttpHeader.PREFER, Arrays.asList("return=minimal", "odata.continue-on-error"));
+    final ODataRequest act = JPAODataSetBasedRequest.adapt(request, serviceMetadata);
+
+    assertEquals(Arrays.asList("odata.continue-on-error"), act.getHeaders(HttpHeader.PREFER));
+    assertEquals("application/json", act.getHeader(HttpHeader.CONTENT_TYPE));
+  }
+
+  @Test
+  void testMarkerSendByClientIgnored() {
+    final ODataRequest request = createRequest(HttpMethod.GET, "/Organizations", null);
+    request.setHeader(JPAODataSetBasedRequest.METHOD_HEADER, "DELETE");
+
+    assertFalse(JPAODataSetBasedRequest.getMethod(request).isPresent());
+  }
+
+  @Test
+  void testMarkerSendByClientReplaced() {
+    final ODataRequest request = createRequest(HttpMethod.DELETE, "/Organizations/$filter(Country%20eq%20'DEU')/$each",
+        null);
+    request.setHeader(JPAODataSetBasedRequest.METHOD_HEADER, "PATCH");
+    final ODataRequest act = JPAODataSetBasedRequest.adapt(request, serviceMetadata);
+
+    assertEquals(1, act.getHeaders(JPAODataSetBasedRequest.METHOD_HEADER).size());
+    assertEquals(HttpMethod.DELETE, JPAODataSetBasedRequest.getMethod(act).get());
+  }
+
+  @Test
+  void testBatchPartWithSetBasedRequestConverted() {
+    final ODataRequest read = createRequest(HttpMethod.GET, "/Organizations", null);
+    final ODataRequest delete = createRequest(HttpMethod.DELETE, "/Organizations/$filter(Country%20eq%20'DEU')/$each",
+        null);
+    final BatchRequestPart part = new BatchRequestPart(true, Arrays.asList(read, delete));
+    final BatchRequestPart act = JPAODataSetBasedRequest.adapt(part, serviceMetadata);
+
+    assertNotSame(part, act);
+    assertTrue(act.isChangeSet());
+    assertSame(read, act.getRequests().get(0));
+    assertTrue(JPAODataSetBasedRequest.getMethod(act.getRequests().get(1)).isPresent());
+  }
+
+  @Test
+  void testBatchPartWithoutSetBasedRequestUnchanged() {
+    final BatchRequestPart part = new BatchRequestPart(false, createRequest(HttpMethod.GET, "/Organizations", null));
+
+    assertSame(part, JPAODataSetBasedRequest.adapt(part, serviceMetadata));
+  }
+
+  private void assertUnchanged(final ODataRequest request) {
+    final ODataRequest act = JPAODataSetBasedRequest.adapt(request, serviceMetadata);
+    assertSame(request, act);
+    assertNull(act.getHeader(JPAODataSetBasedRequest.METHOD_HEADER));
+  }
+
+  private ODataRequest createRequest(final HttpMethod method, final String path, final String query) {
+    final ODataRequest request = new ODataRequest();
+    request.setMethod(method);
+    request.setRawBaseUri(BASE_URI);
+    request.setRawODataPath(path);
+    request.setRawQueryPath(query);
+    request.setRawRequestUri(BASE_URI + path + (query == null ? "" : "?" + query));
+    request.setHeader(HttpHeader.CONTENT_TYPE, "application/json");
+    return request;
+  }
+}
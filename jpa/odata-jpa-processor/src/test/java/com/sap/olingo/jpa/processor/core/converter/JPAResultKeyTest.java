@@ -0,0 +1,76 @@
+package com.sap.olingo.jpa.processor.core.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import javax.persistence.Tuple;
+
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+
+class JPAResultKeyTest {
+
+  @Test
+  void testKeysWithSameValuesAreEqual() {
+    final JPAResultKey key1 = JPAResultKey.of("Eurostat", "NUTS1", "BE2");
+    final JPAResultKey key2 = JPAResultKey.of("Eurostat", "NUTS1", "BE2");
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+  }
+
+  @Test
+  void testKeysWithDifferentOrderAreNotEqual() {
+    assertNotEquals(JPAResultKey.of("NUTS1", "Eurostat"), JPAResultKey.of("Eurostat", "NUTS1"));
+  }
+
+  @Test
+  void testKeysWithSeparatorInValueAreNotEqual() {
+    assertNotEquals(JPAResultKey.of("A/B", "C"), JPAResultKey.of("A", "B/C"));
+  }
+
+  @Test
+  void testKeysWithSameByteArrayContentAreEqual() {
+    final JPAResultKey key1 = JPAResultKey.of(new byte[] { 1, 2, 3 });
+    final JPAResultKey key2 = JPAResultKey.of(new byte[] { 1, 2, 3 });
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+  }
+
+  @Test
+  void testKeysWithDifferentIntegralTypesAreEqual() {
+    final JPAResultKey key1 = JPAResultKey.of(Integer.valueOf(10));
+    assertEquals(key1, JPAResultKey.of(Long.valueOf(10)));
+    assertEquals(key1, JPAResultKey.of(Short.valueOf((short) 10)));
+    assertEquals(key1, JPAResultKey.of(BigInteger.TEN));
+    assertEquals(key1.hashCode(), JPAResultKey.of(Long.valueOf(10)).hashCode());
+  }
+
+  @Test
+  void testKeyNotEqualToRoot() {
+    assertNotEquals(JPAExpandResult.ROOT_RESULT_KEY, JPAResultKey.of("root"));
+    assertEquals("root", JPAExpandResult.ROOT_RESULT_KEY.toString());
+  }
+
+  @Test
+  void testKeyFromTupleEqualsKeyFromPaths() {
+    final Tuple row = mock(Tuple.class);
+    final JPAPath path1 = mock(JPAPath.class);
+    final JPAPath path2 = mock(JPAPath.class);
+    when(path1.getAlias()).thenReturn("CodePublisher");
+    when(path2.getAlias()).thenReturn("CodeID");
+    when(row.get("CodePublisher")).thenReturn("Eurostat");
+    when(row.get("CodeID")).thenReturn(Integer.valueOf(1));
+
+    final JPAResultKey key1 = JPAResultKey.of(row, Arrays.asList("CodePublisher", "CodeID"));
+    final JPAResultKey key2 = JPAResultKey.ofPaths(row, Arrays.asList(path1, path2));
+    assertEquals(key1, key2);
+    assertEquals(JPAResultKey.of("Eurostat", 1L), key1);
+    assertEquals("Eurostat/1", key1.toString());
+  }
+}
@@ -1,6 +1,8 @@
 package com.sap.olingo.jpa.processor.core.database;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPADBAdaptorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAFilterException;
 import com.sap.olingo.jpa.processor.core.filter.JPAAggregationOperation;
@@ -119,4 +122,14 @@ class JPADefaultDatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
       cut.createSearchWhereClause(null, null, null, null, null);
     });
   }
+
+  @Test
+  void testSqlPaging() {
+    assertEquals(ProcessorSqlPaging.NONE, cut.getSqlPaging());
+  }
+
+  @Test
+  void testLateralJoinSupported() {
+    assertFalse(cut.isLateralJoinSupported());
+  }
 }
@@ -1,6 +1,7 @@
 package com.sap.olingo.jpa.processor.core.database;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.mock;
@@ -59,4 +60,10 @@ class JPAODataDatabaseProcessorFactoryTest {
     final JPAODataDatabaseProcessor act = cut.create(ds);
     assertEquals(processor, act.getClass());
   }
+
+  @Test
+  void testH2DoesNotSupportLateralJoin() throws SQLException {
+    when(dbMetadata.getDatabaseProductName()).thenReturn("H2");
+    assertFalse(cut.create(ds).isLateralJoinSupported());
+  }
 }
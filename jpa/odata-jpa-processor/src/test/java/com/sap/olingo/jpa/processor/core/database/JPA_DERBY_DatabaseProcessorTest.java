@@ -1,6 +1,7 @@
 package com.sap.olingo.jpa.processor.core.database;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 
 class JPA_DERBY_DatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
 
@@ -41,4 +43,14 @@ class JPA_DERBY_DatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
     assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), act.getStatusCode());
 
   }
+
+  @Test
+  void testSqlPaging() {
+    assertEquals(ProcessorSqlPaging.OFFSET_FETCH, cut.getSqlPaging());
+  }
+
+  @Test
+  void testLateralJoinSupported() {
+    assertFalse(cut.isLateralJoinSupported());
+  }
 }
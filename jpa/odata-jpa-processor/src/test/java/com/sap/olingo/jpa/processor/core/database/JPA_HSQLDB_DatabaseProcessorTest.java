@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.core.database;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorSqlPaging;
 
 class JPA_HSQLDB_DatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
 
@@ -41,4 +43,14 @@ class JPA_HSQLDB_DatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
     assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), act.getStatusCode());
 
   }
+
+  @Test
+  void testSqlPaging() {
+    assertEquals(ProcessorSqlPaging.LIMIT_OFFSET, cut.getSqlPaging());
+  }
+
+  @Test
+  void testLateralJoinSupported() {
+    assertTrue(cut.isLateralJoinSupported());
+  }
 }
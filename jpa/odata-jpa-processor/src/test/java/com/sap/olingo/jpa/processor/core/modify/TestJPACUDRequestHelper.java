@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.core.modify;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -183,6 +184,50 @@ class TestJPACUDRequestHelper {
     assertEquals("35", act.getProperty("ID").getValue());
   }
 
+  @Test
+  void testConvertInputStreamCollectionEntitySet() throws UnsupportedEncodingException,
+      ODataJPAProcessorException, EdmPrimitiveTypeException {
+
+    prepareEntitySetCollection();
+    final InputStream is = new ByteArrayInputStream("{\"value\" : [{\"ID\" : \"35\"}, {\"ID\" : \"35\"}]}"
+        .getBytes("UTF-8"));
+    when(request.getBody()).thenReturn(is);
+
+    final Optional<List<Entity>> act = cut.convertInputStreamCollection(OData.newInstance(), request,
+        ContentType.APPLICATION_JSON, uriResourceParts);
+    assertTrue(act.isPresent());
+    assertEquals(2, act.get().size());
+    assertEquals("35", act.get().get(1).getProperty("ID").getValue());
+  }
+
+  @Test
+  void testConvertInputStreamCollectionIgnoresSingleEntity() throws UnsupportedEncodingException,
+      ODataJPAProcessorException, EdmPrimitiveTypeException {
+
+    prepareEntitySetCollection();
+    final InputStream is = new ByteArrayInputStream("{\"@odata.context\" : \"$metadata#Organisations\", \"ID\" : \"35\"}"
+        .getBytes("UTF-8"));
+    when(request.getBody()).thenReturn(is);
+
+    assertFalse(cut.convertInputStreamCollection(OData.newInstance(), request, ContentType.APPLICATION_JSON,
+        uriResourceParts).isPresent());
+    final Entity act = cut.convertInputStream(OData.newInstance(), request, ContentType.APPLICATION_JSON,
+        uriResourceParts);
+    assertEquals("35", act.getProperty("ID").getValue());
+  }
+
+  @Test
+  void testConvertInputStreamCollectionIgnoresNonJson() throws UnsupportedEncodingException,
+      ODataJPAProcessorException, EdmPrimitiveTypeException {
+
+    prepareEntitySetCollection();
+    final InputStream is = new ByteArrayInputStream("{\"value\" : [{\"ID\" : \"35\"}]}".getBytes("UTF-8"));
+    when(request.getBody()).thenReturn(is);
+
+    assertFalse(cut.convertInputStreamCollection(OData.newInstance(), request, ContentType.APPLICATION_XML,
+        uriResourceParts).isPresent());
+  }
+
   @Test
   void testConvertInputStreamEntitySetWithAnnotationV400() throws UnsupportedEncodingException,
       ODataJPAProcessorException, EdmPrimitiveTypeException {
@@ -828,6 +873,13 @@ class TestJPACUDRequestHelper {
     when(edmPropertyId.getType()).thenReturn(edmTypeId);
   }
 
+  private void prepareEntitySetCollection() throws EdmPrimitiveTypeException {
+    prepareEntitySet();
+    final UriResourceEntitySet uriEs = (UriResourceEntitySet) uriResourceParts.get(0);
+    final EdmEntityType edmEntityType = uriEs.getEntitySet().getEntityType();
+    when(uriEs.getEntityType()).thenReturn(edmEntityType);
+  }
+
   @SuppressWarnings("unchecked")
   private ODataRequest preparePrimitiveSimpleProperty() throws EdmPrimitiveTypeException {
     final ODataRequest request = mock(ODataRequest.class);
@@ -0,0 +1,174 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.core.processor.JPAPropertyAccessors.Getter;
+import com.sap.olingo.jpa.processor.core.processor.JPAPropertyAccessors.Setter;
+import com.sap.olingo.jpa.processor.core.testmodel.ABCClassification;
+import com.sap.olingo.jpa.processor.core.testmodel.Organization;
+
+class JPAPropertyAccessorsTest {
+
+  @Test
+  void testAccessorsCreatedOncePerClass() {
+    assertSame(JPAPropertyAccessors.of(Organization.class), JPAPropertyAccessors.of(Organization.class));
+  }
+
+  @Test
+  void testGetterReadsValue() throws IllegalAccessException, InvocationTargetException {
+    final Organization org = new Organization("10");
+    org.setName1("Test");
+    final Getter getter = JPAPropertyAccessors.of(Organization.class).getGetter("name1");
+
+    assertNotNull(getter);
+    assertEquals(String.class, getter.getType());
+    assertEquals("Test", getter.get(org));
+  }
+
+  @Test
+  void testGetterOfSuperClassFound() throws IllegalAccessException, InvocationTargetException {
+    assertEquals("10", JPAPropertyAccessors.of(Organization.class).getGetter("iD").get(new Organization("10")));
+  }
+
+  @Test
+  void testGetterNameStartsWithLowerCase() {
+    assertNotNull(JPAPropertyAccessors.of(Organization.class).getGetter("aBCClass"));
+    assertNull(JPAPropertyAccessors.of(Organization.class).getGetter("ABCClass"));
+  }
+
+  @Test
+  void testAccessorsFoundByMethodNameSuffix() throws IllegalAccessException, InvocationTargetException {
+    final Organization org = new Organization();
+    JPAPropertyAccessors.of(Organization.class).getSetterBySuffix("ID", String.class).set(org, "10");
+
+    assertEquals("10", JPAPropertyAccessors.of(Organization.class).getGetterBySuffix("ID").get(org));
+    assertNull(JPAPropertyAccessors.of(Organization.class).getGetterBySuffix("iD"));
+    assertNull(JPAPropertyAccessors.of(Organization.class).getSetterBySuffix("ID", Object.class));
+  }
+
+  @Test
+  void testUnknownGetterReturnsNull() {
+    assertNull(JPAPropertyAccessors.of(Organization.class).getGetter("unknown"));
+  }
+
+  @Test
+  void testSetterChangesValue() throws IllegalAccessException, InvocationTargetException {
+    final Organization org = new Organization("10");
+    JPAPropertyAccessors.of(Organization.class).getSetter("aBCClass", ABCClassification.class)
+        .set(org, ABCClassification.B);
+
+    assertEquals(ABCClassification.B, org.getABCClass());
+  }
+
+  @Test
+  void testSetterRequiresExactParameterType() {
+    assertNull(JPAPropertyAccessors.of(Organization.class).getSetter("name1", Object.class));
+    assertTrue(JPAPropertyAccessors.of(Organization.class).getSetters("unknown").isEmpty());
+  }
+
+  @Test
+  void testOverloadedSetterProvided() {
+    assertEquals(2, JPAPropertyAccessors.of(Pojo.class).getSetters("value").size());
+    assertNotNull(JPAPropertyAccessors.of(Pojo.class).getSetter("value", int.class));
+    assertNotNull(JPAPropertyAccessors.of(Pojo.class).getSetter("value", String.class));
+  }
+
+  @Test
+  void testSetterOfPrimitiveTakesWrapper() throws IllegalAccessException, InvocationTargetException {
+    final Pojo pojo = new Pojo();
+    JPAPropertyAccessors.of(Pojo.class).getSetter("value", int.class).set(pojo, 5);
+
+    assertEquals(5, pojo.getValue());
+  }
+
+  @Test
+  void testSetterOfPrimitiveRejectsNull() {
+    final Setter setter = JPAPropertyAccessors.of(Pojo.class).getSetter("value", int.class);
+    assertThrows(IllegalArgumentException.class, () -> setter.set(new Pojo(), null));
+  }
+
+  @Test
+  void testSetterRejectsWrongType() {
+    final Setter setter = JPAPropertyAccessors.of(Pojo.class).getSetter("value", int.class);
+    assertThrows(IllegalArgumentException.class, () -> setter.set(new Pojo(), 5L));
+  }
+
+  @Test
+  void testExceptionOfSetterWrapped() {
+    final Setter setter = JPAPropertyAccessors.of(Pojo.class).getSetter("value", String.class);
+    final InvocationTargetException act = assertThrows(InvocationTargetException.class,
+        () -> setter.set(new Pojo(), "A"));
+    assertEquals(NumberFormatException.class, act.getCause().getClass());
+  }
+
+  @Test
+  void testExceptionOfGetterWrapped() {
+    final Getter getter = JPAPropertyAccessors.of(Pojo.class).getGetter("failing");
+    final InvocationTargetException act = assertThrows(InvocationTargetException.class,
+        () -> getter.get(new Pojo()));
+    assertEquals(IllegalStateException.class, act.getCause().getClass());
+  }
+
+  @Test
+  void testStaticAndParameterizedMethodsIgnored() {
+    assertNull(JPAPropertyAccessors.of(Pojo.class).getGetter("constant"));
+    assertNull(JPAPropertyAccessors.of(Pojo.class).getGetter("indexed"));
+  }
+
+  @Test
+  void testAccessorsOfNonPublicClassUseReflection() throws IllegalAccessException, InvocationTargetException {
+    final HiddenPojo pojo = new HiddenPojo();
+    JPAPropertyAccessors.of(HiddenPojo.class).getSetter("name", String.class).set(pojo, "Test");
+
+    assertEquals("Test", JPAPropertyAccessors.of(HiddenPojo.class).getGetter("name").get(pojo));
+  }
+
+  public static class Pojo {
+    private int value;
+
+    public static String getConstant() {
+      return "A";
+    }
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(final int value) {
+      this.value = value;
+    }
+
+    public void setValue(final String value) {
+      this.value = Integer.parseInt(value);
+    }
+
+    public String getIndexed(final int index) {
+      return String.valueOf(index);
+    }
+
+    public String getFailing() {
+      throw new IllegalStateException();
+    }
+  }
+
+  private static class HiddenPojo {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(final String name) {
+      this.name = name;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.Optional;
 
 import javax.persistence.EntityManager;
 
+import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntityContainer;
@@ -54,6 +55,7 @@ import org.apache.olingo.server.api.uri.UriParameter;
 import org.apache.olingo.server.api.uri.UriResourceKind;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
@@ -70,6 +72,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.modify.JPAConversionHelper;
+import com.sap.olingo.jpa.processor.core.serializer.JPACreatedEntityCollection;
 import com.sap.olingo.jpa.processor.core.serializer.JPASerializer;
 import com.sap.olingo.jpa.processor.core.serializer.JPASerializerFactory;
 import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
@@ -665,6 +668,92 @@ class TestJPACreateProcessor extends TestJPAModifyProcessor {
     return property;
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void testCreateCollectionCallsHandlerOnce() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareCollectionRequest(prepareSimpleRequest(), 2);
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+    when(handler.createEntities(any(), any())).thenReturn(Arrays.asList(new Organization("35"),
+        new Organization("36")));
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+
+    final ArgumentCaptor<List<JPARequestEntity>> captor = ArgumentCaptor.forClass(List.class);
+    verify(handler, times(1)).createEntities(captor.capture(), any());
+    verify(handler, never()).createEntity(any(), any());
+    verify(handler, times(1)).validateChanges(em);
+    verify(transaction, times(1)).commit();
+    assertEquals(2, captor.getValue().size());
+    assertEquals("Organization", captor.getValue().get(0).getEntityType().getExternalName());
+  }
+
+  @Test
+  void testCreateCollectionMinimalResponse() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareCollectionRequest(prepareSimpleRequest(), 2);
+    when(requestContext.getCUDRequestHandler()).thenReturn(new RequestHandleSpy());
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+
+    assertEquals(HttpStatusCode.NO_CONTENT.getStatusCode(), response.getStatusCode());
+    assertEquals("return=minimal", response.getHeader(HttpHeader.PREFERENCE_APPLIED));
+    assertEquals(null, response.getHeader(HttpHeader.LOCATION));
+  }
+
+  @Test
+  void testCreateCollectionRepresentationResponse() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareCollectionRequest(prepareRepresentationRequest(new RequestHandleSpy()), 2);
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+
+    final ArgumentCaptor<EntityCollection> captor = ArgumentCaptor.forClass(EntityCollection.class);
+    verify(serializer).serialize(ArgumentMatchers.eq(request), captor.capture());
+    assertEquals(HttpStatusCode.CREATED.getStatusCode(), response.getStatusCode());
+    assertEquals(2, captor.getValue().getEntities().size());
+    assertTrue(captor.getValue() instanceof JPACreatedEntityCollection);
+  }
+
+  @Test
+  void testCreateCollectionDoesRollbackOnMissingResult() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareCollectionRequest(prepareSimpleRequest(), 2);
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+    when(handler.createEntities(any(), any())).thenReturn(Arrays.asList(new Organization("35")));
+
+    assertThrows(ODataException.class,
+        () -> processor.createEntity(request, response, ContentType.JSON, ContentType.JSON));
+    verify(transaction, never()).commit();
+    verify(transaction, times(1)).rollback();
+  }
+
+  @Test
+  void testCreateCollectionDoesNotCallsValidateChangesOnForeignTransaction() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareCollectionRequest(prepareSimpleRequest(), 2);
+    final RequestHandleSpy spy = new RequestHandleSpy();
+    when(requestContext.getCUDRequestHandler()).thenReturn(spy);
+    when(factory.hasActiveTransaction()).thenReturn(Boolean.TRUE);
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+    assertEquals(0, spy.noValidateCalls);
+    assertTrue(spy.called);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ODataRequest prepareCollectionRequest(final ODataRequest request, final int noEntities)
+      throws ODataJPAProcessorException {
+    final List<Entity> entities = new ArrayList<>(noEntities);
+    for (int i = 0; i < noEntities; i++)
+      entities.add(mock(Entity.class));
+    when(convHelper.convertInputStreamCollection(ArgumentMatchers.same(odata), ArgumentMatchers.same(request),
+        ArgumentMatchers.same(ContentType.JSON), any(List.class))).thenReturn(Optional.of(entities));
+    return request;
+  }
+
   class RequestHandleSpy extends JPAAbstractCUDRequestHandler {
     public int noValidateCalls;
     public JPAEntityType et;
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -20,6 +21,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaDelete;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
@@ -29,6 +31,7 @@ import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriParameter;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.processor.core.api.JPAAbstractCUDRequestHandler;
@@ -40,6 +43,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataGroupsProvider;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.modify.JPAConversionHelper;
+import com.sap.olingo.jpa.processor.core.testmodel.Organization;
 
 class TestJPADeleteProcessor extends TestJPAModifyProcessor {
 
@@ -286,6 +290,38 @@ class TestJPADeleteProcessor extends TestJPAModifyProcessor {
     verify(factory, times(1)).createTransaction();
   }
 
+  @Test
+  void testDeleteEntitiesNotSupportedByDefault() throws ODataJPAProcessException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = mock(ODataRequest.class);
+    when(em.unwrap(EntityManager.class)).thenReturn(emf.createEntityManager());
+    when(requestContext.getCUDRequestHandler()).thenReturn(new RequestHandleSpy());
+
+    final ODataApplicationException act = assertThrows(ODataApplicationException.class,
+        () -> processor.deleteEntities(request, response));
+    assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), act.getStatusCode());
+    verify(transaction, times(1)).rollback();
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  void testDeleteEntitiesProvidesStatement() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = mock(ODataRequest.class);
+    final EntityManager providerEm = emf.createEntityManager();
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final ArgumentCaptor<CriteriaDelete> delete = ArgumentCaptor.forClass(CriteriaDelete.class);
+    when(em.unwrap(EntityManager.class)).thenReturn(providerEm);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+
+    processor.deleteEntities(request, response);
+
+    verify(handler).deleteEntities(any(JPARequestEntity.class), delete.capture(), eq(providerEm));
+    assertEquals(Organization.class, delete.getValue().getRoot().getJavaType());
+    verify(transaction, times(1)).commit();
+    assertEquals(204, response.getStatusCode());
+  }
+
   class RequestHandleSpy extends JPAAbstractCUDRequestHandler {
     public int noValidateCalls;
     public Map<String, Object> keyPredicates;
@@ -50,6 +50,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataTransactionFactory;
 import com.sap.olingo.jpa.processor.core.api.JPAODataTransactionFactory.JPAODataTransaction;
 import com.sap.olingo.jpa.processor.core.api.JPAServiceDebugger;
+import com.sap.olingo.jpa.processor.core.database.JPADefaultDatabaseProcessor;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.modify.JPAConversionHelper;
 import com.sap.olingo.jpa.processor.core.query.EdmBindingTargetInfo;
@@ -123,6 +124,9 @@ abstract class TestJPAModifyProcessor {
     when(requestContext.getUriInfo()).thenReturn(uriInfo);
     when(requestContext.getSerializer()).thenReturn(serializer);
     when(requestContext.getTransactionFactory()).thenReturn(factory);
+    when(requestContext.getHeader()).thenReturn(new JPAHttpHeaderHashMap());
+    when(requestContext.getRequestParameter()).thenReturn(new JPARequestParameterHashMap());
+    when(requestContext.getOperationConverter()).thenReturn(new JPADefaultDatabaseProcessor());
     when(uriInfo.getUriResourceParts()).thenReturn(pathParts);
     when(uriEts.getKeyPredicates()).thenReturn(keyPredicates);
     when(uriEts.getEntitySet()).thenReturn(ets);
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -19,12 +20,14 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaUpdate;
 
 import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.apache.olingo.commons.api.ex.ODataException;
@@ -40,6 +43,7 @@ import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriResourceProperty;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAStructuredType;
@@ -602,6 +606,128 @@ class TestJPAUpdateProcessor extends TestJPAModifyProcessor {
     verify(transaction, times(1)).commit();
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  void testUpdateEntitiesProvidesStatement() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareSimpleRequest();
+    final EntityManager providerEm = emf.createEntityManager();
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    final ArgumentCaptor<CriteriaUpdate> update = ArgumentCaptor.forClass(CriteriaUpdate.class);
+    final Map<String, Object> jpaAttributes = new HashMap<>();
+    jpaAttributes.put("name2", "Test");
+    when(em.unwrap(EntityManager.class)).thenReturn(providerEm);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+    when(convHelper.convertProperties(any(OData.class), any(JPAStructuredType.class), any(List.class)))
+        .thenReturn(jpaAttributes);
+
+    processor.updateEntities(request, response, ContentType.JSON);
+
+    verify(handler).updateEntities(any(JPARequestEntity.class), update.capture(), eq(providerEm));
+    assertEquals(Organization.class, update.getValue().getRoot().getJavaType());
+    verify(transaction, times(1)).commit();
+    assertEquals(204, response.getStatusCode());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testUpdateEntitiesRejectsKeyChange() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareSimpleRequest();
+    final Map<String, Object> jpaAttributes = new HashMap<>();
+    jpaAttributes.put("iD", "35");
+    when(em.unwrap(EntityManager.class)).thenReturn(emf.createEntityManager());
+    when(requestContext.getCUDRequestHandler()).thenReturn(new RequestHandleSpy());
+    when(convHelper.convertProperties(any(OData.class), any(JPAStructuredType.class), any(List.class)))
+        .thenReturn(jpaAttributes);
+
+    final ODataApplicationException act = assertThrows(ODataApplicationException.class,
+        () -> processor.updateEntities(request, response, ContentType.JSON));
+    assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), act.getStatusCode());
+    verify(factory, never()).createTransaction();
+  }
+
+  @Test
+  void testConditionalUpdateUsedIfHandlerAccepts() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareConditionalRequest();
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+    when(handler.useConditionalUpdate(any())).thenReturn(true);
+    when(handler.updateEntityConditional(any(), any(), any())).thenReturn(1);
+
+    processor.updateEntity(request, response, ContentType.JSON, ContentType.JSON);
+
+    verify(handler).updateEntityConditional(any(JPARequestEntity.class), any(CriteriaUpdate.class), any(
+        EntityManager.class));
+    verify(handler, never()).updateEntity(any(), any(), any());
+    verify(em, never()).find(any(), any());
+    verify(transaction, times(1)).commit();
+    assertEquals(HttpStatusCode.NO_CONTENT.getStatusCode(), response.getStatusCode());
+  }
+
+  @Test
+  void testConditionalUpdateFailsIfNoEntityMatches() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareConditionalRequest();
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+    when(handler.useConditionalUpdate(any())).thenReturn(true);
+    when(handler.updateEntityConditional(any(), any(), any())).thenReturn(0);
+
+    final ODataApplicationException act = assertThrows(ODataApplicationException.class,
+        () -> processor.updateEntity(request, response, ContentType.JSON, ContentType.JSON));
+
+    assertEquals(HttpStatusCode.PRECONDITION_FAILED.getStatusCode(), act.getStatusCode());
+    verify(transaction, never()).commit();
+    verify(transaction, times(1)).rollback();
+  }
+
+  @Test
+  void testConditionalUpdateNotUsedByDefault() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareConditionalRequest();
+    final RequestHandleSpy spy = new RequestHandleSpy();
+    when(requestContext.getCUDRequestHandler()).thenReturn(spy);
+
+    processor.updateEntity(request, response, ContentType.JSON, ContentType.JSON);
+
+    assertTrue(spy.called);
+  }
+
+  @Test
+  void testConditionalUpdateNotUsedForPut() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareConditionalRequest();
+    final JPACUDRequestHandler handler = mock(JPACUDRequestHandler.class);
+    when(request.getMethod()).thenReturn(HttpMethod.PUT);
+    when(requestContext.getCUDRequestHandler()).thenReturn(handler);
+    when(handler.useConditionalUpdate(any())).thenReturn(true);
+    when(handler.updateEntity(any(), any(), any())).thenReturn(new JPAUpdateResult(false, new Organization()));
+
+    processor.updateEntity(request, response, ContentType.JSON, ContentType.JSON);
+
+    verify(handler, never()).updateEntityConditional(any(), any(), any());
+    verify(handler).updateEntity(any(), any(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private ODataRequest prepareConditionalRequest() throws ODataException {
+    final ODataRequest request = prepareSimpleRequest();
+    final Map<String, Object> keys = new HashMap<>();
+    final Map<String, Object> jpaAttributes = new HashMap<>();
+    keys.put("iD", "35");
+    jpaAttributes.put("country", "DEU");
+    when(ets.getName()).thenReturn("BusinessPartners");
+    when(request.getMethod()).thenReturn(HttpMethod.PATCH);
+    when(request.getHeaders(HttpHeader.IF_MATCH)).thenReturn(Collections.singletonList("\"0\""));
+    when(convHelper.convertUriKeys(any(), any(), any())).thenReturn(keys);
+    when(convHelper.convertProperties(any(OData.class), any(JPAStructuredType.class), any(List.class)))
+        .thenReturn(jpaAttributes);
+    when(em.unwrap(EntityManager.class)).thenReturn(emf.createEntityManager());
+    return request;
+  }
+
   class RequestHandleSpy extends JPAAbstractCUDRequestHandler {
     public int noValidateCalls;
     public JPAEntityType et;
@@ -5,11 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,9 +22,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAElement;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAOnConditionItem;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAInvocationTargetException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
@@ -361,6 +366,56 @@ class TestModifyUtil extends TestBase {
     });
   }
 
+  @Test
+  void testSetForeignKeyUpperCaseAttributeName() throws ODataJPAModelException, ODataJPAProcessorException {
+    final UpperCaseNames source = new UpperCaseNames();
+    final UpperCaseNames target = new UpperCaseNames();
+    final JPAAssociationPath path = mock(JPAAssociationPath.class);
+    final JPAOnConditionItem joinColumn = mock(JPAOnConditionItem.class, RETURNS_DEEP_STUBS);
+    source.setID("100");
+    when(joinColumn.getLeftPath().getLeaf().getInternalName()).thenReturn("ID");
+    when(joinColumn.getRightPath().getLeaf().getInternalName()).thenReturn("ID");
+    when(path.getJoinColumnsList()).thenReturn(Collections.singletonList(joinColumn));
+
+    cut.setForeignKey(source, target, path);
+    assertEquals("100", target.getID());
+  }
+
+  @Test
+  void testDirectLinkUpperCaseAttributeName() throws ODataJPAProcessorException {
+    final UpperCaseNames source = new UpperCaseNames();
+    final UpperCaseNames target = new UpperCaseNames();
+    final JPAAssociationPath path = mock(JPAAssociationPath.class);
+    final JPAAssociationAttribute leaf = mock(JPAAssociationAttribute.class);
+    when(leaf.getInternalName()).thenReturn("URL");
+    when(path.getLeaf()).thenReturn(leaf);
+    when(path.getPath()).thenReturn(Collections.<JPAElement> singletonList(leaf));
+
+    cut.linkEntities(source, target, path);
+    assertEquals(target, source.getURL());
+  }
+
+  public static class UpperCaseNames {
+    private String id;
+    private UpperCaseNames url;
+
+    public String getID() {
+      return id;
+    }
+
+    public void setID(final String id) {
+      this.id = id;
+    }
+
+    public UpperCaseNames getURL() {
+      return url;
+    }
+
+    public void setURL(final UpperCaseNames url) {
+      this.url = url;
+    }
+  }
+
   private JPAEntityType createSingleKeyEntityType() throws ODataJPAModelException {
     final List<JPAAttribute> keyAttributes = new ArrayList<>();
     final JPAAttribute keyAttribute = mock(JPAAttribute.class);
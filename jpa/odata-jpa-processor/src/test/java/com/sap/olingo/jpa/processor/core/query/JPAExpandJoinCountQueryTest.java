@@ -25,6 +25,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.processor.JPAEmptyDebugger;
 import com.sap.olingo.jpa.processor.core.util.TestBase;
 
@@ -92,11 +93,11 @@ class JPAExpandJoinCountQueryTest extends TestBase {
     intermediateResult.add(row);
 
     cut = new JPAExpandJoinCountQuery(odata, requestContext, et, association, hops, keyBoundary);
-    final Map<String, Long> act = cut.convertCountResult(intermediateResult);
+    final Map<JPAResultKey, Long> act = cut.convertCountResult(intermediateResult);
 
     assertNotNull(act);
     assertEquals(1, act.size());
-    assertEquals(5L, act.get(""));
+    assertEquals(5L, act.get(JPAResultKey.of()));
   }
 
   @Test
@@ -107,11 +108,11 @@ class JPAExpandJoinCountQueryTest extends TestBase {
     intermediateResult.add(row);
 
     cut = new JPAExpandJoinCountQuery(odata, requestContext, et, association, hops, keyBoundary);
-    final Map<String, Long> act = cut.convertCountResult(intermediateResult);
+    final Map<JPAResultKey, Long> act = cut.convertCountResult(intermediateResult);
 
     assertNotNull(act);
     assertEquals(1, act.size());
-    assertEquals(5L, act.get(""));
+    assertEquals(5L, act.get(JPAResultKey.of()));
   }
   
   private JPANavigationPropertyInfo createHop(final JPAAssociationPath exp) {
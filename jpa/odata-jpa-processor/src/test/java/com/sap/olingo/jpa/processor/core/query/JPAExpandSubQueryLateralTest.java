@@ -0,0 +1,71 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+/**
+ * HSQLDB supports lateral derived tables, so $top and $skip of an $expand are handled by a lateral join. The result
+ * has to be the same as the one created using the window function ROW_NUMBER.
+ */
+class JPAExpandSubQueryLateralTest extends TestBase {
+  private static DataSource lateralDs;
+  private static EntityManagerFactory lateralEmf;
+
+  static Stream<String> expandRequests() {
+    return Stream.of(
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')?$select=CodeID&$expand=Children($top=2;$orderby=DivisionCode desc)",
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')?$expand=Children($top=2;$skip=2;$orderby=DivisionCode desc)",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$orderby=DivisionCode&$expand=Children($skip=1;$select=DivisionCode)",
+        "Organizations?$count=true&$orderby=ID&$expand=Roles($count=true;$top=1)",
+        "Organizations?$top=2&$skip=2&$orderby=ID&$expand=Roles($count=true;$top=1)");
+  }
+
+  @BeforeAll
+  static void classSetup() {
+    lateralDs = DataSourceHelper.createDataSource(DataSourceHelper.DB_HSQLDB);
+    lateralEmf = JPAEntityManagerFactory.getEntityManagerFactory(PUNIT_NAME, lateralDs);
+  }
+
+  @ParameterizedTest
+  @MethodSource("expandRequests")
+  void testLateralJoinProvidesSameResultAsRowNumber(final String request) throws IOException, ODataException {
+    final IntegrationTestHelper rowNumberHelper = new IntegrationTestHelper(emf, request);
+    final IntegrationTestHelper lateralHelper = new IntegrationTestHelper(lateralEmf, lateralDs, request);
+    rowNumberHelper.assertStatus(200);
+    lateralHelper.assertStatus(200);
+
+    final ObjectMapper mapper = new ObjectMapper();
+    assertEquals(mapper.readTree(rowNumberHelper.getRawResult()), mapper.readTree(lateralHelper.getRawResult()));
+  }
+
+  @Test
+  void testLateralJoinWithFilter() throws IOException, ODataException {
+    final IntegrationTestHelper helper = new IntegrationTestHelper(lateralEmf, lateralDs,
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')?$expand=Children($filter=DivisionCode ne 'BE21';$top=2)");
+    helper.assertStatus(200);
+
+    final ArrayNode children = (ArrayNode) helper.getValue().get("Children");
+    assertEquals(2, children.size());
+    assertEquals("BE22", children.get(0).get("DivisionCode").asText());
+    assertEquals("BE23", children.get(1).get("DivisionCode").asText());
+  }
+}
@@ -0,0 +1,218 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaUpdate;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.processor.core.api.JPAClaimsPair;
+import com.sap.olingo.jpa.processor.core.api.JPAODataClaimsProvider;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.database.JPADefaultDatabaseProcessor;
+import com.sap.olingo.jpa.processor.core.processor.JPAEmptyDebugger;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class JPASetBasedModifyQueryTest extends TestBase {
+  private OData odata;
+  private EntityManager em;
+  private JPAEdmProvider edmProvider;
+  private JPAODataRequestContextAccess requestContext;
+
+  @BeforeEach
+  void setup() throws ODataException {
+    odata = OData.newInstance();
+    em = emf.createEntityManager();
+    edmProvider = new JPAEdmProvider(PUNIT_NAME, emf, null, TestBase.enumPackages);
+    requestContext = mock(JPAODataRequestContextAccess.class);
+    when(requestContext.getEntityManager()).thenReturn(em);
+    when(requestContext.getEdmProvider()).thenReturn(edmProvider);
+    when(requestContext.getDebugger()).thenReturn(new JPAEmptyDebugger());
+    when(requestContext.getOperationConverter()).thenReturn(new JPADefaultDatabaseProcessor());
+    em.getTransaction().begin();
+  }
+
+  @AfterEach
+  void teardown() {
+    em.getTransaction().rollback();
+    em.close();
+  }
+
+  @Test
+  void testDeleteRestrictedByFilter() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartnerRoles", "$filter=RoleCategory eq 'A'");
+
+    final CriteriaDelete<?> delete = cut.createDelete();
+    assertEquals(3, em.createQuery(delete).executeUpdate());
+    assertEquals(8L, countRoles());
+  }
+
+  @Test
+  void testDeleteRestrictedByNavigationFilter() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartnerRoles",
+        "$filter=BusinessPartner/Country eq 'DEU'");
+
+    assertEquals(3, em.createQuery(cut.createDelete()).executeUpdate());
+    assertEquals(8L, countRoles());
+  }
+
+  @Test
+  void testDeleteWithoutFilterDeletesAll() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartnerRoles", null);
+
+    assertEquals(11, em.createQuery(cut.createDelete()).executeUpdate());
+  }
+
+  @Test
+  void testUpdateRestrictedByFilter() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("Organizations", "$filter=Address/Region eq 'US-CA'");
+    final Map<String, Object> data = new HashMap<>();
+    data.put("name2", "Changed");
+
+    final CriteriaUpdate<?> update = cut.createUpdate(data);
+    assertEquals(3, em.createQuery(update).executeUpdate());
+    assertEquals(3L, em.createQuery(
+        "SELECT COUNT(o) FROM Organization o WHERE o.name2 = 'Changed'", Long.class).getSingleResult());
+  }
+
+  @Test
+  void testUpdateOfEmbeddedAttribute() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("Organizations", "$filter=ID eq '1'");
+    final Map<String, Object> address = new HashMap<>();
+    final Map<String, Object> data = new HashMap<>();
+    address.put("cityName", "New City");
+    data.put("address", address);
+
+    assertEquals(1, em.createQuery(cut.createUpdate(data)).executeUpdate());
+    assertEquals(1L, em.createQuery(
+        "SELECT COUNT(o) FROM Organization o WHERE o.address.cityName = 'New City'", Long.class).getSingleResult());
+  }
+
+  @Test
+  void testUpdateOfKeyRejected() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("Organizations", "$filter=ID eq '1'");
+    final Map<String, Object> data = new HashMap<>();
+    data.put("iD", "100");
+
+    final ODataApplicationException act = assertThrows(ODataApplicationException.class, () -> cut.createUpdate(
+        data));
+    assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), act.getStatusCode());
+  }
+
+  @Test
+  void testUpdateOfCollectionRejected() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("Organizations", "$filter=ID eq '1'");
+    final Map<String, Object> data = new HashMap<>();
+    data.put("comment", new ArrayList<>());
+
+    final ODataApplicationException act = assertThrows(ODataApplicationException.class, () -> cut.createUpdate(
+        data));
+    assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), act.getStatusCode());
+  }
+
+  @Test
+  void testDeleteOfProtectedEntityRequiresClaims() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartnerProtecteds", null);
+
+    final ODataApplicationException act = assertThrows(ODataApplicationException.class, cut::createDelete);
+    assertEquals(HttpStatusCode.FORBIDDEN.getStatusCode(), act.getStatusCode());
+  }
+
+  @Test
+  void testDeleteOfProtectedEntityWithClaims() throws ODataException {
+    final JPAODataClaimsProvider claims = new JPAODataClaimsProvider();
+    claims.add("UserId", new JPAClaimsPair<>("Willi"));
+    when(requestContext.getClaimsProvider()).thenReturn(Optional.of(claims));
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartnerProtecteds", null);
+
+    assertNotNull(cut.createDelete());
+  }
+
+  @Test
+  void testConditionalUpdateChangesMatchingVersion() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartners", null);
+    final Long eTag = readETag("3");
+    final Map<String, Object> data = new HashMap<>();
+    data.put("country", "DEU");
+
+    assertEquals(1, em.createQuery(cut.createConditionalUpdate(Collections.singletonMap("iD", "3"), eTag, data))
+        .executeUpdate());
+    em.clear();
+    assertEquals(eTag + 1, readETag("3"));
+  }
+
+  @Test
+  void testConditionalUpdateIgnoresOtherVersion() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartners", null);
+    final Long eTag = readETag("3");
+    final Map<String, Object> data = new HashMap<>();
+    data.put("country", "DEU");
+
+    assertEquals(0, em.createQuery(cut.createConditionalUpdate(Collections.singletonMap("iD", "3"), eTag + 1, data))
+        .executeUpdate());
+  }
+
+  @Test
+  void testConditionalUpdatePossible() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartners", null);
+    final Map<String, Object> address = new HashMap<>();
+    final Map<String, Object> data = new HashMap<>();
+    address.put("cityName", "New City");
+    data.put("country", "DEU");
+    data.put("address", address);
+
+    assertTrue(cut.isConditionalUpdatePossible(data));
+  }
+
+  @Test
+  void testConditionalUpdateNotPossibleForKeyOrVersion() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartners", null);
+
+    assertFalse(cut.isConditionalUpdatePossible(Collections.singletonMap("iD", "3")));
+    assertFalse(cut.isConditionalUpdatePossible(Collections.singletonMap("eTag", 3L)));
+  }
+
+  @Test
+  void testConditionalUpdateNotPossibleWithoutVersion() throws ODataException {
+    final JPASetBasedModifyQuery cut = createQuery("BusinessPartnerRoles", null);
+
+    assertFalse(cut.isConditionalUpdatePossible(Collections.singletonMap("roleCategory", "A")));
+  }
+
+  private JPASetBasedModifyQuery createQuery(final String entitySet, final String query) throws ODataException {
+    when(requestContext.getUriInfo()).thenReturn(new Parser(odata.createServiceMetadata(edmProvider,
+        new ArrayList<>()).getEdm(), odata).parseUri(entitySet, query, null, "http://localhost:8080/"));
+    return new JPASetBasedModifyQuery(odata, edmProvider.getServiceDocument().getEntity(entitySet), requestContext);
+  }
+
+  private Long readETag(final String id) {
+    return em.createQuery("SELECT b.eTag FROM BusinessPartner b WHERE b.iD = :id", Long.class).setParameter("id", id)
+        .getSingleResult();
+  }
+
+  private Long countRoles() {
+    return em.createQuery("SELECT COUNT(r) FROM BusinessPartnerRole r", Long.class).getSingleResult();
+  }
+}
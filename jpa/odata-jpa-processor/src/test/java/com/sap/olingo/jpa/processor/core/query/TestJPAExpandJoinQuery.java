@@ -25,6 +25,8 @@ import org.apache.olingo.server.api.uri.UriParameter;
 import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.UriResourceEntitySet;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -159,6 +161,51 @@ class TestJPAExpandJoinQuery extends TestBase {
     assertEquals(34, act.getNoResultsDeep());
   }
 
+  @Test
+  void testSelectOrgByIdWithExpandTopSkip() throws ODataException {
+    // .../Organizations('3')?$expand=Roles($skip=1;$top=1)&$format=json
+    final JPAInlineItemInfo item = createOrgExpandRoles(createOrgKey("'3'"), null);
+    final TopOption top = mock(TopOption.class);
+    final SkipOption skip = mock(SkipOption.class);
+    when(top.getValue()).thenReturn(1);
+    when(skip.getValue()).thenReturn(1);
+    when(item.getUriInfo().getTopOption()).thenReturn(top);
+    when(item.getUriInfo().getSkipOption()).thenReturn(skip);
+
+    cut = new JPAExpandJoinQuery(OData.newInstance(), item, requestContext, Optional.empty());
+    assertTrue(cut.hasSingleParent());
+    final JPAExpandQueryResult act = cut.execute();
+    assertEquals(1, act.getNoResults());
+    assertEquals(1, act.getNoResultsDeep());
+  }
+
+  @Test
+  void testHasSingleParentFalseWithoutKey() throws ODataException {
+    // .../Organizations?$expand=Roles&$format=json
+    final JPAInlineItemInfo item = createOrgExpandRoles(null, null);
+    cut = new JPAExpandJoinQuery(OData.newInstance(), item, requestContext, Optional.empty());
+    assertFalse(cut.hasSingleParent());
+  }
+
+  @Test
+  void testHasSingleParentTrueWithMinBoundaryOnly() throws ODataException {
+    // .../Organizations?$expand=Roles&$top=1&$format=json
+    final JPAInlineItemInfo item = createOrgExpandRoles(null, null);
+    setSimpleKey(3);
+    cut = new JPAExpandJoinQuery(OData.newInstance(), item, requestContext, orgBoundary);
+    assertTrue(cut.hasSingleParent());
+  }
+
+  @Test
+  void testHasSingleParentFalseWithMinMaxBoundary() throws ODataException {
+    // .../Organizations?$expand=Roles&$top=2&$format=json
+    final JPAInlineItemInfo item = createOrgExpandRoles(null, null);
+    setSimpleKey(2);
+    setSimpleKey(1);
+    cut = new JPAExpandJoinQuery(OData.newInstance(), item, requestContext, orgBoundary);
+    assertFalse(cut.hasSingleParent());
+  }
+
   @Test
   void testSQLStringNotEmptyAfterExecute() throws ODataException {
     // .../Organizations?$expand=Roles&$format=json
@@ -249,6 +296,15 @@ class TestJPAExpandJoinQuery extends TestBase {
     return item;
   }
 
+  private List<UriParameter> createOrgKey(final String value) {
+    final UriParameter key = mock(UriParameter.class);
+    when(key.getName()).thenReturn("ID");
+    when(key.getText()).thenReturn(value);
+    final List<UriParameter> keyPredicates = new ArrayList<>();
+    keyPredicates.add(key);
+    return keyPredicates;
+  }
+
   private void setSimpleKey(final Integer value) throws ODataJPAModelException, ODataJPAKeyPairException {
     simpleKey = new HashMap<>(1);
     simpleKey.put(helper.getJPAEntityType("Organizations").getKey().get(0), value);
@@ -32,6 +32,8 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.util.TestBase;
 import com.sap.olingo.jpa.processor.core.util.TestHelper;
@@ -45,7 +47,7 @@ class TestJPAExpandQueryResult extends TestBase {
   private ExpandOption expand;
   private JPAODataRequestContextAccess requestContext;
   private TestHelper helper;
-  private final HashMap<String, List<Tuple>> queryResult = new HashMap<>(1);
+  private final HashMap<JPAResultKey, List<Tuple>> queryResult = new HashMap<>(1);
   private final List<Tuple> tuples = new ArrayList<>();
   private JPAEntityType et;
   private List<JPANavigationPropertyInfo> hops;
@@ -68,7 +70,7 @@ class TestJPAExpandQueryResult extends TestBase {
     expand = mock(ExpandOption.class);
     page = new JPAODataPage(null, 0, Integer.MAX_VALUE, hop1);
     when(requestContext.getUriInfo()).thenReturn(uriInfo);
-    queryResult.put("root", tuples);
+    queryResult.put(JPAExpandResult.ROOT_RESULT_KEY, tuples);
   }
 
   @Test
@@ -119,7 +121,7 @@ class TestJPAExpandQueryResult extends TestBase {
   @Test
   void checkGetKeyBoundaryEmptyBoundaryNoResult() throws ODataJPAModelException, ODataJPAProcessException {
 
-    queryResult.put("root", Collections.emptyList());
+    queryResult.put(JPAExpandResult.ROOT_RESULT_KEY, Collections.emptyList());
 
     cut = new JPAExpandQueryResult(queryResult, null, helper.getJPAEntityType("Organizations"),
         Collections.emptyList());
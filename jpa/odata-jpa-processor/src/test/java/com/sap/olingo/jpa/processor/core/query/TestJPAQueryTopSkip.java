@@ -55,4 +55,48 @@ class TestJPAQueryTopSkip extends TestBase {
     assertEquals("LAU2", act.get(0).get("CodeID").asText());
     assertEquals("31022", act.get(0).get("DivisionCode").asText());
   }
+
+  @Test
+  void testCountWithSkip() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$skip=5&$count=true");
+    helper.assertStatus(200);
+    final ObjectNode collection = helper.getValue();
+    assertEquals(243, ((ArrayNode) collection.get("value")).size());
+    assertEquals(248, collection.get("@odata.count").asInt());
+  }
+
+  @Test
+  void testCountWithSkipBehindLastRow() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$skip=300&$count=true");
+    helper.assertStatus(200);
+    final ObjectNode collection = helper.getValue();
+    assertEquals(0, ((ArrayNode) collection.get("value")).size());
+    assertEquals(248, collection.get("@odata.count").asInt());
+  }
+
+  @Test
+  void testCountWithTopCuttingResult() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$skip=5&$top=5&$count=true");
+    helper.assertStatus(200);
+    final ObjectNode collection = helper.getValue();
+    assertEquals(5, ((ArrayNode) collection.get("value")).size());
+    assertEquals(248, collection.get("@odata.count").asInt());
+  }
+
+  @Test
+  void testCountWithTopNotCuttingResult() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$top=300&$count=true&$filter=CodeID eq 'NUTS1'");
+    helper.assertStatus(200);
+    final ObjectNode collection = helper.getValue();
+    final int noResults = ((ArrayNode) collection.get("value")).size();
+    assertEquals(noResults, collection.get("@odata.count").asInt());
+  }
 }
@@ -1,7 +1,9 @@
 package com.sap.olingo.jpa.processor.core.query;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.isNotNull;
@@ -14,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -42,6 +45,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sap.olingo.jpa.processor.core.api.JPAClaimsPair;
 import com.sap.olingo.jpa.processor.core.api.JPAODataClaimsProvider;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPagingProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
 import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
@@ -68,7 +72,7 @@ class TestJPAServerDrivenPaging extends TestBase {
   @Test
   void testReturnsFullResultIfProviderDoesNotReturnPage() throws IOException, ODataException {
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenReturn(null);
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenReturn(null);
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations", provider);
     helper.assertStatus(200);
     assertEquals(10, helper.getValues().size());
@@ -78,8 +82,8 @@ class TestJPAServerDrivenPaging extends TestBase {
   void testReturnsPartResultIfProviderPages() throws IOException, ODataException {
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc", provider);
     helper.assertStatus(200);
     assertEquals(5, helper.getValues().size());
@@ -89,8 +93,8 @@ class TestJPAServerDrivenPaging extends TestBase {
   void testReturnsNextLinkIfProviderPages() throws IOException, ODataException {
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
 
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc", provider);
     helper.assertStatus(200);
@@ -102,8 +106,8 @@ class TestJPAServerDrivenPaging extends TestBase {
   void testReturnsNextLinkNotAStringIfProviderPages() throws IOException, ODataException {
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, Integer.valueOf(123456789)));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, Integer.valueOf(123456789)));
 
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc", provider);
     helper.assertStatus(200);
@@ -129,25 +133,25 @@ class TestJPAServerDrivenPaging extends TestBase {
   void testEntityManagerProvided() throws IOException, ODataException {
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
 
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc", provider);
     helper.assertStatus(200);
 
-    verify(provider).getFirstPage(any(), any(), any(), isNotNull());
+    verify(provider).getFirstPage(any(), any(), any(), any(), isNotNull());
   }
 
   @Test
   void testCountQueryProvided() throws IOException, ODataException {
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc", provider);
     helper.assertStatus(200);
 
-    verify(provider).getFirstPage(any(), any(), isNotNull(), any());
+    verify(provider).getFirstPage(any(), any(), any(), isNotNull(), any());
   }
 
   @Test
@@ -155,13 +159,13 @@ class TestJPAServerDrivenPaging extends TestBase {
     final JPAODataClaimsProvider claims = new JPAODataClaimsProvider();
     claims.add("UserId", new JPAClaimsPair<>("Willi"));
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "BusinessPartnerProtecteds", provider, claims);
     helper.assertStatus(200);
     final ArrayNode act = helper.getValues();
     assertEquals(3, act.size());
-    verify(provider).getFirstPage(any(), any(), argThat(new CountQueryMatcher(3L)), any());
+    verify(provider).getFirstPage(any(), any(), any(), argThat(new CountQueryMatcher(3L)), any());
   }
 
   @Test
@@ -171,8 +175,8 @@ class TestJPAServerDrivenPaging extends TestBase {
     final List<String> headerValues = new ArrayList<>(0);
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
 
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
     headerValues.add("odata.maxpagesize=50");
     headers.put("Prefer", headerValues);
 
@@ -180,7 +184,7 @@ class TestJPAServerDrivenPaging extends TestBase {
         headers);
     helper.assertStatus(200);
 
-    verify(provider).getFirstPage(any(), isNotNull(), any(), any());
+    verify(provider).getFirstPage(any(), any(), isNotNull(), any(), any());
   }
 
   @Test
@@ -188,8 +192,8 @@ class TestJPAServerDrivenPaging extends TestBase {
     headers = new HashMap<>();
     final List<String> headerValues = new ArrayList<>(0);
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
     headerValues.add("odata.maxpagesize=50");
     headers.put("prefer", headerValues);
 
@@ -197,7 +201,7 @@ class TestJPAServerDrivenPaging extends TestBase {
         headers);
     helper.assertStatus(200);
 
-    verify(provider).getFirstPage(any(), isNotNull(), any(), any());
+    verify(provider).getFirstPage(any(), any(), isNotNull(), any(), any());
   }
 
   @Test
@@ -205,13 +209,13 @@ class TestJPAServerDrivenPaging extends TestBase {
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
 
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
 
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc", provider);
     helper.assertStatus(200);
 
-    verify(provider).getFirstPage(isNotNull(), any(), any(), any());
+    verify(provider).getFirstPage(any(), isNotNull(), any(), any(), any());
   }
 
   @Test
@@ -221,8 +225,8 @@ class TestJPAServerDrivenPaging extends TestBase {
     final List<String> headerValues = new ArrayList<>(0);
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
 
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
     headerValues.add("odata.maxpagesize=Hugo");
     headers.put("Prefer", headerValues);
 
@@ -256,8 +260,8 @@ class TestJPAServerDrivenPaging extends TestBase {
     when(selectResource.getProperty()).thenReturn(selectProperty);
     when(selectProperty.getName()).thenReturn("ID");
 
-    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
-        .getArguments()[0], 0, 5, "Hugo"));
+    when(provider.getFirstPage(any(), any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[1], 0, 5, "Hugo"));
 
     when(provider.getNextPage("'Hugo'")).thenReturn(new JPAODataPage(uriInfo, 5, 5, "Willi"));
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc&$select=ID",
@@ -272,6 +276,80 @@ class TestJPAServerDrivenPaging extends TestBase {
 
   }
 
+  @Test
+  void testKeysetPagingReturnsSameResultAsUnpaged() throws IOException, ODataException {
+    final List<String> expected = new ArrayList<>();
+    final IntegrationTestHelper unpaged = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc");
+    unpaged.getValues().forEach(org -> expected.add(org.get("ID").asText()));
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc",
+        buildKeysetPagingProvider(3));
+    helper.assertStatus(200);
+    final String nextLink = helper.getValue().get("@odata.nextLink").asText();
+    assertTrue(nextLink.contains("$orderby=ID%20desc"));
+    assertTrue(nextLink.contains("$skiptoken='"));
+
+    assertEquals(expected, readAllPages(buildKeysetPagingProvider(3), "Organizations?$orderby=ID desc"));
+  }
+
+  @Test
+  void testKeysetPagingRespectsTop() throws IOException, ODataException {
+    final List<String> act = readAllPages(buildKeysetPagingProvider(2), "Organizations?$top=5&$orderby=ID");
+    assertEquals(5, act.size());
+  }
+
+  @Test
+  void testKeysetPagingRespectsSkipAndFilter() throws IOException, ODataException {
+    final List<String> expected = new ArrayList<>();
+    final String url = "Organizations?$filter=Address/HouseNumber gt '30'&$skip=1&$orderby=ID desc";
+    final IntegrationTestHelper unpaged = new IntegrationTestHelper(emf, url);
+    unpaged.getValues().forEach(org -> expected.add(org.get("ID").asText()));
+
+    assertEquals(expected, readAllPages(buildKeysetPagingProvider(1), url));
+  }
+
+  @Test
+  void testKeysetPagingFallsBackToOffsetIfOrderNotSeekable() throws IOException, ODataException {
+    final List<String> expected = new ArrayList<>();
+    final String url = "Organizations?$orderby=Roles/$count desc";
+    final IntegrationTestHelper unpaged = new IntegrationTestHelper(emf, url);
+    unpaged.getValues().forEach(org -> expected.add(org.get("ID").asText()));
+
+    final List<String> act = readAllPages(buildKeysetPagingProvider(4), url);
+    assertEquals(10, act.size());
+    assertEquals(expected.size(), act.stream().distinct().count());
+  }
+
+  @Test
+  void testKeysetPagingReturnsGoneIfSkiptokenInvalid() throws IOException, ODataException {
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$skiptoken='Hugo'",
+        buildKeysetPagingProvider(3));
+    helper.assertStatus(410);
+  }
+
+  private JPAODataPagingProvider buildKeysetPagingProvider(final int pageSize) {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Organizations", pageSize);
+    return new JPAODataKeysetPagingProvider(sizes);
+  }
+
+  private List<String> readAllPages(final JPAODataPagingProvider provider, final String url) throws IOException,
+      ODataException {
+    final List<String> ids = new ArrayList<>();
+    String nextUrl = url;
+    while (nextUrl != null) {
+      final IntegrationTestHelper helper = new IntegrationTestHelper(emf, nextUrl, provider);
+      helper.assertStatus(200);
+      final ArrayNode values = helper.getValues();
+      values.forEach(org -> ids.add(org.get("ID").asText()));
+      nextUrl = helper.getValue().get("@odata.nextLink") == null ? null
+          : helper.getValue().get("@odata.nextLink").asText();
+      // Only the last page may be empty, in case the previous one was full
+      assertFalse(values.size() == 0 && nextUrl != null);
+    }
+    return ids;
+  }
+
   private UriInfo buildUriInfo() throws EdmPrimitiveTypeException {
     final UriInfo uriInfo = mock(UriInfo.class);
     final UriResourceEntitySet uriEs = mock(UriResourceEntitySet.class);
@@ -2,7 +2,9 @@ package com.sap.olingo.jpa.processor.core.query;
 
 import static com.sap.olingo.jpa.processor.core.converter.JPAExpandResult.ROOT_RESULT_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.util.ArrayList;
@@ -12,11 +14,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import javax.persistence.Tuple;
 
 import org.apache.olingo.commons.api.data.ComplexValue;
+import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.server.api.ODataApplicationException;
@@ -29,6 +37,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.processor.JPAODataInternalRequestContext;
 import com.sap.olingo.jpa.processor.core.util.ServiceMetadataDouble;
@@ -44,7 +53,7 @@ class TestJPATupleChildConverter extends TestBase {
   private List<Tuple> jpaQueryResult;
   private UriHelperDouble uriHelper;
   private Map<String, String> keyPredicates;
-  private final HashMap<String, List<Tuple>> queryResult = new HashMap<>(1);
+  private final HashMap<JPAResultKey, List<Tuple>> queryResult = new HashMap<>(1);
   private JPAODataRequestContextAccess requestContext;
   private JPAODataRequestContext context;
   private JPAODataSessionContextAccess sessionContext;
@@ -87,6 +96,46 @@ class TestJPATupleChildConverter extends TestBase {
     assertEquals("1", act.getEntities().get(0).getProperty("ID").getValue().toString());
   }
 
+  @Test
+  void checkStreamedRowsConvertedLazily() throws ODataApplicationException, ODataJPAModelException {
+    final AtomicInteger taken = new AtomicInteger();
+    final AtomicBoolean closed = new AtomicBoolean();
+    keyPredicates.put("1", "Organizations('1')");
+    keyPredicates.put("5", "Organizations('5')");
+    final Stream<Tuple> rows = Stream.of("1", "5")
+        .map(this::createOrganizationRow)
+        .peek(row -> taken.incrementAndGet())
+        .onClose(() -> closed.set(true));
+
+    final EntityIterator act = new JPAExpandQueryResult(rows, helper.getJPAEntityType("Organizations"),
+        Collections.emptyList()).asEntityIterator(cut);
+    assertEquals(0, taken.get());
+    assertTrue(act.hasNext());
+    assertEquals("1", act.next().getProperty("ID").getValue().toString());
+    assertEquals(1, taken.get());
+    assertEquals("5", act.next().getProperty("ID").getValue().toString());
+    assertEquals(2, taken.get());
+    assertFalse(closed.get());
+    assertFalse(act.hasNext());
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void checkStreamedRowsReadCompletelyForEntityCollection() throws ODataApplicationException,
+      ODataJPAModelException {
+    final AtomicBoolean closed = new AtomicBoolean();
+    keyPredicates.put("1", "Organizations('1')");
+    keyPredicates.put("5", "Organizations('5')");
+    final Stream<Tuple> rows = Stream.of("1", "5")
+        .map(this::createOrganizationRow)
+        .onClose(() -> closed.set(true));
+
+    final EntityCollection act = new JPAExpandQueryResult(rows, helper.getJPAEntityType("Organizations"),
+        Collections.emptyList()).asEntityCollection(cut).get(ROOT_RESULT_KEY);
+    assertEquals(2, act.getEntities().size());
+    assertTrue(closed.get());
+  }
+
   @Test
   void checkConvertsOneResultOneKey() throws ODataApplicationException, ODataJPAModelException {
     final HashMap<String, Object> result = new HashMap<>();
@@ -286,12 +335,51 @@ class TestJPATupleChildConverter extends TestBase {
         .getValue().toString());
   }
 
+  @Test
+  void checkConvertsTwoResultsNestedComplexWithSelection() throws ODataApplicationException,
+      ODataJPAModelException {
+    final Set<JPAPath> selection = new HashSet<>();
+    final JPAEntityType et = helper.getJPAEntityType("Organizations");
+    for (int i = 1; i <= 2; i++) {
+      final Map<String, Object> result = new HashMap<>();
+      result.put("ID", String.valueOf(i));
+      result.put("Address/Region", "Region " + i);
+      result.put("AdministrativeInformation/Created/By", "Creator " + i);
+      result.put("AdministrativeInformation/Updated/By", "Updater " + i);
+      jpaQueryResult.add(new TupleDouble(result));
+      keyPredicates.put(String.valueOf(i), "Organizations('" + i + "')");
+    }
+    selection.add(et.getPath("ID"));
+    selection.add(et.getPath("Address/Region"));
+    selection.add(et.getPath("AdministrativeInformation/Created/By"));
+    selection.add(et.getPath("AdministrativeInformation/Updated/By"));
+
+    final EntityCollection act = cut.getResult(new JPAExpandQueryResult(queryResult, null, et, Collections.emptyList()),
+        selection).get(ROOT_RESULT_KEY);
+    assertEquals(2, act.getEntities().size());
+    for (int i = 1; i <= 2; i++) {
+      final Entity entity = act.getEntities().get(i - 1);
+      assertEquals(3, entity.getProperties().size());
+      final ComplexValue address = (ComplexValue) entity.getProperty("Address").getValue();
+      assertEquals(1, address.getValue().size());
+      assertEquals("Region " + i, address.getValue().get(0).getValue());
+      final ComplexValue adminInfo = (ComplexValue) entity.getProperty("AdministrativeInformation").getValue();
+      assertEquals(NO_ADMIN_INFO_FIELDS, adminInfo.getValue().size());
+      for (final Property changeInfo : adminInfo.getValue()) {
+        final ComplexValue value = (ComplexValue) changeInfo.getValue();
+        assertEquals(1, value.getValue().size());
+        assertEquals(("Created".equals(changeInfo.getName()) ? "Creator " : "Updater ") + i, value.getValue().get(0)
+            .getValue());
+      }
+    }
+  }
+
   @Test
   void checkConvertMediaStreamStaticMime() throws ODataJPAModelException, NumberFormatException,
       ODataApplicationException {
 
-    final HashMap<String, List<Tuple>> result = new HashMap<>(1);
-    result.put("root", jpaQueryResult);
+    final HashMap<JPAResultKey, List<Tuple>> result = new HashMap<>(1);
+    result.put(ROOT_RESULT_KEY, jpaQueryResult);
 
     cut = new JPATupleChildConverter(helper.sd, uriHelper, new ServiceMetadataDouble(nameBuilder, "PersonImage"),
         requestContext);
@@ -313,8 +401,8 @@ class TestJPATupleChildConverter extends TestBase {
   void checkConvertMediaStreamDynamicMime() throws ODataJPAModelException, NumberFormatException,
       ODataApplicationException {
 
-    final HashMap<String, List<Tuple>> result = new HashMap<>(1);
-    result.put("root", jpaQueryResult);
+    final HashMap<JPAResultKey, List<Tuple>> result = new HashMap<>(1);
+    result.put(ROOT_RESULT_KEY, jpaQueryResult);
 
     cut = new JPATupleChildConverter(helper.sd, uriHelper, new ServiceMetadataDouble(nameBuilder,
         "OrganizationImage"), requestContext);
@@ -332,4 +420,10 @@ class TestJPATupleChildConverter extends TestBase {
     assertEquals("image/svg+xml", act.getEntities().get(0).getMediaContentType());
     assertEquals(2, act.getEntities().get(0).getProperties().size());
   }
+
+  private Tuple createOrganizationRow(final String id) {
+    final HashMap<String, Object> result = new HashMap<>();
+    result.put("ID", id);
+    return new TupleDouble(result);
+  }
 }
@@ -3,6 +3,7 @@ package com.sap.olingo.jpa.processor.core.serializer;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,7 +15,9 @@ import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriResource;
+import org.junit.jupiter.api.Test;
 
+import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
 import com.sap.olingo.jpa.processor.core.util.matcher.EntitySerializerOptionsMatcher;
 
 public class TestJPASerializeCreate extends TestJPASerializer {
@@ -41,4 +44,11 @@ public class TestJPASerializeCreate extends TestJPASerializer {
     verify(serializer).entity(any(), any(), any(), argThat(createMatcher(pattern)));
   }
 
+  @Test
+  void testSerializeCollectionIfCollectionCreated() throws SerializerException, ODataJPASerializerException {
+    cut.serialize(request, new JPACreatedEntityCollection());
+    verify(serializer).entityCollection(any(), any(), any(), any());
+    verify(serializer, never()).entity(any(), any(), any(), any());
+  }
+
 }
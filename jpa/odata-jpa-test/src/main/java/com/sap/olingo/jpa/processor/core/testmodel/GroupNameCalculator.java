@@ -3,6 +3,7 @@
  */
 package com.sap.olingo.jpa.processor.core.testmodel;
 
+import javax.persistence.EntityManager;
 import javax.persistence.Tuple;
 
 import com.sap.olingo.jpa.metadata.core.edm.annotation.EdmTransientPropertyCalculator;
@@ -13,9 +14,18 @@ import com.sap.olingo.jpa.metadata.core.edm.annotation.EdmTransientPropertyCalcu
  *
  */
 public class GroupNameCalculator implements EdmTransientPropertyCalculator<String> {
+  private final EntityManager em;
+
+  public GroupNameCalculator(final EntityManager em) {
+    super();
+    this.em = em;
+  }
 
   @Override
   public String calculateProperty(final Tuple row) {
+    // Calculators may read further data, so the entity manager has to be open as long as properties get calculated
+    if (!em.isOpen())
+      throw new IllegalStateException("Entity manager already closed");
     final String id = ((String) row.get("ID"));
     final String name = ((String) row.get("Name"));
     return id + " " + name;